@@ -73,6 +73,7 @@ public class DataCommand extends DataReadCommand {
 
         // update self-object
         dataCommand.put(table.getDataColumnFamily(), new FieldKey(record.getId()).pack(), TypeConvert.EMPTY_BYTE_ARRAY);
+        validateForeignKeys(record, values, table);
         for (int i = 0; i < values.length; ++i) {
             Object newValue = values[i];
             if (newValue == null) {
@@ -81,8 +82,6 @@ public class DataCommand extends DataReadCommand {
 
             DBField field = table.getField(i);
 
-            validateUpdatingValue(record, field, newValue, table);
-
             byte[] key = new FieldKey(record.getId(), TypeConvert.pack(field.getName())).pack();
             byte[] bValue = TypeConvert.pack(field.getType(), newValue, null);
             dataCommand.put(table.getDataColumnFamily(), key, bValue);
@@ -150,6 +149,7 @@ public class DataCommand extends DataReadCommand {
         }
 
         // update self-object
+        validateForeignKeys(record, newValues, table);
         for (int i = 0; i < newValues.length; ++i) {
             Object newValue = newValues[i];
             DBField field = table.getField(i);
@@ -160,8 +160,6 @@ public class DataCommand extends DataReadCommand {
                 continue;
             }
 
-            validateUpdatingValue(record, field, newValue, table);
-
             byte[] key = new FieldKey(record.getId(), TypeConvert.pack(field.getName())).pack();
             byte[] bValue = TypeConvert.pack(field.getType(), newValue, null);
             dataCommand.put(table.getDataColumnFamily(), key, bValue);
@@ -219,7 +217,7 @@ public class DataCommand extends DataReadCommand {
         }
         for (FieldReference ref : references) {
             KeyPattern keyPattern = HashIndexKey.buildKeyPattern(ref.getHashIndex(), id);
-            try (DBIterator i = dataCommand.createIterator(ref.getNamespace() + "." + ref.getName() + ".index")) {
+            try (DBIterator i = dataCommand.createIterator(ref.getNamespace() + "." + ref.getName() + ".index", DBIteratorOptions.BOUNDED_BY_PATTERN)) {
                 KeyValue keyValue = i.seek(keyPattern);
                 if (keyValue != null) {
                     long referencingId = HashIndexKey.unpackId(keyValue.getKey());
@@ -346,23 +344,45 @@ public class DataCommand extends DataReadCommand {
         }
     }
 
-    private void validateUpdatingValue(Record record, DBField field, Object value, DBTable table) throws DatabaseException {
-        if (value == null) {
-            return;
-        }
+    /**
+     * Проверяет существование записей, на которые ссылаются внешние ключи, одним multiGet на каждую внешнюю таблицу
+     */
+    private void validateForeignKeys(Record record, Object[] values, DBTable table) throws DatabaseException {
+        Map<DBTable, List<DBField>> foreignFields = null;
+        for (int i = 0; i < values.length; ++i) {
+            DBField field = table.getField(i);
+            if (values[i] == null || !field.isForeignKey()) {
+                continue;
+            }
 
-        if (!field.isForeignKey()) {
+            if (foreignFields == null) {
+                foreignFields = new LinkedHashMap<>();
+            }
+            foreignFields.computeIfAbsent(schema.getTableById(field.getForeignTableId()), t -> new ArrayList<>()).add(field);
+        }
+        if (foreignFields == null) {
             return;
         }
 
-        long fkeyIdValue = (Long) value;
-        DBTable foreignTable = schema.getTableById(field.getForeignTableId());
-        if (dataCommand.getValue(foreignTable.getDataColumnFamily(), new FieldKey(fkeyIdValue).pack()) == null) {
-            throw new ForeignDependencyException(record.getId(),
-                    table,
-                    foreignTable,
-                    field,
-                    fkeyIdValue);
+        for (Map.Entry<DBTable, List<DBField>> entry : foreignFields.entrySet()) {
+            DBTable foreignTable = entry.getKey();
+            List<DBField> fields = entry.getValue();
+            byte[][] keys = new byte[fields.size()][];
+            for (int i = 0; i < fields.size(); ++i) {
+                keys[i] = new FieldKey((Long) values[fields.get(i).getId()]).pack();
+            }
+
+            byte[][] foreignValues = dataCommand.multiGet(foreignTable.getDataColumnFamily(), keys);
+            for (int i = 0; i < fields.size(); ++i) {
+                if (foreignValues[i] == null) {
+                    DBField field = fields.get(i);
+                    throw new ForeignDependencyException(record.getId(),
+                            table,
+                            foreignTable,
+                            field,
+                            (Long) values[field.getId()]);
+                }
+            }
         }
     }
 }
@@ -30,31 +30,87 @@ public class DataReadCommand {
         return new AllIterator(dbTable, dataReader);
     }
 
+    /**
+     * @param fields вычитываемые поля, значения остальных полей записей равны null
+     */
+    public RecordIterator select(String table, String namespace, Set<String> fields) throws DatabaseException {
+        DBTable dbTable = schema.getTable(table, namespace);
+        return new AllIterator(dbTable, dataReader, toFieldArray(fields, dbTable));
+    }
+
     public RecordIterator select(String table, String namespace, HashFilter filter) throws DatabaseException {
         DBTable dbTable = schema.getTable(table, namespace);
         return new HashIterator(dbTable, filter, dataReader);
     }
 
+    public RecordIterator select(String table, String namespace, HashFilter filter, Set<String> fields) throws DatabaseException {
+        DBTable dbTable = schema.getTable(table, namespace);
+        return new HashIterator(dbTable, filter, dataReader, toFieldArray(fields, dbTable));
+    }
+
     public RecordIterator select(String table, String namespace, PrefixFilter filter) throws DatabaseException {
         DBTable dbTable = schema.getTable(table, namespace);
         return new PrefixIterator(dbTable, filter, dataReader);
     }
 
+    public RecordIterator select(String table, String namespace, PrefixFilter filter, Set<String> fields) throws DatabaseException {
+        DBTable dbTable = schema.getTable(table, namespace);
+        return new PrefixIterator(dbTable, filter, dataReader, toFieldArray(fields, dbTable));
+    }
+
     public RecordIterator select(String table, String namespace, IntervalFilter filter) throws DatabaseException {
         DBTable dbTable = schema.getTable(table, namespace);
         return new IntervalIterator(dbTable, filter, dataReader);
     }
 
+    public RecordIterator select(String table, String namespace, IntervalFilter filter, Set<String> fields) throws DatabaseException {
+        DBTable dbTable = schema.getTable(table, namespace);
+        return new IntervalIterator(dbTable, filter, dataReader, toFieldArray(fields, dbTable));
+    }
+
     public RecordIterator select(String table, String namespace, RangeFilter filter) throws DatabaseException {
         DBTable dbTable = schema.getTable(table, namespace);
         return new RangeIterator(dbTable, filter, dataReader);
     }
 
+    public RecordIterator select(String table, String namespace, RangeFilter filter, Set<String> fields) throws DatabaseException {
+        DBTable dbTable = schema.getTable(table, namespace);
+        return new RangeIterator(dbTable, filter, dataReader, toFieldArray(fields, dbTable));
+    }
+
+    public RecordIterator select(String table, String namespace, AndFilter filter) throws DatabaseException {
+        DBTable dbTable = schema.getTable(table, namespace);
+        return new AndIterator(dbTable, filter, dataReader);
+    }
+
+    public RecordIterator select(String table, String namespace, AndFilter filter, Set<String> fields) throws DatabaseException {
+        DBTable dbTable = schema.getTable(table, namespace);
+        return new AndIterator(dbTable, filter, dataReader, toFieldArray(fields, dbTable));
+    }
+
     public RecordIterator select(String table, String namespace, IdFilter filter) throws DatabaseException {
         DBTable dbTable = schema.getTable(table, namespace);
         return new IdIterator(dbTable, filter, dataReader);
     }
 
+    public RecordIterator select(String table, String namespace, IdFilter filter, Set<String> fields) throws DatabaseException {
+        DBTable dbTable = schema.getTable(table, namespace);
+        return new IdIterator(dbTable, filter, dataReader, toFieldArray(fields, dbTable));
+    }
+
+    /**
+     * Количество записей, удовлетворяющих фильтру. Записи вычитываются, только если для проверки фильтра недостаточно индекса
+     */
+    public long count(String table, String namespace, Filter filter) throws DatabaseException {
+        DBTable dbTable = schema.getTable(table, namespace);
+        return RecordCounter.count(dbTable, filter, dataReader);
+    }
+
+    public boolean exists(String table, String namespace, Filter filter) throws DatabaseException {
+        DBTable dbTable = schema.getTable(table, namespace);
+        return RecordCounter.exists(dbTable, filter, dataReader);
+    }
+
     public Record getById(String table, String namespace, long id) throws DatabaseException {
         DBTable dbTable = schema.getTable(table, namespace);
         try (IdIterator idIterator = new IdIterator(dbTable, new IdFilter(id, id), dataReader)){
@@ -62,6 +118,13 @@ public class DataReadCommand {
         }
     }
 
+    public Record getById(String table, String namespace, long id, Set<String> fields) throws DatabaseException {
+        DBTable dbTable = schema.getTable(table, namespace);
+        try (IdIterator idIterator = new IdIterator(dbTable, new IdFilter(id, id), dataReader, toFieldArray(fields, dbTable))){
+            return idIterator.hasNext() ? idIterator.next() : null;
+        }
+    }
+
     private static DBField[] toFieldArray(Set<String> fieldNames, DBTable table) throws SchemaException {
         DBField[] fields = new DBField[fieldNames.size()];
         int i = 0;
@@ -2,11 +2,17 @@ package com.infomaximum.database;
 
 import com.infomaximum.database.domainobject.filter.*;
 import com.infomaximum.database.exception.DatabaseException;
+import com.infomaximum.database.provider.DBBulkWrite;
+import com.infomaximum.database.provider.DBBulkWriteConfig;
 import com.infomaximum.database.provider.DBProvider;
+import com.infomaximum.database.provider.DBReadSession;
 import com.infomaximum.database.provider.DBTransaction;
+import com.infomaximum.database.provider.Durability;
 import com.infomaximum.database.schema.Schema;
 import com.infomaximum.database.schema.dbstruct.DBSchema;
 
+import java.util.Set;
+
 public class RecordSource {
 
     private final DBProvider dbProvider;
@@ -34,6 +40,17 @@ public class RecordSource {
         R apply(final DataCommand transaction) throws Exception;
     }
 
+    @FunctionalInterface
+    public interface ReadFunction<R> {
+
+        /**
+         * Реализация операции чтения.
+         * @param readCommand Контекст, закрепленный за снимком базы.
+         * @throws Exception Если во время выполнения операции возникла ошибка.
+         */
+        R apply(final DataReadCommand readCommand) throws Exception;
+    }
+
     public RecordSource(DBProvider dbProvider) throws DatabaseException {
         this.dbProvider = dbProvider;
         this.dbSchema = Schema.read(dbProvider).getDbSchema();
@@ -43,30 +60,74 @@ public class RecordSource {
         return new DataReadCommand(dbProvider, dbSchema).getById(table, namespace, id);
     }
 
+    public Record getById(String table, String namespace, long id, Set<String> fields) throws DatabaseException {
+        return new DataReadCommand(dbProvider, dbSchema).getById(table, namespace, id, fields);
+    }
+
     public RecordIterator select(String table, String namespace) throws DatabaseException {
         return new DataReadCommand(dbProvider, dbSchema).select(table, namespace);
     }
 
+    public RecordIterator select(String table, String namespace, Set<String> fields) throws DatabaseException {
+        return new DataReadCommand(dbProvider, dbSchema).select(table, namespace, fields);
+    }
+
     public RecordIterator select(String table, String namespace, HashFilter filter) throws DatabaseException {
         return new DataReadCommand(dbProvider, dbSchema).select(table, namespace, filter);
     }
 
+    public RecordIterator select(String table, String namespace, HashFilter filter, Set<String> fields) throws DatabaseException {
+        return new DataReadCommand(dbProvider, dbSchema).select(table, namespace, filter, fields);
+    }
+
     public RecordIterator select(String table, String namespace, PrefixFilter filter) throws DatabaseException {
         return new DataReadCommand(dbProvider, dbSchema).select(table, namespace, filter);
     }
 
+    public RecordIterator select(String table, String namespace, PrefixFilter filter, Set<String> fields) throws DatabaseException {
+        return new DataReadCommand(dbProvider, dbSchema).select(table, namespace, filter, fields);
+    }
+
     public RecordIterator select(String table, String namespace, IntervalFilter filter) throws DatabaseException {
         return new DataReadCommand(dbProvider, dbSchema).select(table, namespace, filter);
     }
 
+    public RecordIterator select(String table, String namespace, IntervalFilter filter, Set<String> fields) throws DatabaseException {
+        return new DataReadCommand(dbProvider, dbSchema).select(table, namespace, filter, fields);
+    }
+
     public RecordIterator select(String table, String namespace, RangeFilter filter) throws DatabaseException {
         return new DataReadCommand(dbProvider, dbSchema).select(table, namespace, filter);
     }
 
+    public RecordIterator select(String table, String namespace, RangeFilter filter, Set<String> fields) throws DatabaseException {
+        return new DataReadCommand(dbProvider, dbSchema).select(table, namespace, filter, fields);
+    }
+
+    public RecordIterator select(String table, String namespace, AndFilter filter) throws DatabaseException {
+        return new DataReadCommand(dbProvider, dbSchema).select(table, namespace, filter);
+    }
+
+    public RecordIterator select(String table, String namespace, AndFilter filter, Set<String> fields) throws DatabaseException {
+        return new DataReadCommand(dbProvider, dbSchema).select(table, namespace, filter, fields);
+    }
+
     public RecordIterator select(String table, String namespace, IdFilter filter) throws DatabaseException {
         return new DataReadCommand(dbProvider, dbSchema).select(table, namespace, filter);
     }
 
+    public RecordIterator select(String table, String namespace, IdFilter filter, Set<String> fields) throws DatabaseException {
+        return new DataReadCommand(dbProvider, dbSchema).select(table, namespace, filter, fields);
+    }
+
+    public long count(String table, String namespace, Filter filter) throws DatabaseException {
+        return new DataReadCommand(dbProvider, dbSchema).count(table, namespace, filter);
+    }
+
+    public boolean exists(String table, String namespace, Filter filter) throws DatabaseException {
+        return new DataReadCommand(dbProvider, dbSchema).exists(table, namespace, filter);
+    }
+
     public void executeTransactional(final Monad operation) throws Exception {
         try (DBTransaction transaction = dbProvider.beginTransaction()) {
             operation.action(buildDataCommand(transaction));
@@ -82,6 +143,49 @@ public class RecordSource {
         }
     }
 
+    /**
+     * @param durability гарантия сохранности изменений после коммита
+     */
+    public void executeTransactional(Durability durability, final Monad operation) throws Exception {
+        try (DBTransaction transaction = dbProvider.beginTransaction(durability)) {
+            operation.action(buildDataCommand(transaction));
+            transaction.commit();
+        }
+    }
+
+    public <R> R executeFunctionTransactional(Durability durability, final Function<R> function) throws Exception {
+        try (DBTransaction transaction = dbProvider.beginTransaction(durability)) {
+            R result = function.apply(buildDataCommand(transaction));
+            transaction.commit();
+            return result;
+        }
+    }
+
+    /**
+     * Выполняет операцию вне транзакции, изменения пишутся пачками. Предназначено для импорта и миграций:
+     * конфликты не отслеживаются, при ошибке уже записанные пачки не откатываются.
+     */
+    public void executeBulkWrite(final Monad operation) throws Exception {
+        executeBulkWrite(DBBulkWriteConfig.newBuilder().build(), operation);
+    }
+
+    public void executeBulkWrite(DBBulkWriteConfig config, final Monad operation) throws Exception {
+        try (DBBulkWrite bulkWrite = dbProvider.beginBulkWrite(config)) {
+            operation.action(new DataCommand(bulkWrite, dbSchema));
+            bulkWrite.commit();
+        }
+    }
+
+    /**
+     * Выполняет чтение на снимке базы, все итераторы внутри операции видят одно и то же состояние.
+     * Итераторы необходимо закрыть до выхода из операции.
+     */
+    public <R> R executeFunctionInReadSession(final ReadFunction<R> function) throws Exception {
+        try (DBReadSession session = dbProvider.openReadSession()) {
+            return function.apply(new DataReadCommand(session, dbSchema));
+        }
+    }
+
     private DataCommand buildDataCommand(DBTransaction transaction) {
         return new DataCommand(transaction, dbSchema);
     }
@@ -5,10 +5,11 @@ import com.infomaximum.database.domainobject.iterator.*;
 import com.infomaximum.database.exception.DatabaseException;
 import com.infomaximum.database.exception.IllegalTypeException;
 import com.infomaximum.database.exception.UnexpectedEndObjectException;
+import com.infomaximum.database.provider.DBCursor;
 import com.infomaximum.database.provider.DBIterator;
+import com.infomaximum.database.provider.DBIteratorOptions;
 import com.infomaximum.database.provider.DBProvider;
 import com.infomaximum.database.provider.KeyPattern;
-import com.infomaximum.database.provider.KeyValue;
 import com.infomaximum.database.schema.Field;
 import com.infomaximum.database.schema.Schema;
 import com.infomaximum.database.schema.StructEntity;
@@ -16,7 +17,9 @@ import com.infomaximum.database.utils.TypeConvert;
 import com.infomaximum.database.utils.key.FieldKey;
 
 import java.lang.reflect.Constructor;
+import java.nio.ByteBuffer;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 public abstract class DataEnumerable {
@@ -58,6 +61,12 @@ public abstract class DataEnumerable {
 
     public abstract DBIterator createIterator(String columnFamily) throws DatabaseException;
 
+    public abstract DBIterator createIterator(String columnFamily, DBIteratorOptions options) throws DatabaseException;
+
+    public abstract DBCursor createCursor(String columnFamily, DBIteratorOptions options) throws DatabaseException;
+
+    public abstract byte[][] multiGet(String columnFamily, byte[][] keys) throws DatabaseException;
+
     public abstract boolean isMarkedForDeletion(StructEntity entity, long objId);
 
     public <T extends DomainObject> T get(final Class<T> clazz, long id, final Set<Integer> loadingFields) throws DatabaseException {
@@ -67,8 +76,8 @@ public abstract class DataEnumerable {
             return null;
         }
 
-        try (DBIterator iterator = createIterator(entity.getColumnFamily())) {
-            return seekObject(DomainObject.getConstructor(clazz), loadingFields, iterator, FieldKey.buildKeyPattern(id, entity.getFieldNames(loadingFields)));
+        try (DBCursor cursor = createCursor(entity.getColumnFamily(), DBIteratorOptions.DEFAULT)) {
+            return seekObject(DomainObject.getConstructor(clazz), loadingFields, cursor, FieldKey.buildKeyPattern(id, entity.getFieldNames(loadingFields)));
         }
     }
 
@@ -89,6 +98,8 @@ public abstract class DataEnumerable {
             return new RangeIndexIterator<>(this, clazz, loadingFields, (RangeFilter) filter);
         } else if (filter instanceof IdFilter) {
             return new IdIterator<>(this, clazz, loadingFields, (IdFilter) filter);
+        } else if (filter instanceof AndFilter) {
+            return new AndIndexIterator<>(this, clazz, loadingFields, (AndFilter) filter);
         }
 
         throw new IllegalArgumentException("Unknown filter type " + filter.getClass());
@@ -98,6 +109,17 @@ public abstract class DataEnumerable {
         return find(clazz, filter, null);
     }
 
+    /**
+     * Количество объектов, удовлетворяющих фильтру. Объекты вычитываются, только если для проверки фильтра недостаточно индекса
+     */
+    public <T extends DomainObject> long count(final Class<T> clazz, Filter filter) throws DatabaseException {
+        return ObjectCounter.count(this, clazz, filter);
+    }
+
+    public <T extends DomainObject> boolean exists(final Class<T> clazz, Filter filter) throws DatabaseException {
+        return ObjectCounter.exists(this, clazz, filter);
+    }
+
     public <T extends DomainObject> T buildDomainObject(final Constructor<T> constructor, long id, Collection<Integer> preInitializedFields) {
         T obj = buildDomainObject(constructor, id);
         if (preInitializedFields == null) {
@@ -121,74 +143,108 @@ public abstract class DataEnumerable {
     }
 
     public <T extends DomainObject> T nextObject(final Constructor<T> constructor, Collection<Integer> preInitializedFields,
-                                                 DBIterator iterator, NextState state, StructEntity entity) throws DatabaseException {
+                                                 DBCursor cursor, NextState state, StructEntity entity) throws DatabaseException {
         if (state.isEmpty()) {
             return null;
         }
 
         T obj = buildDomainObject(constructor, state.nextId, preInitializedFields);
-        state.nextId = readObject(obj, iterator);
-        state.nextId = getNextNotMarkedForDeletion(entity, state.nextId, iterator);
+        state.nextId = readObject(obj, cursor);
+        state.nextId = getNextNotMarkedForDeletion(entity, state.nextId, cursor);
         return obj;
     }
 
     public <T extends DomainObject> T seekObject(final Constructor<T> constructor, Collection<Integer> preInitializedFields,
-                                                 DBIterator iterator, KeyPattern pattern) throws DatabaseException {
-        KeyValue keyValue = iterator.seek(pattern);
-        if (keyValue == null) {
+                                                 DBCursor cursor, KeyPattern pattern) throws DatabaseException {
+        if (!cursor.seek(pattern)) {
             return null;
         }
 
-        if (!FieldKey.unpackBeginningObject(keyValue.getKey())) {
+        ByteBuffer key = cursor.keyBuffer();
+        if (!FieldKey.unpackBeginningObject(key)) {
             return null;
         }
 
-        T obj = buildDomainObject(constructor, FieldKey.unpackId(keyValue.getKey()), preInitializedFields);
-        readObject(obj, iterator);
+        T obj = buildDomainObject(constructor, FieldKey.unpackId(key), preInitializedFields);
+        readObject(obj, cursor);
         return obj;
     }
 
-    public NextState seek(DBIterator iterator, KeyPattern pattern, StructEntity entity) throws DatabaseException {
-        KeyValue keyValue = iterator.seek(pattern);
-        if (keyValue == null) {
+    /**
+     * Вычитывает объекты по id одним multiGet, для каждого объекта запрашиваются ключ-маркер и ключи полей fields.
+     * Отсутствующий объект добавляется в destination как null.
+     */
+    public <T extends DomainObject> void readObjects(final Constructor<T> constructor, Collection<Integer> preInitializedFields,
+                                                     StructEntity entity, Field[] fields, long[] ids, int count, List<T> destination) throws DatabaseException {
+        final int keysPerObject = fields.length + 1;
+        byte[][] keys = new byte[count * keysPerObject][];
+        for (int i = 0, pos = 0; i < count; ++i) {
+            keys[pos++] = new FieldKey(ids[i]).pack();
+            for (Field field : fields) {
+                keys[pos++] = new FieldKey(ids[i], field.getNameBytes()).pack();
+            }
+        }
+
+        byte[][] values = multiGet(entity.getColumnFamily(), keys);
+        for (int i = 0, pos = 0; i < count; ++i, pos += keysPerObject) {
+            if (values[pos] == null) {
+                destination.add(null);
+                continue;
+            }
+
+            T obj = buildDomainObject(constructor, ids[i], preInitializedFields);
+            for (int j = 0; j < fields.length; ++j) {
+                byte[] value = values[pos + j + 1];
+                if (value != null) {
+                    Field field = fields[j];
+                    obj._setLoadedField(field.getNumber(), TypeConvert.unpack(field.getType(), value, field.getConverter()));
+                }
+            }
+            destination.add(obj);
+        }
+    }
+
+    public NextState seek(DBCursor cursor, KeyPattern pattern, StructEntity entity) throws DatabaseException {
+        if (!cursor.seek(pattern)) {
             return new NextState(-1);
         }
 
-        if (!FieldKey.unpackBeginningObject(keyValue.getKey())) {
+        ByteBuffer key = cursor.keyBuffer();
+        if (!FieldKey.unpackBeginningObject(key)) {
             return new NextState(-1);
         }
 
-        long objId = FieldKey.unpackId(keyValue.getKey());
-        return new NextState(getNextNotMarkedForDeletion(entity, objId, iterator));
+        long objId = FieldKey.unpackId(key);
+        return new NextState(getNextNotMarkedForDeletion(entity, objId, cursor));
     }
 
-    private <T extends DomainObject> long readObject(T obj, DBIterator iterator) throws DatabaseException {
-        KeyValue keyValue;
-        while ((keyValue = iterator.next()) != null) {
-            long id = FieldKey.unpackId(keyValue.getKey());
+    private <T extends DomainObject> long readObject(T obj, DBCursor cursor) throws DatabaseException {
+        while (cursor.next()) {
+            ByteBuffer key = cursor.keyBuffer();
+            long id = FieldKey.unpackId(key);
             if (id != obj.getId()) {
-                if (!FieldKey.unpackBeginningObject(keyValue.getKey())) {
-                    throw new UnexpectedEndObjectException(obj.getId(), id, FieldKey.unpackFieldName(keyValue.getKey()));
+                if (!FieldKey.unpackBeginningObject(key)) {
+                    throw new UnexpectedEndObjectException(obj.getId(), id, FieldKey.unpackFieldName(key));
                 }
                 return id;
             }
-            Field field = obj.getStructEntity().getField(new StructEntity.ByteArray(keyValue.getKey(), FieldKey.ID_BYTE_SIZE, keyValue.getKey().length));
-            obj._setLoadedField(field.getNumber(), TypeConvert.unpack(field.getType(), keyValue.getValue(), field.getConverter()));
+            Field field = obj.getStructEntity().getField(key, key.position() + FieldKey.ID_BYTE_SIZE);
+            obj._setLoadedField(field.getNumber(), TypeConvert.unpack(field.getType(), cursor.valueBuffer(), field.getConverter()));
         }
 
         return -1;
     }
 
-    private long getNextNotMarkedForDeletion(StructEntity entity, long startObjId, DBIterator iterator) throws DatabaseException {
+    private long getNextNotMarkedForDeletion(StructEntity entity, long startObjId, DBCursor cursor) throws DatabaseException {
         while (startObjId != -1 && isMarkedForDeletion(entity, startObjId)) {
-            KeyValue keyValue;
-            while ((keyValue = iterator.next()) != null) {
-                if (FieldKey.unpackBeginningObject(keyValue.getKey())) {
+            boolean found;
+            while ((found = cursor.next())) {
+                if (FieldKey.unpackBeginningObject(cursor.keyBuffer())) {
                     break;
                 }
             }
 
-            startObjId = keyValue != null ? FieldKey.unpackId(keyValue.getKey()) : -1;
+            startObjId = found ? FieldKey.unpackId(cursor.keyBuffer()) : -1;
         }
 
         return startObjId;
@@ -1,8 +1,11 @@
 package com.infomaximum.database.domainobject;
 
 import com.infomaximum.database.exception.DatabaseException;
+import com.infomaximum.database.provider.DBCursor;
 import com.infomaximum.database.provider.DBIterator;
+import com.infomaximum.database.provider.DBIteratorOptions;
 import com.infomaximum.database.provider.DBProvider;
+import com.infomaximum.database.provider.Durability;
 import com.infomaximum.database.schema.StructEntity;
 
 public class DomainObjectSource extends DataEnumerable {
@@ -29,6 +32,17 @@ public class DomainObjectSource extends DataEnumerable {
         R apply(final Transaction transaction) throws Exception;
     }
 
+    @FunctionalInterface
+    public interface ReadFunction<R> {
+
+        /**
+         * Реализация операции чтения.
+         * @param session Контекст, закрепленный за снимком базы.
+         * @throws Exception Если во время выполнения операции возникла ошибка.
+         */
+        R apply(final ReadSession session) throws Exception;
+    }
+
     public DomainObjectSource(DBProvider dbProvider, Boolean reloadSchema) {
         super(dbProvider, reloadSchema);
     }
@@ -48,6 +62,38 @@ public class DomainObjectSource extends DataEnumerable {
         }
     }
 
+    /**
+     * @param durability гарантия сохранности изменений после коммита
+     */
+    public void executeTransactional(Durability durability, final Monad operation) throws Exception {
+        try (Transaction transaction = buildTransaction(durability)) {
+            operation.action(transaction);
+            transaction.commit();
+        }
+    }
+
+    public <R> R executeFunctionTransactional(Durability durability, final Function<R> operation) throws Exception {
+        try (Transaction transaction = buildTransaction(durability)) {
+            R result = operation.apply(transaction);
+            transaction.commit();
+            return result;
+        }
+    }
+
+    /**
+     * Выполняет чтение на снимке базы, все итераторы внутри операции видят одно и то же состояние.
+     * Итераторы необходимо закрыть до выхода из операции.
+     */
+    public <R> R executeFunctionInReadSession(final ReadFunction<R> operation) throws Exception {
+        try (ReadSession session = buildReadSession()) {
+            return operation.apply(session);
+        }
+    }
+
+    public ReadSession buildReadSession() throws DatabaseException {
+        return new ReadSession(getDbProvider());
+    }
+
     public Transaction buildTransaction() {
         return new Transaction(getDbProvider(), false);
     }
@@ -56,11 +102,30 @@ public class DomainObjectSource extends DataEnumerable {
         return new Transaction(getDbProvider(), reloadSchema);
     }
 
+    public Transaction buildTransaction(Durability durability) {
+        return new Transaction(getDbProvider(), false, durability);
+    }
+
     @Override
     public DBIterator createIterator(String columnFamily) throws DatabaseException {
         return getDbProvider().createIterator(columnFamily);
     }
 
+    @Override
+    public DBIterator createIterator(String columnFamily, DBIteratorOptions options) throws DatabaseException {
+        return getDbProvider().createIterator(columnFamily, options);
+    }
+
+    @Override
+    public DBCursor createCursor(String columnFamily, DBIteratorOptions options) throws DatabaseException {
+        return getDbProvider().createCursor(columnFamily, options);
+    }
+
+    @Override
+    public byte[][] multiGet(String columnFamily, byte[][] keys) throws DatabaseException {
+        return getDbProvider().multiGet(columnFamily, keys);
+    }
+
     @Override
     public boolean isMarkedForDeletion(StructEntity entity, long objId) {
         return false;
@@ -0,0 +1,52 @@
+package com.infomaximum.database.domainobject;
+
+import com.infomaximum.database.exception.DatabaseException;
+import com.infomaximum.database.provider.DBCursor;
+import com.infomaximum.database.provider.DBIterator;
+import com.infomaximum.database.provider.DBIteratorOptions;
+import com.infomaximum.database.provider.DBProvider;
+import com.infomaximum.database.provider.DBReadSession;
+import com.infomaximum.database.schema.StructEntity;
+
+/**
+ * Чтение объектов на снимке базы, изменения, закоммиченные после открытия сессии, не видны.
+ */
+public class ReadSession extends DataEnumerable implements AutoCloseable {
+
+    private final DBReadSession session;
+
+    ReadSession(DBProvider dbProvider) throws DatabaseException {
+        super(dbProvider, false);
+        this.session = dbProvider.openReadSession();
+    }
+
+    @Override
+    public DBIterator createIterator(String columnFamily) throws DatabaseException {
+        return session.createIterator(columnFamily);
+    }
+
+    @Override
+    public DBIterator createIterator(String columnFamily, DBIteratorOptions options) throws DatabaseException {
+        return session.createIterator(columnFamily, options);
+    }
+
+    @Override
+    public DBCursor createCursor(String columnFamily, DBIteratorOptions options) throws DatabaseException {
+        return session.createCursor(columnFamily, options);
+    }
+
+    @Override
+    public byte[][] multiGet(String columnFamily, byte[][] keys) throws DatabaseException {
+        return session.multiGet(columnFamily, keys);
+    }
+
+    @Override
+    public boolean isMarkedForDeletion(StructEntity entity, long objId) {
+        return false;
+    }
+
+    @Override
+    public void close() throws DatabaseException {
+        session.close();
+    }
+}
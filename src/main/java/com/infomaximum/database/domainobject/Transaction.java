@@ -30,9 +30,18 @@ public class Transaction extends DataEnumerable implements AutoCloseable {
     private boolean closed = false;
     private boolean foreignFieldEnabled = true;
     private final Map<String, Objects> deletingObjects = new HashMap<>();
+    /**
+     * null - уровень сохранности провайдера по умолчанию
+     */
+    private final Durability durability;
 
     protected Transaction(DBProvider dbProvider, Boolean reloadSchema) {
+        this(dbProvider, reloadSchema, null);
+    }
+
+    protected Transaction(DBProvider dbProvider, Boolean reloadSchema, Durability durability) {
         super(dbProvider, reloadSchema);
+        this.durability = durability;
     }
 
     public boolean isForeignFieldEnabled() {
@@ -222,6 +231,27 @@ public class Transaction extends DataEnumerable implements AutoCloseable {
         return transaction.createIterator(columnFamily);
     }
 
+    @Override
+    public DBIterator createIterator(String columnFamily, DBIteratorOptions options) throws DatabaseException {
+        ensureTransaction();
+
+        return transaction.createIterator(columnFamily, options);
+    }
+
+    @Override
+    public DBCursor createCursor(String columnFamily, DBIteratorOptions options) throws DatabaseException {
+        ensureTransaction();
+
+        return transaction.createCursor(columnFamily, options);
+    }
+
+    @Override
+    public byte[][] multiGet(String columnFamily, byte[][] keys) throws DatabaseException {
+        ensureTransaction();
+
+        return transaction.multiGet(columnFamily, keys);
+    }
+
     public void commit() throws DatabaseException {
         if (transaction != null) {
             deleteObjects();
@@ -248,7 +278,9 @@ public class Transaction extends DataEnumerable implements AutoCloseable {
         }
 
         if (transaction == null) {
-            transaction = getDbProvider().beginTransaction();
+            transaction = durability != null
+                    ? getDbProvider().beginTransaction(durability)
+                    : getDbProvider().beginTransaction();
         }
     }
 
@@ -280,7 +312,7 @@ public class Transaction extends DataEnumerable implements AutoCloseable {
         if (!obj._isJustCreated()) {
             // Remove old value-index
             HashIndexUtils.setHashValues(index.sortedFields, prevValues, indexKey.getFieldValues());
-            transaction.delete(index.columnFamily, indexKey.pack());
+            transaction.singleDelete(index.columnFamily, indexKey.pack());
         }
 
         // Add new value-index
@@ -324,7 +356,7 @@ public class Transaction extends DataEnumerable implements AutoCloseable {
             // Remove old value-index
             HashIndexUtils.setHashValues(hashedFields, prevValues, indexKey.getHashedValues());
             indexKey.setIndexedValue(prevValues[indexedField.getNumber()].getValue());
-            transaction.delete(index.columnFamily, indexKey.pack());
+            transaction.singleDelete(index.columnFamily, indexKey.pack());
         }
 
         // Add new value-index
@@ -372,7 +404,7 @@ public class Transaction extends DataEnumerable implements AutoCloseable {
         RangeIndexUtils.removeIndexedRange(index, indexKey,
                 values[index.getBeginIndexedField().getNumber()].getValue(),
                 values[index.getEndIndexedField().getNumber()].getValue(),
-                transaction, transaction::singleDelete);
+                transaction, transaction::delete);
     }
 
     private static void setHashValues(List<Field> fields, Value<Serializable>[] prevValues, Value<Serializable>[] newValues, long[] destination) {
@@ -428,7 +460,7 @@ public class Transaction extends DataEnumerable implements AutoCloseable {
 
         for (StructEntity.Reference ref : references) {
             KeyPattern keyPattern = HashIndexKey.buildKeyPattern(ref.fieldIndex, obj.getId());
-            try (DBIterator i = transaction.createIterator(ref.fieldIndex.columnFamily)) {
+            try (DBIterator i = transaction.createIterator(ref.fieldIndex.columnFamily, DBIteratorOptions.BOUNDED_BY_PATTERN)) {
                 KeyValue keyValue = i.seek(keyPattern);
                 if (keyValue != null) {
                     long referencingId = HashIndexKey.unpackId(keyValue.getKey());
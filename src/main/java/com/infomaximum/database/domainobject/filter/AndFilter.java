@@ -0,0 +1,55 @@
+package com.infomaximum.database.domainobject.filter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Пересечение индексных фильтров одной таблицы. Id, найденные по каждому фильтру, пересекаются до чтения объектов,
+ * поэтому первым лучше указывать самый селективный фильтр.
+ * Поддерживаются {@link HashFilter}, {@link PrefixFilter}, {@link IntervalFilter} и {@link RangeFilter}.
+ * Страница выборки задается у самого AndFilter, offset и limit вложенных фильтров не учитываются.
+ */
+public class AndFilter extends PagedFilter {
+
+    private final List<Filter> filters = new ArrayList<>();
+
+    public AndFilter(Filter... filters) {
+        this(Arrays.asList(filters));
+    }
+
+    public AndFilter(List<? extends Filter> filters) {
+        for (Filter filter : filters) {
+            append(filter);
+        }
+        if (this.filters.isEmpty()) {
+            throw new IllegalArgumentException("AndFilter must contain at least one filter");
+        }
+    }
+
+    public AndFilter append(Filter filter) {
+        if (filter instanceof AndFilter) {
+            filters.addAll(((AndFilter) filter).filters);
+        } else if (filter instanceof HashFilter || filter instanceof PrefixFilter || filter instanceof BaseIntervalFilter) {
+            filters.add(filter);
+        } else {
+            throw new IllegalArgumentException("Unsupported filter type " + filter.getClass());
+        }
+        return this;
+    }
+
+    public List<Filter> getFilters() {
+        return Collections.unmodifiableList(filters);
+    }
+
+    @Override
+    public AndFilter setOffset(long offset) {
+        return (AndFilter) super.setOffset(offset);
+    }
+
+    @Override
+    public AndFilter setLimit(long limit) {
+        return (AndFilter) super.setLimit(limit);
+    }
+}
@@ -6,7 +6,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
-public abstract class BaseIntervalFilter implements Filter {
+public abstract class BaseIntervalFilter extends PagedFilter {
 
     private final Object beginValue;
     private final Object endValue;
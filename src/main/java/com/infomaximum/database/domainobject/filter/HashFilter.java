@@ -1,23 +1,115 @@
 package com.infomaximum.database.domainobject.filter;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
-public class HashFilter implements Filter {
+public class HashFilter extends PagedFilter {
 
     private final Map<Integer, Object> values = new HashMap<>();
+    /**
+     * Поля, для которых задан список допустимых значений (IN)
+     */
+    private final Map<Integer, List<Object>> multiValues = new HashMap<>();
+    private boolean sortedById = false;
+    private long startAfterId = -1;
 
     public HashFilter(int fieldNumber, Object fieldValue) {
         appendField(fieldNumber, fieldValue);
     }
 
+    private HashFilter() {
+    }
+
+    /**
+     * Фильтр по нескольким значениям поля. Для пустого списка ничего не найдется
+     */
+    public static HashFilter in(int fieldNumber, Collection<?> fieldValues) {
+        return new HashFilter().appendFieldIn(fieldNumber, fieldValues);
+    }
+
     public HashFilter appendField(int number, Object value) {
+        multiValues.remove(number);
         values.put(number, value);
         return this;
     }
 
+    public HashFilter appendFieldIn(int number, Collection<?> fieldValues) {
+        values.remove(number);
+        multiValues.put(number, new ArrayList<>(new LinkedHashSet<>(fieldValues)));
+        return this;
+    }
+
+    /**
+     * По умолчанию объекты фильтра со списками значений возвращаются в порядке хешей значений,
+     * при сортировке по id все найденные id вычитываются из индекса до чтения первого объекта
+     */
+    public HashFilter setSortedById(boolean sortedById) {
+        this.sortedById = sortedById;
+        return this;
+    }
+
+    public boolean isSortedById() {
+        return sortedById;
+    }
+
+    /**
+     * Отбираются только объекты с id больше заданного. Объекты фильтра с одним значением каждого поля (или с
+     * сортировкой по id) возвращаются в порядке id, поэтому следующая страница начинается с поиска по индексу после
+     * последнего id предыдущей страницы
+     */
+    public HashFilter setStartAfterId(long startAfterId) {
+        if (startAfterId < 0 || startAfterId == Long.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid id value " + startAfterId);
+        }
+
+        this.startAfterId = startAfterId;
+        return this;
+    }
+
+    /**
+     * @return id, после которого начинается выборка, или -1
+     */
+    public long getStartAfterId() {
+        return startAfterId;
+    }
+
+    /**
+     * @return значения полей, для которых задано одно значение
+     */
     public Map<Integer, Object> getValues() {
         return Collections.unmodifiableMap(values);
     }
+
+    public Set<Integer> getFieldNumbers() {
+        if (multiValues.isEmpty()) {
+            return Collections.unmodifiableSet(values.keySet());
+        }
+        Set<Integer> result = new HashSet<>(values.keySet());
+        result.addAll(multiValues.keySet());
+        return result;
+    }
+
+    /**
+     * @return допустимые значения поля
+     */
+    public List<Object> getFieldValues(int number) {
+        List<Object> fieldValues = multiValues.get(number);
+        if (fieldValues != null) {
+            return Collections.unmodifiableList(fieldValues);
+        }
+        return Collections.singletonList(values.get(number));
+    }
+
+    public boolean isMultiValued() {
+        return !multiValues.isEmpty();
+    }
+
+    @Override
+    public HashFilter setOffset(long offset) {
+        return (HashFilter) super.setOffset(offset);
+    }
+
+    @Override
+    public HashFilter setLimit(long limit) {
+        return (HashFilter) super.setLimit(limit);
+    }
 }
@@ -1,6 +1,6 @@
 package com.infomaximum.database.domainobject.filter;
 
-public class IdFilter implements Filter {
+public class IdFilter extends PagedFilter {
 
     private final long fromId;
     private final long toId;
@@ -28,6 +28,16 @@ public class IdFilter implements Filter {
         return toId;
     }
 
+    @Override
+    public IdFilter setOffset(long offset) {
+        return (IdFilter) super.setOffset(offset);
+    }
+
+    @Override
+    public IdFilter setLimit(long limit) {
+        return (IdFilter) super.setLimit(limit);
+    }
+
     private static void checkId(long value) {
         if (value < 0) {
             throw new IllegalArgumentException("Id value is negative, " + value);
@@ -7,6 +7,8 @@ public class IntervalFilter extends BaseIntervalFilter {
 
     private final Integer indexedFieldId;
     private SortDirection sortDirection = SortDirection.ASC;
+    private Object startAfterValue = null;
+    private long startAfterId = -1;
 
     public IntervalFilter(Integer indexedFieldId, Double beginValue, Double endValue) {
         super(beginValue, endValue);
@@ -53,4 +55,42 @@ public class IntervalFilter extends BaseIntervalFilter {
         this.sortDirection = sortDirection;
         return this;
     }
+
+    /**
+     * Выборка продолжается после объекта с заданными значением индексируемого поля и id, обычно последнего объекта
+     * предыдущей страницы. Итератор сразу позиционируется на следующий ключ индекса
+     */
+    public IntervalFilter setStartAfter(Object value, long id) {
+        if (value == null) {
+            throw new IllegalArgumentException();
+        }
+        if (id < 0) {
+            throw new IllegalArgumentException("Id value is negative, " + id);
+        }
+
+        this.startAfterValue = value;
+        this.startAfterId = id;
+        return this;
+    }
+
+    /**
+     * @return значение индексируемого поля, после которого начинается выборка, или null
+     */
+    public Object getStartAfterValue() {
+        return startAfterValue;
+    }
+
+    public long getStartAfterId() {
+        return startAfterId;
+    }
+
+    @Override
+    public IntervalFilter setOffset(long offset) {
+        return (IntervalFilter) super.setOffset(offset);
+    }
+
+    @Override
+    public IntervalFilter setLimit(long limit) {
+        return (IntervalFilter) super.setLimit(limit);
+    }
 }
@@ -0,0 +1,37 @@
+package com.infomaximum.database.domainobject.filter;
+
+/**
+ * Фильтр с постраничной выборкой. Если индекс однозначно определяет результат фильтра, пропускаемые offset объектов
+ * не вычитываются, итератор проходит только по ключам индекса
+ */
+public abstract class PagedFilter implements Filter {
+
+    private long offset = 0;
+    private long limit = Long.MAX_VALUE;
+
+    public PagedFilter setOffset(long offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset is negative, " + offset);
+        }
+
+        this.offset = offset;
+        return this;
+    }
+
+    public PagedFilter setLimit(long limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit is negative, " + limit);
+        }
+
+        this.limit = limit;
+        return this;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+}
@@ -5,7 +5,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
-public class PrefixFilter implements Filter {
+public class PrefixFilter extends PagedFilter {
 
     private final Set<Integer> fieldNames;
     private String fieldValue;
@@ -31,4 +31,14 @@ public class PrefixFilter implements Filter {
     public void setFieldValue(String fieldValue) {
         this.fieldValue = fieldValue;
     }
+
+    @Override
+    public PrefixFilter setOffset(long offset) {
+        return (PrefixFilter) super.setOffset(offset);
+    }
+
+    @Override
+    public PrefixFilter setLimit(long limit) {
+        return (PrefixFilter) super.setLimit(limit);
+    }
 }
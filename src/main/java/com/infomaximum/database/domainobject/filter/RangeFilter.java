@@ -50,4 +50,14 @@ public class RangeFilter extends BaseIntervalFilter {
     public IndexedField getIndexedField() {
         return indexedField;
     }
+
+    @Override
+    public RangeFilter setOffset(long offset) {
+        return (RangeFilter) super.setOffset(offset);
+    }
+
+    @Override
+    public RangeFilter setLimit(long limit) {
+        return (RangeFilter) super.setLimit(limit);
+    }
 }
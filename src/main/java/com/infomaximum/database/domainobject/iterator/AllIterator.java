@@ -1,6 +1,7 @@
 package com.infomaximum.database.domainobject.iterator;
 
-import com.infomaximum.database.provider.DBIterator;
+import com.infomaximum.database.provider.DBCursor;
+import com.infomaximum.database.provider.DBIteratorOptions;
 import com.infomaximum.database.provider.KeyPattern;
 import com.infomaximum.database.domainobject.DomainObject;
 import com.infomaximum.database.domainobject.DataEnumerable;
@@ -18,7 +19,7 @@ public class AllIterator<E extends DomainObject> implements IteratorEntity<E> {
     private final DataEnumerable dataEnumerable;
     private final Constructor<E> constructor;
     private final Set<Integer> loadingFields;
-    private final DBIterator dataIterator;
+    private final DBCursor dataCursor;
     private final StructEntity entity;
 
     private final DataEnumerable.NextState state;
@@ -28,10 +29,10 @@ public class AllIterator<E extends DomainObject> implements IteratorEntity<E> {
         this.constructor = DomainObject.getConstructor(clazz);
         this.loadingFields = loadingFields;
         this.entity = Schema.getEntity(clazz);
-        this.dataIterator = dataEnumerable.createIterator(entity.getColumnFamily());
+        this.dataCursor = dataEnumerable.createCursor(entity.getColumnFamily(), DBIteratorOptions.DEFAULT);
 
         KeyPattern dataKeyPattern = loadingFields != null ? FieldKey.buildKeyPattern(entity.getFieldNames(loadingFields)) : null;
-        this.state = dataEnumerable.seek(dataIterator, dataKeyPattern, entity);
+        this.state = dataEnumerable.seek(dataCursor, dataKeyPattern, entity);
         if (this.state.isEmpty()) {
             close();
         }
@@ -48,11 +49,11 @@ public class AllIterator<E extends DomainObject> implements IteratorEntity<E> {
             throw new NoSuchElementException();
         }
 
-        return dataEnumerable.nextObject(constructor, loadingFields, dataIterator, state, entity);
+        return dataEnumerable.nextObject(constructor, loadingFields, dataCursor, state, entity);
     }
 
     @Override
     public void close() throws DatabaseException {
-        dataIterator.close();
+        dataCursor.close();
     }
 }
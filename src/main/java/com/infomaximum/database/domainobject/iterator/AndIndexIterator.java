@@ -0,0 +1,95 @@
+package com.infomaximum.database.domainobject.iterator;
+
+import com.infomaximum.database.domainobject.DataEnumerable;
+import com.infomaximum.database.domainobject.DomainObject;
+import com.infomaximum.database.domainobject.filter.AndFilter;
+import com.infomaximum.database.domainobject.filter.Filter;
+import com.infomaximum.database.exception.DatabaseException;
+import com.infomaximum.database.schema.Field;
+import com.infomaximum.database.utils.IdIntersectionUtils;
+
+import java.util.*;
+import java.util.function.LongSupplier;
+
+/**
+ * Объекты, удовлетворяющие всем фильтрам {@link AndFilter}. Id из индексов фильтров пересекаются до чтения объектов,
+ * вычитываются только объекты из пересечения в порядке возрастания id
+ */
+public class AndIndexIterator<E extends DomainObject> extends BaseIndexIterator<E> {
+
+    private final List<BaseIndexIterator<E>> filterIterators;
+    private final long[] ids;
+    private int idPos = 0;
+
+    public AndIndexIterator(DataEnumerable dataEnumerable, Class<E> clazz, Set<Integer> loadingFields, AndFilter filter) throws DatabaseException {
+        this(dataEnumerable, clazz, loadingFields, filter, false);
+    }
+
+    /**
+     * @param idsOnly объекты не вычитываются, итератор используется только как источник id
+     */
+    AndIndexIterator(DataEnumerable dataEnumerable, Class<E> clazz, Set<Integer> loadingFields, AndFilter filter, boolean idsOnly) throws DatabaseException {
+        super(dataEnumerable, clazz, loadingFields);
+
+        this.filterIterators = new ArrayList<>(filter.getFilters().size());
+        try {
+            List<LongSupplier> indexedIds = new ArrayList<>(filter.getFilters().size());
+            for (Filter subFilter : filter.getFilters()) {
+                BaseIndexIterator<E> iterator = buildIdsIterator(dataEnumerable, clazz, loadingFields, subFilter);
+                filterIterators.add(iterator);
+                indexedIds.add(iterator::nextIndexedId);
+            }
+            this.ids = IdIntersectionUtils.intersect(indexedIds);
+        } finally {
+            for (BaseIndexIterator<E> iterator : filterIterators) {
+                iterator.close();
+            }
+        }
+
+        this.dataFields = mergeDataFields(filterIterators);
+
+        if (!idsOnly) {
+            initPage(filter);
+            nextImpl();
+        }
+    }
+
+    @Override
+    long nextIndexedId() throws DatabaseException {
+        return idPos < ids.length ? ids[idPos++] : -1;
+    }
+
+    @Override
+    boolean hasResidualCheck() {
+        return filterIterators.stream().anyMatch(iterator -> iterator.dataFields != null && iterator.hasResidualCheck());
+    }
+
+    @Override
+    boolean checkFilter(E obj) throws DatabaseException {
+        for (BaseIndexIterator<E> iterator : filterIterators) {
+            if (iterator.dataFields != null && !iterator.checkFilter(obj)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Поля каждого итератора уже включают loadingFields
+     */
+    private static Field[] mergeDataFields(List<? extends BaseIndexIterator<?>> iterators) {
+        Map<Integer, Field> fields = null;
+        for (BaseIndexIterator<?> iterator : iterators) {
+            if (iterator.dataFields == null) {
+                continue;
+            }
+            if (fields == null) {
+                fields = new HashMap<>();
+            }
+            for (Field field : iterator.dataFields) {
+                fields.putIfAbsent(field.getNumber(), field);
+            }
+        }
+        return fields != null ? fields.values().toArray(new Field[0]) : null;
+    }
+}
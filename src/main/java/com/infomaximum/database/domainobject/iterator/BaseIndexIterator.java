@@ -2,12 +2,11 @@ package com.infomaximum.database.domainobject.iterator;
 
 import com.infomaximum.database.provider.DBIterator;
 import com.infomaximum.database.schema.Field;
-import com.infomaximum.database.provider.KeyPattern;
 import com.infomaximum.database.domainobject.DataEnumerable;
 import com.infomaximum.database.domainobject.DomainObject;
+import com.infomaximum.database.domainobject.filter.*;
 import com.infomaximum.database.schema.Schema;
 import com.infomaximum.database.schema.StructEntity;
-import com.infomaximum.database.utils.key.FieldKey;
 import com.infomaximum.database.exception.DatabaseException;
 
 import java.lang.reflect.Constructor;
@@ -15,16 +14,24 @@ import java.util.*;
 
 public abstract class BaseIndexIterator<E extends DomainObject> implements IteratorEntity<E> {
 
+    static final int MIN_BATCH_SIZE = 16;
+    static final int MAX_BATCH_SIZE = 256;
+
     private final DataEnumerable dataEnumerable;
     private final Constructor<E> constructor;
     private final Set<Integer> loadingFields;
     final StructEntity entity;
 
     DBIterator indexIterator = null;
-    KeyPattern dataKeyPattern = null;
-    DBIterator dataIterator = null;
+    Field[] dataFields = null;
     E nextElement;
 
+    private long[] batchIds = new long[MIN_BATCH_SIZE];
+    private final List<E> batchObjects = new ArrayList<>(MIN_BATCH_SIZE);
+    private int batchPos = 0;
+    private long skipCount = 0;
+    private long remaining = Long.MAX_VALUE;
+
     BaseIndexIterator(DataEnumerable dataEnumerable, Class<E> clazz, Set<Integer> loadingFields) throws DatabaseException {
         this.dataEnumerable = dataEnumerable;
         this.constructor = DomainObject.getConstructor(clazz);
@@ -50,44 +57,172 @@ public abstract class BaseIndexIterator<E extends DomainObject> implements Itera
 
     @Override
     public void close() throws DatabaseException {
-        try (DBIterator i1 = indexIterator;
-             DBIterator i2 = dataIterator) {
+        try (DBIterator i = indexIterator) {
             // do nothing
         }
     }
 
-    abstract void nextImpl() throws DatabaseException;
+    /**
+     * @return id следующего объекта из индекса или -1, если индекс исчерпан
+     */
+    abstract long nextIndexedId() throws DatabaseException;
+
+    /**
+     * Задает страницу выборки, вызывается перед чтением первого объекта
+     */
+    void initPage(PagedFilter filter) {
+        this.skipCount = filter.getOffset();
+        this.remaining = filter.getLimit();
+    }
+
+    /**
+     * @return false, если каждый id из индекса удовлетворяет фильтру и checkFilter не нужен
+     */
+    boolean hasResidualCheck() {
+        return true;
+    }
+
+    /**
+     * Количество объектов страницы фильтра, но не больше maxCount. Итератор должен быть создан с idsOnly, объекты
+     * вычитываются, только если для проверки фильтра недостаточно индекса
+     */
+    long count(PagedFilter filter, long maxCount) throws DatabaseException {
+        initPage(filter);
+        remaining = Math.min(remaining, maxCount);
+
+        long count = 0;
+        if (dataFields != null && hasResidualCheck()) {
+            for (nextImpl(); nextElement != null; nextImpl()) {
+                ++count;
+            }
+            return count;
+        }
+
+        for (long id; remaining > 0 && (id = nextIndexedId()) != -1; ) {
+            if (dataEnumerable.isMarkedForDeletion(entity, id)) {
+                continue;
+            }
+            if (skipCount > 0) {
+                --skipCount;
+            } else {
+                --remaining;
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    void nextImpl() throws DatabaseException {
+        while (remaining > 0) {
+            while (batchPos < batchObjects.size()) {
+                E obj = batchObjects.set(batchPos++, null);
+                if (obj == null || (dataFields != null && !checkFilter(obj))) {
+                    continue;
+                }
+                if (skipCount > 0) {
+                    --skipCount;
+                    continue;
+                }
+
+                nextElement = obj;
+                --remaining;
+                return;
+            }
+
+            if (!loadBatch()) {
+                break;
+            }
+        }
 
-    static KeyPattern buildDataKeyPattern(List<Field> fields1, Set<Integer> loadingFields, StructEntity entity) {
+        nextElement = null;
+        close();
+    }
+
+    /**
+     * @return поля, которые необходимо вычитать для объекта, или null, если вычитывать ничего не нужно
+     */
+    static Field[] buildDataFields(List<Field> fields1, Set<Integer> loadingFields, StructEntity entity) {
         if (loadingFields == null) {
-            return FieldKey.buildKeyPattern(0, null);
+            return entity.getFields();
         }
 
         if (fields1 == null || fields1.isEmpty()) {
-            return loadingFields.isEmpty() ? null : FieldKey.buildKeyPattern(entity.getFieldNames(loadingFields));
+            return loadingFields.isEmpty() ? null : toFields(loadingFields, entity);
         }
 
         Set<Integer> fields = new HashSet<>(fields1.size() + loadingFields.size());
         fields1.forEach(field -> fields.add(field.getNumber()));
         fields.addAll(loadingFields);
-        return FieldKey.buildKeyPattern(entity.getFieldNames(fields));
+        return toFields(fields, entity);
+    }
+
+    private static Field[] toFields(Set<Integer> fieldNumbers, StructEntity entity) {
+        return fieldNumbers.stream()
+                .map(entity::getField)
+                .toArray(Field[]::new);
     }
 
-    E findObject(long id) throws DatabaseException {
-        if (dataEnumerable.isMarkedForDeletion(entity, id)) {
-            return null;
+    /**
+     * Набирает из индекса пачку id и вычитывает объекты одним multiGet. Размер пачки растет от вызова к вызову,
+     * чтобы первый объект не ждал чтения большой пачки.
+     */
+    private boolean loadBatch() throws DatabaseException {
+        if (batchObjects.size() == batchIds.length && batchIds.length < MAX_BATCH_SIZE) {
+            batchIds = new long[batchIds.length * 2];
         }
 
-        if (dataKeyPattern == null) {
-            return dataEnumerable.buildDomainObject(constructor, id, loadingFields);
+        batchObjects.clear();
+        batchPos = 0;
+        final boolean exact = dataFields == null || !hasResidualCheck();
+        while (exact && skipCount > 0) {
+            long id = nextIndexedId();
+            if (id == -1) {
+                return false;
+            }
+            if (!dataEnumerable.isMarkedForDeletion(entity, id)) {
+                --skipCount;
+            }
         }
 
-        dataKeyPattern.setPrefix(FieldKey.buildKeyPrefix(id));
+        final int maxCount = exact ? (int) Math.min(batchIds.length, remaining) : batchIds.length;
+        int count = 0;
+        for (long id; count < maxCount && (id = nextIndexedId()) != -1; ) {
+            if (!dataEnumerable.isMarkedForDeletion(entity, id)) {
+                batchIds[count++] = id;
+            }
+        }
+        if (count == 0) {
+            return false;
+        }
 
-        E obj = dataEnumerable.seekObject(constructor, loadingFields, dataIterator, dataKeyPattern);
-        return checkFilter(obj) ? obj : null;
+        if (dataFields == null) {
+            for (int i = 0; i < count; ++i) {
+                batchObjects.add(dataEnumerable.buildDomainObject(constructor, batchIds[i], loadingFields));
+            }
+        } else {
+            dataEnumerable.readObjects(constructor, loadingFields, entity, dataFields, batchIds, count, batchObjects);
+        }
+        return true;
     }
 
     abstract boolean checkFilter(E obj) throws DatabaseException;
-}
 
+    /**
+     * @return итератор, используемый только как источник id
+     */
+    static <E extends DomainObject> BaseIndexIterator<E> buildIdsIterator(DataEnumerable dataEnumerable, Class<E> clazz,
+                                                                         Set<Integer> loadingFields, Filter filter) throws DatabaseException {
+        if (filter instanceof HashFilter) {
+            return new HashIndexIterator<>(dataEnumerable, clazz, loadingFields, (HashFilter) filter, true);
+        } else if (filter instanceof PrefixFilter) {
+            return new PrefixIndexIterator<>(dataEnumerable, clazz, loadingFields, (PrefixFilter) filter, true);
+        } else if (filter instanceof IntervalFilter) {
+            return new IntervalIndexIterator<>(dataEnumerable, clazz, loadingFields, (IntervalFilter) filter, true);
+        } else if (filter instanceof RangeFilter) {
+            return new RangeIndexIterator<>(dataEnumerable, clazz, loadingFields, (RangeFilter) filter, true);
+        } else if (filter instanceof AndFilter) {
+            return new AndIndexIterator<>(dataEnumerable, clazz, loadingFields, (AndFilter) filter, true);
+        }
+        throw new IllegalArgumentException("Unsupported filter type " + filter.getClass());
+    }
+}
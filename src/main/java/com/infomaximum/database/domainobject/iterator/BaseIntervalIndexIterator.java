@@ -28,11 +28,15 @@ abstract class BaseIntervalIndexIterator<E extends DomainObject, F extends BaseI
 
     final long filterBeginValue, filterEndValue;
 
+    /**
+     * @param idsOnly объекты не вычитываются, итератор используется только как источник id
+     */
     BaseIntervalIndexIterator(DataEnumerable dataEnumerable,
                               Class<E> clazz,
                               Set<Integer> loadingFields,
                               SortDirection direction,
-                              F filter) throws DatabaseException {
+                              F filter,
+                              boolean idsOnly) throws DatabaseException {
         super(dataEnumerable, clazz, loadingFields);
         this.direction = direction == SortDirection.ASC ? DBIterator.StepDirection.FORWARD : DBIterator.StepDirection.BACKWARD;
 
@@ -71,10 +75,7 @@ abstract class BaseIntervalIndexIterator<E extends DomainObject, F extends BaseI
         this.checkedFilterFields = filterFields != null ? filterFields : Collections.emptyList();
         this.filterValues = filterValues;
 
-        this.dataKeyPattern = buildDataKeyPattern(filterFields, loadingFields, entity);
-        if (this.dataKeyPattern != null) {
-            this.dataIterator = dataEnumerable.createIterator(entity.getColumnFamily());
-        }
+        this.dataFields = buildDataFields(filterFields, loadingFields, entity);
 
         this.filterBeginValue = IntervalIndexUtils.castToLong(filter.getBeginValue());
         this.filterEndValue = IntervalIndexUtils.castToLong(filter.getEndValue());
@@ -91,37 +92,62 @@ abstract class BaseIntervalIndexIterator<E extends DomainObject, F extends BaseI
             default:
                 throw new IllegalArgumentException("direction = " + direction);
         }
-        this.indexKeyValue = seek(indexIterator, indexPattern);
+        byte[] startKey = buildStartKey(filter, values, index);
+        this.indexKeyValue = startKey != null ? seekAfter(startKey) : seek(indexIterator, indexPattern);
 
-        nextImpl();
+        if (!idsOnly) {
+            initPage(filter);
+            nextImpl();
+        }
     }
 
     abstract BaseIntervalIndex getIndex(F filter, StructEntity entity);
     abstract KeyValue seek(DBIterator indexIterator, KeyPattern pattern) throws DatabaseException;
 
+    /**
+     * @return ключ индекса, после которого продолжается выборка, или null, если выборка начинается с границы интервала
+     */
+    byte[] buildStartKey(F filter, long[] hashedValues, BaseIntervalIndex index) {
+        return null;
+    }
+
     @Override
-    void nextImpl() throws DatabaseException {
+    boolean hasResidualCheck() {
+        return !checkedFilterFields.isEmpty();
+    }
+
+    @Override
+    long nextIndexedId() throws DatabaseException {
         while (indexKeyValue != null) {
             final long id = BaseIntervalIndexKey.unpackId(indexKeyValue.getKey());
             final int res = matchKey(id, indexKeyValue.getKey());
-            if (res == KeyPattern.MATCH_RESULT_SUCCESS) {
-                nextElement = findObject(id);
-            } else if (res == KeyPattern.MATCH_RESULT_CONTINUE) {
-                nextElement = null;
-            } else {
+            if (res == KeyPattern.MATCH_RESULT_UNSUCCESS) {
                 break;
             }
             indexKeyValue = indexIterator.step(direction);
             if (indexKeyValue != null && indexPattern.match(indexKeyValue.getKey()) != KeyPattern.MATCH_RESULT_SUCCESS) {
                 indexKeyValue = null;
             }
-            if (nextElement != null) {
-                return;
+            if (res == KeyPattern.MATCH_RESULT_SUCCESS) {
+                return id;
             }
         }
 
-        nextElement = null;
-        close();
+        indexKeyValue = null;
+        return -1;
+    }
+
+    private KeyValue seekAfter(byte[] startKey) throws DatabaseException {
+        KeyPattern pattern = new KeyPattern(startKey, indexPattern.getStrictMatchingLen());
+        pattern.setForBackward(indexPattern.isForBackward());
+        KeyValue keyValue = indexIterator.seek(pattern);
+        if (keyValue != null && Arrays.equals(keyValue.getKey(), startKey)) {
+            keyValue = indexIterator.step(direction);
+            if (keyValue != null && indexPattern.match(keyValue.getKey()) != KeyPattern.MATCH_RESULT_SUCCESS) {
+                keyValue = null;
+            }
+        }
+        return keyValue;
     }
 
     /**
@@ -4,6 +4,8 @@ import com.infomaximum.database.domainobject.DataEnumerable;
 import com.infomaximum.database.domainobject.DomainObject;
 import com.infomaximum.database.domainobject.filter.HashFilter;
 import com.infomaximum.database.exception.DatabaseException;
+import com.infomaximum.database.provider.DBIteratorOptions;
+import com.infomaximum.database.provider.KeyPattern;
 import com.infomaximum.database.provider.KeyValue;
 import com.infomaximum.database.schema.Field;
 import com.infomaximum.database.schema.HashIndex;
@@ -15,28 +17,53 @@ import java.util.*;
 public class HashIndexIterator<E extends DomainObject> extends BaseIndexIterator<E> {
 
     private final List<Field> checkedFilterFields;
-    private final List<Object> filterValues;
+    private final List<Set<Object>> filterValues;
+    private final HashIndex index;
+    /**
+     * Сочетания хешей значений фильтра в порядке ключей индекса, по каждому выполняется поиск
+     */
+    private final long[][] indexedHashes;
+    private int hashPos = 0;
+    /**
+     * Поиск по каждому сочетанию хешей начинается с этого id
+     */
+    private final long fromId;
 
     private KeyValue indexKeyValue;
+    /**
+     * Все id фильтра в порядке возрастания, если задана сортировка по id
+     */
+    private long[] sortedIds = null;
+    private int sortedIdPos = 0;
 
     public HashIndexIterator(DataEnumerable dataEnumerable, Class<E> clazz, Set<Integer> loadingFields, HashFilter filter) throws DatabaseException {
+        this(dataEnumerable, clazz, loadingFields, filter, false);
+    }
+
+    /**
+     * @param idsOnly объекты не вычитываются, итератор используется только как источник id
+     */
+    HashIndexIterator(DataEnumerable dataEnumerable, Class<E> clazz, Set<Integer> loadingFields, HashFilter filter, boolean idsOnly) throws DatabaseException {
         super(dataEnumerable, clazz, loadingFields);
 
-        Map<Integer, Object> filters = filter.getValues();
-        final HashIndex index = entity.getHashIndex(filters.keySet());
+        this.index = entity.getHashIndex(filter.getFieldNumbers());
 
         List<Field> filterFields = null;
-        List<Object> filterValues = null;
+        List<Set<Object>> filterValues = null;
 
-        long[] values = new long[index.sortedFields.size()];
+        long[][] fieldHashes = new long[index.sortedFields.size()][];
         for (int i = 0; i < index.sortedFields.size(); ++i) {
             Field field = index.sortedFields.get(i);
-            Object value = filters.get(field.getNumber());
-            if (value != null) {
-                field.throwIfNotMatch(value.getClass());
+            List<Object> values = filter.getFieldValues(field.getNumber());
+            fieldHashes[i] = new long[values.size()];
+            for (int j = 0; j < values.size(); ++j) {
+                Object value = values.get(j);
+                if (value != null) {
+                    field.throwIfNotMatch(value.getClass());
+                }
+                fieldHashes[i][j] = HashIndexUtils.buildHash(field.getType(), value, field.getConverter());
             }
 
-            values[i] = HashIndexUtils.buildHash(field.getType(), value, field.getConverter());
             if (HashIndexUtils.toLongCastable(field.getType())) {
                 continue;
             }
@@ -47,46 +74,89 @@ public class HashIndexIterator<E extends DomainObject> extends BaseIndexIterator
             }
 
             filterFields.add(field);
-            filterValues.add(value);
+            filterValues.add(HashIndexUtils.buildValueSet(field.getType(), values));
         }
 
         this.checkedFilterFields = filterFields != null ? filterFields : Collections.emptyList();
         this.filterValues = filterValues;
+        this.indexedHashes = HashIndexUtils.buildHashCombinations(fieldHashes);
 
-        this.dataKeyPattern = buildDataKeyPattern(filterFields, loadingFields, entity);
-        if (this.dataKeyPattern != null) {
-            this.dataIterator = dataEnumerable.createIterator(entity.getColumnFamily());
-        }
+        this.dataFields = buildDataFields(filterFields, loadingFields, entity);
 
-        this.indexIterator = dataEnumerable.createIterator(index.columnFamily);
-        this.indexKeyValue = indexIterator.seek(HashIndexKey.buildKeyPattern(index, values));
+        //поиск по нескольким хешам переиспользует один итератор без границ шаблона
+        this.indexIterator = dataEnumerable.createIterator(index.columnFamily,
+                filter.isMultiValued() ? DBIteratorOptions.DEFAULT : DBIteratorOptions.BOUNDED_BY_PATTERN);
+        this.fromId = filter.getStartAfterId() + 1;
+        if (indexedHashes.length > 0) {
+            this.indexKeyValue = indexIterator.seek(buildKeyPattern(indexedHashes[0]));
+        }
+        if (filter.isSortedById() && indexedHashes.length > 1) {
+            this.sortedIds = readSortedIds();
+        }
 
-        nextImpl();
+        if (!idsOnly) {
+            initPage(filter);
+            nextImpl();
+        }
     }
 
     @Override
-    void nextImpl() throws DatabaseException {
-        while (indexKeyValue != null) {
-            nextElement = findObject(HashIndexKey.unpackId(indexKeyValue.getKey()));
-            indexKeyValue = indexIterator.next();
-            if (nextElement != null) {
-                return;
-            }
+    long nextIndexedId() throws DatabaseException {
+        if (sortedIds != null) {
+            return sortedIdPos < sortedIds.length ? sortedIds[sortedIdPos++] : -1;
         }
+        return nextHashedId();
+    }
 
-        nextElement = null;
-        close();
+    @Override
+    boolean hasResidualCheck() {
+        return !checkedFilterFields.isEmpty();
     }
 
     @Override
     boolean checkFilter(E obj) throws DatabaseException {
         for (int i = 0; i < checkedFilterFields.size(); ++i) {
             Field field = checkedFilterFields.get(i);
-            if (!HashIndexUtils.equals(field.getType(), filterValues.get(i), obj.get(field.getNumber()))) {
+            Object value = obj.get(field.getNumber());
+            if (!HashIndexUtils.contains(field.getType(), filterValues.get(i), value)) {
                 return false;
             }
         }
 
         return true;
     }
+
+    private long nextHashedId() throws DatabaseException {
+        while (indexKeyValue == null) {
+            if (++hashPos >= indexedHashes.length) {
+                return -1;
+            }
+            indexKeyValue = indexIterator.seek(buildKeyPattern(indexedHashes[hashPos]));
+        }
+
+        long id = HashIndexKey.unpackId(indexKeyValue.getKey());
+        indexKeyValue = indexIterator.next();
+        return id;
+    }
+
+    private KeyPattern buildKeyPattern(long[] hashes) {
+        return fromId > 0 ? HashIndexKey.buildKeyPattern(index, hashes, fromId) : HashIndexKey.buildKeyPattern(index, hashes);
+    }
+
+    /**
+     * Id разных сочетаний хешей не пересекаются, поэтому достаточно сортировки
+     */
+    private long[] readSortedIds() throws DatabaseException {
+        long[] ids = new long[MAX_BATCH_SIZE];
+        int count = 0;
+        for (long id; (id = nextHashedId()) != -1; ) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            ids[count++] = id;
+        }
+        ids = Arrays.copyOf(ids, count);
+        Arrays.sort(ids);
+        return ids;
+    }
 }
@@ -4,7 +4,7 @@ import com.infomaximum.database.domainobject.DataEnumerable;
 import com.infomaximum.database.domainobject.DomainObject;
 import com.infomaximum.database.domainobject.filter.IdFilter;
 import com.infomaximum.database.exception.DatabaseException;
-import com.infomaximum.database.provider.DBIterator;
+import com.infomaximum.database.provider.DBCursor;
 import com.infomaximum.database.provider.KeyPattern;
 import com.infomaximum.database.schema.Schema;
 import com.infomaximum.database.schema.StructEntity;
@@ -19,27 +19,26 @@ public class IdIterator<E extends DomainObject> implements IteratorEntity<E> {
     private final DataEnumerable dataEnumerable;
     private final Constructor<E> constructor;
     private final Set<Integer> loadingFields;
-    private final DBIterator dataIterator;
+    private final DBCursor dataCursor;
     private final StructEntity entity;
 
-    private final DataEnumerable.NextState state;
+    private DataEnumerable.NextState state;
     private final long endId;
+    private long remaining;
 
     public IdIterator(DataEnumerable dataEnumerable, Class<E> clazz, Set<Integer> loadingFields, IdFilter filter) throws DatabaseException {
         this.dataEnumerable = dataEnumerable;
         this.constructor = DomainObject.getConstructor(clazz);
         this.loadingFields = loadingFields;
         this.endId = filter.getToId();
+        this.remaining = filter.getLimit();
         this.entity = Schema.getEntity(clazz);
-        this.dataIterator = dataEnumerable.createIterator(entity.getColumnFamily());
+        this.dataCursor = dataEnumerable.createCursor(entity.getColumnFamily(), FieldKey.buildIteratorOptions(filter.getFromId(), filter.getToId()));
 
-        KeyPattern dataKeyPattern;
-        if (loadingFields != null) {
-            dataKeyPattern = new KeyPattern(FieldKey.buildKeyPrefix(filter.getFromId()), 0, FieldKey.buildInnerPatterns(entity.getFieldNames(loadingFields)));
-        } else {
-            dataKeyPattern = new KeyPattern(FieldKey.buildKeyPrefix(filter.getFromId()), 0);
+        this.state = dataEnumerable.seek(dataCursor, buildKeyPattern(filter.getFromId()), entity);
+        for (long skipCount = filter.getOffset(); skipCount > 0 && !endReached(); --skipCount) {
+            state = dataEnumerable.seek(dataCursor, buildKeyPattern(state.getNextId() + 1), entity);
         }
-        this.state = dataEnumerable.seek(dataIterator, dataKeyPattern, entity);
         if (endReached()) {
             state.reset();
             close();
@@ -57,7 +56,8 @@ public class IdIterator<E extends DomainObject> implements IteratorEntity<E> {
             throw new NoSuchElementException();
         }
 
-        E result = dataEnumerable.nextObject(constructor, loadingFields, dataIterator, state, entity);
+        E result = dataEnumerable.nextObject(constructor, loadingFields, dataCursor, state, entity);
+        --remaining;
         if (endReached()) {
             state.reset();
             close();
@@ -68,10 +68,20 @@ public class IdIterator<E extends DomainObject> implements IteratorEntity<E> {
 
     @Override
     public void close() throws DatabaseException {
-        dataIterator.close();
+        dataCursor.close();
+    }
+
+    /**
+     * Шаблон ключей объектов с id не меньше fromId, поля пропускаемых объектов не вычитываются
+     */
+    private KeyPattern buildKeyPattern(long fromId) {
+        if (loadingFields != null) {
+            return new KeyPattern(FieldKey.buildKeyPrefix(fromId), 0, FieldKey.buildInnerPatterns(entity.getFieldNames(loadingFields)));
+        }
+        return new KeyPattern(FieldKey.buildKeyPrefix(fromId), 0);
     }
 
     private boolean endReached() {
-        return state.isEmpty() || state.getNextId() > endId;
+        return remaining == 0 || state.isEmpty() || state.getNextId() > endId;
     }
 }
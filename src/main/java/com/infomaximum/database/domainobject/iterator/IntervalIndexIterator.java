@@ -3,12 +3,14 @@ package com.infomaximum.database.domainobject.iterator;
 import com.infomaximum.database.domainobject.DataEnumerable;
 import com.infomaximum.database.domainobject.DomainObject;
 import com.infomaximum.database.domainobject.filter.IntervalFilter;
+import com.infomaximum.database.domainobject.filter.SortDirection;
 import com.infomaximum.database.exception.DatabaseException;
 import com.infomaximum.database.provider.DBIterator;
 import com.infomaximum.database.provider.KeyPattern;
 import com.infomaximum.database.provider.KeyValue;
 import com.infomaximum.database.schema.BaseIntervalIndex;
 import com.infomaximum.database.schema.StructEntity;
+import com.infomaximum.database.utils.IntervalIndexUtils;
 import com.infomaximum.database.utils.key.IntervalIndexKey;
 
 import java.util.*;
@@ -16,7 +18,11 @@ import java.util.*;
 public class IntervalIndexIterator<E extends DomainObject> extends BaseIntervalIndexIterator<E, IntervalFilter> {
 
     public IntervalIndexIterator(DataEnumerable dataEnumerable, Class<E> clazz, Set<Integer> loadingFields, IntervalFilter filter) throws DatabaseException {
-        super(dataEnumerable, clazz, loadingFields, filter.getSortDirection(), filter);
+        this(dataEnumerable, clazz, loadingFields, filter, false);
+    }
+
+    IntervalIndexIterator(DataEnumerable dataEnumerable, Class<E> clazz, Set<Integer> loadingFields, IntervalFilter filter, boolean idsOnly) throws DatabaseException {
+        super(dataEnumerable, clazz, loadingFields, filter.getSortDirection(), filter, idsOnly);
     }
 
     @Override
@@ -29,6 +35,27 @@ public class IntervalIndexIterator<E extends DomainObject> extends BaseIntervalI
         return indexIterator.seek(pattern);
     }
 
+    /**
+     * Значение до начала интервала в направлении обхода не сужает выборку и не учитывается
+     */
+    @Override
+    byte[] buildStartKey(IntervalFilter filter, long[] hashedValues, BaseIntervalIndex index) {
+        Object startValue = filter.getStartAfterValue();
+        if (startValue == null) {
+            return null;
+        }
+
+        index.checkIndexedValueType(startValue.getClass());
+        long value = IntervalIndexUtils.castToLong(startValue);
+        if (filter.getSortDirection() == SortDirection.ASC ? value < filterBeginValue : value > filterEndValue) {
+            return null;
+        }
+
+        IntervalIndexKey key = new IntervalIndexKey(filter.getStartAfterId(), hashedValues, index);
+        key.setIndexedValue(startValue);
+        return key.pack();
+    }
+
     @Override
     int matchKey(long id, byte[] key) {
         long indexedBeginValue = IntervalIndexKey.unpackIndexedValue(key);
@@ -0,0 +1,70 @@
+package com.infomaximum.database.domainobject.iterator;
+
+import com.infomaximum.database.domainobject.DataEnumerable;
+import com.infomaximum.database.domainobject.DomainObject;
+import com.infomaximum.database.domainobject.filter.EmptyFilter;
+import com.infomaximum.database.domainobject.filter.Filter;
+import com.infomaximum.database.domainobject.filter.IdFilter;
+import com.infomaximum.database.domainobject.filter.PagedFilter;
+import com.infomaximum.database.exception.DatabaseException;
+import com.infomaximum.database.provider.DBCursor;
+import com.infomaximum.database.schema.Schema;
+import com.infomaximum.database.schema.StructEntity;
+import com.infomaximum.database.utils.key.FieldKey;
+
+import java.util.Collections;
+
+/**
+ * Подсчет объектов без чтения их полей. Для индексных фильтров id берутся из индекса, объекты вычитываются только
+ * для проверки коллизий хешей строковых полей. Для {@link IdFilter} и {@link EmptyFilter} перебираются ключи-маркеры
+ * объектов. Offset и limit фильтра учитываются.
+ */
+public class ObjectCounter {
+
+    private ObjectCounter() {
+    }
+
+    public static <E extends DomainObject> long count(DataEnumerable dataEnumerable, Class<E> clazz, Filter filter) throws DatabaseException {
+        return count(dataEnumerable, clazz, filter, Long.MAX_VALUE);
+    }
+
+    public static <E extends DomainObject> boolean exists(DataEnumerable dataEnumerable, Class<E> clazz, Filter filter) throws DatabaseException {
+        return count(dataEnumerable, clazz, filter, 1) != 0;
+    }
+
+    private static <E extends DomainObject> long count(DataEnumerable dataEnumerable, Class<E> clazz, Filter filter, long maxCount) throws DatabaseException {
+        if (filter instanceof EmptyFilter) {
+            return countObjects(dataEnumerable, Schema.getEntity(clazz), new IdFilter(0), maxCount);
+        } else if (filter instanceof IdFilter) {
+            return countObjects(dataEnumerable, Schema.getEntity(clazz), (IdFilter) filter, maxCount);
+        }
+
+        try (BaseIndexIterator<E> iterator = BaseIndexIterator.buildIdsIterator(dataEnumerable, clazz, Collections.emptySet(), filter)) {
+            return iterator.count((PagedFilter) filter, maxCount);
+        }
+    }
+
+    private static long countObjects(DataEnumerable dataEnumerable, StructEntity entity, IdFilter filter, long maxCount) throws DatabaseException {
+        long skipCount = filter.getOffset();
+        long remaining = Math.min(filter.getLimit(), maxCount);
+        long count = 0;
+        try (DBCursor cursor = dataEnumerable.createCursor(entity.getColumnFamily(), FieldKey.buildIteratorOptions(filter.getFromId(), filter.getToId()))) {
+            for (boolean found = cursor.seek(FieldKey.buildBeginningObjectPattern(filter.getFromId())); found && remaining > 0; found = cursor.next()) {
+                long id = FieldKey.unpackId(cursor.keyBuffer());
+                if (id > filter.getToId()) {
+                    break;
+                }
+                if (dataEnumerable.isMarkedForDeletion(entity, id)) {
+                    continue;
+                }
+                if (skipCount > 0) {
+                    --skipCount;
+                } else {
+                    --remaining;
+                    ++count;
+                }
+            }
+        }
+        return count;
+    }
+}
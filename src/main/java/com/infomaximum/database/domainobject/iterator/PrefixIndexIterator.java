@@ -7,6 +7,7 @@ import com.infomaximum.database.domainobject.DataEnumerable;
 import com.infomaximum.database.domainobject.DomainObject;
 import com.infomaximum.database.domainobject.filter.PrefixFilter;
 import com.infomaximum.database.exception.DatabaseException;
+import com.infomaximum.database.provider.DBIteratorOptions;
 import com.infomaximum.database.provider.KeyPattern;
 import com.infomaximum.database.provider.KeyValue;
 import com.infomaximum.database.schema.Field;
@@ -33,6 +34,13 @@ public class PrefixIndexIterator<E extends DomainObject> extends BaseIndexIterat
     private List<String> tempList;
 
     public PrefixIndexIterator(DataEnumerable dataEnumerable, Class<E> clazz, Set<Integer> loadingFields, PrefixFilter filter) throws DatabaseException {
+        this(dataEnumerable, clazz, loadingFields, filter, false);
+    }
+
+    /**
+     * @param idsOnly объекты не вычитываются, итератор используется только как источник id
+     */
+    PrefixIndexIterator(DataEnumerable dataEnumerable, Class<E> clazz, Set<Integer> loadingFields, PrefixFilter filter, boolean idsOnly) throws DatabaseException {
         super(dataEnumerable, clazz, loadingFields);
         this.index = entity.getPrefixIndex(filter.getFieldNames());
         this.searchingWords = PrefixIndexUtils.splitSearchingTextIntoWords(filter.getFieldValue());
@@ -49,22 +57,24 @@ public class PrefixIndexIterator<E extends DomainObject> extends BaseIndexIterat
             this.searchingWords = Collections.emptyList();
         }
 
-        this.dataKeyPattern = buildDataKeyPattern(additionLoadingFields, loadingFields, entity);
-        if (this.dataKeyPattern != null) {
-            this.dataIterator = dataEnumerable.createIterator(entity.getColumnFamily());
+        this.dataFields = buildDataFields(additionLoadingFields, loadingFields, entity);
+        if (this.dataFields != null) {
             this.values = new String[index.sortedFields.size()];
             this.tempList = new ArrayList<>();
         }
 
-        this.indexIterator = dataEnumerable.createIterator(index.columnFamily);
+        this.indexIterator = dataEnumerable.createIterator(index.columnFamily, DBIteratorOptions.BOUNDED_BY_PATTERN);
         KeyValue keyValue = indexIterator.seek(indexKeyPattern);
         this.loadingIds = keyValue != null ? TypeConvert.wrapBuffer(keyValue.getValue()) : null;
 
-        nextImpl();
+        if (!idsOnly) {
+            initPage(filter);
+            nextImpl();
+        }
     }
 
     @Override
-    void nextImpl() throws DatabaseException {
+    long nextIndexedId() throws DatabaseException {
         while (loadingIds != null) {
             if (!loadingIds.hasRemaining()) {
                 KeyValue keyValue = indexIterator.next();
@@ -77,15 +87,16 @@ public class PrefixIndexIterator<E extends DomainObject> extends BaseIndexIterat
                 continue;
             }
 
-            nextElement = findObject(id);
-            if (nextElement != null) {
-                prevLoadedIds.add(Range.closedOpen(id, id + 1));
-                return;
-            }
+            prevLoadedIds.add(Range.closedOpen(id, id + 1));
+            return id;
         }
 
-        nextElement = null;
-        close();
+        return -1;
+    }
+
+    @Override
+    boolean hasResidualCheck() {
+        return !searchingWords.isEmpty();
     }
 
     @Override
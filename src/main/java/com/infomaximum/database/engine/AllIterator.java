@@ -3,19 +3,30 @@ package com.infomaximum.database.engine;
 import com.infomaximum.database.Record;
 import com.infomaximum.database.exception.DatabaseException;
 import com.infomaximum.database.provider.DBDataReader;
-import com.infomaximum.database.provider.DBIterator;
+import com.infomaximum.database.provider.DBCursor;
+import com.infomaximum.database.provider.DBIteratorOptions;
+import com.infomaximum.database.provider.KeyPattern;
+import com.infomaximum.database.schema.dbstruct.DBField;
 import com.infomaximum.database.schema.dbstruct.DBTable;
 
 public class AllIterator extends BaseRecordIterator {
 
-    private final DBIterator iterator;
+    private final DBCursor iterator;
     private final DBTable table;
     private final NextState state;
 
     public AllIterator(DBTable table, DBDataReader dataReader) throws DatabaseException {
-        this.iterator = dataReader.createIterator(table.getDataColumnFamily());
+        this(table, dataReader, null);
+    }
+
+    /**
+     * @param loadingFields вычитываемые поля или null, если вычитываются все поля. Значения остальных полей записей
+     *                      равны null
+     */
+    public AllIterator(DBTable table, DBDataReader dataReader, DBField[] loadingFields) throws DatabaseException {
+        this.iterator = dataReader.createCursor(table.getDataColumnFamily(), DBIteratorOptions.DEFAULT);
         this.table = table;
-        state = initializeState();
+        state = initializeState(loadingFields != null ? new KeyPattern(buildInnerPatterns(loadingFields)) : null);
     }
 
     @Override
@@ -33,7 +44,7 @@ public class AllIterator extends BaseRecordIterator {
         iterator.close();
     }
 
-    private NextState initializeState() throws DatabaseException {
-        return seek(null, iterator);
+    private NextState initializeState(KeyPattern keyPattern) throws DatabaseException {
+        return seek(keyPattern, iterator);
     }
 }
@@ -0,0 +1,108 @@
+package com.infomaximum.database.engine;
+
+import com.infomaximum.database.Record;
+import com.infomaximum.database.domainobject.filter.AndFilter;
+import com.infomaximum.database.domainobject.filter.Filter;
+import com.infomaximum.database.exception.DatabaseException;
+import com.infomaximum.database.provider.DBDataReader;
+import com.infomaximum.database.provider.DBIterator;
+import com.infomaximum.database.schema.dbstruct.DBField;
+import com.infomaximum.database.schema.dbstruct.DBTable;
+import com.infomaximum.database.utils.IdIntersectionUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Записи, удовлетворяющие всем фильтрам {@link AndFilter}. Id из индексов фильтров пересекаются до чтения записей,
+ * вычитываются только записи из пересечения в порядке возрастания id
+ */
+public class AndIterator extends BaseIndexRecordIterator {
+
+    private final List<BaseIndexRecordIterator> filterIterators;
+    private final long[] ids;
+    private int idPos = 0;
+
+    public AndIterator(DBTable table, AndFilter filter, DBDataReader dataReader) throws DatabaseException {
+        this(table, filter, dataReader, null, false);
+    }
+
+    /**
+     * @param loadingFields вычитываемые поля или null, если вычитываются все поля. Значения остальных полей записей
+     *                      равны null
+     */
+    public AndIterator(DBTable table, AndFilter filter, DBDataReader dataReader, DBField[] loadingFields) throws DatabaseException {
+        this(table, filter, dataReader, loadingFields, false);
+    }
+
+    /**
+     * @param idsOnly записи не вычитываются, итератор используется только как источник id
+     */
+    AndIterator(DBTable table, AndFilter filter, DBDataReader dataReader, DBField[] loadingFields, boolean idsOnly) throws DatabaseException {
+        super(table, dataReader, (DBIterator) null);
+
+        this.filterIterators = new ArrayList<>(filter.getFilters().size());
+        try {
+            List<LongSupplier> indexedIds = new ArrayList<>(filter.getFilters().size());
+            for (Filter subFilter : filter.getFilters()) {
+                BaseIndexRecordIterator iterator = buildIdsIterator(table, subFilter, dataReader, loadingFields);
+                filterIterators.add(iterator);
+                indexedIds.add(iterator::nextIndexedId);
+            }
+            this.ids = IdIntersectionUtils.intersect(indexedIds);
+        } finally {
+            closeFilterIterators();
+        }
+        this.dataFields = mergeDataFields(filterIterators);
+
+        if (!idsOnly) {
+            initPage(filter);
+            nextImpl();
+        }
+    }
+
+    @Override
+    protected long nextIndexedId() throws DatabaseException {
+        return idPos < ids.length ? ids[idPos++] : -1;
+    }
+
+    @Override
+    boolean hasResidualCheck() {
+        return filterIterators.stream().anyMatch(BaseIndexRecordIterator::hasResidualCheck);
+    }
+
+    @Override
+    boolean checkFilter(Record record) throws DatabaseException {
+        for (BaseIndexRecordIterator iterator : filterIterators) {
+            if (!iterator.checkFilter(record)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Поля каждого итератора уже включают loadingFields
+     */
+    private static DBField[] mergeDataFields(List<BaseIndexRecordIterator> iterators) {
+        Map<Integer, DBField> fields = new LinkedHashMap<>();
+        for (BaseIndexRecordIterator iterator : iterators) {
+            if (iterator.dataFields == null) {
+                return null;
+            }
+            for (DBField field : iterator.dataFields) {
+                fields.putIfAbsent(field.getId(), field);
+            }
+        }
+        return fields.values().toArray(new DBField[0]);
+    }
+
+    private void closeFilterIterators() throws DatabaseException {
+        for (BaseIndexRecordIterator iterator : filterIterators) {
+            iterator.close();
+        }
+    }
+}
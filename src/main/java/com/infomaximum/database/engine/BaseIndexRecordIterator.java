@@ -1,27 +1,59 @@
 package com.infomaximum.database.engine;
 
 import com.infomaximum.database.Record;
+import com.infomaximum.database.domainobject.filter.*;
 import com.infomaximum.database.exception.DatabaseException;
 import com.infomaximum.database.provider.DBDataReader;
 import com.infomaximum.database.provider.DBIterator;
-import com.infomaximum.database.provider.KeyPattern;
+import com.infomaximum.database.provider.DBIteratorOptions;
+import com.infomaximum.database.schema.dbstruct.DBField;
 import com.infomaximum.database.schema.dbstruct.DBTable;
+import com.infomaximum.database.utils.TypeConvert;
 import com.infomaximum.database.utils.key.FieldKey;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 public abstract class BaseIndexRecordIterator extends BaseRecordIterator {
 
+    static final int MIN_BATCH_SIZE = 16;
+    static final int MAX_BATCH_SIZE = 256;
+
     protected final DBTable dbTable;
     protected final DBIterator indexIterator;
-    protected final DBIterator dataIterator;
-    protected KeyPattern dataKeyPattern = null;
+    private final DBDataReader dataReader;
     protected Record nextRecord;
+    /**
+     * Поля, вычитываемые для записи, или null, если вычитываются все поля таблицы
+     */
+    DBField[] dataFields = null;
+
+    private long[] batchIds = new long[MIN_BATCH_SIZE];
+    private Record[] batchRecords = new Record[MIN_BATCH_SIZE];
+    private int batchPos = 0;
+    private int batchCount = 0;
+    private long skipCount = 0;
+    private long remaining = Long.MAX_VALUE;
 
     BaseIndexRecordIterator(DBTable table, DBDataReader dataReader) throws DatabaseException {
+        this(table, dataReader, DBIteratorOptions.DEFAULT);
+    }
+
+    BaseIndexRecordIterator(DBTable table, DBDataReader dataReader, DBIteratorOptions indexIteratorOptions) throws DatabaseException {
+        this.dbTable = table;
+        this.dataReader = dataReader;
+        this.indexIterator = dataReader.createIterator(table.getIndexColumnFamily(), indexIteratorOptions);
+    }
+
+    /**
+     * Для итераторов, получающих id не из собственного итератора индекса
+     */
+    BaseIndexRecordIterator(DBTable table, DBDataReader dataReader, DBIterator indexIterator) {
         this.dbTable = table;
-        this.indexIterator = dataReader.createIterator(table.getIndexColumnFamily());
-        this.dataIterator = dataReader.createIterator(table.getDataColumnFamily());
+        this.dataReader = dataReader;
+        this.indexIterator = indexIterator;
     }
 
 
@@ -43,22 +75,193 @@ public abstract class BaseIndexRecordIterator extends BaseRecordIterator {
 
     @Override
     public void close() throws DatabaseException {
-        indexIterator.close();
-        dataIterator.close();
+        if (indexIterator != null) {
+            indexIterator.close();
+        }
+    }
+
+    /**
+     * @return id следующей записи из индекса или -1, если индекс исчерпан
+     */
+    protected abstract long nextIndexedId() throws DatabaseException;
+
+    /**
+     * Задает страницу выборки, вызывается перед чтением первой записи
+     */
+    void initPage(PagedFilter filter) {
+        this.skipCount = filter.getOffset();
+        this.remaining = filter.getLimit();
+    }
+
+    /**
+     * @return false, если каждый id из индекса удовлетворяет фильтру и записи можно пропускать без чтения
+     */
+    boolean hasResidualCheck() {
+        return true;
+    }
+
+    /**
+     * Количество записей страницы фильтра, но не больше maxCount. Итератор должен быть создан с idsOnly, записи
+     * вычитываются, только если для проверки фильтра недостаточно индекса
+     */
+    long count(PagedFilter filter, long maxCount) throws DatabaseException {
+        initPage(filter);
+        remaining = Math.min(remaining, maxCount);
+
+        long count = 0;
+        if (hasResidualCheck()) {
+            for (nextImpl(); nextRecord != null; nextImpl()) {
+                ++count;
+            }
+            return count;
+        }
+
+        while (remaining > 0 && nextIndexedId() != -1) {
+            if (skipCount > 0) {
+                --skipCount;
+            } else {
+                --remaining;
+                ++count;
+            }
+        }
+        return count;
     }
 
-    protected abstract void nextImpl() throws DatabaseException;
+    protected void nextImpl() throws DatabaseException {
+        while (remaining > 0) {
+            while (batchPos < batchCount) {
+                Record record = batchRecords[batchPos];
+                batchRecords[batchPos++] = null;
+                if (record == null || !checkFilter(record)) {
+                    continue;
+                }
+                if (skipCount > 0) {
+                    --skipCount;
+                    continue;
+                }
+
+                nextRecord = record;
+                --remaining;
+                return;
+            }
 
-    protected Record findRecord(long id) throws DatabaseException {
-        if (dataKeyPattern == null) {
-            dataKeyPattern = FieldKey.buildKeyPattern(id);
-        } else {
-            dataKeyPattern.setPrefix(FieldKey.buildKeyPrefix(id));
+            if (!loadBatch()) {
+                break;
+            }
+        }
+
+        nextRecord = null;
+        close();
+    }
+
+    /**
+     * Набирает из индекса пачку id и вычитывает записи одним multiGet. Размер пачки растет от вызова к вызову,
+     * чтобы первая запись не ждала чтения большой пачки.
+     */
+    private boolean loadBatch() throws DatabaseException {
+        if (batchCount == batchIds.length && batchIds.length < MAX_BATCH_SIZE) {
+            batchIds = new long[batchIds.length * 2];
+            batchRecords = new Record[batchIds.length];
+        }
+
+        batchPos = 0;
+        batchCount = 0;
+        final boolean exact = !hasResidualCheck();
+        for (; exact && skipCount > 0; --skipCount) {
+            if (nextIndexedId() == -1) {
+                return false;
+            }
+        }
+
+        final int maxCount = exact ? (int) Math.min(batchIds.length, remaining) : batchIds.length;
+        for (long id; batchCount < maxCount && (id = nextIndexedId()) != -1; ) {
+            batchIds[batchCount++] = id;
+        }
+        if (batchCount == 0) {
+            return false;
+        }
+
+        readRecords(dbTable, dataFields, batchIds, batchCount, dataReader, batchRecords);
+        return true;
+    }
+
+    /**
+     * @param checkedFields поля, необходимые для проверки фильтра
+     * @param loadingFields вычитываемые поля или null, если вычитываются все поля
+     * @return поля, которые необходимо вычитать для записи, или null, если вычитываются все поля
+     */
+    static DBField[] buildDataFields(Collection<DBField> checkedFields, DBField[] loadingFields) {
+        if (loadingFields == null || checkedFields.isEmpty()) {
+            return loadingFields;
+        }
+
+        Map<Integer, DBField> fields = new LinkedHashMap<>();
+        for (DBField field : loadingFields) {
+            fields.put(field.getId(), field);
+        }
+        for (DBField field : checkedFields) {
+            fields.putIfAbsent(field.getId(), field);
+        }
+        return fields.values().toArray(new DBField[0]);
+    }
+
+    /**
+     * Вычитывает записи по id, для каждой записи запрашиваются ключ-маркер и ключи полей fields.
+     * Значения остальных полей записи равны null. Отсутствующая запись возвращается как null.
+     * @param fields вычитываемые поля или null, если вычитываются все поля таблицы
+     */
+    static void readRecords(DBTable table, DBField[] fields, long[] ids, int count, DBDataReader dataReader, Record[] destination) throws DatabaseException {
+        if (fields == null) {
+            fields = table.getSortedFields().toArray(new DBField[0]);
+        }
+        final int keysPerRecord = fields.length + 1;
+
+        byte[][] keys = new byte[count * keysPerRecord][];
+        for (int i = 0, pos = 0; i < count; ++i) {
+            keys[pos++] = new FieldKey(ids[i]).pack();
+            for (DBField field : fields) {
+                keys[pos++] = new FieldKey(ids[i], field.getNameBytes()).pack();
+            }
+        }
+
+        byte[][] values = dataReader.multiGet(table.getDataColumnFamily(), keys);
+        final int valueCount = table.getSortedFields().size();
+        for (int i = 0, pos = 0; i < count; ++i, pos += keysPerRecord) {
+            if (values[pos] == null) {
+                destination[i] = null;
+                continue;
+            }
+
+            Object[] recordValues = new Object[valueCount];
+            for (int j = 0; j < fields.length; ++j) {
+                byte[] value = values[pos + j + 1];
+                if (value != null) {
+                    DBField field = fields[j];
+                    recordValues[field.getId()] = TypeConvert.unpack(field.getType(), value, null);
+                }
+            }
+            destination[i] = new Record(ids[i], recordValues);
         }
-        Record record = seekRecord(dbTable, dataIterator, dataKeyPattern);
-        return record == null ? null :
-                checkFilter(record) ? record : null;
     }
 
     abstract boolean checkFilter(Record record) throws DatabaseException;
+
+    /**
+     * @param loadingFields поля, вычитываемые вместе с полями проверки фильтра, или null, если вычитываются все поля
+     * @return итератор, используемый только как источник id
+     */
+    static BaseIndexRecordIterator buildIdsIterator(DBTable table, Filter filter, DBDataReader dataReader, DBField[] loadingFields) throws DatabaseException {
+        if (filter instanceof HashFilter) {
+            return new HashIterator(table, (HashFilter) filter, dataReader, loadingFields, true);
+        } else if (filter instanceof PrefixFilter) {
+            return new PrefixIterator(table, (PrefixFilter) filter, dataReader, loadingFields, true);
+        } else if (filter instanceof IntervalFilter) {
+            return new IntervalIterator(table, (IntervalFilter) filter, dataReader, loadingFields, true);
+        } else if (filter instanceof RangeFilter) {
+            return new RangeIterator(table, (RangeFilter) filter, dataReader, loadingFields, true);
+        } else if (filter instanceof AndFilter) {
+            return new AndIterator(table, (AndFilter) filter, dataReader, loadingFields, true);
+        }
+        throw new IllegalArgumentException("Unsupported filter type " + filter.getClass());
+    }
 }
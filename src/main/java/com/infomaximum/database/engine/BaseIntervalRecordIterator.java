@@ -29,7 +29,12 @@ abstract class BaseIntervalRecordIterator<F extends BaseIntervalFilter> extends
 
     final long filterBeginValue, filterEndValue;
 
-    BaseIntervalRecordIterator(DBTable table, F filter, SortDirection direction, DBDataReader dataReader) throws DatabaseException {
+    /**
+     * @param loadingFields вычитываемые поля или null, если вычитываются все поля
+     * @param idsOnly записи не вычитываются, итератор используется только как источник id
+     */
+    BaseIntervalRecordIterator(DBTable table, F filter, SortDirection direction, DBDataReader dataReader,
+                               DBField[] loadingFields, boolean idsOnly) throws DatabaseException {
         super(table, dataReader);
         this.direction = direction == SortDirection.ASC ? DBIterator.StepDirection.FORWARD : DBIterator.StepDirection.BACKWARD;
 
@@ -64,6 +69,7 @@ abstract class BaseIntervalRecordIterator<F extends BaseIntervalFilter> extends
 
         this.checkedFilterFields = filterFields != null ? filterFields : Collections.emptyList();
         this.filterValues = filterValues;
+        this.dataFields = buildDataFields(checkedFilterFields, loadingFields);
         this.filterBeginValue = IntervalIndexUtils.castToLong(filter.getBeginValue());
         this.filterEndValue = IntervalIndexUtils.castToLong(filter.getEndValue());
         IntervalIndexUtils.checkInterval(filterBeginValue, filterEndValue);
@@ -78,37 +84,62 @@ abstract class BaseIntervalRecordIterator<F extends BaseIntervalFilter> extends
             default:
                 throw new IllegalArgumentException("direction = " + direction);
         }
-        this.indexKeyValue = seek(indexIterator, indexPattern);
+        byte[] startKey = buildStartKey(filter, values, index, table);
+        this.indexKeyValue = startKey != null ? seekAfter(startKey) : seek(indexIterator, indexPattern);
 
-        nextImpl();
+        if (!idsOnly) {
+            initPage(filter);
+            nextImpl();
+        }
     }
 
     abstract DBBaseIntervalIndex getIndex(F filter, DBTable table);
     abstract KeyValue seek(DBIterator indexIterator, KeyPattern pattern) throws DatabaseException;
 
+    /**
+     * @return ключ индекса, после которого продолжается выборка, или null, если выборка начинается с границы интервала
+     */
+    byte[] buildStartKey(F filter, long[] hashedValues, DBBaseIntervalIndex index, DBTable table) {
+        return null;
+    }
+
+    @Override
+    boolean hasResidualCheck() {
+        return !checkedFilterFields.isEmpty();
+    }
+
     @Override
-    protected void nextImpl() throws DatabaseException {
+    protected long nextIndexedId() throws DatabaseException {
         while (indexKeyValue != null) {
             final long id = BaseIntervalIndexKey.unpackId(indexKeyValue.getKey());
             final int res = matchKey(id, indexKeyValue.getKey());
-            if (res == KeyPattern.MATCH_RESULT_SUCCESS) {
-                nextRecord = findRecord(id);
-            } else if (res == KeyPattern.MATCH_RESULT_CONTINUE) {
-                nextRecord = null;
-            } else {
+            if (res == KeyPattern.MATCH_RESULT_UNSUCCESS) {
                 break;
             }
             indexKeyValue = indexIterator.step(direction);
             if (indexKeyValue != null && indexPattern.match(indexKeyValue.getKey()) != KeyPattern.MATCH_RESULT_SUCCESS) {
                 indexKeyValue = null;
             }
-            if (nextRecord != null) {
-                return;
+            if (res == KeyPattern.MATCH_RESULT_SUCCESS) {
+                return id;
             }
         }
 
-        nextRecord = null;
-        close();
+        indexKeyValue = null;
+        return -1;
+    }
+
+    private KeyValue seekAfter(byte[] startKey) throws DatabaseException {
+        KeyPattern pattern = new KeyPattern(startKey, indexPattern.getStrictMatchingLen());
+        pattern.setForBackward(indexPattern.isForBackward());
+        KeyValue keyValue = indexIterator.seek(pattern);
+        if (keyValue != null && Arrays.equals(keyValue.getKey(), startKey)) {
+            keyValue = indexIterator.step(direction);
+            if (keyValue != null && indexPattern.match(keyValue.getKey()) != KeyPattern.MATCH_RESULT_SUCCESS) {
+                keyValue = null;
+            }
+        }
+        return keyValue;
     }
 
     /**
@@ -4,6 +4,7 @@ import com.infomaximum.database.Record;
 import com.infomaximum.database.RecordIterator;
 import com.infomaximum.database.exception.DatabaseException;
 import com.infomaximum.database.exception.UnexpectedEndObjectException;
+import com.infomaximum.database.provider.DBCursor;
 import com.infomaximum.database.provider.DBIterator;
 import com.infomaximum.database.provider.KeyPattern;
 import com.infomaximum.database.provider.KeyValue;
@@ -12,8 +13,11 @@ import com.infomaximum.database.schema.dbstruct.DBTable;
 import com.infomaximum.database.utils.TypeConvert;
 import com.infomaximum.database.utils.key.FieldKey;
 
+import java.nio.ByteBuffer;
+import java.util.HashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
 public abstract class BaseRecordIterator implements RecordIterator {
 
@@ -38,24 +42,41 @@ public abstract class BaseRecordIterator implements RecordIterator {
         }
     }
 
-    protected Record nextRecord(DBTable table, NextState state, DBIterator dbIterator) throws DatabaseException {
+    /**
+     * Ключи остальных полей пропускаются курсором, их значения не вычитываются
+     * @param fields вычитываемые поля или null, если вычитываются все поля
+     * @return шаблоны ключа-маркера и ключей полей fields или null
+     */
+    static KeyPattern.Postfix[] buildInnerPatterns(DBField[] fields) {
+        if (fields == null) {
+            return null;
+        }
+
+        Set<String> fieldNames = new HashSet<>(fields.length);
+        for (DBField field : fields) {
+            fieldNames.add(field.getName());
+        }
+        return FieldKey.buildInnerPatterns(fieldNames);
+    }
+
+    protected Record nextRecord(DBTable table, NextState state, DBCursor cursor) throws DatabaseException {
         if (state.isEmpty()) {
             throw new NoSuchElementException();
         }
-        return readRecord(table, state, dbIterator);
+        return readRecord(table, state, cursor);
     }
 
-    public static NextState seek(KeyPattern pattern, DBIterator iterator) throws DatabaseException {
-        KeyValue keyValue = iterator.seek(pattern);
-        if (keyValue == null) {
+    public static NextState seek(KeyPattern pattern, DBCursor cursor) throws DatabaseException {
+        if (!cursor.seek(pattern)) {
             return new NextState(-1);
         }
 
-        if (!FieldKey.unpackBeginningObject(keyValue.getKey())) {
+        ByteBuffer key = cursor.keyBuffer();
+        if (!FieldKey.unpackBeginningObject(key)) {
             return new NextState(-1);
         }
 
-        long objId = FieldKey.unpackId(keyValue.getKey());
+        long objId = FieldKey.unpackId(key);
         return new NextState(objId);
     }
 
@@ -72,22 +93,22 @@ public abstract class BaseRecordIterator implements RecordIterator {
         return readRecord(table, FieldKey.unpackId(keyValue.getKey()), iterator);
     }
 
-    private Record readRecord(DBTable table, NextState state, DBIterator iterator) throws DatabaseException {
+    private Record readRecord(DBTable table, NextState state, DBCursor cursor) throws DatabaseException {
         long recordId = state.nextId;
         List<DBField> fields = table.getSortedFields();
         Object[] values = new Object[fields.size()];
-        KeyValue keyValue;
-        while ((keyValue = iterator.next()) != null) {
-            long id = FieldKey.unpackId(keyValue.getKey());
+        while (cursor.next()) {
+            ByteBuffer key = cursor.keyBuffer();
+            long id = FieldKey.unpackId(key);
             if (id != recordId) {
-                if (!FieldKey.unpackBeginningObject(keyValue.getKey())) {
-                    throw new UnexpectedEndObjectException(recordId, id, FieldKey.unpackFieldName(keyValue.getKey()));
+                if (!FieldKey.unpackBeginningObject(key)) {
+                    throw new UnexpectedEndObjectException(recordId, id, FieldKey.unpackFieldName(key));
                 }
                 state.nextId = id;
                 return new Record(recordId, values);
             }
-            DBField field = table.getField(FieldKey.unpackFieldName(keyValue.getKey()));
-            values[field.getId()] = TypeConvert.unpack(field.getType(), keyValue.getValue(), null);
+            DBField field = table.getField(key, key.position() + FieldKey.ID_BYTE_SIZE);
+            values[field.getId()] = TypeConvert.unpack(field.getType(), cursor.valueBuffer(), null);
         }
         state.nextId = -1;
         return new Record(recordId, values);
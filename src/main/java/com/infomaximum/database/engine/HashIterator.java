@@ -5,6 +5,8 @@ import com.infomaximum.database.domainobject.filter.HashFilter;
 import com.infomaximum.database.exception.DatabaseException;
 import com.infomaximum.database.exception.IllegalTypeException;
 import com.infomaximum.database.provider.DBDataReader;
+import com.infomaximum.database.provider.DBIteratorOptions;
+import com.infomaximum.database.provider.KeyPattern;
 import com.infomaximum.database.provider.KeyValue;
 import com.infomaximum.database.schema.dbstruct.DBField;
 import com.infomaximum.database.schema.dbstruct.DBHashIndex;
@@ -12,59 +14,143 @@ import com.infomaximum.database.schema.dbstruct.DBTable;
 import com.infomaximum.database.utils.HashIndexUtils;
 import com.infomaximum.database.utils.key.HashIndexKey;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class HashIterator extends BaseIndexRecordIterator {
 
-    private final Map<DBField, Object> filterFieldsValue = new HashMap<>();
+    private final Map<DBField, Set<Object>> filterFieldsValue = new HashMap<>();
+    private final DBHashIndex index;
+    /**
+     * Сочетания хешей значений фильтра в порядке ключей индекса, по каждому выполняется поиск
+     */
+    private final long[][] indexedHashes;
+    private int hashPos = 0;
+    /**
+     * Поиск по каждому сочетанию хешей начинается с этого id
+     */
+    private final long fromId;
     private KeyValue indexKeyValue;
+    /**
+     * Все id фильтра в порядке возрастания, если задана сортировка по id
+     */
+    private long[] sortedIds = null;
+    private int sortedIdPos = 0;
 
     public HashIterator(DBTable table, HashFilter filter, DBDataReader dataReader) {
-        super(table, dataReader);
-        this.indexKeyValue = seekByFilter(table, filter);
+        this(table, filter, dataReader, null, false);
+    }
+
+    /**
+     * @param loadingFields вычитываемые поля или null, если вычитываются все поля. Значения остальных полей записей
+     *                      равны null
+     */
+    public HashIterator(DBTable table, HashFilter filter, DBDataReader dataReader, DBField[] loadingFields) {
+        this(table, filter, dataReader, loadingFields, false);
+    }
+
+    /**
+     * @param idsOnly записи не вычитываются, итератор используется только как источник id
+     */
+    HashIterator(DBTable table, HashFilter filter, DBDataReader dataReader, DBField[] loadingFields, boolean idsOnly) {
+        //поиск по нескольким хешам переиспользует один итератор без границ шаблона
+        super(table, dataReader, filter.isMultiValued() ? DBIteratorOptions.DEFAULT : DBIteratorOptions.BOUNDED_BY_PATTERN);
+        this.index = table.getIndex(filter);
+        this.indexedHashes = buildIndexedHashes(table, filter);
+        this.dataFields = buildDataFields(filterFieldsValue.keySet(), loadingFields);
+        this.fromId = filter.getStartAfterId() + 1;
+        if (indexedHashes.length > 0) {
+            this.indexKeyValue = indexIterator.seek(buildKeyPattern(indexedHashes[0]));
+        }
+        if (filter.isSortedById() && indexedHashes.length > 1) {
+            this.sortedIds = readSortedIds();
+        }
 
-        nextImpl();
+        if (!idsOnly) {
+            initPage(filter);
+            nextImpl();
+        }
     }
 
     @Override
-    protected void nextImpl() throws DatabaseException {
-        while (indexKeyValue != null) {
-            nextRecord = findRecord(HashIndexKey.unpackId(indexKeyValue.getKey()));
-            indexKeyValue = indexIterator.next();
-            if (nextRecord != null) {
-                return;
-            }
+    protected long nextIndexedId() throws DatabaseException {
+        if (sortedIds != null) {
+            return sortedIdPos < sortedIds.length ? sortedIds[sortedIdPos++] : -1;
         }
+        return nextHashedId();
+    }
 
-        nextRecord = null;
-        close();
+    @Override
+    boolean hasResidualCheck() {
+        return !filterFieldsValue.isEmpty();
     }
 
     @Override
     boolean checkFilter(Record record) throws DatabaseException {
-        return filterFieldsValue.entrySet()
-                .stream()
-                .allMatch(fieldEntry -> HashIndexUtils.equals(fieldEntry.getKey().getType(), fieldEntry.getValue(), record.getValues()[fieldEntry.getKey().getId()]));
+        for (Map.Entry<DBField, Set<Object>> entry : filterFieldsValue.entrySet()) {
+            DBField field = entry.getKey();
+            Object value = record.getValues()[field.getId()];
+            if (!HashIndexUtils.contains(field.getType(), entry.getValue(), value)) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private KeyValue seekByFilter(DBTable table, HashFilter filter) {
-        Map<Integer, Object> filters = filter.getValues();
-        final DBHashIndex index = table.getIndex(filter);
+    private long nextHashedId() throws DatabaseException {
+        while (indexKeyValue == null) {
+            if (++hashPos >= indexedHashes.length) {
+                return -1;
+            }
+            indexKeyValue = indexIterator.seek(buildKeyPattern(indexedHashes[hashPos]));
+        }
+
+        long id = HashIndexKey.unpackId(indexKeyValue.getKey());
+        indexKeyValue = indexIterator.next();
+        return id;
+    }
+
+    private KeyPattern buildKeyPattern(long[] hashes) {
+        return fromId > 0 ? HashIndexKey.buildKeyPattern(index, hashes, fromId) : HashIndexKey.buildKeyPattern(index, hashes);
+    }
 
-        long[] values = new long[index.getFieldIds().length];
+    /**
+     * Id разных сочетаний хешей не пересекаются, поэтому достаточно сортировки
+     */
+    private long[] readSortedIds() throws DatabaseException {
+        long[] ids = new long[MAX_BATCH_SIZE];
+        int count = 0;
+        for (long id; (id = nextHashedId()) != -1; ) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            ids[count++] = id;
+        }
+        ids = Arrays.copyOf(ids, count);
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    private long[][] buildIndexedHashes(DBTable table, HashFilter filter) {
+        long[][] fieldHashes = new long[index.getFieldIds().length][];
         for (int i = 0; i < index.getFieldIds().length; ++i) {
             DBField field = table.getField(index.getFieldIds()[i]);
-            Object value = filters.get(field.getId());
-            checkValueType(value, field);
+            List<Object> values = filter.getFieldValues(field.getId());
+            fieldHashes[i] = new long[values.size()];
+            for (int j = 0; j < values.size(); ++j) {
+                Object value = values.get(j);
+                checkValueType(value, field);
+                fieldHashes[i][j] = HashIndexUtils.buildHash(field.getType(), value, null);
+            }
 
-            values[i] = HashIndexUtils.buildHash(field.getType(), value, null);
-            if (HashIndexUtils.toLongCastable(field.getType())) {
-                continue;
+            if (!HashIndexUtils.toLongCastable(field.getType())) {
+                filterFieldsValue.put(field, HashIndexUtils.buildValueSet(field.getType(), values));
             }
-            filterFieldsValue.put(field, value);
         }
-        return indexIterator.seek(HashIndexKey.buildKeyPattern(index, values));
+        return HashIndexUtils.buildHashCombinations(fieldHashes);
     }
 
     private void checkValueType(Object value, DBField field) {
@@ -4,8 +4,9 @@ import com.infomaximum.database.Record;
 import com.infomaximum.database.domainobject.filter.IdFilter;
 import com.infomaximum.database.exception.DatabaseException;
 import com.infomaximum.database.provider.DBDataReader;
-import com.infomaximum.database.provider.DBIterator;
+import com.infomaximum.database.provider.DBCursor;
 import com.infomaximum.database.provider.KeyPattern;
+import com.infomaximum.database.schema.dbstruct.DBField;
 import com.infomaximum.database.schema.dbstruct.DBTable;
 import com.infomaximum.database.utils.key.FieldKey;
 
@@ -13,17 +14,31 @@ import java.util.NoSuchElementException;
 
 public class IdIterator extends BaseRecordIterator {
 
-    private final DBIterator iterator;
+    private final DBCursor iterator;
     private final DBTable table;
-    private final NextState state;
+    private NextState state;
     private final long endId;
+    private final KeyPattern.Postfix[] innerPatterns;
+    private long remaining;
 
     public IdIterator(DBTable table, IdFilter filter, DBDataReader dataReader) {
-        this.iterator = dataReader.createIterator(table.getDataColumnFamily());
+        this(table, filter, dataReader, null);
+    }
+
+    /**
+     * @param loadingFields вычитываемые поля или null, если вычитываются все поля. Значения остальных полей записей
+     *                      равны null
+     */
+    public IdIterator(DBTable table, IdFilter filter, DBDataReader dataReader, DBField[] loadingFields) {
+        this.innerPatterns = buildInnerPatterns(loadingFields);
+        this.iterator = dataReader.createCursor(table.getDataColumnFamily(), FieldKey.buildIteratorOptions(filter.getFromId(), filter.getToId()));
         this.table = table;
         this.endId = filter.getToId();
-        KeyPattern dataKeyPattern = new KeyPattern(FieldKey.buildKeyPrefix(filter.getFromId()), 0);
-        state = initializeState(dataKeyPattern);
+        this.remaining = filter.getLimit();
+        state = initializeState(filter.getFromId());
+        for (long skipCount = filter.getOffset(); skipCount > 0 && !endReached(); --skipCount) {
+            state = initializeState(state.getNextId() + 1);
+        }
         if (endReached()) {
             state.reset();
             close();
@@ -42,6 +57,7 @@ public class IdIterator extends BaseRecordIterator {
         }
 
         Record result = nextRecord(table, state, iterator);
+        --remaining;
         if (endReached()) {
             state.reset();
             close();
@@ -54,11 +70,14 @@ public class IdIterator extends BaseRecordIterator {
         iterator.close();
     }
 
-    private NextState initializeState(KeyPattern keyPattern) throws DatabaseException {
-        return seek(keyPattern, iterator);
+    /**
+     * Позиционирует итератор на первую запись с id не меньше fromId, поля пропускаемых записей не вычитываются
+     */
+    private NextState initializeState(long fromId) throws DatabaseException {
+        return seek(new KeyPattern(FieldKey.buildKeyPrefix(fromId), 0, innerPatterns), iterator);
     }
 
     private boolean endReached() {
-        return state.isEmpty() || state.getNextId() > endId;
+        return remaining == 0 || state.isEmpty() || state.getNextId() > endId;
     }
 }
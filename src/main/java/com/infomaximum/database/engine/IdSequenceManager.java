@@ -6,6 +6,7 @@ import com.infomaximum.database.provider.DBDataCommand;
 import com.infomaximum.database.provider.DBIterator;
 import com.infomaximum.database.provider.KeyPattern;
 import com.infomaximum.database.provider.KeyValue;
+import com.infomaximum.database.provider.SequenceCacheConfig;
 import com.infomaximum.database.schema.Schema;
 import com.infomaximum.database.schema.dbstruct.DBTable;
 import com.infomaximum.database.utils.TypeConvert;
@@ -19,10 +20,16 @@ public class IdSequenceManager {
     private static final String SEQUENCE_PREFIX = "sequence.";
 
     private final DBDataCommand dataCommand;
+    private final SequenceCacheConfig cacheConfig;
     private final ConcurrentMap<Integer, Sequence> sequences = new ConcurrentHashMap<>();
 
     public IdSequenceManager(DBDataCommand dataCommand) throws DatabaseException {
+        this(dataCommand, SequenceCacheConfig.DEFAULT);
+    }
+
+    public IdSequenceManager(DBDataCommand dataCommand, SequenceCacheConfig cacheConfig) throws DatabaseException {
         this.dataCommand = dataCommand;
+        this.cacheConfig = cacheConfig;
         readSequences();
     }
 
@@ -61,37 +68,67 @@ public class IdSequenceManager {
 
     public class Sequence {
 
-        private final static int SIZE_CACHE = 10;
-
         private final byte[] key;
         private final AtomicLong counter;
-        private long maxCacheValue;
+        /**
+         * Диапазон потока [следующее значение, последнее значение]
+         */
+        private final ThreadLocal<long[]> threadBlock;
+        private volatile long maxCacheValue;
+        private int cacheSize;
+        private long lastGrowTime;
 
         Sequence(KeyValue keyValue) {
             this.key = keyValue.getKey();
             this.maxCacheValue = TypeConvert.unpackLong(keyValue.getValue(), 0);
             this.counter = new AtomicLong(maxCacheValue);
+            this.threadBlock = cacheConfig.getThreadBlockSize() > 0 ? ThreadLocal.withInitial(() -> new long[]{1, 0}) : null;
+            this.cacheSize = cacheConfig.getMinCacheSize();
+            this.lastGrowTime = System.nanoTime();
         }
 
         public long next() throws DatabaseException {
+            if (threadBlock != null) {
+                long[] block = threadBlock.get();
+                if (block[0] > block[1]) {
+                    block[0] = reserve(cacheConfig.getThreadBlockSize());
+                    block[1] = block[0] + cacheConfig.getThreadBlockSize() - 1;
+                }
+                return block[0]++;
+            }
+
             long value;
             do {
                 value = counter.get();
                 if (value >= maxCacheValue) {
                     //Кеш закончился-берем еще
-                    growCache();
+                    growCache(value + 1);
                 }
             } while (!counter.compareAndSet(value, value + 1));
             return value + 1;
         }
 
-        private synchronized void growCache() throws DatabaseException {
-            if ((maxCacheValue - counter.get()) > SIZE_CACHE) {
+        private long reserve(int count) throws DatabaseException {
+            final long first = counter.getAndAdd(count) + 1;
+            final long last = first + count - 1;
+            if (last > maxCacheValue) {
+                growCache(last);
+            }
+            return first;
+        }
+
+        private synchronized void growCache(long value) throws DatabaseException {
+            if (value <= maxCacheValue) {
                 return;
             }
 
-            dataCommand.put(Schema.SERVICE_COLUMN_FAMILY, key, TypeConvert.pack(maxCacheValue + SIZE_CACHE));
-            maxCacheValue += SIZE_CACHE;
+            long now = System.nanoTime();
+            cacheSize = cacheConfig.nextCacheSize(cacheSize, now - lastGrowTime);
+            lastGrowTime = now;
+
+            long newMaxCacheValue = value + cacheSize - 1;
+            dataCommand.put(Schema.SERVICE_COLUMN_FAMILY, key, TypeConvert.pack(newMaxCacheValue));
+            maxCacheValue = newMaxCacheValue;
         }
     }
 }
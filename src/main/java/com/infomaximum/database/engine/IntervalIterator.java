@@ -1,19 +1,35 @@
 package com.infomaximum.database.engine;
 
 import com.infomaximum.database.domainobject.filter.IntervalFilter;
+import com.infomaximum.database.domainobject.filter.SortDirection;
 import com.infomaximum.database.exception.DatabaseException;
 import com.infomaximum.database.provider.DBDataReader;
 import com.infomaximum.database.provider.DBIterator;
 import com.infomaximum.database.provider.KeyPattern;
 import com.infomaximum.database.provider.KeyValue;
 import com.infomaximum.database.schema.dbstruct.DBBaseIntervalIndex;
+import com.infomaximum.database.schema.dbstruct.DBField;
+import com.infomaximum.database.schema.dbstruct.DBIntervalIndex;
 import com.infomaximum.database.schema.dbstruct.DBTable;
+import com.infomaximum.database.utils.IntervalIndexUtils;
 import com.infomaximum.database.utils.key.IntervalIndexKey;
 
 public class IntervalIterator extends BaseIntervalRecordIterator<IntervalFilter> {
 
     public IntervalIterator(DBTable table, IntervalFilter filter, DBDataReader dataReader) {
-        super(table, filter, filter.getSortDirection(), dataReader);
+        this(table, filter, dataReader, null, false);
+    }
+
+    /**
+     * @param loadingFields вычитываемые поля или null, если вычитываются все поля. Значения остальных полей записей
+     *                      равны null
+     */
+    public IntervalIterator(DBTable table, IntervalFilter filter, DBDataReader dataReader, DBField[] loadingFields) {
+        this(table, filter, dataReader, loadingFields, false);
+    }
+
+    IntervalIterator(DBTable table, IntervalFilter filter, DBDataReader dataReader, DBField[] loadingFields, boolean idsOnly) {
+        super(table, filter, filter.getSortDirection(), dataReader, loadingFields, idsOnly);
     }
 
     @Override
@@ -26,6 +42,27 @@ public class IntervalIterator extends BaseIntervalRecordIterator<IntervalFilter>
         return indexIterator.seek(pattern);
     }
 
+    /**
+     * Значение до начала интервала в направлении обхода не сужает выборку и не учитывается
+     */
+    @Override
+    byte[] buildStartKey(IntervalFilter filter, long[] hashedValues, DBBaseIntervalIndex index, DBTable table) {
+        Object startValue = filter.getStartAfterValue();
+        if (startValue == null) {
+            return null;
+        }
+
+        index.checkIndexedFieldType(startValue.getClass(), table);
+        long value = IntervalIndexUtils.castToLong(startValue);
+        if (filter.getSortDirection() == SortDirection.ASC ? value < filterBeginValue : value > filterEndValue) {
+            return null;
+        }
+
+        IntervalIndexKey key = new IntervalIndexKey(filter.getStartAfterId(), hashedValues, (DBIntervalIndex) index);
+        key.setIndexedValue(startValue);
+        return key.pack();
+    }
+
     @Override
     int matchKey(long id, byte[] key) {
         long indexedBeginValue = IntervalIndexKey.unpackIndexedValue(key);
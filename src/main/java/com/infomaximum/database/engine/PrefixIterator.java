@@ -7,8 +7,10 @@ import com.infomaximum.database.Record;
 import com.infomaximum.database.domainobject.filter.PrefixFilter;
 import com.infomaximum.database.exception.DatabaseException;
 import com.infomaximum.database.provider.DBDataReader;
+import com.infomaximum.database.provider.DBIteratorOptions;
 import com.infomaximum.database.provider.KeyPattern;
 import com.infomaximum.database.provider.KeyValue;
+import com.infomaximum.database.schema.dbstruct.DBField;
 import com.infomaximum.database.schema.dbstruct.DBPrefixIndex;
 import com.infomaximum.database.schema.dbstruct.DBTable;
 import com.infomaximum.database.utils.PrefixIndexUtils;
@@ -17,6 +19,7 @@ import com.infomaximum.database.utils.key.PrefixIndexKey;
 
 import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.stream.Collectors;
 
 public class PrefixIterator extends BaseIndexRecordIterator {
 
@@ -29,7 +32,22 @@ public class PrefixIterator extends BaseIndexRecordIterator {
     private List<String> tempList;
 
     public PrefixIterator(DBTable table, PrefixFilter filter, DBDataReader dataReader) {
-        super(table, dataReader);
+        this(table, filter, dataReader, null, false);
+    }
+
+    /**
+     * @param loadingFields вычитываемые поля или null, если вычитываются все поля. Значения остальных полей записей
+     *                      равны null
+     */
+    public PrefixIterator(DBTable table, PrefixFilter filter, DBDataReader dataReader, DBField[] loadingFields) {
+        this(table, filter, dataReader, loadingFields, false);
+    }
+
+    /**
+     * @param idsOnly записи не вычитываются, итератор используется только как источник id
+     */
+    PrefixIterator(DBTable table, PrefixFilter filter, DBDataReader dataReader, DBField[] loadingFields, boolean idsOnly) {
+        super(table, dataReader, DBIteratorOptions.BOUNDED_BY_PATTERN);
 
         this.index = table.getIndex(filter);
         this.searchingWords = PrefixIndexUtils.splitSearchingTextIntoWords(filter.getFieldValue());
@@ -40,6 +58,9 @@ public class PrefixIterator extends BaseIndexRecordIterator {
         KeyPattern indexKeyPattern = PrefixIndexKey.buildKeyPatternForFind(searchingWords.get(searchingWords.size() - 1), index);
         if (this.searchingWords.size() <= 1) {
             this.searchingWords = Collections.emptyList();
+            this.dataFields = loadingFields;
+        } else {
+            this.dataFields = buildDataFields(Arrays.stream(index.getFieldIds()).mapToObj(table::getField).collect(Collectors.toList()), loadingFields);
         }
 
         this.tempList = new ArrayList<>();
@@ -47,11 +68,14 @@ public class PrefixIterator extends BaseIndexRecordIterator {
         KeyValue keyValue = indexIterator.seek(indexKeyPattern);
         this.loadingIds = keyValue != null ? TypeConvert.wrapBuffer(keyValue.getValue()) : null;
 
-        nextImpl();
+        if (!idsOnly) {
+            initPage(filter);
+            nextImpl();
+        }
     }
 
     @Override
-    protected void nextImpl() throws DatabaseException {
+    protected long nextIndexedId() throws DatabaseException {
         while (loadingIds != null) {
             if (!loadingIds.hasRemaining()) {
                 KeyValue keyValue = indexIterator.next();
@@ -64,15 +88,16 @@ public class PrefixIterator extends BaseIndexRecordIterator {
                 continue;
             }
 
-            nextRecord = findRecord(id);
-            if (nextRecord != null) {
-                prevLoadedIds.add(Range.closedOpen(id, id + 1));
-                return;
-            }
+            prevLoadedIds.add(Range.closedOpen(id, id + 1));
+            return id;
         }
 
-        nextRecord = null;
-        close();
+        return -1;
+    }
+
+    @Override
+    boolean hasResidualCheck() {
+        return !searchingWords.isEmpty();
     }
 
     @Override
@@ -8,6 +8,7 @@ import com.infomaximum.database.provider.DBIterator;
 import com.infomaximum.database.provider.KeyPattern;
 import com.infomaximum.database.provider.KeyValue;
 import com.infomaximum.database.schema.dbstruct.DBBaseIntervalIndex;
+import com.infomaximum.database.schema.dbstruct.DBField;
 import com.infomaximum.database.schema.dbstruct.DBTable;
 import com.infomaximum.database.utils.RangeIndexUtils;
 import com.infomaximum.database.utils.key.RangeIndexKey;
@@ -20,7 +21,19 @@ public class RangeIterator extends BaseIntervalRecordIterator<RangeFilter> {
     private Set<Long> processedIds/* = null*/; // не нужно инициализировать, т.к. matchKey вызывается из конструктора базового класса
 
     public RangeIterator(DBTable table, RangeFilter filter, DBDataReader dataReader) {
-        super(table, filter, SortDirection.ASC, dataReader);
+        this(table, filter, dataReader, null, false);
+    }
+
+    /**
+     * @param loadingFields вычитываемые поля или null, если вычитываются все поля. Значения остальных полей записей
+     *                      равны null
+     */
+    public RangeIterator(DBTable table, RangeFilter filter, DBDataReader dataReader, DBField[] loadingFields) {
+        this(table, filter, dataReader, loadingFields, false);
+    }
+
+    RangeIterator(DBTable table, RangeFilter filter, DBDataReader dataReader, DBField[] loadingFields, boolean idsOnly) {
+        super(table, filter, SortDirection.ASC, dataReader, loadingFields, idsOnly);
     }
 
     @Override
@@ -0,0 +1,63 @@
+package com.infomaximum.database.engine;
+
+import com.infomaximum.database.domainobject.filter.EmptyFilter;
+import com.infomaximum.database.domainobject.filter.Filter;
+import com.infomaximum.database.domainobject.filter.IdFilter;
+import com.infomaximum.database.domainobject.filter.PagedFilter;
+import com.infomaximum.database.exception.DatabaseException;
+import com.infomaximum.database.provider.DBCursor;
+import com.infomaximum.database.provider.DBDataReader;
+import com.infomaximum.database.schema.dbstruct.DBField;
+import com.infomaximum.database.schema.dbstruct.DBTable;
+import com.infomaximum.database.utils.key.FieldKey;
+
+/**
+ * Подсчет записей без чтения их значений. Для индексных фильтров id берутся из индекса, записи вычитываются только
+ * для проверки коллизий хешей строковых полей. Для {@link IdFilter} и {@link EmptyFilter} перебираются ключи-маркеры
+ * записей. Offset и limit фильтра учитываются.
+ */
+public class RecordCounter {
+
+    private RecordCounter() {
+    }
+
+    public static long count(DBTable table, Filter filter, DBDataReader dataReader) throws DatabaseException {
+        return count(table, filter, dataReader, Long.MAX_VALUE);
+    }
+
+    public static boolean exists(DBTable table, Filter filter, DBDataReader dataReader) throws DatabaseException {
+        return count(table, filter, dataReader, 1) != 0;
+    }
+
+    private static long count(DBTable table, Filter filter, DBDataReader dataReader, long maxCount) throws DatabaseException {
+        if (filter instanceof EmptyFilter) {
+            return countRecords(table, new IdFilter(0), dataReader, maxCount);
+        } else if (filter instanceof IdFilter) {
+            return countRecords(table, (IdFilter) filter, dataReader, maxCount);
+        }
+
+        try (BaseIndexRecordIterator iterator = BaseIndexRecordIterator.buildIdsIterator(table, filter, dataReader, new DBField[0])) {
+            return iterator.count((PagedFilter) filter, maxCount);
+        }
+    }
+
+    private static long countRecords(DBTable table, IdFilter filter, DBDataReader dataReader, long maxCount) throws DatabaseException {
+        long skipCount = filter.getOffset();
+        long remaining = Math.min(filter.getLimit(), maxCount);
+        long count = 0;
+        try (DBCursor cursor = dataReader.createCursor(table.getDataColumnFamily(), FieldKey.buildIteratorOptions(filter.getFromId(), filter.getToId()))) {
+            for (boolean found = cursor.seek(FieldKey.buildBeginningObjectPattern(filter.getFromId())); found && remaining > 0; found = cursor.next()) {
+                if (FieldKey.unpackId(cursor.keyBuffer()) > filter.getToId()) {
+                    break;
+                }
+                if (skipCount > 0) {
+                    --skipCount;
+                } else {
+                    --remaining;
+                    ++count;
+                }
+            }
+        }
+        return count;
+    }
+}
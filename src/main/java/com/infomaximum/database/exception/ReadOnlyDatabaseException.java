@@ -0,0 +1,8 @@
+package com.infomaximum.database.exception;
+
+public class ReadOnlyDatabaseException extends DatabaseException {
+
+    public ReadOnlyDatabaseException() {
+        super("Database is opened in read-only mode.");
+    }
+}
@@ -0,0 +1,27 @@
+package com.infomaximum.database.provider;
+
+import com.infomaximum.database.exception.DatabaseException;
+
+/**
+ * Non-transactional writer for imports and migrations. Changes are accumulated in a batch and written
+ * when the batch exceeds {@link DBBulkWriteConfig#getFlushThresholdBytes()}, so memory usage stays bounded.
+ * Reads see both written and pending changes. Conflicts are not detected and written batches are not rolled back.
+ */
+public interface DBBulkWrite extends AutoCloseable, DBDataCommand {
+
+    /**
+     * Writes the pending batch into the database. Iterators created by this writer must be closed beforehand.
+     */
+    void flush() throws DatabaseException;
+
+    /**
+     * Writes the pending batch and, if configured, waits until all written data is durable.
+     */
+    void commit() throws DatabaseException;
+
+    /**
+     * Discards the pending batch that was not flushed yet.
+     */
+    @Override
+    void close() throws DatabaseException;
+}
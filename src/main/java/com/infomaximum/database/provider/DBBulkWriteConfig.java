@@ -0,0 +1,69 @@
+package com.infomaximum.database.provider;
+
+public class DBBulkWriteConfig {
+
+    /**
+     * Объем накопленных изменений в байтах, после которого пачка записывается в базу. Пока открыт хотя бы один
+     * итератор пачки, она не записывается и растет без ограничения, поэтому итераторы нужно закрывать
+     * до продолжения записи
+     */
+    final long flushThresholdBytes;
+    /**
+     * Писать пачки без WAL, данные становятся устойчивыми к падению только после сброса memtable на диск
+     */
+    final boolean disableWal;
+    /**
+     * При завершении дождаться, пока данные окажутся на диске (fsync WAL или сброс memtable, если WAL отключен)
+     */
+    final boolean syncOnCommit;
+
+    private DBBulkWriteConfig(Builder builder) {
+        flushThresholdBytes = builder.flushThresholdBytes;
+        disableWal = builder.disableWal;
+        syncOnCommit = builder.syncOnCommit;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public long getFlushThresholdBytes() {
+        return flushThresholdBytes;
+    }
+
+    public boolean isDisableWal() {
+        return disableWal;
+    }
+
+    public boolean isSyncOnCommit() {
+        return syncOnCommit;
+    }
+
+    public static final class Builder {
+        private long flushThresholdBytes = 16L * 1024 * 1024;
+        private boolean disableWal = false;
+        private boolean syncOnCommit = true;
+
+        private Builder() {
+        }
+
+        public Builder withFlushThresholdBytes(long flushThresholdBytes) {
+            this.flushThresholdBytes = flushThresholdBytes;
+            return this;
+        }
+
+        public Builder withDisableWal(boolean disableWal) {
+            this.disableWal = disableWal;
+            return this;
+        }
+
+        public Builder withSyncOnCommit(boolean syncOnCommit) {
+            this.syncOnCommit = syncOnCommit;
+            return this;
+        }
+
+        public DBBulkWriteConfig build() {
+            return new DBBulkWriteConfig(this);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.infomaximum.database.provider;
+
+import com.infomaximum.database.exception.DatabaseException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Итератор, не создающий объектов на каждую запись. Ключ и значение текущей позиции читаются в переиспользуемые
+ * буферы, которые действительны только до следующего перемещения курсора.
+ * Данные буфера лежат в интервале [position, limit), читать их следует абсолютными методами (get(int) и т.д.).
+ */
+public interface DBCursor extends AutoCloseable {
+
+    /**
+     * @return true, если курсор встал на ключ, удовлетворяющий шаблону
+     */
+    boolean seek(KeyPattern pattern) throws DatabaseException;
+    boolean next() throws DatabaseException;
+    boolean step(DBIterator.StepDirection direction) throws DatabaseException;
+
+    ByteBuffer keyBuffer();
+    ByteBuffer valueBuffer() throws DatabaseException;
+
+    @Override
+    void close() throws DatabaseException;
+}
@@ -9,12 +9,16 @@ public interface DBDataCommand extends DBDataReader {
     void put(String columnFamily, byte[] key, byte[] value) throws DatabaseException;
     void delete(String columnFamily, byte[] key) throws DatabaseException;
     /**
+     * Removes the whole range by a single range tombstone, the cost does not depend on the number of keys.
+     * Keys written into the range later in the same transaction survive the deletion.
+     * Write conflicts on the deleted range are not detected.
      * @param beginKey inclusive
      * @param endKey exclusive
      */
     void deleteRange(String columnFamily, byte[] beginKey, byte[] endKey) throws DatabaseException;
     void singleDelete(String columnFamily, byte[] key) throws DatabaseException;
     /**
+     * Same as {@link #deleteRange(String, byte[], byte[])}.
      * @param beginKey inclusive
      * @param endKey exclusive
      */
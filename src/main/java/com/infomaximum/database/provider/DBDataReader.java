@@ -5,5 +5,12 @@ import com.infomaximum.database.exception.DatabaseException;
 public interface DBDataReader extends AutoCloseable {
 
     DBIterator createIterator(String columnFamily) throws DatabaseException;
+    DBIterator createIterator(String columnFamily, DBIteratorOptions options) throws DatabaseException;
+    DBCursor createCursor(String columnFamily, DBIteratorOptions options) throws DatabaseException;
     byte[] getValue(String columnFamily, byte[] key) throws DatabaseException;
+    /**
+     * Reads values of all the keys by a single call.
+     * @return values in the order of the keys, null for an absent key
+     */
+    byte[][] multiGet(String columnFamily, byte[][] keys) throws DatabaseException;
 }
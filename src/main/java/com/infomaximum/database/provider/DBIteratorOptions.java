@@ -0,0 +1,125 @@
+package com.infomaximum.database.provider;
+
+/**
+ * Настройки отдельного итератора (запроса)
+ */
+public class DBIteratorOptions {
+
+    public static final DBIteratorOptions DEFAULT = newBuilder().build();
+    /**
+     * Итератор ограничивается префиксом первого шаблона поиска. Подходит для сканирования, которое не выходит
+     * за пределы шаблона (seek + next), {@link DBIterator#step} за границу шаблона вернет null
+     */
+    public static final DBIteratorOptions BOUNDED_BY_PATTERN = newBuilder().withBoundedByPattern(true).build();
+
+    final boolean boundedByPattern;
+    /**
+     * inclusive
+     */
+    final byte[] lowerBound;
+    /**
+     * exclusive
+     */
+    final byte[] upperBound;
+    final Boolean fillCache;
+    final Long readaheadSize;
+    /**
+     * Имеет смысл только для column family с prefix extractor
+     */
+    final Boolean prefixSameAsStart;
+
+    private DBIteratorOptions(Builder builder) {
+        boundedByPattern = builder.boundedByPattern;
+        lowerBound = builder.lowerBound;
+        upperBound = builder.upperBound;
+        fillCache = builder.fillCache;
+        readaheadSize = builder.readaheadSize;
+        prefixSameAsStart = builder.prefixSameAsStart;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public boolean isBoundedByPattern() {
+        return boundedByPattern;
+    }
+
+    public byte[] getLowerBound() {
+        return lowerBound;
+    }
+
+    public byte[] getUpperBound() {
+        return upperBound;
+    }
+
+    public Boolean getFillCache() {
+        return fillCache;
+    }
+
+    public Long getReadaheadSize() {
+        return readaheadSize;
+    }
+
+    public Boolean getPrefixSameAsStart() {
+        return prefixSameAsStart;
+    }
+
+    /**
+     * @return true, если итератор можно создать с общими настройками чтения
+     */
+    public boolean isEmpty() {
+        return !boundedByPattern
+                && lowerBound == null
+                && upperBound == null
+                && fillCache == null
+                && readaheadSize == null
+                && prefixSameAsStart == null;
+    }
+
+    public static final class Builder {
+        private boolean boundedByPattern = false;
+        private byte[] lowerBound;
+        private byte[] upperBound;
+        private Boolean fillCache;
+        private Long readaheadSize;
+        private Boolean prefixSameAsStart;
+
+        private Builder() {
+        }
+
+        public Builder withBoundedByPattern(boolean boundedByPattern) {
+            this.boundedByPattern = boundedByPattern;
+            return this;
+        }
+
+        public Builder withLowerBound(byte[] lowerBound) {
+            this.lowerBound = lowerBound;
+            return this;
+        }
+
+        public Builder withUpperBound(byte[] upperBound) {
+            this.upperBound = upperBound;
+            return this;
+        }
+
+        public Builder withFillCache(Boolean fillCache) {
+            this.fillCache = fillCache;
+            return this;
+        }
+
+        public Builder withReadaheadSize(Long readaheadSize) {
+            this.readaheadSize = readaheadSize;
+            return this;
+        }
+
+        public Builder withPrefixSameAsStart(Boolean prefixSameAsStart) {
+            this.prefixSameAsStart = prefixSameAsStart;
+            return this;
+        }
+
+        public DBIteratorOptions build() {
+            return new DBIteratorOptions(this);
+        }
+    }
+}
@@ -6,7 +6,12 @@ import com.infomaximum.rocksdb.options.columnfamily.ColumnFamilyConfig;
 public interface DBProvider extends DBDataReader {
 
     DBIterator createIterator(String columnFamily) throws DatabaseException;
+    DBIterator createIterator(String columnFamily, DBIteratorOptions options) throws DatabaseException;
     DBTransaction beginTransaction() throws DatabaseException;
+    DBTransaction beginTransaction(Durability durability) throws DatabaseException;
+    DBBulkWrite beginBulkWrite() throws DatabaseException;
+    DBBulkWrite beginBulkWrite(DBBulkWriteConfig config) throws DatabaseException;
+    DBReadSession openReadSession() throws DatabaseException;
     byte[] getValue(String columnFamily, byte[] key) throws DatabaseException;
 
     boolean containsColumnFamily(String name) throws DatabaseException;
@@ -0,0 +1,13 @@
+package com.infomaximum.database.provider;
+
+import com.infomaximum.database.exception.DatabaseException;
+
+/**
+ * Читатель, закрепленный за снимком базы: все итераторы и чтения видят одно и то же состояние
+ * на момент открытия сессии. Снимок освобождается при закрытии.
+ */
+public interface DBReadSession extends DBDataReader {
+
+    @Override
+    void close() throws DatabaseException;
+}
@@ -4,6 +4,12 @@ import com.infomaximum.database.exception.DatabaseException;
 
 public interface DBTransaction extends AutoCloseable, DBDataCommand {
 
+    /**
+     * Reads the value and takes the key under the transaction's control: in pessimistic mode the key is locked
+     * until commit/rollback, in optimistic mode the commit fails if the key was changed by another transaction.
+     */
+    byte[] getValueForUpdate(String columnFamily, byte[] key) throws DatabaseException;
+
     void singleDeleteRange(String columnFamily, KeyPattern keyPattern) throws DatabaseException;
 
     void commit() throws DatabaseException;
@@ -0,0 +1,28 @@
+package com.infomaximum.database.provider;
+
+/**
+ * Гарантия сохранности транзакции после успешного коммита
+ */
+public enum Durability {
+
+    /**
+     * Запись в WAL и fsync на каждый коммит. Транзакция переживает отключение питания.
+     */
+    SYNC,
+
+    /**
+     * Запись в WAL без fsync. Транзакция переживает падение процесса, но не отключение питания.
+     */
+    WAL,
+
+    /**
+     * Без WAL. При падении процесса теряются все изменения, не сброшенные из memtable на диск.
+     */
+    NO_WAL,
+
+    /**
+     * Запись в WAL, fsync выполняется один на группу одновременных коммитов.
+     * Гарантия как у {@link #SYNC}, коммит дожидается общего fsync.
+     */
+    GROUP_SYNC
+}
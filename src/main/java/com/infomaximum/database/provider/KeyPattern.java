@@ -3,6 +3,7 @@ package com.infomaximum.database.provider;
 import com.infomaximum.database.utils.ByteUtils;
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 
 public class KeyPattern implements Serializable {
 
@@ -25,6 +26,13 @@ public class KeyPattern implements Serializable {
             }
             return ByteUtils.endsWith(value, key);
         }
+
+        public boolean match(ByteBuffer key) {
+            if ((key.remaining() - startPos) != value.length) {
+                return false;
+            }
+            return ByteUtils.endsWith(value, key);
+        }
     }
 
     private byte[] prefix;
@@ -65,6 +73,14 @@ public class KeyPattern implements Serializable {
         return prefix;
     }
 
+    public int getStrictMatchingLen() {
+        return strictMatchingLen;
+    }
+
+    public Postfix[] getOrPatterns() {
+        return orPatterns;
+    }
+
     public boolean isForBackward() {
         return forBackward;
     }
@@ -92,4 +108,27 @@ public class KeyPattern implements Serializable {
 
         return MATCH_RESULT_CONTINUE;
     }
+
+    /**
+     * @param key ключ в интервале [position, limit), позиция буфера не меняется
+     */
+    public int match(final ByteBuffer key) {
+        if (prefix != null) {
+            if (strictMatchingLen != -1 && !ByteUtils.startsWith(prefix, 0, strictMatchingLen, key)) {
+                return MATCH_RESULT_UNSUCCESS;
+            }
+        }
+
+        if (orPatterns == null) {
+            return MATCH_RESULT_SUCCESS;
+        }
+
+        for (Postfix orPattern : orPatterns) {
+            if (orPattern.match(key)) {
+                return MATCH_RESULT_SUCCESS;
+            }
+        }
+
+        return MATCH_RESULT_CONTINUE;
+    }
 }
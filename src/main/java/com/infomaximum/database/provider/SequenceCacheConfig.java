@@ -0,0 +1,113 @@
+package com.infomaximum.database.provider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Настройки кеша значений последовательности. Значения резервируются в базе блоками: размер блока удваивается,
+ * если предыдущий блок израсходован быстрее targetRefillIntervalMillis, и уменьшается вдвое, если медленнее
+ * в 4 раза. Незанятые значения блока после перезапуска теряются.
+ */
+public class SequenceCacheConfig {
+
+    public static final SequenceCacheConfig DEFAULT = newBuilder().build();
+
+    final int minCacheSize;
+    final int maxCacheSize;
+    final long targetRefillIntervalMillis;
+    /**
+     * Размер диапазона, который поток забирает из общего кеша и раздает без синхронизации, 0 - не используется.
+     * Значения, выданные разными потоками, не возрастают монотонно во времени
+     */
+    final int threadBlockSize;
+
+    private SequenceCacheConfig(Builder builder) {
+        minCacheSize = builder.minCacheSize;
+        maxCacheSize = builder.maxCacheSize;
+        targetRefillIntervalMillis = builder.targetRefillIntervalMillis;
+        threadBlockSize = builder.threadBlockSize;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public int getMinCacheSize() {
+        return minCacheSize;
+    }
+
+    public int getMaxCacheSize() {
+        return maxCacheSize;
+    }
+
+    public long getTargetRefillIntervalMillis() {
+        return targetRefillIntervalMillis;
+    }
+
+    public int getThreadBlockSize() {
+        return threadBlockSize;
+    }
+
+    /**
+     * @param refillIntervalNanos время, за которое израсходован предыдущий блок
+     * @return размер следующего блока
+     */
+    public int nextCacheSize(int cacheSize, long refillIntervalNanos) {
+        long targetNanos = TimeUnit.MILLISECONDS.toNanos(targetRefillIntervalMillis);
+        if (refillIntervalNanos < targetNanos) {
+            return (int) Math.min(2L * cacheSize, maxCacheSize);
+        }
+        if (refillIntervalNanos > 4 * targetNanos) {
+            return Math.max(cacheSize / 2, minCacheSize);
+        }
+        return Math.max(Math.min(cacheSize, maxCacheSize), minCacheSize);
+    }
+
+    public static final class Builder {
+        private int minCacheSize = 10;
+        private int maxCacheSize = 10000;
+        private long targetRefillIntervalMillis = 1000;
+        private int threadBlockSize = 0;
+
+        private Builder() {
+        }
+
+        public Builder withMinCacheSize(int minCacheSize) {
+            this.minCacheSize = minCacheSize;
+            return this;
+        }
+
+        public Builder withMaxCacheSize(int maxCacheSize) {
+            this.maxCacheSize = maxCacheSize;
+            return this;
+        }
+
+        /**
+         * Фиксированный размер блока, как до появления адаптивного кеша
+         */
+        public Builder withFixedCacheSize(int cacheSize) {
+            this.minCacheSize = cacheSize;
+            this.maxCacheSize = cacheSize;
+            return this;
+        }
+
+        public Builder withTargetRefillIntervalMillis(long targetRefillIntervalMillis) {
+            this.targetRefillIntervalMillis = targetRefillIntervalMillis;
+            return this;
+        }
+
+        public Builder withThreadBlockSize(int threadBlockSize) {
+            this.threadBlockSize = threadBlockSize;
+            return this;
+        }
+
+        public SequenceCacheConfig build() {
+            if (minCacheSize < 1 || maxCacheSize < minCacheSize) {
+                throw new IllegalArgumentException("Invalid sequence cache size range [" + minCacheSize + ", " + maxCacheSize + "]");
+            }
+            if (threadBlockSize < 0) {
+                throw new IllegalArgumentException("Invalid thread block size " + threadBlockSize);
+            }
+            return new SequenceCacheConfig(this);
+        }
+    }
+}
@@ -12,6 +12,7 @@ import com.infomaximum.database.utils.IndexService;
 import com.infomaximum.database.utils.TableUtils;
 import com.infomaximum.database.utils.TypeConvert;
 import com.infomaximum.database.utils.key.FieldKey;
+import com.infomaximum.rocksdb.options.columnfamily.ColumnFamilyConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,6 +44,18 @@ public class Schema {
     static final String CURRENT_VERSION = "1.0.0";
 
     public static final String SERVICE_COLUMN_FAMILY = "service";
+    public static final String INDEX_COLUMN_FAMILY_SUFFIX = ".index";
+    /**
+     * Ключ индекса начинается с attendant, за которым у hash, interval и range индексов идут 8 байт первого поля.
+     * Bloom-фильтры строятся по этому префиксу, поэтому поиск отсутствующего значения не читает SST-файлы
+     */
+    public static final int INDEX_KEY_PREFIX_LENGTH = DBIndex.ATTENDANT_BYTE_SIZE + Long.BYTES;
+    public static final ColumnFamilyConfig INDEX_COLUMN_FAMILY_CONFIG = ColumnFamilyConfig.newBuilder()
+            .withPrefixExtractorLength(INDEX_KEY_PREFIX_LENGTH)
+            .withMemtablePrefixBloomSizeRatio(0.1)
+            .withBloomFilterBitsPerKey(10.0)
+            .withWholeKeyFiltering(false)
+            .build();
     static final byte[] VERSION_KEY = TypeConvert.pack("version");
     static final byte[] SCHEMA_KEY = TypeConvert.pack("schema");
     private static DBSchema cacheDbSchema;
@@ -142,7 +155,7 @@ public class Schema {
             dbTable = dbSchema.newTable(table.getName(), table.getNamespace(), new ArrayList<>());
 
             dbProvider.createColumnFamily(dbTable.getDataColumnFamily());
-            dbProvider.createColumnFamily(dbTable.getIndexColumnFamily());
+            dbProvider.createColumnFamily(dbTable.getIndexColumnFamily(), INDEX_COLUMN_FAMILY_CONFIG);
             dbProvider.createSequence(dbTable.getDataColumnFamily());
         } else {
             throw new TableAlreadyExistsException(dbSchema.getTables().get(tableIndex));
@@ -189,7 +202,7 @@ public class Schema {
             dbTable = dbSchema.newTable(table.getName(), table.getNamespace(), new ArrayList<>());
 
             dbProvider.createColumnFamily(dbTable.getDataColumnFamily());
-            dbProvider.createColumnFamily(dbTable.getIndexColumnFamily());
+            dbProvider.createColumnFamily(dbTable.getIndexColumnFamily(), INDEX_COLUMN_FAMILY_CONFIG);
             dbProvider.createSequence(dbTable.getDataColumnFamily());
         } else {
             throw new TableAlreadyExistsException(dbSchema.getTables().get(tableIndex));
@@ -395,7 +408,7 @@ public class Schema {
         dbProvider.dropSequence(table.getDataColumnFamily());
 
         dbProvider.createColumnFamily(table.getDataColumnFamily());
-        dbProvider.createColumnFamily(table.getIndexColumnFamily());
+        dbProvider.createColumnFamily(table.getIndexColumnFamily(), INDEX_COLUMN_FAMILY_CONFIG);
         dbProvider.createSequence(table.getDataColumnFamily());
     }
 
@@ -593,7 +606,7 @@ public class Schema {
             String[] hashFields = Arrays.stream(index.getHashFieldIds()).mapToObj(table::getField).map(DBField::getName).toArray(String[]::new);
             createIndex(new TRangeIndex(beginField, endField, hashFields), tableName, namespace);
         }
-        field.setName(newName);
+        table.renameField(field, newName);
         saveSchema();
     }
 
@@ -809,7 +822,7 @@ public class Schema {
             });
             try (DBIterator i = transaction.createIterator(table.getDataColumnFamily())) {
                 for (KeyValue keyValue = i.seek(pattern); keyValue != null; keyValue = i.next()) {
-                    transaction.singleDelete(table.getDataColumnFamily(), keyValue.getKey());
+                    transaction.delete(table.getDataColumnFamily(), keyValue.getKey());
                 }
             }
             transaction.commit();
@@ -8,6 +8,7 @@ import com.infomaximum.database.exception.StructEntityException;
 import com.infomaximum.database.utils.ByteUtils;
 import com.infomaximum.database.utils.TypeConvert;
 
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -33,6 +34,7 @@ public class StructEntity {
     private final String namespace;
     private final com.infomaximum.database.schema.Field[] fields;
     private final Map<ByteArray, com.infomaximum.database.schema.Field> nameBytesFields;
+    private final com.infomaximum.database.schema.Field[] fieldsSortedByNameBytes;
     private final List<com.infomaximum.database.schema.HashIndex> hashIndexes;
     private final List<com.infomaximum.database.schema.PrefixIndex> prefixIndexes;
     private final List<com.infomaximum.database.schema.IntervalIndex> intervalIndexes;
@@ -73,6 +75,9 @@ public class StructEntity {
 
         this.nameBytesFields = new HashMap<>(fields.length);
         Arrays.stream(fields).forEach(field -> nameBytesFields.put(new ByteArray(field.getNameBytes()), field));
+        this.fieldsSortedByNameBytes = Arrays.stream(fields)
+                .sorted((left, right) -> Arrays.compareUnsigned(left.getNameBytes(), right.getNameBytes()))
+                .toArray(com.infomaximum.database.schema.Field[]::new);
         this.hashIndexes = buildHashIndexes(annotationEntity);
         this.prefixIndexes = buildPrefixIndexes(annotationEntity);
         this.intervalIndexes = buildIntervalIndexes(annotationEntity);
@@ -111,6 +116,17 @@ public class StructEntity {
         return field;
     }
 
+    /**
+     * @param from индекс начала имени в буфере, имя заканчивается на limit
+     */
+    public com.infomaximum.database.schema.Field getField(ByteBuffer buffer, int from) {
+        int i = ByteUtils.binarySearch(fieldsSortedByNameBytes, com.infomaximum.database.schema.Field::getNameBytes, buffer, from);
+        if (i != -1) {
+            return fieldsSortedByNameBytes[i];
+        }
+        throw new FieldNotFoundException(clazz, TypeConvert.unpackString(buffer, from - buffer.position(), buffer.limit() - from));
+    }
+
     public com.infomaximum.database.schema.Field getField(int number) {
         if (number >= fields.length) {
             throw new FieldNotFoundException(clazz, "number=" + number);
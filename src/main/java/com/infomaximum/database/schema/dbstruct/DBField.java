@@ -1,6 +1,7 @@
 package com.infomaximum.database.schema.dbstruct;
 
 import com.infomaximum.database.exception.SchemaException;
+import com.infomaximum.database.utils.TypeConvert;
 import net.minidev.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,12 +16,14 @@ public class DBField extends DBObject {
     private static final String JSON_PROP_FOREIGN_TABLE_ID = "foreign_table_id";
 
     private String name;
+    private byte[] nameBytes;
     private Class<? extends Serializable> type;
     private Integer foreignTableId;
 
     DBField(int id, String name, Class<? extends Serializable> type, Integer foreignTableId) {
         super(id);
         this.name = name;
+        this.nameBytes = TypeConvert.pack(name);
         this.type = type;
         this.foreignTableId = foreignTableId;
     }
@@ -29,8 +32,13 @@ public class DBField extends DBObject {
         return name;
     }
 
+    public byte[] getNameBytes() {
+        return nameBytes;
+    }
+
     public void setName(String name) {
         this.name = name;
+        this.nameBytes = TypeConvert.pack(name);
     }
 
     public Class<? extends Serializable> getType() {
@@ -7,10 +7,14 @@ import com.infomaximum.database.domainobject.filter.RangeFilter;
 import com.infomaximum.database.exception.FieldNotFoundException;
 import com.infomaximum.database.exception.IndexNotFoundException;
 import com.infomaximum.database.exception.SchemaException;
+import com.infomaximum.database.schema.Schema;
 import com.infomaximum.database.schema.StructEntity;
+import com.infomaximum.database.utils.ByteUtils;
+import com.infomaximum.database.utils.TypeConvert;
 import net.minidev.json.JSONObject;
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -38,13 +42,17 @@ public class DBTable extends DBObject {
     private final List<DBRangeIndex> rangeIndexes;
 
     private final Map<String, DBField> fieldNameFieldMap;
+    /**
+     * Поля, отсортированные по getNameBytes(), строятся лениво и сбрасываются при изменении полей
+     */
+    private DBField[] fieldsSortedByNameBytes;
 
     private DBTable(int id, String name, String namespace, List<DBField> sortedFields,
                     List<DBHashIndex> hashIndexes, List<DBPrefixIndex> prefixIndexes,
                     List<DBIntervalIndex> intervalIndexes, List<DBRangeIndex> rangeIndexes) {
         super(id);
         this.dataColumnFamily = namespace + StructEntity.NAMESPACE_SEPARATOR + name;
-        this.indexColumnFamily = namespace + StructEntity.NAMESPACE_SEPARATOR + name + ".index";
+        this.indexColumnFamily = namespace + StructEntity.NAMESPACE_SEPARATOR + name + Schema.INDEX_COLUMN_FAMILY_SUFFIX;
         this.name = name;
         this.namespace = namespace;
         this.sortedFields = sortedFields;
@@ -86,6 +94,7 @@ public class DBTable extends DBObject {
             field.setId(field.getId() - 1);
         }
         sortedFields.remove(id);
+        fieldsSortedByNameBytes = null;
         decrementIndexFieldIdsAfterId(id);
     }
 
@@ -113,6 +122,7 @@ public class DBTable extends DBObject {
         DBField field = new DBField(DBSchema.nextId(sortedFields), name, type, foreignTableId);
         sortedFields.add(field);
         fieldNameFieldMap.put(field.getName(), field);
+        fieldsSortedByNameBytes = null;
         return field;
     }
 
@@ -121,6 +131,7 @@ public class DBTable extends DBObject {
         fieldNameFieldMap.remove(sortedFields.get(fieldId).getName());
         fieldNameFieldMap.put(name, newField);
         sortedFields.add(fieldId, newField);
+        fieldsSortedByNameBytes = null;
 
         for (int i = fieldId + 1; i < sortedFields.size(); i++) {
             DBField field = sortedFields.get(i);
@@ -130,6 +141,13 @@ public class DBTable extends DBObject {
         return newField;
     }
 
+    public void renameField(DBField field, String newName) {
+        fieldNameFieldMap.remove(field.getName());
+        field.setName(newName);
+        fieldNameFieldMap.put(newName, field);
+        fieldsSortedByNameBytes = null;
+    }
+
     public int findFieldIndex(String fieldName) {
         DBField field = fieldNameFieldMap.get(fieldName);
         return field != null ? field.getId() : -1;
@@ -151,6 +169,25 @@ public class DBTable extends DBObject {
         return sortedFields.get(getFieldIndex(fieldName));
     }
 
+    /**
+     * Поиск поля по имени без создания строки
+     * @param from индекс начала имени в буфере, имя заканчивается на limit
+     */
+    public DBField getField(ByteBuffer buffer, int from) throws SchemaException {
+        DBField[] fields = fieldsSortedByNameBytes;
+        if (fields == null) {
+            fields = sortedFields.stream()
+                    .sorted((left, right) -> Arrays.compareUnsigned(left.getNameBytes(), right.getNameBytes()))
+                    .toArray(DBField[]::new);
+            fieldsSortedByNameBytes = fields;
+        }
+        int i = ByteUtils.binarySearch(fields, DBField::getNameBytes, buffer, from);
+        if (i != -1) {
+            return fields[i];
+        }
+        throw new FieldNotFoundException(TypeConvert.unpackString(buffer, from - buffer.position(), buffer.limit() - from), getName());
+    }
+
     public DBField getField(int id) throws SchemaException {
         if (id >= sortedFields.size()) {
             throw new FieldNotFoundException(id, getName());
@@ -207,7 +244,7 @@ public class DBTable extends DBObject {
     }
 
     public DBHashIndex getIndex(HashFilter filter) {
-        Set<Integer> indexedFieldIds = filter.getValues().keySet();
+        Set<Integer> indexedFieldIds = filter.getFieldNumbers();
         return hashIndexes.stream()
                 .filter(index -> index.getFieldIds().length == indexedFieldIds.size()
                         && Arrays.stream(index.getFieldIds()).allMatch(indexedFieldIds::contains))
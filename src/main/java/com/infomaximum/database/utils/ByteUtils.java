@@ -1,5 +1,8 @@
 package com.infomaximum.database.utils;
 
+import java.nio.ByteBuffer;
+import java.util.function.Function;
+
 public class ByteUtils {
 
     public static boolean startsWith(byte[] prefix, byte[] source) {
@@ -19,6 +22,75 @@ public class ByteUtils {
         return true;
     }
 
+    /**
+     * @param source ключ в интервале [position, limit)
+     */
+    public static boolean startsWith(byte[] prefix, int offset, int len, ByteBuffer source) {
+        if (len > (source.remaining() - offset)) {
+            return false;
+        }
+
+        for (int i = 0, j = source.position() + offset; i < len; ++i, ++j) {
+            if (source.get(j) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true, если содержимое right начиная с rfrom до limit совпадает с left
+     */
+    public static boolean equals(byte[] left, ByteBuffer right, int rfrom) {
+        if (left.length != (right.limit() - rfrom)) {
+            return false;
+        }
+
+        for (int i = 0; i < left.length; ++i, ++rfrom) {
+            if (left[i] != right.get(rfrom)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Сравнение в порядке {@link java.util.Arrays#compareUnsigned(byte[], byte[])}
+     * @param rfrom индекс начала значения в буфере, значение заканчивается на limit
+     */
+    public static int compare(byte[] left, ByteBuffer right, int rfrom) {
+        int rlength = right.limit() - rfrom;
+        int length = Math.min(left.length, rlength);
+        for (int i = 0; i < length; ++i, ++rfrom) {
+            int cmp = Byte.toUnsignedInt(left[i]) - Byte.toUnsignedInt(right.get(rfrom));
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return left.length - rlength;
+    }
+
+    /**
+     * @param sorted массив, отсортированный по nameBytes через {@link java.util.Arrays#compareUnsigned(byte[], byte[])}
+     * @return индекс найденного значения или -1
+     */
+    public static <T> int binarySearch(T[] sorted, Function<T, byte[]> nameBytes, ByteBuffer key, int from) {
+        int low = 0;
+        int high = sorted.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(nameBytes.apply(sorted[mid]), key, from);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
     public static boolean equals(byte[] left, int lfrom, int lto, byte[] right, int rfrom, int rto) {
         if ((lto - lfrom) != (rto - rfrom)) {
             return false;
@@ -46,10 +118,30 @@ public class ByteUtils {
         return true;
     }
 
+    public static boolean endsWith(byte[] suffix, ByteBuffer source) {
+        return equals(suffix, source, source.limit() - suffix.length);
+    }
+
     public static boolean isNullOrEmpty(byte[] value) {
         return value == null || value.length == 0;
     }
 
+    /**
+     * @return the smallest key that is greater than any key starting with the prefix,
+     * or null if the prefix consists of 0xff bytes only
+     */
+    public static byte[] nextPrefix(byte[] prefix) {
+        for (int i = prefix.length - 1; i >= 0; --i) {
+            if (prefix[i] != (byte) 0xff) {
+                byte[] result = new byte[i + 1];
+                System.arraycopy(prefix, 0, result, 0, i + 1);
+                ++result[i];
+                return result;
+            }
+        }
+        return null;
+    }
+
     public static int indexOf(byte value, byte[] source) {
         for (int i = 0; i < source.length; ++i) {
             if (value == source[i]) {
@@ -12,7 +12,10 @@ import com.infomaximum.database.schema.dbstruct.DBField;
 import java.io.Serializable;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class HashIndexUtils {
 
@@ -67,6 +70,57 @@ public class HashIndexUtils {
         throw new UnsupportedTypeException(type);
     }
 
+    /**
+     * Все сочетания хешей значений полей индекса без повторов в порядке ключей индекса, чтобы поиск по ним
+     * шел одним итератором в одном направлении
+     * @param fieldHashes хеши допустимых значений каждого поля индекса
+     */
+    public static long[][] buildHashCombinations(long[][] fieldHashes) {
+        long[][] sortedHashes = new long[fieldHashes.length][];
+        int count = 1;
+        for (int i = 0; i < fieldHashes.length; ++i) {
+            sortedHashes[i] = sortUnsignedDistinct(fieldHashes[i]);
+            count = Math.multiplyExact(count, sortedHashes[i].length);
+        }
+
+        long[][] result = new long[count][];
+        int[] positions = new int[fieldHashes.length];
+        for (int i = 0; i < count; ++i) {
+            long[] combination = new long[fieldHashes.length];
+            for (int j = 0; j < fieldHashes.length; ++j) {
+                combination[j] = sortedHashes[j][positions[j]];
+            }
+            result[i] = combination;
+
+            for (int j = fieldHashes.length - 1; j >= 0 && ++positions[j] == sortedHashes[j].length; --j) {
+                positions[j] = 0;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Ключи индекса сравниваются побайтово, поэтому хеши упорядочиваются как беззнаковые
+     */
+    private static long[] sortUnsignedDistinct(long[] hashes) {
+        long[] result = new long[hashes.length];
+        for (int i = 0; i < hashes.length; ++i) {
+            result[i] = hashes[i] ^ Long.MIN_VALUE;
+        }
+        Arrays.sort(result);
+
+        int count = 0;
+        for (int i = 0; i < result.length; ++i) {
+            if (count == 0 || result[count - 1] != result[i]) {
+                result[count++] = result[i];
+            }
+        }
+        for (int i = 0; i < count; ++i) {
+            result[i] ^= Long.MIN_VALUE;
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
     public static boolean equals(Class<?> clazz, Object left, Object right) {
         if (left == null) {
             return right == null;
@@ -79,6 +133,46 @@ public class HashIndexUtils {
         return left.equals(right);
     }
 
+    /**
+     * Значения фильтра для проверки через {@link #contains(Class, Set, Object)}, строки сравниваются
+     * так же, как в {@link #equals(Class, Object, Object)}
+     */
+    public static Set<Object> buildValueSet(Class<?> clazz, List<Object> values) {
+        Set<Object> result = new HashSet<>(values.size() * 2);
+        for (Object value : values) {
+            result.add(toSetKey(clazz, value));
+        }
+        return result;
+    }
+
+    public static boolean contains(Class<?> clazz, Set<Object> valueSet, Object value) {
+        return valueSet.contains(toSetKey(clazz, value));
+    }
+
+    /**
+     * Посимвольно приводит строку к виду, в котором строки равны тогда же, когда равны через equalsIgnoreCase
+     */
+    private static Object toSetKey(Class<?> clazz, Object value) {
+        if (clazz != String.class || value == null) {
+            return value;
+        }
+
+        String str = (String) value;
+        StringBuilder result = null;
+        for (int i = 0; i < str.length(); ) {
+            int codePoint = str.codePointAt(i);
+            int folded = Character.toLowerCase(Character.toUpperCase(codePoint));
+            if (folded != codePoint && result == null) {
+                result = new StringBuilder(str.length()).append(str, 0, i);
+            }
+            if (result != null) {
+                result.appendCodePoint(folded);
+            }
+            i += Character.charCount(codePoint);
+        }
+        return result != null ? result.toString() : str;
+    }
+
     /**
      * http://www.azillionmonkeys.com/qed/hash.html
      */
@@ -0,0 +1,78 @@
+package com.infomaximum.database.utils;
+
+import com.infomaximum.database.exception.DatabaseException;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+public class IdIntersectionUtils {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Пересекает потоки id индексов. Первый поток вычитывается целиком, остальные только отмечают найденные id,
+     * и не вычитываются, если пересечение уже пусто. Для возрастающего потока (id одного хеш-ключа) поиск
+     * продолжается с позиции предыдущего id, что равносильно слиянию отсортированных списков
+     * @param indexedIds источники id, -1 - конец потока
+     * @return отсортированные id без повторов
+     */
+    public static long[] intersect(List<LongSupplier> indexedIds) throws DatabaseException {
+        long[] ids = toSortedSet(indexedIds.get(0));
+        int count = ids.length;
+        BitSet matched = new BitSet(count);
+        for (int i = 1; i < indexedIds.size() && count > 0; ++i) {
+            LongSupplier source = indexedIds.get(i);
+            matched.clear();
+            int from = 0;
+            long prevId = -1;
+            for (long id; (id = source.getAsLong()) != -1; ) {
+                if (id < prevId) {
+                    from = 0;
+                }
+                prevId = id;
+                int pos = Arrays.binarySearch(ids, from, count, id);
+                if (pos >= 0) {
+                    matched.set(pos);
+                    from = pos;
+                } else {
+                    from = -pos - 1;
+                }
+            }
+
+            int newCount = 0;
+            for (int pos = matched.nextSetBit(0); pos >= 0; pos = matched.nextSetBit(pos + 1)) {
+                ids[newCount++] = ids[pos];
+            }
+            count = newCount;
+        }
+        return count == ids.length ? ids : Arrays.copyOf(ids, count);
+    }
+
+    private static long[] toSortedSet(LongSupplier source) throws DatabaseException {
+        long[] ids = new long[INITIAL_CAPACITY];
+        int count = 0;
+        boolean sorted = true;
+        for (long id; (id = source.getAsLong()) != -1; ) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            if (count > 0 && ids[count - 1] > id) {
+                sorted = false;
+            }
+            ids[count++] = id;
+        }
+        if (!sorted) {
+            Arrays.sort(ids, 0, count);
+        }
+
+        int distinctCount = 0;
+        for (int i = 0; i < count; ++i) {
+            if (distinctCount == 0 || ids[distinctCount - 1] != ids[i]) {
+                ids[distinctCount++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(ids, distinctCount);
+    }
+}
@@ -11,7 +11,6 @@ import com.infomaximum.database.schema.PrefixIndex;
 import com.infomaximum.database.schema.dbstruct.DBField;
 import com.infomaximum.database.schema.dbstruct.DBPrefixIndex;
 import com.infomaximum.database.schema.dbstruct.DBTable;
-import com.infomaximum.database.utils.key.FieldKey;
 import com.infomaximum.database.utils.key.Key;
 import com.infomaximum.database.utils.key.PrefixIndexKey;
 
@@ -265,179 +264,104 @@ public class PrefixIndexUtils {
     }
 
     public static void removeIndexedLexemes(PrefixIndex index, long id, Collection<String> lexemes, DBTransaction transaction) throws DatabaseException {
-        if (lexemes.isEmpty()) {
-            return;
-        }
-
-        try (DBIterator iterator = transaction.createIterator(index.columnFamily)) {
-            for (String lexeme : lexemes) {
-                KeyValue keyValue = iterator.seek(PrefixIndexKey.buildKeyPatternForEdit(lexeme, index));
-                while (keyValue != null) {
-                    byte[] newIds = removeId(id, keyValue.getValue());
-                    if (newIds != null) {
-                        if (newIds.length != 0) {
-                            transaction.put(index.columnFamily, keyValue.getKey(), newIds);
-                        } else {
-                            transaction.delete(index.columnFamily, keyValue.getKey());
-                        }
-                    }
-
-                    keyValue = iterator.next();
-                }
-            }
-        }
+        removeIndexedLexemes(index.attendant, id, lexemes, index.columnFamily, transaction);
     }
 
     public static void removeIndexedLexemes(DBPrefixIndex index, long id, Collection<String> lexemes, DBTable table, DBDataCommand dataCommand) throws DatabaseException {
-        if (lexemes.isEmpty()) {
-            return;
-        }
-
-        try (DBIterator iterator = dataCommand.createIterator(table.getIndexColumnFamily())) {
-            for (String lexeme : lexemes) {
-                KeyValue keyValue = iterator.seek(PrefixIndexKey.buildKeyPatternForEdit(lexeme, index));
-                while (keyValue != null) {
-                    byte[] newIds = removeId(id, keyValue.getValue());
-                    if (newIds != null) {
-                        if (newIds.length != 0) {
-                            dataCommand.put(table.getIndexColumnFamily(), keyValue.getKey(), newIds);
-                        } else {
-                            dataCommand.delete(table.getIndexColumnFamily(), keyValue.getKey());
-                        }
-                    }
-
-                    keyValue = iterator.next();
-                }
-            }
-        }
+        removeIndexedLexemes(index.getAttendant(), id, lexemes, table.getIndexColumnFamily(), dataCommand);
     }
 
     public static void insertIndexedLexemes(PrefixIndex index, long id, Collection<String> lexemes, DBTransaction transaction) throws DatabaseException {
-        if (lexemes.isEmpty()) {
-            return;
-        }
+        insertIndexedLexemes(index.attendant, id, lexemes, index.columnFamily, transaction);
+    }
 
-        try (DBIterator iterator = transaction.createIterator(index.columnFamily)) {
-            for (String lexeme : lexemes) {
-                KeyValue keyValue = iterator.seek(PrefixIndexKey.buildKeyPatternForEdit(lexeme, index));
-                byte[] key;
-                byte[] idsValue;
-                if (keyValue != null) {
-                    KeyValue prevKeyValue;
-                    do {
-                        long lastId = TypeConvert.unpackLong(keyValue.getValue(), keyValue.getValue().length - FieldKey.ID_BYTE_SIZE);
-                        if (id < lastId) {
-                            key = keyValue.getKey();
-                            idsValue = appendId(id, keyValue.getValue());
-                            break;
-                        }
-                        prevKeyValue = keyValue;
-                        keyValue = iterator.next();
-                        if (keyValue == null) {
-                            key = prevKeyValue.getKey();
-                            if (getIdCount(prevKeyValue.getValue()) < PREFERRED_MAX_ID_COUNT_PER_BLOCK) {
-                                idsValue = appendId(id, prevKeyValue.getValue());
-                            } else {
-                                PrefixIndexKey.incrementBlockNumber(key);
-                                idsValue = TypeConvert.pack(id);
-                            }
-                            break;
-                        }
-                    } while (true);
-                } else {
-                    key = new PrefixIndexKey(lexeme, index).pack();
-                    idsValue = TypeConvert.pack(id);
-                }
+    public static void insertIndexedLexemes(DBPrefixIndex index, long id, Collection<String> lexemes, DBTable table, DBDataCommand dataCommand) throws DatabaseException {
+        insertIndexedLexemes(index.getAttendant(), id, lexemes, table.getIndexColumnFamily(), dataCommand);
+    }
 
-                transaction.put(index.columnFamily, key, idsValue);
-            }
-        }
+    public static void insertIndexedLexemes(DBPrefixIndex index, long id, Collection<String> lexemes, String indexColumnFamily, DBTransaction transaction) throws DatabaseException {
+        insertIndexedLexemes(index.getAttendant(), id, lexemes, indexColumnFamily, transaction);
     }
 
-    public static void insertIndexedLexemes(DBPrefixIndex index, long id, Collection<String> lexemes, DBTable table, DBDataCommand dataCommand) throws DatabaseException {
+    /**
+     * Идентификаторы возрастают от блока к блоку, поэтому изменяется только блок, в диапазон которого попадает id
+     */
+    private static void removeIndexedLexemes(byte[] attendant, long id, Collection<String> lexemes, String columnFamily, DBDataCommand dataCommand) throws DatabaseException {
         if (lexemes.isEmpty()) {
             return;
         }
 
-        try (DBIterator iterator = dataCommand.createIterator(table.getIndexColumnFamily())) {
+        try (DBIterator iterator = dataCommand.createIterator(columnFamily)) {
             for (String lexeme : lexemes) {
-                KeyValue keyValue = iterator.seek(PrefixIndexKey.buildKeyPatternForEdit(lexeme, index));
-                byte[] key;
-                byte[] idsValue;
-                if (keyValue != null) {
-                    KeyValue prevKeyValue;
-                    do {
-                        long lastId = TypeConvert.unpackLong(keyValue.getValue(), keyValue.getValue().length - FieldKey.ID_BYTE_SIZE);
-                        if (id < lastId) {
-                            key = keyValue.getKey();
-                            idsValue = appendId(id, keyValue.getValue());
-                            break;
-                        }
-                        prevKeyValue = keyValue;
-                        keyValue = iterator.next();
-                        if (keyValue == null) {
-                            key = prevKeyValue.getKey();
-                            if (getIdCount(prevKeyValue.getValue()) < PREFERRED_MAX_ID_COUNT_PER_BLOCK) {
-                                idsValue = appendId(id, prevKeyValue.getValue());
-                            } else {
-                                PrefixIndexKey.incrementBlockNumber(key);
-                                idsValue = TypeConvert.pack(id);
-                            }
-                            break;
-                        }
-                    } while (true);
-                } else {
-                    key = new PrefixIndexKey(lexeme, index).pack();
-                    idsValue = TypeConvert.pack(id);
+                KeyValue keyValue = iterator.seek(PrefixIndexKey.buildKeyPatternForEdit(lexeme, attendant));
+                while (keyValue != null && getLastId(keyValue.getValue()) < id) {
+                    keyValue = iterator.next();
+                }
+                if (keyValue == null) {
+                    continue;
                 }
 
-                dataCommand.put(table.getIndexColumnFamily(), key, idsValue);
+                byte[] newIds = removeId(id, keyValue.getValue());
+                if (newIds != null) {
+                    if (newIds.length != 0) {
+                        dataCommand.put(columnFamily, keyValue.getKey(), newIds);
+                    } else {
+                        dataCommand.delete(columnFamily, keyValue.getKey());
+                    }
+                }
             }
         }
     }
 
-    public static void insertIndexedLexemes(DBPrefixIndex index, long id, Collection<String> lexemes, String indexColumnFamily, DBTransaction transaction) throws DatabaseException {
+    /**
+     * Новые объекты обычно получают id больше всех проиндексированных, поэтому сначала проверяется последний блок
+     * лексемы, и предыдущие блоки не читаются
+     */
+    private static void insertIndexedLexemes(byte[] attendant, long id, Collection<String> lexemes, String columnFamily, DBDataCommand dataCommand) throws DatabaseException {
         if (lexemes.isEmpty()) {
             return;
         }
 
-        try (DBIterator iterator = transaction.createIterator(indexColumnFamily)) {
+        try (DBIterator iterator = dataCommand.createIterator(columnFamily)) {
             for (String lexeme : lexemes) {
-                KeyValue keyValue = iterator.seek(PrefixIndexKey.buildKeyPatternForEdit(lexeme, index));
+                KeyValue keyValue = iterator.seek(PrefixIndexKey.buildKeyPatternForLastBlock(lexeme, attendant));
                 byte[] key;
                 byte[] idsValue;
-                if (keyValue != null) {
-                    KeyValue prevKeyValue;
-                    do {
-                        long lastId = TypeConvert.unpackLong(keyValue.getValue(), keyValue.getValue().length - FieldKey.ID_BYTE_SIZE);
-                        if (id < lastId) {
-                            key = keyValue.getKey();
-                            idsValue = appendId(id, keyValue.getValue());
-                            break;
-                        }
-                        prevKeyValue = keyValue;
-                        keyValue = iterator.next();
-                        if (keyValue == null) {
-                            key = prevKeyValue.getKey();
-                            if (getIdCount(prevKeyValue.getValue()) < PREFERRED_MAX_ID_COUNT_PER_BLOCK) {
-                                idsValue = appendId(id, prevKeyValue.getValue());
-                            } else {
-                                PrefixIndexKey.incrementBlockNumber(key);
-                                idsValue = TypeConvert.pack(id);
-                            }
-                            break;
-                        }
-                    } while (true);
-                } else {
-                    key = new PrefixIndexKey(lexeme, index).pack();
+                if (keyValue == null) {
+                    key = new PrefixIndexKey(lexeme, attendant).pack();
                     idsValue = TypeConvert.pack(id);
+                } else if (id > getLastId(keyValue.getValue())) {
+                    key = keyValue.getKey();
+                    if (getIdCount(keyValue.getValue()) < PREFERRED_MAX_ID_COUNT_PER_BLOCK) {
+                        idsValue = TypeConvert.allocateBuffer(keyValue.getValue().length + Key.ID_BYTE_SIZE)
+                                .put(keyValue.getValue())
+                                .putLong(id)
+                                .array();
+                    } else {
+                        PrefixIndexKey.incrementBlockNumber(key);
+                        idsValue = TypeConvert.pack(id);
+                    }
+                } else {
+                    keyValue = iterator.seek(PrefixIndexKey.buildKeyPatternForEdit(lexeme, attendant));
+                    while (getLastId(keyValue.getValue()) < id) {
+                        keyValue = iterator.next();
+                    }
+                    key = keyValue.getKey();
+                    idsValue = appendId(id, keyValue.getValue());
+                    if (idsValue == keyValue.getValue()) {
+                        continue;
+                    }
                 }
 
-                transaction.put(indexColumnFamily, key, idsValue);
+                dataCommand.put(columnFamily, key, idsValue);
             }
         }
     }
 
+    private static long getLastId(byte[] ids) {
+        return TypeConvert.unpackLong(ids, ids.length - Key.ID_BYTE_SIZE);
+    }
+
     private static int binarySearch(long value, byte[] longs) {
         if ((longs.length % Long.BYTES) != 0) {
             throw new IllegalArgumentException("Size of longs must be multiple of " + Long.BYTES);
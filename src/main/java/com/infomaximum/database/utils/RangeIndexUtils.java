@@ -308,7 +308,7 @@ public class RangeIndexUtils {
             KeyValue keyValue = iterator.seek(RangeIndexKey.buildBeginPattern(key.getHashedValues(), begin, index));
             while (keyValue != null) {
                 if (RangeIndexKey.unpackId(keyValue.getKey()) == key.getId()) {
-                    dataCommand.singleDelete(table.getIndexColumnFamily(), keyValue.getKey());
+                    dataCommand.delete(table.getIndexColumnFamily(), keyValue.getKey());
 
                     if (RangeIndexKey.unpackType(keyValue.getKey()) != RangeIndexKey.Type.BEGIN) {
                         break;
@@ -44,6 +44,23 @@ public class TypeConvert {
         return length != 0 ? new String(value, offset, length, CHARSET) : "";
     }
 
+    /**
+     * @param offset смещение относительно position буфера
+     */
+    public static String unpackString(ByteBuffer value, int offset, int length) {
+        final int from = value.position() + offset;
+        if (length == 1 && value.get(from) == NULL_STRING[0]) {
+            return null;
+        }
+        if (length == 0) {
+            return "";
+        }
+
+        byte[] bytes = new byte[length];
+        value.get(from, bytes);
+        return new String(bytes, CHARSET);
+    }
+
     public static Integer unpackInteger(byte[] value) {
         return !ByteUtils.isNullOrEmpty(value) ? unpackInt(value) : null;
     }
@@ -197,6 +214,54 @@ public class TypeConvert {
         throw new UnsupportedTypeException(type);
     }
 
+    /**
+     * Читает значение без промежуточного массива, кроме строк, массивов байт и типов с конвертером
+     * @param value значение в интервале [position, limit), позиция буфера не меняется
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Serializable> T unpack(Class<T> type, ByteBuffer value, TypeConverter<T> packer) {
+        final int from = value.position();
+        final int length = value.remaining();
+        if (packer != null) {
+            byte[] bytes = new byte[length];
+            value.get(from, bytes);
+            return packer.unpack(bytes);
+        } else if (type == String.class) {
+            return (T) unpackString(value, 0, length);
+        } else if (type == Long.class) {
+            return length != 0 ? (T) Long.valueOf(value.getLong(from)) : null;
+        } else if (type == Boolean.class) {
+            return length != 0 ? (T) Boolean.valueOf(value.get(from) == (byte) 1) : null;
+        } else if (type == Instant.class) {
+            return length != 0 ? (T) InstantUtils.fromLong(value.getLong(from)) : null;
+        } else if (type == Integer.class) {
+            return length != 0 ? (T) Integer.valueOf(value.getInt(from)) : null;
+        } else if (type == Double.class) {
+            return length != 0 ? (T) Double.valueOf(value.getDouble(from)) : null;
+        } else if (type == LocalDateTime.class) {
+            return length != 0 ? (T) LocalDateTimeUtils.fromLong(value.getLong(from)) : null;
+        } else if (type == byte[].class) {
+            return (T) unpackBytes(value);
+        }
+        throw new UnsupportedTypeException(type);
+    }
+
+    private static byte[] unpackBytes(ByteBuffer value) {
+        int from = value.position();
+        int length = value.remaining();
+        if (length != 0 && value.get(from) == NULL_BYTE_ARRAY_SCHIELD) {
+            if (length == 1) {
+                return null;
+            }
+            ++from;
+            --length;
+        }
+
+        byte[] result = new byte[length];
+        value.get(from, result);
+        return result;
+    }
+
     @SuppressWarnings("unchecked")
     public static <T> byte[] pack(Class<T> type, Object value, TypeConverter<T> converter){
         if (converter != null) {
@@ -1,9 +1,12 @@
 package com.infomaximum.database.utils.key;
 
+import com.infomaximum.database.provider.DBIteratorOptions;
 import com.infomaximum.database.provider.KeyPattern;
 import com.infomaximum.database.utils.ByteUtils;
 import com.infomaximum.database.utils.TypeConvert;
 
+import java.nio.ByteBuffer;
+import java.util.Collections;
 import java.util.Set;
 
 public class FieldKey extends Key {
@@ -51,10 +54,35 @@ public class FieldKey extends Key {
         return TypeConvert.unpackString(src, ID_BYTE_SIZE, src.length - ID_BYTE_SIZE);
     }
 
+    /**
+     * @param src ключ в интервале [position, limit)
+     */
+    public static long unpackId(ByteBuffer src) {
+        return src.getLong(src.position());
+    }
+
+    public static boolean unpackBeginningObject(ByteBuffer src) {
+        return src.remaining() == ID_BYTE_SIZE;
+    }
+
+    public static String unpackFieldName(ByteBuffer src) {
+        return TypeConvert.unpackString(src, ID_BYTE_SIZE, src.remaining() - ID_BYTE_SIZE);
+    }
+
     public static byte[] buildKeyPrefix(long id) {
         return TypeConvert.pack(id);
     }
 
+    /**
+     * @return настройки итератора, ограниченного ключами записей с id из [fromId, toId]
+     */
+    public static DBIteratorOptions buildIteratorOptions(long fromId, long toId) {
+        return DBIteratorOptions.newBuilder()
+                .withLowerBound(buildKeyPrefix(fromId))
+                .withUpperBound(toId < Long.MAX_VALUE ? buildKeyPrefix(toId + 1) : null)
+                .build();
+    }
+
     public static KeyPattern buildKeyPattern(final Set<String> fields) {
         return new KeyPattern(buildInnerPatterns(fields));
     }
@@ -70,6 +98,13 @@ public class FieldKey extends Key {
         return new KeyPattern(buildKeyPrefix(id));
     }
 
+    /**
+     * @return шаблон ключей-маркеров записей с id не меньше fromId, ключи полей пропускаются без чтения значений
+     */
+    public static KeyPattern buildBeginningObjectPattern(long fromId) {
+        return new KeyPattern(buildKeyPrefix(fromId), 0, buildInnerPatterns(Collections.emptySet()));
+    }
+
     public static KeyPattern.Postfix[] buildInnerPatterns(final Set<String> fields) {
         KeyPattern.Postfix[] patterns = new KeyPattern.Postfix[fields.size() + 1];
 
@@ -84,6 +84,25 @@ public class HashIndexKey extends IndexKey {
         return new KeyPattern(buffer);
     }
 
+    /**
+     * Шаблон ключей с заданными хешами, поиск начинается с ключа с id не меньше fromId
+     */
+    public static KeyPattern buildKeyPattern(final HashIndex index, final long[] fieldValues, final long fromId) {
+        byte[] buffer = KeyUtils.allocateAndPutIndexAttendant(index.attendant.length + ID_BYTE_SIZE * fieldValues.length + ID_BYTE_SIZE,
+                index.attendant);
+        int offset = TypeConvert.pack(fieldValues, buffer, index.attendant.length);
+        TypeConvert.pack(fromId, buffer, offset);
+        return new KeyPattern(buffer, offset);
+    }
+
+    public static KeyPattern buildKeyPattern(final DBHashIndex index, final long[] fieldValues, final long fromId) {
+        byte[] buffer = KeyUtils.allocateAndPutIndexAttendant(index.getAttendant().length + ID_BYTE_SIZE * fieldValues.length + ID_BYTE_SIZE,
+                index.getAttendant());
+        int offset = TypeConvert.pack(fieldValues, buffer, index.getAttendant().length);
+        TypeConvert.pack(fromId, buffer, offset);
+        return new KeyPattern(buffer, offset);
+    }
+
     public static KeyPattern buildKeyPattern(final DBHashIndex index, final long fieldValue) {
         byte[] buffer = KeyUtils.allocateAndPutIndexAttendant(index.getAttendant().length + ID_BYTE_SIZE,
                 index.getAttendant());
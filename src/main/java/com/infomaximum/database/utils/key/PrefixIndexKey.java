@@ -31,6 +31,10 @@ public class PrefixIndexKey {
         this(lexeme, 0, index.getAttendant());
     }
 
+    public PrefixIndexKey(String lexeme, final byte[] attendant) {
+        this(lexeme, 0, attendant);
+    }
+
     public String getLexeme() {
         return lexeme;
     }
@@ -86,18 +90,34 @@ public class PrefixIndexKey {
     }
 
     public static KeyPattern buildKeyPatternForEdit(final String lexeme, final PrefixIndex index) {
-        byte[] payload = TypeConvert.pack(lexeme);
-        byte[] key = KeyUtils.allocateAndPutIndexAttendant(index.attendant.length + payload.length + 1, index.attendant);
-        System.arraycopy(payload, 0, key, index.attendant.length, payload.length);
-        key[key.length - 1] = LEXEME_TERMINATOR;
-        return new KeyPattern(key);
+        return buildKeyPatternForEdit(lexeme, index.attendant);
     }
 
     public static KeyPattern buildKeyPatternForEdit(final String lexeme, final DBPrefixIndex index) {
+        return buildKeyPatternForEdit(lexeme, index.getAttendant());
+    }
+
+    public static KeyPattern buildKeyPatternForEdit(final String lexeme, final byte[] attendant) {
         byte[] payload = TypeConvert.pack(lexeme);
-        byte[] key = KeyUtils.allocateAndPutIndexAttendant(index.getAttendant().length + payload.length + 1, index.getAttendant());
-        System.arraycopy(payload, 0, key, index.getAttendant().length, payload.length);
+        byte[] key = KeyUtils.allocateAndPutIndexAttendant(attendant.length + payload.length + 1, attendant);
+        System.arraycopy(payload, 0, key, attendant.length, payload.length);
         key[key.length - 1] = LEXEME_TERMINATOR;
         return new KeyPattern(key);
     }
+
+    /**
+     * Шаблон обратного поиска последнего блока идентификаторов лексемы
+     */
+    public static KeyPattern buildKeyPatternForLastBlock(final String lexeme, final byte[] attendant) {
+        byte[] payload = TypeConvert.pack(lexeme);
+        byte[] key = TypeConvert.allocateBuffer(attendant.length + payload.length + 1 + BLOCK_NUMBER_BYTE_SIZE)
+                .put(attendant)
+                .put(payload)
+                .put(LEXEME_TERMINATOR)
+                .putInt(0xFFFFFFFF)
+                .array();
+        KeyPattern pattern = new KeyPattern(key, key.length - BLOCK_NUMBER_BYTE_SIZE);
+        pattern.setForBackward(true);
+        return pattern;
+    }
 }
@@ -0,0 +1,48 @@
+package com.infomaximum.rocksdb;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Периодически подтягивает в secondary-экземпляр изменения основной базы
+ */
+class CatchUpScheduler implements AutoCloseable {
+
+    private final static Logger log = LoggerFactory.getLogger(CatchUpScheduler.class);
+
+    private final RocksDBProvider rocksDBProvider;
+    private final ScheduledExecutorService executor;
+
+    CatchUpScheduler(RocksDBProvider rocksDBProvider, Duration period) {
+        this.rocksDBProvider = rocksDBProvider;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "rdao-secondary-catch-up");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleWithFixedDelay(this::catchUpSafely, period.toNanos(), period.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void catchUpSafely() {
+        try {
+            rocksDBProvider.tryCatchUpWithPrimary();
+        } catch (Throwable e) {
+            log.error("Unable to catch up with primary database", e);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.infomaximum.rocksdb;
+
+import com.google.common.primitives.UnsignedBytes;
+import com.infomaximum.database.exception.ColumnFamilyNotFoundException;
+import com.infomaximum.database.exception.DatabaseException;
+import com.infomaximum.rocksdb.metrics.CompactionQueueMetrics;
+import com.infomaximum.rocksdb.options.compaction.CompactionSchedulerConfig;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.CompactRangeOptions;
+import org.rocksdb.RocksDBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Фоновая компактификация диапазонов, удаленных закоммиченными транзакциями. Коммит только добавляет диапазоны
+ * в очередь, компактификация выполняется в отдельном потоке не чаще одного column family за minCompactionInterval.
+ */
+public class CompactionScheduler implements AutoCloseable {
+
+    private final static Logger log = LoggerFactory.getLogger(CompactionScheduler.class);
+
+    private static final Comparator<byte[]> KEY_COMPARATOR = UnsignedBytes.lexicographicalComparator();
+
+    private final RocksDBProvider rocksDBProvider;
+    private final CompactionSchedulerConfig config;
+    private final Map<String, PendingRanges> queue = new HashMap<>();
+    /**
+     * Компактификации выполняются по одной
+     */
+    private final Object compactionLock = new Object();
+    private final ScheduledExecutorService executor;
+    private volatile long lastCompactionTime;
+
+    CompactionScheduler(RocksDBProvider rocksDBProvider, CompactionSchedulerConfig config) {
+        this.rocksDBProvider = rocksDBProvider;
+        this.config = config;
+        this.lastCompactionTime = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(config.getMinCompactionIntervalMillis());
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "rdao-compaction-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleWithFixedDelay(this::compactSafely, config.getCheckIntervalMillis(), config.getCheckIntervalMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param begin inclusive, null - от начала column family
+     * @param end exclusive, null - до конца column family
+     */
+    synchronized void schedule(String columnFamily, byte[] begin, byte[] end, long deletes, long rangeDeletes) {
+        queue.computeIfAbsent(columnFamily, s -> new PendingRanges()).add(begin, end, deletes, rangeDeletes, config.getMaxRangesPerColumnFamily());
+    }
+
+    public synchronized List<CompactionQueueMetrics> getQueue() {
+        List<CompactionQueueMetrics> result = new ArrayList<>(queue.size());
+        for (Map.Entry<String, PendingRanges> entry : queue.entrySet()) {
+            PendingRanges ranges = entry.getValue();
+            result.add(new CompactionQueueMetrics(entry.getKey(), ranges.deletes, ranges.rangeDeletes, ranges.size()));
+        }
+        result.sort(Comparator.comparing(CompactionQueueMetrics::getColumnFamily));
+        return result;
+    }
+
+    /**
+     * Вызывается из {@link RocksDBProvider#dropColumnFamily(String)} до закрытия handle column family
+     */
+    synchronized void dropColumnFamily(String columnFamily) {
+        queue.remove(columnFamily);
+    }
+
+    /**
+     * Компактифицирует один column family, достигший порога, если с прошлой компактификации прошло достаточно времени
+     * @return true, если компактификация выполнена
+     */
+    boolean compactNext() throws DatabaseException {
+        if (System.nanoTime() - lastCompactionTime < TimeUnit.MILLISECONDS.toNanos(config.getMinCompactionIntervalMillis())) {
+            return false;
+        }
+
+        synchronized (compactionLock) {
+            String columnFamily;
+            PendingRanges ranges;
+            synchronized (this) {
+                columnFamily = findReady();
+                if (columnFamily == null) {
+                    return false;
+                }
+                ranges = queue.remove(columnFamily);
+            }
+
+            //Column family не может быть удален, пока handle используется
+            Lock lock = rocksDBProvider.getColumnFamilyReadLock();
+            lock.lock();
+            try {
+                ColumnFamilyHandle columnFamilyHandle;
+                try {
+                    columnFamilyHandle = rocksDBProvider.getColumnFamilyHandle(columnFamily);
+                } catch (ColumnFamilyNotFoundException e) {
+                    return false;
+                }
+                try {
+                    compact(columnFamilyHandle, ranges);
+                } catch (DatabaseException e) {
+                    requeue(columnFamily, ranges);
+                    throw e;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Возвращает в очередь диапазоны, компактификация которых не удалась
+     */
+    private synchronized void requeue(String columnFamily, PendingRanges ranges) {
+        PendingRanges pending = queue.get(columnFamily);
+        if (pending == null) {
+            queue.put(columnFamily, ranges);
+        } else if (ranges.whole) {
+            pending.add(null, null, ranges.deletes, ranges.rangeDeletes, config.getMaxRangesPerColumnFamily());
+        } else {
+            pending.deletes += ranges.deletes;
+            pending.rangeDeletes += ranges.rangeDeletes;
+            for (Map.Entry<byte[], byte[]> range : ranges.ranges.entrySet()) {
+                pending.add(range.getKey(), range.getValue(), 0, 0, config.getMaxRangesPerColumnFamily());
+            }
+        }
+    }
+
+    private void compact(ColumnFamilyHandle columnFamilyHandle, PendingRanges ranges) throws DatabaseException {
+        try (CompactRangeOptions options = new CompactRangeOptions().setExclusiveManualCompaction(false)) {
+            if (ranges.whole) {
+                rocksDBProvider.getRocksDB().compactRange(columnFamilyHandle, null, null, options);
+            } else {
+                for (Map.Entry<byte[], byte[]> range : ranges.ranges.entrySet()) {
+                    rocksDBProvider.getRocksDB().compactRange(columnFamilyHandle, range.getKey(), range.getValue(), options);
+                }
+            }
+        } catch (RocksDBException e) {
+            throw new DatabaseException(e);
+        } finally {
+            lastCompactionTime = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String findReady() {
+        String result = null;
+        long maxDeletes = -1;
+        for (Map.Entry<String, PendingRanges> entry : queue.entrySet()) {
+            PendingRanges ranges = entry.getValue();
+            if (ranges.deletes < config.getDeleteThreshold() && ranges.rangeDeletes < config.getRangeDeleteThreshold()) {
+                continue;
+            }
+            if (ranges.deletes > maxDeletes) {
+                maxDeletes = ranges.deletes;
+                result = entry.getKey();
+            }
+        }
+        return result;
+    }
+
+    private void compactSafely() {
+        try {
+            compactNext();
+        } catch (Throwable e) {
+            log.error("Unable to compact deleted ranges", e);
+        }
+    }
+
+    /**
+     * Несмежные диапазоны [begin, end) column family
+     */
+    private static class PendingRanges {
+
+        final TreeMap<byte[], byte[]> ranges = new TreeMap<>(KEY_COMPARATOR);
+        boolean whole = false;
+        long deletes = 0;
+        long rangeDeletes = 0;
+
+        int size() {
+            return whole ? 1 : ranges.size();
+        }
+
+        void add(byte[] begin, byte[] end, long deletes, long rangeDeletes, int maxRanges) {
+            this.deletes += deletes;
+            this.rangeDeletes += rangeDeletes;
+            if (whole) {
+                return;
+            }
+            if (begin == null || end == null) {
+                whole = true;
+                ranges.clear();
+                return;
+            }
+
+            Map.Entry<byte[], byte[]> floor = ranges.floorEntry(begin);
+            if (floor != null && KEY_COMPARATOR.compare(floor.getValue(), begin) >= 0) {
+                begin = floor.getKey();
+                end = max(end, floor.getValue());
+                ranges.remove(floor.getKey());
+            }
+            for (Map.Entry<byte[], byte[]> next = ranges.ceilingEntry(begin);
+                 next != null && KEY_COMPARATOR.compare(next.getKey(), end) <= 0;
+                 next = ranges.ceilingEntry(begin)) {
+                end = max(end, next.getValue());
+                ranges.remove(next.getKey());
+            }
+            ranges.put(begin, end);
+
+            if (ranges.size() > maxRanges) {
+                byte[] first = ranges.firstKey();
+                byte[] last = ranges.values().stream().max(KEY_COMPARATOR).orElseThrow();
+                ranges.clear();
+                ranges.put(first, last);
+            }
+        }
+
+        private static byte[] max(byte[] a, byte[] b) {
+            return KEY_COMPARATOR.compare(a, b) >= 0 ? a : b;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.infomaximum.rocksdb;
+
+import com.google.common.primitives.UnsignedBytes;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * Диапазоны ключей одного column family, удаленные range tombstone'ами в рамках незакоммиченной транзакции.
+ * Range tombstone пишется напрямую в write batch транзакции и не виден ее собственным чтениям,
+ * поэтому ключи из этих диапазонов скрываются на стороне java до коммита.
+ */
+class DeletedRanges {
+
+    private static final Comparator<byte[]> KEY_COMPARATOR = UnsignedBytes.lexicographicalComparator();
+
+    private final TreeMap<byte[], byte[]> ranges = new TreeMap<>(KEY_COMPARATOR);
+    private final TreeSet<byte[]> restoredKeys = new TreeSet<>(KEY_COMPARATOR);
+    /**
+     * Отсортированные копии ranges и restoredKeys для проверки ключей курсора без копирования,
+     * null - пересобираются при следующей проверке после изменения
+     */
+    private byte[][] rangeBegins = null;
+    private byte[][] rangeEnds = null;
+    private byte[][] sortedRestoredKeys = null;
+
+    boolean isEmpty() {
+        return ranges.isEmpty();
+    }
+
+    /**
+     * @param begin inclusive
+     * @param end exclusive
+     */
+    void add(byte[] begin, byte[] end) {
+        //Восстановленные ключи вне нового диапазона остаются восстановленными и после слияния с пересекающимися
+        restoredKeys.subSet(begin, end).clear();
+
+        Map.Entry<byte[], byte[]> floor = ranges.floorEntry(begin);
+        if (floor != null && KEY_COMPARATOR.compare(floor.getValue(), begin) >= 0) {
+            begin = floor.getKey();
+            end = max(end, floor.getValue());
+        }
+
+        for (Iterator<Map.Entry<byte[], byte[]>> i = ranges.tailMap(begin, true).entrySet().iterator(); i.hasNext(); ) {
+            Map.Entry<byte[], byte[]> entry = i.next();
+            if (KEY_COMPARATOR.compare(entry.getKey(), end) > 0) {
+                break;
+            }
+            end = max(end, entry.getValue());
+            i.remove();
+        }
+
+        ranges.put(begin, end);
+        rangeBegins = null;
+    }
+
+    /**
+     * Ключ, записанный после удаления диапазона, переживает коммит, т.к. лежит в write batch после range tombstone.
+     */
+    void restore(byte[] key) {
+        if (inRanges(key)) {
+            restoredKeys.add(key);
+            rangeBegins = null;
+        }
+    }
+
+    boolean contains(byte[] key) {
+        return inRanges(key) && !restoredKeys.contains(key);
+    }
+
+    /**
+     * Сравнивает ключ с границами диапазонов на месте, позиция key не меняется
+     */
+    boolean contains(ByteBuffer key) {
+        if (ranges.isEmpty()) {
+            return false;
+        }
+        if (rangeBegins == null) {
+            buildSortedArrays();
+        }
+        int index = floorIndex(rangeBegins, key);
+        if (index < 0 || compare(key, rangeEnds[index]) >= 0) {
+            return false;
+        }
+        index = floorIndex(sortedRestoredKeys, key);
+        return index < 0 || compare(key, sortedRestoredKeys[index]) != 0;
+    }
+
+    void clear() {
+        ranges.clear();
+        restoredKeys.clear();
+        rangeBegins = null;
+    }
+
+    private void buildSortedArrays() {
+        rangeEnds = ranges.values().toArray(new byte[0][]);
+        sortedRestoredKeys = restoredKeys.toArray(new byte[0][]);
+        rangeBegins = ranges.keySet().toArray(new byte[0][]);
+    }
+
+    /**
+     * @return индекс последнего элемента, не большего key, или -1
+     */
+    private static int floorIndex(byte[][] sortedKeys, ByteBuffer key) {
+        int low = 0;
+        int high = sortedKeys.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(key, sortedKeys[mid]);
+            if (cmp > 0) {
+                low = mid + 1;
+            } else if (cmp < 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return high;
+    }
+
+    private static int compare(ByteBuffer left, byte[] right) {
+        int offset = left.position();
+        int length = Math.min(left.remaining(), right.length);
+        for (int i = 0; i < length; ++i) {
+            int cmp = UnsignedBytes.compare(left.get(offset + i), right[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return left.remaining() - right.length;
+    }
+
+    private boolean inRanges(byte[] key) {
+        if (ranges.isEmpty()) {
+            return false;
+        }
+        Map.Entry<byte[], byte[]> floor = ranges.floorEntry(key);
+        return floor != null && KEY_COMPARATOR.compare(key, floor.getValue()) < 0;
+    }
+
+    private static byte[] max(byte[] left, byte[] right) {
+        return KEY_COMPARATOR.compare(left, right) >= 0 ? left : right;
+    }
+}
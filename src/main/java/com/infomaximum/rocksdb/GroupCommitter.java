@@ -0,0 +1,101 @@
+package com.infomaximum.rocksdb;
+
+import com.infomaximum.database.exception.DatabaseException;
+import com.infomaximum.rocksdb.options.transaction.GroupCommitConfig;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Объединяет fsync WAL одновременных коммитов. Первый поток группы становится ведущим: ждет остальных
+ * (не дольше maxDelay или до maxBatchSize участников), закрывает группу и выполняет один fsync,
+ * покрывающий записи всех ее участников. Коммиты, пришедшие во время fsync, попадают в следующую группу.
+ */
+class GroupCommitter {
+
+    private static class Batch {
+        int size = 0;
+        boolean done = false;
+        RocksDBException failure = null;
+    }
+
+    private final RocksDB rocksDB;
+    private final long maxDelayNanos;
+    private final int maxBatchSize;
+    private final Object lock = new Object();
+    private Batch pending = new Batch();
+    private boolean syncing = false;
+
+    GroupCommitter(RocksDB rocksDB, GroupCommitConfig config) {
+        this.rocksDB = rocksDB;
+        this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(config.getMaxDelayMicros());
+        this.maxBatchSize = config.getMaxBatchSize();
+    }
+
+    /**
+     * Вызывается после записи транзакции в WAL, возвращает управление после fsync, покрывающего эту запись
+     */
+    void sync() throws DatabaseException {
+        boolean interrupted = false;
+        Batch batch;
+        try {
+            synchronized (lock) {
+                batch = pending;
+                if (++batch.size >= maxBatchSize) {
+                    lock.notifyAll();
+                }
+
+                while (syncing && !batch.done) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (batch.done) {
+                    if (batch.failure != null) {
+                        throw new DatabaseException(batch.failure);
+                    }
+                    return;
+                }
+
+                syncing = true;
+                final long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0 || interrupted) {
+                        break;
+                    }
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                pending = new Batch();
+            }
+
+            RocksDBException failure = null;
+            try {
+                rocksDB.flushWal(true);
+            } catch (RocksDBException e) {
+                failure = e;
+            }
+
+            synchronized (lock) {
+                batch.done = true;
+                batch.failure = failure;
+                syncing = false;
+                lock.notifyAll();
+            }
+            if (failure != null) {
+                throw new DatabaseException(failure);
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
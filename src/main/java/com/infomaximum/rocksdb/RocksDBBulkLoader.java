@@ -0,0 +1,414 @@
+package com.infomaximum.rocksdb;
+
+import com.google.common.primitives.UnsignedBytes;
+import com.infomaximum.database.Record;
+import com.infomaximum.database.exception.DatabaseException;
+import com.infomaximum.database.exception.ReadOnlyDatabaseException;
+import com.infomaximum.database.exception.SequenceNotFoundException;
+import com.infomaximum.database.exception.UnexpectedFieldValueException;
+import com.infomaximum.database.provider.DBBulkWrite;
+import com.infomaximum.database.schema.Schema;
+import com.infomaximum.database.schema.dbstruct.*;
+import com.infomaximum.database.utils.HashIndexUtils;
+import com.infomaximum.database.utils.PrefixIndexUtils;
+import com.infomaximum.database.utils.RangeIndexUtils;
+import com.infomaximum.database.utils.TypeConvert;
+import com.infomaximum.database.utils.key.FieldKey;
+import com.infomaximum.database.utils.key.HashIndexKey;
+import com.infomaximum.database.utils.key.IntervalIndexKey;
+import com.infomaximum.database.utils.key.RangeIndexKey;
+import com.infomaximum.rocksdb.options.columnfamily.ColumnFamilyConfigMapper;
+import org.rocksdb.*;
+import org.rocksdb.util.SizeUnit;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Загрузка больших объемов записей в таблицу в обход memtable: ключи данных и индексов пишутся в sst-файлы,
+ * которые затем подключаются к column family через IngestExternalFile.
+ * <p>
+ * Id записей выделяются из последовательности таблицы в порядке следования, id входящих записей игнорируются.
+ * Ключи hash- и interval-индексов сортируются внешней сортировкой: отсортированные порции сливаются
+ * в непересекающиеся sst-файлы.
+ * Prefix- и range-индексы требуют чтения текущего состояния индекса, поэтому пишутся через {@link DBBulkWrite}.
+ * <p>
+ * Файлы индексов подключаются раньше файлов данных, поэтому записи становятся видимыми одновременно,
+ * в момент подключения файлов данных. Внешние ключи не проверяются.
+ */
+public class RocksDBBulkLoader {
+
+    private static final Comparator<byte[]> KEY_COMPARATOR = UnsignedBytes.lexicographicalComparator();
+    private static final long DEFAULT_SORT_BUFFER_SIZE = 64L * SizeUnit.MB;
+    private static final long MAX_FILE_SIZE = 256L * SizeUnit.MB;
+    private static final int ID_RESERVE_SIZE = 1024;
+    /**
+     * Примерные накладные расходы на хранение одного ключа в буфере сортировки
+     */
+    private static final int ENTRY_OVERHEAD = 32;
+
+    private final RocksDBProvider rocksDBProvider;
+    private final DBSchema schema;
+    private final Path tempDir;
+    private final long sortBufferSize;
+
+    public RocksDBBulkLoader(RocksDBProvider rocksDBProvider, Path tempDir) throws DatabaseException {
+        this(rocksDBProvider, tempDir, DEFAULT_SORT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param tempDir каталог для временных sst-файлов, желательно на том же разделе, что и база
+     * @param sortBufferSize объем памяти для сортировки ключей индексов в байтах
+     */
+    public RocksDBBulkLoader(RocksDBProvider rocksDBProvider, Path tempDir, long sortBufferSize) throws DatabaseException {
+        if (rocksDBProvider.isReadOnly()) {
+            throw new ReadOnlyDatabaseException();
+        }
+        this.rocksDBProvider = rocksDBProvider;
+        this.schema = Schema.read(rocksDBProvider).getDbSchema();
+        this.tempDir = tempDir;
+        this.sortBufferSize = sortBufferSize;
+    }
+
+    /**
+     * @return количество загруженных записей
+     */
+    public long load(String tableName, String namespace, Iterator<Record> records) throws DatabaseException {
+        final DBTable table = schema.getTable(tableName, namespace);
+        final SequenceManager.Sequence sequence = rocksDBProvider.getSequenceManager().getSequence(table.getDataColumnFamily());
+        if (sequence == null) {
+            throw new SequenceNotFoundException(table.getDataColumnFamily());
+        }
+
+        Path workDir = null;
+        List<AbstractNativeReference> optionsResources = new ArrayList<>();
+        // SST-файлы индексов строятся с теми же prefix bloom-фильтрами, что и column family индексов
+        try (EnvOptions envOptions = new EnvOptions();
+             Options options = new Options();
+             DBOptions indexDBOptions = new DBOptions();
+             ColumnFamilyOptions indexColumnFamilyOptions = ColumnFamilyConfigMapper.toRocksDbOpt(Schema.INDEX_COLUMN_FAMILY_CONFIG, optionsResources);
+             Options indexOptions = new Options(indexDBOptions, indexColumnFamilyOptions)) {
+            workDir = Files.createTempDirectory(tempDir, "bulkload");
+
+            long count = 0;
+            SstFilesWriter dataWriter = new SstFilesWriter(workDir, "data", envOptions, options);
+            IndexKeySorter indexSorter = new IndexKeySorter(workDir, envOptions, indexOptions);
+            try (DBBulkWrite indexWrite = rocksDBProvider.beginBulkWrite()) {
+                RecordWriter recordWriter = new RecordWriter(table, dataWriter, indexSorter, indexWrite);
+                long nextId = 0;
+                int reservedCount = 0;
+                while (records.hasNext()) {
+                    if (reservedCount == 0) {
+                        nextId = sequence.reserve(ID_RESERVE_SIZE);
+                        reservedCount = ID_RESERVE_SIZE;
+                    }
+                    recordWriter.write(nextId++, records.next().getValues());
+                    --reservedCount;
+                    ++count;
+                }
+                dataWriter.finish();
+                indexSorter.finish();
+                indexWrite.commit();
+            } finally {
+                dataWriter.close();
+                indexSorter.close();
+            }
+
+            try (IngestExternalFileOptions ingestOptions = new IngestExternalFileOptions().setMoveFiles(true)) {
+                ingest(table.getIndexColumnFamily(), indexSorter.getFiles(), ingestOptions);
+                ingest(table.getDataColumnFamily(), dataWriter.files, ingestOptions);
+            }
+            return count;
+        } catch (RocksDBException | IOException e) {
+            throw new DatabaseException(e);
+        } finally {
+            for (AbstractNativeReference resource : optionsResources) {
+                resource.close();
+            }
+            if (workDir != null) {
+                deleteDirectory(workDir);
+            }
+        }
+    }
+
+    private void ingest(String columnFamily, List<String> files, IngestExternalFileOptions options) throws RocksDBException, DatabaseException {
+        if (!files.isEmpty()) {
+            rocksDBProvider.getRocksDB().ingestExternalFile(rocksDBProvider.getColumnFamilyHandle(columnFamily), files, options);
+        }
+    }
+
+    private static void deleteDirectory(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException ignore) {}
+    }
+
+    private static class RecordWriter {
+
+        private final DBTable table;
+        private final DBField[] sortedFields;
+        private final byte[][] sortedFieldNames;
+        private final SstFilesWriter dataWriter;
+        private final IndexKeySorter indexSorter;
+        private final DBBulkWrite indexWrite;
+        private final List<String> lexemes = new ArrayList<>();
+
+        RecordWriter(DBTable table, SstFilesWriter dataWriter, IndexKeySorter indexSorter, DBBulkWrite indexWrite) {
+            this.table = table;
+            this.dataWriter = dataWriter;
+            this.indexSorter = indexSorter;
+            this.indexWrite = indexWrite;
+
+            // ключи полей одной записи должны идти в порядке возрастания имен
+            this.sortedFields = table.getSortedFields().toArray(new DBField[0]);
+            Arrays.sort(sortedFields, (left, right) -> KEY_COMPARATOR.compare(TypeConvert.pack(left.getName()), TypeConvert.pack(right.getName())));
+            this.sortedFieldNames = new byte[sortedFields.length][];
+            for (int i = 0; i < sortedFields.length; ++i) {
+                sortedFieldNames[i] = TypeConvert.pack(sortedFields[i].getName());
+            }
+        }
+
+        void write(long id, Object[] values) throws RocksDBException, DatabaseException, IOException {
+            if (values.length != sortedFields.length) {
+                throw new UnexpectedFieldValueException("Size of inserting values " + values.length + " doesn't equal table field size " + sortedFields.length);
+            }
+
+            Record record = new Record(id, values);
+            for (DBHashIndex index : table.getHashIndexes()) {
+                HashIndexKey indexKey = new HashIndexKey(id, index);
+                setHashValues(table.getFields(index.getFieldIds()), record, indexKey.getFieldValues());
+                indexSorter.add(indexKey.pack());
+            }
+
+            for (DBPrefixIndex index : table.getPrefixIndexes()) {
+                lexemes.clear();
+                PrefixIndexUtils.getIndexedLexemes(table.getFields(index.getFieldIds()), values, lexemes);
+                PrefixIndexUtils.insertIndexedLexemes(index, id, lexemes, table, indexWrite);
+            }
+
+            for (DBIntervalIndex index : table.getIntervalIndexes()) {
+                final DBField[] hashedFields = table.getFields(index.getHashFieldIds());
+                IntervalIndexKey indexKey = new IntervalIndexKey(id, new long[hashedFields.length], index);
+                setHashValues(hashedFields, record, indexKey.getHashedValues());
+                indexKey.setIndexedValue(values[index.getIndexedFieldId()]);
+                indexSorter.add(indexKey.pack());
+            }
+
+            for (DBRangeIndex index : table.getRangeIndexes()) {
+                final DBField[] hashedFields = table.getFields(index.getHashFieldIds());
+                RangeIndexKey indexKey = new RangeIndexKey(id, new long[hashedFields.length], index);
+                setHashValues(hashedFields, record, indexKey.getHashedValues());
+                RangeIndexUtils.insertIndexedRange(index, indexKey, values[index.getBeginFieldId()], values[index.getEndFieldId()], table, indexWrite);
+            }
+
+            dataWriter.rollIfNeeded();
+            dataWriter.put(new FieldKey(id).pack(), TypeConvert.EMPTY_BYTE_ARRAY);
+            for (int i = 0; i < sortedFields.length; ++i) {
+                DBField field = sortedFields[i];
+                Object value = values[field.getId()];
+                if (value != null) {
+                    dataWriter.put(new FieldKey(id, sortedFieldNames[i]).pack(), TypeConvert.pack(field.getType(), value, null));
+                }
+            }
+        }
+
+        private static void setHashValues(DBField[] fields, Record record, long[] destination) {
+            for (int i = 0; i < fields.length; ++i) {
+                DBField field = fields[i];
+                destination[i] = HashIndexUtils.buildHash(field.getType(), record.getValues()[field.getId()], null);
+            }
+        }
+    }
+
+    /**
+     * Пишет уже отсортированные ключи, с разбиением на файлы по размеру. Ключи данных приходят отсортированными
+     * (id возрастают), ключи индексов - после слияния порций
+     */
+    private static class SstFilesWriter implements AutoCloseable {
+
+        private final Path workDir;
+        private final String filePrefix;
+        private final EnvOptions envOptions;
+        private final Options options;
+        private final List<String> files = new ArrayList<>();
+        private SstFileWriter writer = null;
+
+        SstFilesWriter(Path workDir, String filePrefix, EnvOptions envOptions, Options options) {
+            this.workDir = workDir;
+            this.filePrefix = filePrefix;
+            this.envOptions = envOptions;
+            this.options = options;
+        }
+
+        void put(byte[] key, byte[] value) throws RocksDBException {
+            if (writer == null) {
+                String file = workDir.resolve(filePrefix + "-" + files.size() + ".sst").toString();
+                writer = new SstFileWriter(envOptions, options);
+                writer.open(file);
+                files.add(file);
+            }
+            writer.put(key, value);
+        }
+
+        /**
+         * Файлы данных разбиваются только на границе записей, т.е. перед ключом-маркером следующей записи
+         */
+        void rollIfNeeded() throws RocksDBException {
+            if (writer != null && writer.fileSize() >= MAX_FILE_SIZE) {
+                finish();
+            }
+        }
+
+        void finish() throws RocksDBException {
+            if (writer != null) {
+                writer.finish();
+                writer.close();
+                writer = null;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+        }
+    }
+
+    /**
+     * Внешняя сортировка ключей индексов: порция ключей копится в памяти, сортируется и сбрасывается во временный файл,
+     * после чего порции сливаются в одну последовательность непересекающихся sst-файлов. Пересекающиеся файлы порций
+     * попали бы в L0 и замедляли бы запись и чтение до завершения их компактификации.
+     */
+    private class IndexKeySorter implements AutoCloseable {
+
+        private final Path workDir;
+        private final SstFilesWriter writer;
+        private final List<Path> runs = new ArrayList<>();
+        private final List<byte[]> keys = new ArrayList<>();
+        private long bufferSize = 0;
+
+        IndexKeySorter(Path workDir, EnvOptions envOptions, Options options) {
+            this.workDir = workDir;
+            this.writer = new SstFilesWriter(workDir, "index", envOptions, options);
+        }
+
+        List<String> getFiles() {
+            return writer.files;
+        }
+
+        void add(byte[] key) throws IOException {
+            keys.add(key);
+            bufferSize += key.length + ENTRY_OVERHEAD;
+            if (bufferSize >= sortBufferSize) {
+                spill();
+            }
+        }
+
+        void finish() throws RocksDBException, IOException {
+            if (runs.isEmpty()) {
+                keys.sort(KEY_COMPARATOR);
+                for (byte[] key : keys) {
+                    writer.rollIfNeeded();
+                    writer.put(key, TypeConvert.EMPTY_BYTE_ARRAY);
+                }
+                keys.clear();
+            } else {
+                spill();
+                merge();
+            }
+            writer.finish();
+        }
+
+        private void spill() throws IOException {
+            if (keys.isEmpty()) {
+                return;
+            }
+
+            keys.sort(KEY_COMPARATOR);
+            Path run = workDir.resolve("index-run-" + runs.size());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+                out.writeInt(keys.size());
+                for (byte[] key : keys) {
+                    out.writeInt(key.length);
+                    out.write(key);
+                }
+            }
+            runs.add(run);
+            keys.clear();
+            bufferSize = 0;
+        }
+
+        /**
+         * Слияние отсортированных порций, в памяти находится по одному ключу каждой порции
+         */
+        private void merge() throws RocksDBException, IOException {
+            List<RunReader> readers = new ArrayList<>(runs.size());
+            try {
+                PriorityQueue<RunReader> queue = new PriorityQueue<>(runs.size(), (left, right) -> KEY_COMPARATOR.compare(left.key, right.key));
+                for (Path run : runs) {
+                    RunReader reader = new RunReader(run);
+                    readers.add(reader);
+                    if (reader.next()) {
+                        queue.add(reader);
+                    }
+                }
+                while (!queue.isEmpty()) {
+                    RunReader reader = queue.poll();
+                    writer.rollIfNeeded();
+                    writer.put(reader.key, TypeConvert.EMPTY_BYTE_ARRAY);
+                    if (reader.next()) {
+                        queue.add(reader);
+                    }
+                }
+            } finally {
+                for (RunReader reader : readers) {
+                    reader.close();
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            keys.clear();
+            writer.close();
+        }
+    }
+
+    private static class RunReader implements AutoCloseable {
+
+        private final DataInputStream in;
+        private int remaining;
+        private byte[] key = null;
+
+        RunReader(Path run) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run)));
+            this.remaining = in.readInt();
+        }
+
+        boolean next() throws IOException {
+            if (remaining == 0) {
+                key = null;
+                return false;
+            }
+
+            key = new byte[in.readInt()];
+            in.readFully(key);
+            --remaining;
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
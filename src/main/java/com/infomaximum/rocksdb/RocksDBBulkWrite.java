@@ -0,0 +1,236 @@
+package com.infomaximum.rocksdb;
+
+import com.infomaximum.database.exception.DatabaseException;
+import com.infomaximum.database.exception.SequenceNotFoundException;
+import com.infomaximum.database.provider.*;
+import org.rocksdb.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+
+public class RocksDBBulkWrite implements DBBulkWrite {
+
+    private final static Logger log = LoggerFactory.getLogger(RocksDBBulkWrite.class);
+
+    /**
+     * Во сколько раз пачка может превысить порог записи из-за открытых итераторов до предупреждения
+     */
+    private static final int PENDING_WARN_FACTOR = 4;
+    /**
+     * Примерные накладные расходы пачки на одну запись (заголовок записи и индекс пачки)
+     */
+    private static final int ENTRY_OVERHEAD = 32;
+
+    private final RocksDBProvider rocksDBProvider;
+    private final DBBulkWriteConfig config;
+    private final WriteOptions writeOptions;
+    private final WriteBatchWithIndex batch = new WriteBatchWithIndex(true);
+    private final Set<ColumnFamilyHandle> writtenColumnFamilies = new HashSet<>();
+    private long pendingBytes = 0;
+    private int openIterators = 0;
+    private boolean pendingWarned = false;
+
+    RocksDBBulkWrite(RocksDBProvider rocksDBProvider, DBBulkWriteConfig config) {
+        this.rocksDBProvider = rocksDBProvider;
+        this.config = config;
+        this.writeOptions = new WriteOptions().setDisableWAL(config.isDisableWal());
+    }
+
+    @Override
+    public DBIterator createIterator(String columnFamily) throws DatabaseException {
+        return createIterator(columnFamily, DBIteratorOptions.DEFAULT);
+    }
+
+    @Override
+    public DBIterator createIterator(String columnFamily, DBIteratorOptions options) throws DatabaseException {
+        return new RocksDBIterator(createCursor(columnFamily, options));
+    }
+
+    @Override
+    public RocksDBCursor createCursor(String columnFamily, DBIteratorOptions options) throws DatabaseException {
+        ColumnFamilyHandle columnFamilyHandle = rocksDBProvider.getColumnFamilyHandle(columnFamily);
+        RocksDBCursor.IteratorFactory iteratorFactory = readOptions -> batch.newIteratorWithBase(columnFamilyHandle, rocksDBProvider.getRocksDB().newIterator(columnFamilyHandle, readOptions));
+        BatchCursor cursor = options.isEmpty()
+                ? new BatchCursor(iteratorFactory.create(rocksDBProvider.getReadOptions()))
+                : new BatchCursor(iteratorFactory, rocksDBProvider.getReadOptions(), options, rocksDBProvider.getPrefixExtractorLength(columnFamily));
+        ++openIterators;
+        return cursor;
+    }
+
+    @Override
+    public byte[] getValue(String columnFamily, byte[] key) throws DatabaseException {
+        ColumnFamilyHandle columnFamilyHandle = rocksDBProvider.getColumnFamilyHandle(columnFamily);
+        try {
+            if (pendingBytes == 0) {
+                return rocksDBProvider.getRocksDB().get(columnFamilyHandle, rocksDBProvider.getReadOptions(), key);
+            }
+            return batch.getFromBatchAndDB(rocksDBProvider.getRocksDB(), rocksDBProvider.getReadOptions(), columnFamilyHandle, key);
+        } catch (RocksDBException e) {
+            throw new DatabaseException(e);
+        }
+    }
+
+    @Override
+    public byte[][] multiGet(String columnFamily, byte[][] keys) throws DatabaseException {
+        if (pendingBytes == 0) {
+            return rocksDBProvider.multiGet(columnFamily, keys);
+        }
+
+        byte[][] values = new byte[keys.length][];
+        for (int i = 0; i < keys.length; ++i) {
+            values[i] = getValue(columnFamily, keys[i]);
+        }
+        return values;
+    }
+
+    @Override
+    public long nextId(String sequenceName) throws DatabaseException {
+        SequenceManager.Sequence sequence = rocksDBProvider.getSequenceManager().getSequence(sequenceName);
+        if (sequence == null) {
+            throw new SequenceNotFoundException(sequenceName);
+        }
+        return sequence.next();
+    }
+
+    @Override
+    public void put(String columnFamily, byte[] key, byte[] value) throws DatabaseException {
+        ColumnFamilyHandle columnFamilyHandle = rocksDBProvider.getColumnFamilyHandle(columnFamily);
+        try {
+            batch.put(columnFamilyHandle, key, value);
+        } catch (RocksDBException e) {
+            throw new DatabaseException(e);
+        }
+        onWrite(columnFamilyHandle, key.length + value.length);
+    }
+
+    @Override
+    public void delete(String columnFamily, byte[] key) throws DatabaseException {
+        ColumnFamilyHandle columnFamilyHandle = rocksDBProvider.getColumnFamilyHandle(columnFamily);
+        try {
+            batch.delete(columnFamilyHandle, key);
+        } catch (RocksDBException e) {
+            throw new DatabaseException(e);
+        }
+        onWrite(columnFamilyHandle, key.length);
+    }
+
+    @Override
+    public void singleDelete(String columnFamily, byte[] key) throws DatabaseException {
+        ColumnFamilyHandle columnFamilyHandle = rocksDBProvider.getColumnFamilyHandle(columnFamily);
+        try {
+            batch.singleDelete(columnFamilyHandle, key);
+        } catch (RocksDBException e) {
+            throw new DatabaseException(e);
+        }
+        onWrite(columnFamilyHandle, key.length);
+    }
+
+    /**
+     * WriteBatchWithIndex не поддерживает range tombstone, поэтому накопленная пачка записывается,
+     * а диапазон удаляется сразу за ней.
+     */
+    @Override
+    public void deleteRange(String columnFamily, byte[] beginKey, byte[] endKey) throws DatabaseException {
+        ColumnFamilyHandle columnFamilyHandle = rocksDBProvider.getColumnFamilyHandle(columnFamily);
+        flush();
+        try {
+            rocksDBProvider.getRocksDB().deleteRange(writeOptions, columnFamilyHandle, beginKey, endKey);
+        } catch (RocksDBException e) {
+            throw new DatabaseException(e);
+        }
+        writtenColumnFamilies.add(columnFamilyHandle);
+    }
+
+    @Override
+    public void singleDeleteRange(String columnFamily, byte[] beginKey, byte[] endKey) throws DatabaseException {
+        deleteRange(columnFamily, beginKey, endKey);
+    }
+
+    @Override
+    public void flush() throws DatabaseException {
+        if (pendingBytes == 0) {
+            return;
+        }
+        if (openIterators != 0) {
+            throw new DatabaseException("Unable to flush bulk write, " + openIterators + " iterator(s) are not closed.");
+        }
+
+        try {
+            rocksDBProvider.getRocksDB().write(writeOptions, batch);
+        } catch (RocksDBException e) {
+            throw new DatabaseException(e);
+        }
+        batch.clear();
+        pendingBytes = 0;
+    }
+
+    @Override
+    public void commit() throws DatabaseException {
+        flush();
+        if (!config.isSyncOnCommit() || writtenColumnFamilies.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (config.isDisableWal()) {
+                try (FlushOptions flushOptions = new FlushOptions().setWaitForFlush(true)) {
+                    rocksDBProvider.getRocksDB().flush(flushOptions, new ArrayList<>(writtenColumnFamilies));
+                }
+            } else {
+                rocksDBProvider.getRocksDB().flushWal(true);
+            }
+        } catch (RocksDBException e) {
+            throw new DatabaseException(e);
+        }
+        writtenColumnFamilies.clear();
+    }
+
+    @Override
+    public void close() throws DatabaseException {
+        batch.close();
+        writeOptions.close();
+    }
+
+    /**
+     * Пачка записывается только когда нет открытых итераторов, т.к. они читают ее содержимое
+     */
+    private void onWrite(ColumnFamilyHandle columnFamilyHandle, int size) throws DatabaseException {
+        writtenColumnFamilies.add(columnFamilyHandle);
+        pendingBytes += size + ENTRY_OVERHEAD;
+        if (pendingBytes < config.getFlushThresholdBytes()) {
+            return;
+        }
+        if (openIterators == 0) {
+            flush();
+        } else if (!pendingWarned && pendingBytes >= PENDING_WARN_FACTOR * config.getFlushThresholdBytes()) {
+            pendingWarned = true;
+            log.warn("Bulk write batch has grown to {} bytes (flush threshold {}) because {} iterator(s) remain open",
+                    pendingBytes, config.getFlushThresholdBytes(), openIterators);
+        }
+    }
+
+    private class BatchCursor extends RocksDBCursor {
+
+        private boolean closed = false;
+
+        BatchCursor(RocksIterator iterator) {
+            super(iterator);
+        }
+
+        BatchCursor(IteratorFactory iteratorFactory, ReadOptions baseReadOptions, DBIteratorOptions options, int prefixExtractorLength) {
+            super(iteratorFactory, baseReadOptions, options, prefixExtractorLength, null);
+        }
+
+        @Override
+        public void close() throws DatabaseException {
+            if (!closed) {
+                closed = true;
+                --openIterators;
+                super.close();
+            }
+        }
+    }
+}
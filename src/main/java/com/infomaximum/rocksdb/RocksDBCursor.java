@@ -0,0 +1,339 @@
+package com.infomaximum.rocksdb;
+
+import com.google.common.primitives.UnsignedBytes;
+import com.infomaximum.database.exception.DatabaseException;
+import com.infomaximum.database.provider.DBCursor;
+import com.infomaximum.database.provider.DBIterator;
+import com.infomaximum.database.provider.DBIteratorOptions;
+import com.infomaximum.database.provider.KeyPattern;
+import com.infomaximum.database.provider.KeyValue;
+import com.infomaximum.database.utils.ByteUtils;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.Slice;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+
+public class RocksDBCursor implements DBCursor {
+
+    private static final Comparator<byte[]> KEY_COMPARATOR = UnsignedBytes.lexicographicalComparator();
+    private static final int INITIAL_KEY_CAPACITY = 64;
+    private static final int INITIAL_VALUE_CAPACITY = 256;
+
+    @FunctionalInterface
+    interface IteratorFactory {
+
+        RocksIterator create(ReadOptions readOptions);
+    }
+
+    private RocksIterator iterator;
+    private final DeletedRanges deletedRanges;
+    private KeyPattern pattern;
+
+    private final IteratorFactory iteratorFactory;
+    private final ReadOptions baseReadOptions;
+    private final DBIteratorOptions options;
+    private ReadOptions readOptions = null;
+    private Slice lowerBoundSlice = null;
+    private Slice upperBoundSlice = null;
+    private byte[] patternLowerBound = null;
+    private byte[] patternUpperBound = null;
+    private boolean boundedByPattern;
+    private final int prefixExtractorLength;
+
+    private ByteBuffer keyBuffer = ByteBuffer.allocateDirect(INITIAL_KEY_CAPACITY);
+    private ByteBuffer valueBuffer = null;
+    private boolean valueLoaded = false;
+
+    RocksDBCursor(RocksIterator iterator) {
+        this(iterator, null);
+    }
+
+    RocksDBCursor(RocksIterator iterator, DeletedRanges deletedRanges) {
+        this.iterator = iterator;
+        this.deletedRanges = deletedRanges;
+        this.iteratorFactory = null;
+        this.baseReadOptions = null;
+        this.options = null;
+        this.prefixExtractorLength = 0;
+    }
+
+    /**
+     * Нативный итератор создается при первом поиске, т.к. границы итерации могут зависеть от шаблона поиска
+     * @param baseReadOptions настройки чтения, на основе которых строятся настройки итератора (снимок и т.д.)
+     * @param prefixExtractorLength длина prefix extractor column family, 0 - не задан
+     */
+    RocksDBCursor(IteratorFactory iteratorFactory, ReadOptions baseReadOptions, DBIteratorOptions options, int prefixExtractorLength,
+                  DeletedRanges deletedRanges) {
+        this.deletedRanges = deletedRanges;
+        this.iteratorFactory = iteratorFactory;
+        this.baseReadOptions = baseReadOptions;
+        this.options = options;
+        this.boundedByPattern = options.isBoundedByPattern();
+        this.prefixExtractorLength = prefixExtractorLength;
+    }
+
+    @Override
+    public boolean seek(KeyPattern pattern) throws DatabaseException {
+        this.pattern = pattern;
+        if (iteratorFactory != null) {
+            prepareIterator(pattern);
+        }
+
+        if (pattern == null) {
+            iterator.seekToFirst();
+        } else if (pattern.getPrefix() == null) {
+            if (pattern.isForBackward()) {
+                iterator.seekToLast();
+            } else {
+                iterator.seekToFirst();
+            }
+        } else {
+            if (pattern.isForBackward()) {
+                iterator.seekForPrev(pattern.getPrefix());
+            } else {
+                iterator.seek(pattern.getPrefix());
+            }
+        }
+
+        return findMatched();
+    }
+
+    @Override
+    public boolean next() throws DatabaseException {
+        iterator.next();
+        return findMatched();
+    }
+
+    @Override
+    public boolean step(DBIterator.StepDirection direction) throws DatabaseException {
+        move(direction);
+        return findNotDeleted(direction);
+    }
+
+    @Override
+    public ByteBuffer keyBuffer() {
+        return keyBuffer;
+    }
+
+    @Override
+    public ByteBuffer valueBuffer() {
+        if (!valueLoaded) {
+            if (valueBuffer == null) {
+                valueBuffer = ByteBuffer.allocateDirect(INITIAL_VALUE_CAPACITY);
+            }
+            valueBuffer.clear();
+            int size = iterator.value(valueBuffer);
+            if (size > valueBuffer.capacity()) {
+                valueBuffer = ByteBuffer.allocateDirect(growCapacity(size));
+                iterator.value(valueBuffer);
+            }
+            valueLoaded = true;
+        }
+        return valueBuffer;
+    }
+
+    @Override
+    public void close() throws DatabaseException {
+        if (iterator != null) {
+            iterator.close();
+        }
+        closeReadOptions();
+    }
+
+    /**
+     * Копия текущей позиции для {@link RocksDBIterator}
+     */
+    KeyValue getKeyValue() {
+        return new KeyValue(copyKey(), iterator.value());
+    }
+
+    /**
+     * Создает нативный итератор, ограниченный префиксом шаблона. Если шаблон повторного поиска выходит за границы
+     * текущего итератора, итератор пересоздается без границ шаблона и больше ими не ограничивается.
+     */
+    private void prepareIterator(KeyPattern pattern) {
+        byte[] lowerBound = null;
+        byte[] upperBound = null;
+        if (boundedByPattern && pattern != null && !pattern.isForBackward() && pattern.getPrefix() != null && pattern.getStrictMatchingLen() > 0) {
+            lowerBound = Arrays.copyOf(pattern.getPrefix(), pattern.getStrictMatchingLen());
+            upperBound = ByteUtils.nextPrefix(lowerBound);
+        }
+
+        if (iterator != null) {
+            if (patternLowerBound == null || (lowerBound != null && withinPatternBounds(lowerBound, upperBound))) {
+                return;
+            }
+
+            boundedByPattern = false;
+            lowerBound = null;
+            upperBound = null;
+            iterator.close();
+            iterator = null;
+            closeReadOptions();
+        }
+
+        patternLowerBound = lowerBound;
+        patternUpperBound = upperBound;
+        readOptions = buildReadOptions(lowerBound, upperBound);
+        iterator = iteratorFactory.create(readOptions);
+    }
+
+    private boolean withinPatternBounds(byte[] lowerBound, byte[] upperBound) {
+        if (KEY_COMPARATOR.compare(lowerBound, patternLowerBound) < 0) {
+            return false;
+        }
+        if (patternUpperBound == null) {
+            return true;
+        }
+        return upperBound != null && KEY_COMPARATOR.compare(upperBound, patternUpperBound) <= 0;
+    }
+
+    private ReadOptions buildReadOptions(byte[] patternLowerBound, byte[] patternUpperBound) {
+        ReadOptions result = new ReadOptions(baseReadOptions);
+        if (options.getFillCache() != null) {
+            result.setFillCache(options.getFillCache());
+        }
+        if (options.getReadaheadSize() != null) {
+            result.setReadaheadSize(options.getReadaheadSize());
+        }
+        if (options.getPrefixSameAsStart() != null) {
+            result.setPrefixSameAsStart(options.getPrefixSameAsStart());
+        }
+        if (isPrefixSeekAllowed(patternLowerBound)) {
+            // Все ключи в границах шаблона имеют одинаковый префикс extractor, поэтому поиск может пропускать
+            // memtable и SST-файлы по prefix bloom-фильтру
+            result.setTotalOrderSeek(false);
+        }
+
+        byte[] lowerBound = max(options.getLowerBound(), patternLowerBound);
+        if (lowerBound != null) {
+            lowerBoundSlice = new Slice(lowerBound);
+            result.setIterateLowerBound(lowerBoundSlice);
+        }
+        byte[] upperBound = min(options.getUpperBound(), patternUpperBound);
+        if (upperBound != null) {
+            upperBoundSlice = new Slice(upperBound);
+            result.setIterateUpperBound(upperBoundSlice);
+        }
+        return result;
+    }
+
+    private boolean isPrefixSeekAllowed(byte[] patternLowerBound) {
+        return prefixExtractorLength > 0 && patternLowerBound != null && patternLowerBound.length >= prefixExtractorLength;
+    }
+
+    private void closeReadOptions() {
+        if (readOptions != null) {
+            readOptions.close();
+            readOptions = null;
+        }
+        if (lowerBoundSlice != null) {
+            lowerBoundSlice.close();
+            lowerBoundSlice = null;
+        }
+        if (upperBoundSlice != null) {
+            upperBoundSlice.close();
+            upperBoundSlice = null;
+        }
+    }
+
+    private static byte[] max(byte[] left, byte[] right) {
+        if (left == null || right == null) {
+            return left != null ? left : right;
+        }
+        return KEY_COMPARATOR.compare(left, right) >= 0 ? left : right;
+    }
+
+    private static byte[] min(byte[] left, byte[] right) {
+        if (left == null || right == null) {
+            return left != null ? left : right;
+        }
+        return KEY_COMPARATOR.compare(left, right) <= 0 ? left : right;
+    }
+
+    private boolean findNotDeleted(DBIterator.StepDirection direction) throws DatabaseException {
+        while (iterator.isValid()) {
+            readKey();
+            if (isDeleted()) {
+                move(direction);
+                continue;
+            }
+
+            return true;
+        }
+
+        throwIfFail();
+        return false;
+    }
+
+    private boolean findMatched() throws DatabaseException {
+        while (iterator.isValid()) {
+            readKey();
+            if (isDeleted()) {
+                move(pattern != null && pattern.isForBackward() ? DBIterator.StepDirection.BACKWARD : DBIterator.StepDirection.FORWARD);
+                continue;
+            }
+            if (pattern != null) {
+                int matchResult = pattern.match(keyBuffer);
+                if (matchResult == KeyPattern.MATCH_RESULT_CONTINUE) {
+                    iterator.next();
+                    continue;
+                } else if (matchResult == KeyPattern.MATCH_RESULT_UNSUCCESS) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        throwIfFail();
+        return false;
+    }
+
+    private void readKey() {
+        keyBuffer.clear();
+        int size = iterator.key(keyBuffer);
+        if (size > keyBuffer.capacity()) {
+            keyBuffer = ByteBuffer.allocateDirect(growCapacity(size));
+            iterator.key(keyBuffer);
+        }
+        valueLoaded = false;
+    }
+
+    private byte[] copyKey() {
+        byte[] key = new byte[keyBuffer.remaining()];
+        keyBuffer.get(keyBuffer.position(), key);
+        return key;
+    }
+
+    private static int growCapacity(int size) {
+        return Math.max(Integer.highestOneBit(size - 1) << 1, size);
+    }
+
+    private void move(DBIterator.StepDirection direction) {
+        switch (direction) {
+            case FORWARD:
+                iterator.next();
+                break;
+            case BACKWARD:
+                iterator.prev();
+                break;
+        }
+    }
+
+    private boolean isDeleted() {
+        return deletedRanges != null && !deletedRanges.isEmpty() && deletedRanges.contains(keyBuffer);
+    }
+
+    private void throwIfFail() throws DatabaseException {
+        try {
+            iterator.status();
+        } catch (RocksDBException e) {
+            throw new DatabaseException(e);
+        }
+    }
+}
@@ -2,34 +2,161 @@ package com.infomaximum.rocksdb;
 
 import com.infomaximum.database.exception.ColumnFamilyNotFoundException;
 import com.infomaximum.database.exception.DatabaseException;
+import com.infomaximum.database.exception.ReadOnlyDatabaseException;
+import com.infomaximum.database.provider.DBBulkWrite;
+import com.infomaximum.database.provider.DBBulkWriteConfig;
 import com.infomaximum.database.provider.DBIterator;
+import com.infomaximum.database.provider.DBIteratorOptions;
 import com.infomaximum.database.provider.DBProvider;
+import com.infomaximum.database.provider.DBReadSession;
 import com.infomaximum.database.provider.DBTransaction;
+import com.infomaximum.database.provider.Durability;
+import com.infomaximum.database.provider.SequenceCacheConfig;
+import com.infomaximum.database.schema.dbstruct.DBSchema;
 import com.infomaximum.database.utils.TypeConvert;
 import com.infomaximum.rocksdb.backup.RocksDBCreateBackup;
+import com.infomaximum.rocksdb.metrics.CompactionQueueMetrics;
+import com.infomaximum.rocksdb.metrics.DatabaseMetrics;
+import com.infomaximum.rocksdb.metrics.DatabaseMetricsCollector;
 import com.infomaximum.rocksdb.options.columnfamily.ColumnFamilyConfig;
 import com.infomaximum.rocksdb.options.columnfamily.ColumnFamilyConfigMapper;
+import com.infomaximum.rocksdb.options.compaction.CompactionSchedulerConfig;
+import com.infomaximum.rocksdb.options.transaction.GroupCommitConfig;
 import org.rocksdb.*;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
 
 public class RocksDBProvider implements DBProvider, AutoCloseable {
 
     public static final String DEFAULT_COLUMN_FAMILY = new String(RocksDB.DEFAULT_COLUMN_FAMILY);
 
-    private final OptimisticTransactionDB rocksDB;
+    private final RocksDB rocksDB;
+    private final OptimisticTransactionDB optimisticTransactionDB;
+    private final TransactionDB transactionDB;
+    private final TransactionOptions transactionOptions;
     private final ConcurrentMap<String, ColumnFamilyHandle> columnFamilies;
-    private final WriteOptions writeOptions = new WriteOptions();
-    private final ReadOptions readOptions = new ReadOptions();
+    /**
+     * Фоновые задачи удерживают блокировку на чтение, пока используют handle column family,
+     * удаление column family удерживает ее на запись до закрытия handle
+     */
+    private final ReadWriteLock columnFamilyLock = new ReentrantReadWriteLock();
+    private final Cache blockCache;
+    private final Statistics statistics;
+    /**
+     * Нативные объекты настроек базы, закрываются после нее
+     */
+    private final List<AbstractNativeReference> resources;
+    /**
+     * Длины prefix extractor column family, для которых он задан
+     */
+    private final ConcurrentMap<String, Integer> prefixExtractorLengths;
+    /**
+     * Настройки записи транзакций для каждого уровня сохранности
+     */
+    private final EnumMap<Durability, WriteOptions> writeOptions = buildWriteOptions();
+    private final Durability defaultDurability;
+    private final GroupCommitter groupCommitter;
+    /**
+     * null, если фоновая компактификация удаленных диапазонов не включена
+     */
+    private final CompactionScheduler compactionScheduler;
+    /**
+     * База открыта только для чтения или как secondary-экземпляр, методы записи недоступны
+     */
+    private final boolean readOnly;
+    private final boolean secondary;
+    /**
+     * null, если изменения основной базы подтягиваются только вручную или база не secondary
+     */
+    private final CatchUpScheduler catchUpScheduler;
+    /**
+     * Итераторы по умолчанию обходят ключи в полном порядке и при наличии prefix extractor,
+     * режим префикса включает {@link RocksDBCursor} для шаблона, покрывающего префикс
+     */
+    private final ReadOptions readOptions = new ReadOptions().setTotalOrderSeek(true);
     private final SequenceManager sequenceManager;
 
-    RocksDBProvider(OptimisticTransactionDB rocksDB, ConcurrentMap<String, ColumnFamilyHandle> columnFamilies) throws DatabaseException {
+    RocksDBProvider(OptimisticTransactionDB rocksDB, ConcurrentMap<String, ColumnFamilyHandle> columnFamilies, Cache blockCache,
+                    Statistics statistics, ConcurrentMap<String, Integer> prefixExtractorLengths,
+                    Function<String, SequenceCacheConfig> sequenceCacheConfigs,
+                    Durability defaultDurability, GroupCommitConfig groupCommitConfig,
+                    CompactionSchedulerConfig compactionSchedulerConfig, List<AbstractNativeReference> resources) throws DatabaseException {
         this.rocksDB = rocksDB;
+        this.optimisticTransactionDB = rocksDB;
+        this.transactionDB = null;
+        this.transactionOptions = null;
         this.columnFamilies = columnFamilies;
-        this.sequenceManager = new SequenceManager(this);
+        this.blockCache = blockCache;
+        this.statistics = statistics;
+        this.resources = resources;
+        this.prefixExtractorLengths = prefixExtractorLengths;
+        this.defaultDurability = defaultDurability;
+        this.groupCommitter = new GroupCommitter(rocksDB, groupCommitConfig);
+        this.sequenceManager = new SequenceManager(this, sequenceCacheConfigs);
+        this.compactionScheduler = compactionSchedulerConfig != null ? new CompactionScheduler(this, compactionSchedulerConfig) : null;
+        this.readOnly = false;
+        this.secondary = false;
+        this.catchUpScheduler = null;
+    }
+
+    RocksDBProvider(TransactionDB rocksDB, TransactionOptions transactionOptions, ConcurrentMap<String, ColumnFamilyHandle> columnFamilies, Cache blockCache,
+                    Statistics statistics, ConcurrentMap<String, Integer> prefixExtractorLengths,
+                    Function<String, SequenceCacheConfig> sequenceCacheConfigs,
+                    Durability defaultDurability, GroupCommitConfig groupCommitConfig,
+                    CompactionSchedulerConfig compactionSchedulerConfig, List<AbstractNativeReference> resources) throws DatabaseException {
+        this.rocksDB = rocksDB;
+        this.optimisticTransactionDB = null;
+        this.transactionDB = rocksDB;
+        this.transactionOptions = transactionOptions;
+        this.columnFamilies = columnFamilies;
+        this.blockCache = blockCache;
+        this.statistics = statistics;
+        this.resources = resources;
+        this.prefixExtractorLengths = prefixExtractorLengths;
+        this.defaultDurability = defaultDurability;
+        this.groupCommitter = new GroupCommitter(rocksDB, groupCommitConfig);
+        this.sequenceManager = new SequenceManager(this, sequenceCacheConfigs);
+        this.compactionScheduler = compactionSchedulerConfig != null ? new CompactionScheduler(this, compactionSchedulerConfig) : null;
+        this.readOnly = false;
+        this.secondary = false;
+        this.catchUpScheduler = null;
+    }
+
+    /**
+     * База, открытая только для чтения ({@link RocksDB#openReadOnly}) или как secondary-экземпляр ({@link RocksDB#openAsSecondary})
+     * @param catchUpPeriod период {@link #tryCatchUpWithPrimary()} для secondary-экземпляра, null - только вручную
+     */
+    RocksDBProvider(RocksDB rocksDB, boolean secondary, ConcurrentMap<String, ColumnFamilyHandle> columnFamilies, Cache blockCache,
+                    Statistics statistics, ConcurrentMap<String, Integer> prefixExtractorLengths,
+                    Function<String, SequenceCacheConfig> sequenceCacheConfigs, Duration catchUpPeriod,
+                    List<AbstractNativeReference> resources) throws DatabaseException {
+        this.rocksDB = rocksDB;
+        this.optimisticTransactionDB = null;
+        this.transactionDB = null;
+        this.transactionOptions = null;
+        this.columnFamilies = columnFamilies;
+        this.blockCache = blockCache;
+        this.statistics = statistics;
+        this.resources = resources;
+        this.prefixExtractorLengths = prefixExtractorLengths;
+        this.defaultDurability = Durability.WAL;
+        this.groupCommitter = null;
+        this.sequenceManager = new SequenceManager(this, sequenceCacheConfigs);
+        this.compactionScheduler = null;
+        this.readOnly = true;
+        this.secondary = secondary;
+        this.catchUpScheduler = secondary && catchUpPeriod != null ? new CatchUpScheduler(this, catchUpPeriod) : null;
     }
 
     public RocksDB getRocksDB() {
@@ -38,7 +165,67 @@ public class RocksDBProvider implements DBProvider, AutoCloseable {
 
     @Override
     public DBTransaction beginTransaction() throws DatabaseException {
-        return new RocksDBTransaction(rocksDB.beginTransaction(writeOptions), this);
+        return beginTransaction(defaultDurability);
+    }
+
+    @Override
+    public DBTransaction beginTransaction(Durability durability) throws DatabaseException {
+        checkWritable();
+        WriteOptions options = writeOptions.get(durability);
+        GroupCommitter committer = durability == Durability.GROUP_SYNC ? groupCommitter : null;
+        if (transactionDB != null) {
+            return new RocksDBTransaction(transactionDB.beginTransaction(options, transactionOptions), this, committer);
+        }
+        return new RocksDBTransaction(optimisticTransactionDB.beginTransaction(options), this, committer);
+    }
+
+    public Durability getDefaultDurability() {
+        return defaultDurability;
+    }
+
+    @Override
+    public DBBulkWrite beginBulkWrite() throws DatabaseException {
+        return beginBulkWrite(DBBulkWriteConfig.newBuilder().build());
+    }
+
+    @Override
+    public DBBulkWrite beginBulkWrite(DBBulkWriteConfig config) throws DatabaseException {
+        checkWritable();
+        return new RocksDBBulkWrite(this, config);
+    }
+
+    /**
+     * @return true, если транзакции блокируют ключи (TransactionDB), false - если конфликты проверяются на коммите
+     */
+    public boolean isPessimisticTransactions() {
+        return transactionDB != null;
+    }
+
+    /**
+     * @return true, если база открыта только для чтения или как secondary-экземпляр
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Подтягивает изменения, записанные основной базой в WAL и MANIFEST. Column family, созданные основной базой
+     * после открытия secondary-экземпляра, не становятся доступны до его переоткрытия
+     */
+    public void tryCatchUpWithPrimary() throws DatabaseException {
+        if (!secondary) {
+            throw new DatabaseException("Database is not opened as secondary instance.");
+        }
+        try {
+            rocksDB.tryCatchUpWithPrimary();
+        } catch (RocksDBException e) {
+            throw new DatabaseException(e);
+        }
+    }
+
+    @Override
+    public DBReadSession openReadSession() {
+        return new RocksDBReadSession(this);
     }
 
     @Override
@@ -46,6 +233,21 @@ public class RocksDBProvider implements DBProvider, AutoCloseable {
         return new RocksDBIterator(getRocksDB().newIterator(getColumnFamilyHandle(columnFamily), readOptions));
     }
 
+    @Override
+    public DBIterator createIterator(String columnFamily, DBIteratorOptions options) throws DatabaseException {
+        return new RocksDBIterator(createCursor(columnFamily, options));
+    }
+
+    @Override
+    public RocksDBCursor createCursor(String columnFamily, DBIteratorOptions options) throws DatabaseException {
+        ColumnFamilyHandle columnFamilyHandle = getColumnFamilyHandle(columnFamily);
+        if (options.isEmpty()) {
+            return new RocksDBCursor(getRocksDB().newIterator(columnFamilyHandle, readOptions));
+        }
+        return new RocksDBCursor(readOptions -> getRocksDB().newIterator(columnFamilyHandle, readOptions), readOptions, options,
+                getPrefixExtractorLength(columnFamily), null);
+    }
+
     @Override
     public byte[] getValue(String columnFamily, final byte[] key) throws DatabaseException {
         try {
@@ -55,6 +257,19 @@ public class RocksDBProvider implements DBProvider, AutoCloseable {
         }
     }
 
+    @Override
+    public byte[][] multiGet(String columnFamily, byte[][] keys) throws DatabaseException {
+        if (keys.length == 0) {
+            return keys;
+        }
+        try {
+            List<ColumnFamilyHandle> columnFamilyHandles = Collections.nCopies(keys.length, getColumnFamilyHandle(columnFamily));
+            return getRocksDB().multiGetAsList(readOptions, columnFamilyHandles, Arrays.asList(keys)).toArray(new byte[keys.length][]);
+        } catch (RocksDBException e) {
+            throw new DatabaseException(e);
+        }
+    }
+
     @Override
     public boolean containsColumnFamily(String name) throws DatabaseException {
         return columnFamilies.containsKey(name);
@@ -85,18 +300,24 @@ public class RocksDBProvider implements DBProvider, AutoCloseable {
 
     @Override
     public void createSequence(String name) throws DatabaseException {
+        checkWritable();
         sequenceManager.createSequence(name);
     }
 
     @Override
     public void dropSequence(String name) throws DatabaseException {
+        checkWritable();
         sequenceManager.dropSequence(name);
     }
 
     @Override
     public void createColumnFamily(String columnFamilyName) throws DatabaseException {
+        checkWritable();
         try {
             ColumnFamilyDescriptor columnFamilyDescriptor = new ColumnFamilyDescriptor(TypeConvert.pack(columnFamilyName));
+            if (blockCache != null) {
+                ColumnFamilyConfigMapper.setBlockCache(blockCache, columnFamilyDescriptor.getOptions());
+            }
             ColumnFamilyHandle columnFamilyHandle = getRocksDB().createColumnFamily(columnFamilyDescriptor);
             if (columnFamilies.putIfAbsent(columnFamilyName, columnFamilyHandle) != null) {
                 try (ColumnFamilyHandle handle = columnFamilyHandle) {
@@ -110,36 +331,55 @@ public class RocksDBProvider implements DBProvider, AutoCloseable {
 
     @Override
     public void createColumnFamily(String columnFamilyName, ColumnFamilyConfig options) throws DatabaseException {
-        try {
-            ColumnFamilyDescriptor columnFamilyDescriptor = new ColumnFamilyDescriptor(
-                    TypeConvert.pack(columnFamilyName),
-                    ColumnFamilyConfigMapper.toRocksDbOpt(options)
-            );
+        checkWritable();
+        //Настройки копируются в column family при создании, созданные для них нативные объекты больше не нужны
+        List<AbstractNativeReference> optionsResources = new ArrayList<>();
+        try (ColumnFamilyOptions columnFamilyOptions = ColumnFamilyConfigMapper.toRocksDbOpt(options, optionsResources)) {
+            ColumnFamilyDescriptor columnFamilyDescriptor = new ColumnFamilyDescriptor(TypeConvert.pack(columnFamilyName), columnFamilyOptions);
+            if (blockCache != null) {
+                ColumnFamilyConfigMapper.setBlockCache(blockCache, columnFamilyDescriptor.getOptions());
+            }
             ColumnFamilyHandle columnFamilyHandle = getRocksDB().createColumnFamily(columnFamilyDescriptor);
             if (columnFamilies.putIfAbsent(columnFamilyName, columnFamilyHandle) != null) {
                 try (ColumnFamilyHandle handle = columnFamilyHandle) {
                     getRocksDB().dropColumnFamily(handle);
                 }
+            } else if (options.isContainPrefixExtractorLength()) {
+                prefixExtractorLengths.put(columnFamilyName, options.getPrefixExtractorLength());
             }
         } catch (RocksDBException e) {
             throw new DatabaseException(e);
+        } finally {
+            for (AbstractNativeReference resource : optionsResources) {
+                resource.close();
+            }
         }
     }
 
 
     @Override
     public void dropColumnFamily(String columnFamilyName) throws DatabaseException {
+        checkWritable();
+        Lock lock = columnFamilyLock.writeLock();
+        lock.lock();
         try (ColumnFamilyHandle columnFamilyHandle = columnFamilies.remove(columnFamilyName)) {
+            if (compactionScheduler != null) {
+                compactionScheduler.dropColumnFamily(columnFamilyName);
+            }
+            prefixExtractorLengths.remove(columnFamilyName);
             if (columnFamilyHandle != null) {
                 getRocksDB().dropColumnFamily(columnFamilyHandle);
             }
         } catch (RocksDBException e) {
             throw new DatabaseException(e);
+        } finally {
+            lock.unlock();
         }
     }
 
     @Override
     public void compactRange() throws DatabaseException {
+        checkWritable();
         try {
             rocksDB.compactRange();
         } catch (RocksDBException e) {
@@ -151,28 +391,72 @@ public class RocksDBProvider implements DBProvider, AutoCloseable {
         return new RocksDBCreateBackup(rocksDB);
     }
 
+    public DatabaseMetrics getMetrics() throws DatabaseException {
+        return getMetrics(null);
+    }
+
+    /**
+     * @param schema схема для сопоставления column family с таблицами
+     */
+    public DatabaseMetrics getMetrics(DBSchema schema) throws DatabaseException {
+        List<CompactionQueueMetrics> compactionQueue = compactionScheduler != null ? compactionScheduler.getQueue() : Collections.emptyList();
+        //Свойства читаются по handle column family, которые не должны закрываться во время сбора
+        Lock lock = columnFamilyLock.readLock();
+        lock.lock();
+        try {
+            return new DatabaseMetricsCollector(rocksDB, statistics, columnFamilies, compactionQueue).collect(schema);
+        } finally {
+            lock.unlock();
+        }
+    }
+
     @Override
     public void close() {
-        List<AbstractNativeReference> refs = new ArrayList<>(columnFamilies.size() + 3);
-        refs.add(readOptions);
-        refs.add(writeOptions);
-        for (Map.Entry<String, ColumnFamilyHandle> entry : columnFamilies.entrySet()) {
-            refs.add(entry.getValue());
-        }
-        refs.add(rocksDB);
-
-        for (int i = 0; i < refs.size(); ++i) {
-            try {
-                refs.get(i).close();
-            } catch (Throwable e) {
+        if (catchUpScheduler != null) {
+            catchUpScheduler.close();
+        }
+        if (compactionScheduler != null) {
+            compactionScheduler.close();
+        }
+        //Фоновые задачи могли не завершиться за время ожидания: handle закрываются под блокировкой записи
+        //и удаляются из columnFamilies, чтобы запоздавшая задача их не получила
+        Lock lock = columnFamilyLock.writeLock();
+        lock.lock();
+        try {
+            List<AbstractNativeReference> refs = new ArrayList<>(columnFamilies.size() + writeOptions.size() + resources.size() + 5);
+            refs.add(readOptions);
+            refs.addAll(writeOptions.values());
+            if (transactionOptions != null) {
+                refs.add(transactionOptions);
+            }
+            for (Map.Entry<String, ColumnFamilyHandle> entry : columnFamilies.entrySet()) {
+                refs.add(entry.getValue());
+            }
+            columnFamilies.clear();
+            refs.add(rocksDB);
+            if (blockCache != null) {
+                refs.add(blockCache);
+            }
+            if (statistics != null) {
+                refs.add(statistics);
+            }
+            refs.addAll(resources);
+
+            for (int i = 0; i < refs.size(); ++i) {
                 try {
-                    for (++i; i < refs.size(); ++i) {
-                        refs.get(i).close();
-                    }
-                } catch (Throwable ignore) {}
+                    refs.get(i).close();
+                } catch (Throwable e) {
+                    try {
+                        for (++i; i < refs.size(); ++i) {
+                            refs.get(i).close();
+                        }
+                    } catch (Throwable ignore) {}
 
-                throw e;
+                    throw e;
+                }
             }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -185,14 +469,50 @@ public class RocksDBProvider implements DBProvider, AutoCloseable {
     }
 
     WriteOptions getWriteOptions() {
-        return writeOptions;
+        return writeOptions.get(defaultDurability);
     }
 
     ReadOptions getReadOptions() {
         return readOptions;
     }
 
+    /**
+     * @return длина prefix extractor column family или 0, если он не задан
+     */
+    int getPrefixExtractorLength(String columnFamily) {
+        return prefixExtractorLengths.getOrDefault(columnFamily, 0);
+    }
+
     SequenceManager getSequenceManager() {
         return sequenceManager;
     }
+
+    /**
+     * Пока блокировка удерживается, handle column family из {@link #getColumnFamilyHandle(String)} не закрывается
+     */
+    Lock getColumnFamilyReadLock() {
+        return columnFamilyLock.readLock();
+    }
+
+    CompactionScheduler getCompactionScheduler() {
+        return compactionScheduler;
+    }
+
+    private void checkWritable() throws ReadOnlyDatabaseException {
+        if (readOnly) {
+            throw new ReadOnlyDatabaseException();
+        }
+    }
+
+    /**
+     * При {@link Durability#GROUP_SYNC} транзакция пишет в WAL без fsync, его выполняет {@link GroupCommitter}
+     */
+    private static EnumMap<Durability, WriteOptions> buildWriteOptions() {
+        EnumMap<Durability, WriteOptions> result = new EnumMap<>(Durability.class);
+        result.put(Durability.SYNC, new WriteOptions().setSync(true));
+        result.put(Durability.WAL, new WriteOptions());
+        result.put(Durability.NO_WAL, new WriteOptions().setDisableWAL(true));
+        result.put(Durability.GROUP_SYNC, new WriteOptions());
+        return result;
+    }
 }
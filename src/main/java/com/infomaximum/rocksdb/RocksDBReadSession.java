@@ -0,0 +1,74 @@
+package com.infomaximum.rocksdb;
+
+import com.infomaximum.database.exception.DatabaseException;
+import com.infomaximum.database.provider.DBIterator;
+import com.infomaximum.database.provider.DBIteratorOptions;
+import com.infomaximum.database.provider.DBReadSession;
+import org.rocksdb.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class RocksDBReadSession implements DBReadSession {
+
+    private final RocksDBProvider rocksDBProvider;
+    private final Snapshot snapshot;
+    private final ReadOptions readOptions;
+
+    RocksDBReadSession(RocksDBProvider rocksDBProvider) {
+        this.rocksDBProvider = rocksDBProvider;
+        this.snapshot = rocksDBProvider.getRocksDB().getSnapshot();
+        this.readOptions = new ReadOptions().setSnapshot(snapshot).setTotalOrderSeek(true);
+    }
+
+    @Override
+    public DBIterator createIterator(String columnFamily) throws DatabaseException {
+        ColumnFamilyHandle columnFamilyHandle = rocksDBProvider.getColumnFamilyHandle(columnFamily);
+        return new RocksDBIterator(rocksDBProvider.getRocksDB().newIterator(columnFamilyHandle, readOptions));
+    }
+
+    @Override
+    public DBIterator createIterator(String columnFamily, DBIteratorOptions options) throws DatabaseException {
+        return new RocksDBIterator(createCursor(columnFamily, options));
+    }
+
+    @Override
+    public RocksDBCursor createCursor(String columnFamily, DBIteratorOptions options) throws DatabaseException {
+        ColumnFamilyHandle columnFamilyHandle = rocksDBProvider.getColumnFamilyHandle(columnFamily);
+        if (options.isEmpty()) {
+            return new RocksDBCursor(rocksDBProvider.getRocksDB().newIterator(columnFamilyHandle, readOptions));
+        }
+        return new RocksDBCursor(iteratorOptions -> rocksDBProvider.getRocksDB().newIterator(columnFamilyHandle, iteratorOptions), readOptions, options,
+                rocksDBProvider.getPrefixExtractorLength(columnFamily), null);
+    }
+
+    @Override
+    public byte[] getValue(String columnFamily, byte[] key) throws DatabaseException {
+        try {
+            return rocksDBProvider.getRocksDB().get(rocksDBProvider.getColumnFamilyHandle(columnFamily), readOptions, key);
+        } catch (RocksDBException e) {
+            throw new DatabaseException(e);
+        }
+    }
+
+    @Override
+    public byte[][] multiGet(String columnFamily, byte[][] keys) throws DatabaseException {
+        if (keys.length == 0) {
+            return keys;
+        }
+        try {
+            List<ColumnFamilyHandle> columnFamilyHandles = Collections.nCopies(keys.length, rocksDBProvider.getColumnFamilyHandle(columnFamily));
+            return rocksDBProvider.getRocksDB().multiGetAsList(readOptions, columnFamilyHandles, Arrays.asList(keys)).toArray(new byte[keys.length][]);
+        } catch (RocksDBException e) {
+            throw new DatabaseException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try (ReadOptions options = readOptions) {
+            rocksDBProvider.getRocksDB().releaseSnapshot(snapshot);
+        }
+    }
+}
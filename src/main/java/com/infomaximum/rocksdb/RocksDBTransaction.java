@@ -1,39 +1,62 @@
 package com.infomaximum.rocksdb;
 
 import com.google.common.primitives.UnsignedBytes;
-import com.infomaximum.database.exception.ColumnFamilyNotFoundException;
 import com.infomaximum.database.exception.DatabaseException;
 import com.infomaximum.database.exception.SequenceNotFoundException;
 import com.infomaximum.database.provider.DBIterator;
+import com.infomaximum.database.provider.DBIteratorOptions;
 import com.infomaximum.database.provider.DBTransaction;
 import com.infomaximum.database.provider.KeyPattern;
 import com.infomaximum.database.utils.ByteInterval;
-import org.rocksdb.ColumnFamilyHandle;
-import org.rocksdb.RocksDBException;
-import org.rocksdb.RocksIterator;
-import org.rocksdb.Transaction;
+import com.infomaximum.database.utils.ByteUtils;
+import org.rocksdb.*;
 
-import java.util.Arrays;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
 public class RocksDBTransaction implements DBTransaction {
 
     private static final Comparator<byte[]> KEY_COMPARATOR = UnsignedBytes.lexicographicalComparator();
+    /**
+     * Проверка инварианта SingleDelete (ключ записан не более одного раза с момента последнего удаления),
+     * включается вместе с assertions (-ea)
+     */
+    private static final boolean CHECK_SINGLE_DELETE = RocksDBTransaction.class.desiredAssertionStatus();
 
     private final Transaction transaction;
     private final RocksDBProvider rocksDBProvider;
+    /**
+     * Задан для {@link com.infomaximum.database.provider.Durability#GROUP_SYNC}
+     */
+    private final GroupCommitter groupCommitter;
     private final Map<String, RangeKey> compactingKeys = new HashMap<>();
+    private final Map<String, DeletedRanges> deletedRanges = new HashMap<>();
+    private final Map<String, NavigableSet<byte[]>> overwrittenKeys = new HashMap<>();
+    private WriteBatch writeBatch = null;
 
-    RocksDBTransaction(Transaction transaction, RocksDBProvider rocksDBProvider) {
+    RocksDBTransaction(Transaction transaction, RocksDBProvider rocksDBProvider, GroupCommitter groupCommitter) {
         this.transaction = transaction;
         this.rocksDBProvider = rocksDBProvider;
+        this.groupCommitter = groupCommitter;
     }
 
     @Override
     public DBIterator createIterator(String columnFamily) throws DatabaseException {
-        return buildIterator(rocksDBProvider.getColumnFamilyHandle(columnFamily));
+        return buildIterator(columnFamily);
+    }
+
+    @Override
+    public DBIterator createIterator(String columnFamily, DBIteratorOptions options) throws DatabaseException {
+        return new RocksDBIterator(createCursor(columnFamily, options));
+    }
+
+    @Override
+    public RocksDBCursor createCursor(String columnFamily, DBIteratorOptions options) throws DatabaseException {
+        ColumnFamilyHandle columnFamilyHandle = rocksDBProvider.getColumnFamilyHandle(columnFamily);
+        if (options.isEmpty()) {
+            return new RocksDBCursor(transaction.getIterator(rocksDBProvider.getReadOptions(), columnFamilyHandle), getDeletedRanges(columnFamily));
+        }
+        return new RocksDBCursor(readOptions -> transaction.getIterator(readOptions, columnFamilyHandle), rocksDBProvider.getReadOptions(), options,
+                rocksDBProvider.getPrefixExtractorLength(columnFamily), getDeletedRanges(columnFamily));
     }
 
     @Override
@@ -47,6 +70,10 @@ public class RocksDBTransaction implements DBTransaction {
 
     @Override
     public byte[] getValue(String columnFamily, byte[] key) throws DatabaseException {
+        DeletedRanges ranges = deletedRanges.get(columnFamily);
+        if (ranges != null && ranges.contains(key)) {
+            return null;
+        }
         try {
             return transaction.get(rocksDBProvider.getColumnFamilyHandle(columnFamily), rocksDBProvider.getReadOptions(), key);
         } catch (RocksDBException e) {
@@ -54,50 +81,110 @@ public class RocksDBTransaction implements DBTransaction {
         }
     }
 
+    @Override
+    public byte[] getValueForUpdate(String columnFamily, byte[] key) throws DatabaseException {
+        byte[] value;
+        try {
+            value = transaction.getForUpdate(rocksDBProvider.getReadOptions(), rocksDBProvider.getColumnFamilyHandle(columnFamily), key, true);
+        } catch (RocksDBException e) {
+            throw new DatabaseException(e);
+        }
+        DeletedRanges ranges = deletedRanges.get(columnFamily);
+        return ranges != null && ranges.contains(key) ? null : value;
+    }
+
+    @Override
+    public byte[][] multiGet(String columnFamily, byte[][] keys) throws DatabaseException {
+        if (keys.length == 0) {
+            return keys;
+        }
+        byte[][] values;
+        try {
+            List<ColumnFamilyHandle> columnFamilyHandles = Collections.nCopies(keys.length, rocksDBProvider.getColumnFamilyHandle(columnFamily));
+            values = transaction.multiGet(rocksDBProvider.getReadOptions(), columnFamilyHandles, keys);
+        } catch (RocksDBException e) {
+            throw new DatabaseException(e);
+        }
+
+        DeletedRanges ranges = deletedRanges.get(columnFamily);
+        if (ranges != null && !ranges.isEmpty()) {
+            for (int i = 0; i < keys.length; ++i) {
+                if (ranges.contains(keys[i])) {
+                    values[i] = null;
+                }
+            }
+        }
+        return values;
+    }
+
     @Override
     public void put(String columnFamily, byte[] key, byte[] value) throws DatabaseException {
+        if (CHECK_SINGLE_DELETE) {
+            trackOverwrite(columnFamily, key);
+        }
+
         ColumnFamilyHandle columnFamilyHandle = rocksDBProvider.getColumnFamilyHandle(columnFamily);
         try {
             transaction.put(columnFamilyHandle, key, value);
         } catch (RocksDBException e) {
             throw new DatabaseException(e);
         }
+
+        DeletedRanges ranges = deletedRanges.get(columnFamily);
+        if (ranges != null) {
+            ranges.restore(key);
+        }
     }
 
     @Override
     public void delete(String columnFamily, byte[] key) throws DatabaseException {
         delete(columnFamily, key, transaction::delete);
+        if (CHECK_SINGLE_DELETE) {
+            getOverwrittenKeys(columnFamily).remove(key);
+        }
 
-        compactingKeys.computeIfAbsent(columnFamily, s -> new RangeKey()).setKey(key);
+        trackDelete(columnFamily, key);
     }
 
     @Override
     public void deleteRange(String columnFamily, byte[] beginKey, byte[] endKey) throws DatabaseException {
-        deleteRange(columnFamily, beginKey, endKey, transaction::delete);
+        writeRangeTombstone(columnFamily, beginKey, endKey);
 
-        compactingKeys.computeIfAbsent(columnFamily, s -> new RangeKey()).setRange(beginKey, endKey);
+        trackDeleteRange(columnFamily, beginKey, endKey);
     }
 
     @Override
     public void singleDelete(String columnFamily, byte[] key) throws DatabaseException {
-        delete(columnFamily, key, transaction::delete);
+        if (CHECK_SINGLE_DELETE) {
+            assert !getOverwrittenKeys(columnFamily).remove(key) : "SingleDelete of the key written more than once, column family " + columnFamily + ", key " + Arrays.toString(key);
+        }
 
-        compactingKeys.computeIfAbsent(columnFamily, s -> new RangeKey()).setKey(key);
+        delete(columnFamily, key, transaction::singleDelete);
+
+        trackDelete(columnFamily, key);
     }
 
     @Override
     public void singleDeleteRange(String columnFamily, byte[] beginKey, byte[] endKey) throws DatabaseException {
-        deleteRange(columnFamily, beginKey, endKey, transaction::delete);
+        writeRangeTombstone(columnFamily, beginKey, endKey);
 
-        compactingKeys.computeIfAbsent(columnFamily, s -> new RangeKey()).setRange(beginKey, endKey);
+        trackDeleteRange(columnFamily, beginKey, endKey);
     }
 
     @Override
     public void singleDeleteRange(String columnFamily, KeyPattern keyPattern) throws DatabaseException {
+        byte[] endKey = getRangeEnd(keyPattern);
+        if (endKey != null) {
+            writeRangeTombstone(columnFamily, keyPattern.getPrefix(), endKey);
+
+            trackDeleteRange(columnFamily, keyPattern.getPrefix(), endKey);
+            return;
+        }
+
         ByteInterval deleteRange = deleteRange(columnFamily, keyPattern, transaction::delete);
         deleteRange.validate();
         if (deleteRange.getBegin() != null && deleteRange.getEnd() != null) {
-            compactingKeys.computeIfAbsent(columnFamily, s -> new RangeKey()).setRange(deleteRange.getBegin(), deleteRange.getEnd());
+            trackDeleteRange(columnFamily, deleteRange.getBegin(), deleteRange.getEnd());
         }
     }
 
@@ -110,37 +197,84 @@ public class RocksDBTransaction implements DBTransaction {
         }
     }
 
-    private void deleteRange(String columnFamily, byte[] beginKey, byte[] endKey, BiConsumer<ColumnFamilyHandle, byte[]> deleteFunc) throws DatabaseException {
+    /**
+     * Пишет один range tombstone в write batch транзакции, поэтому стоимость не зависит от количества удаляемых ключей.
+     * Удаление применяется атомарно вместе с коммитом, а до коммита ключи скрываются от чтений этой транзакции
+     * через {@link DeletedRanges}. Конфликты по удаленному диапазону не отслеживаются.
+     */
+    private void writeRangeTombstone(String columnFamily, byte[] beginKey, byte[] endKey) throws DatabaseException {
+        if (KEY_COMPARATOR.compare(beginKey, endKey) >= 0) {
+            return;
+        }
+
         ColumnFamilyHandle columnFamilyHandle = rocksDBProvider.getColumnFamilyHandle(columnFamily);
+        try {
+            getWriteBatch().deleteRange(columnFamilyHandle, beginKey, endKey);
+        } catch (RocksDBException e) {
+            throw new DatabaseException(e);
+        }
+        getDeletedRanges(columnFamily).add(beginKey, endKey);
+        if (CHECK_SINGLE_DELETE) {
+            getOverwrittenKeys(columnFamily).subSet(beginKey, endKey).clear();
+        }
+    }
 
-        try (RocksIterator i = transaction.getIterator(rocksDBProvider.getReadOptions(), columnFamilyHandle)) {
-            for (i.seek(beginKey); i.isValid(); i.next()) {
-                byte[] key = i.key();
-                if (key == null || KEY_COMPARATOR.compare(key, endKey) >= 0) {
-                    break;
-                }
+    private WriteBatch getWriteBatch() {
+        if (writeBatch == null) {
+            writeBatch = transaction.getWriteBatch().getWriteBatch();
+        }
+        return writeBatch;
+    }
 
-                deleteFunc.accept(columnFamilyHandle, key);
-            }
+    private void trackOverwrite(String columnFamily, byte[] key) throws DatabaseException {
+        if (getValue(columnFamily, key) != null) {
+            getOverwrittenKeys(columnFamily).add(key);
+        } else {
+            getOverwrittenKeys(columnFamily).remove(key);
+        }
+    }
 
-            i.status();
-        } catch (RocksDBException e) {
-            throw new DatabaseException(e);
+    private NavigableSet<byte[]> getOverwrittenKeys(String columnFamily) {
+        return overwrittenKeys.computeIfAbsent(columnFamily, s -> new TreeSet<>(KEY_COMPARATOR));
+    }
+
+    private DeletedRanges getDeletedRanges(String columnFamily) {
+        return deletedRanges.computeIfAbsent(columnFamily, s -> new DeletedRanges());
+    }
+
+    /**
+     * @return конец диапазона, если шаблон описывает все ключи с заданным префиксом, иначе null
+     */
+    private static byte[] getRangeEnd(KeyPattern keyPattern) {
+        byte[] prefix = keyPattern.getPrefix();
+        if (ByteUtils.isNullOrEmpty(prefix)
+                || keyPattern.getOrPatterns() != null
+                || keyPattern.getStrictMatchingLen() != prefix.length
+                || keyPattern.isForBackward()) {
+            return null;
         }
+        return ByteUtils.nextPrefix(prefix);
     }
 
     private ByteInterval deleteRange(String columnFamily, KeyPattern keyPattern, BiConsumer<ColumnFamilyHandle, byte[]> deleteFunc) throws DatabaseException {
         ColumnFamilyHandle columnFamilyHandle = rocksDBProvider.getColumnFamilyHandle(columnFamily);
         ByteInterval result = new ByteInterval();
+        DeletedRanges ranges = deletedRanges.get(columnFamily);
         try (RocksIterator i = transaction.getIterator(rocksDBProvider.getReadOptions(), columnFamilyHandle)) {
             for (i.seek(keyPattern.getPrefix()); i.isValid(); i.next()) {
                 byte[] key = i.key();
                 if (key == null || keyPattern.match(key) == KeyPattern.MATCH_RESULT_UNSUCCESS) {
                     break;
                 }
+                if (ranges != null && ranges.contains(key)) {
+                    continue;
+                }
                 result.setBeginIfAbsent(key);
                 result.setEnd(key);
                 deleteFunc.accept(columnFamilyHandle, key);
+                if (CHECK_SINGLE_DELETE) {
+                    getOverwrittenKeys(columnFamily).remove(key);
+                }
             }
 
             i.status();
@@ -153,12 +287,16 @@ public class RocksDBTransaction implements DBTransaction {
     @Override
     public void commit() throws DatabaseException {
         try {
+            boolean needSync = groupCommitter != null && getWriteBatch().count() != 0;
             transaction.commit();
-            compact();
+            if (needSync) {
+                groupCommitter.sync();
+            }
+            scheduleCompaction();
         } catch (RocksDBException e) {
             throw new DatabaseException(e);
         } finally {
-            compactingKeys.clear();
+            clearState();
         }
     }
 
@@ -169,7 +307,7 @@ public class RocksDBTransaction implements DBTransaction {
         } catch (RocksDBException e) {
             throw new DatabaseException(e);
         } finally {
-            compactingKeys.clear();
+            clearState();
         }
     }
 
@@ -187,26 +325,52 @@ public class RocksDBTransaction implements DBTransaction {
         transaction.close();
     }
 
-    private RocksDBIterator buildIterator(ColumnFamilyHandle columnFamily) {
-        return new RocksDBIterator(transaction.getIterator(rocksDBProvider.getReadOptions(), columnFamily));
+    private RocksDBIterator buildIterator(String columnFamily) throws DatabaseException {
+        ColumnFamilyHandle columnFamilyHandle = rocksDBProvider.getColumnFamilyHandle(columnFamily);
+        return new RocksDBIterator(transaction.getIterator(rocksDBProvider.getReadOptions(), columnFamilyHandle), getDeletedRanges(columnFamily));
     }
 
-    //TODO ULitin V. Временно отключили компакшен - сильно бьет по производительности - необходимо другое решение
-    private void compact() throws ColumnFamilyNotFoundException, RocksDBException {
-//        for (Map.Entry<String, RangeKey> entry : compactingKeys.entrySet()) {
-//            ColumnFamilyHandle columnFamilyHandle = rocksDBProvider.getColumnFamilyHandle(entry.getKey());
-//            rocksDBProvider.getRocksDB().compactRange(
-//                    columnFamilyHandle,
-//                    entry.getValue().begin,
-//                    entry.getValue().end,
-//                    true, -1, 0);
-//        }
+    private void clearState() {
+        compactingKeys.clear();
+        for (DeletedRanges ranges : deletedRanges.values()) {
+            ranges.clear();
+        }
+        overwrittenKeys.clear();
+    }
+
+    private void trackDelete(String columnFamily, byte[] key) {
+        if (rocksDBProvider.getCompactionScheduler() != null) {
+            compactingKeys.computeIfAbsent(columnFamily, s -> new RangeKey()).setKey(key);
+        }
+    }
+
+    private void trackDeleteRange(String columnFamily, byte[] beginKey, byte[] endKey) {
+        if (rocksDBProvider.getCompactionScheduler() != null) {
+            compactingKeys.computeIfAbsent(columnFamily, s -> new RangeKey()).setRange(beginKey, endKey);
+        }
+    }
+
+    /**
+     * Синхронная компактификация на коммите сильно бьет по производительности, поэтому удаленные диапазоны
+     * только передаются в фоновую очередь
+     */
+    private void scheduleCompaction() {
+        CompactionScheduler compactionScheduler = rocksDBProvider.getCompactionScheduler();
+        if (compactionScheduler == null) {
+            return;
+        }
+        for (Map.Entry<String, RangeKey> entry : compactingKeys.entrySet()) {
+            RangeKey range = entry.getValue();
+            compactionScheduler.schedule(entry.getKey(), range.begin, range.end, range.deletes, range.rangeDeletes);
+        }
     }
 
     private static class RangeKey {
 
         byte[] begin = null;
         byte[] end = null;
+        long deletes = 0;
+        long rangeDeletes = 0;
 
         void setBegin(byte[] key) {
             if (begin == null || KEY_COMPARATOR.compare(key, begin) < 0) {
@@ -221,11 +385,13 @@ public class RocksDBTransaction implements DBTransaction {
         }
 
         void setRange(byte[] begin, byte[] end) {
+            ++rangeDeletes;
             setBegin(begin);
             setEnd(end);
         }
 
         void setKey(byte[] key) {
+            ++deletes;
             if (begin == null) {
                 begin = key;
                 end = nextOf(Arrays.copyOf(key, key.length));
@@ -235,8 +401,8 @@ public class RocksDBTransaction implements DBTransaction {
                     begin = key;
                 } else if (res != 0) {
                     res = KEY_COMPARATOR.compare(key, end);
-                    if (res > 0) {
-                        end = nextOf(key);
+                    if (res >= 0) {
+                        end = nextOf(Arrays.copyOf(key, key.length));
                     }
                 }
             }
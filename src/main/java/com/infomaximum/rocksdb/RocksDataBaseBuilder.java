@@ -1,28 +1,53 @@
 package com.infomaximum.rocksdb;
 
 import com.infomaximum.database.exception.DatabaseException;
+import com.infomaximum.database.exception.ReadOnlyDatabaseException;
+import com.infomaximum.database.provider.Durability;
+import com.infomaximum.database.provider.SequenceCacheConfig;
+import com.infomaximum.database.schema.Schema;
 import com.infomaximum.database.utils.PathUtils;
 import com.infomaximum.database.utils.TempLibraryCleaner;
 import com.infomaximum.database.utils.TypeConvert;
+import com.infomaximum.rocksdb.options.columnfamily.BlockCacheConfig;
 import com.infomaximum.rocksdb.options.columnfamily.ColumnFamilyConfig;
+import com.infomaximum.rocksdb.options.columnfamily.ColumnFamilyConfigMapper;
 import com.infomaximum.rocksdb.options.columnfamily.ColumnFamilyConfigService;
+import com.infomaximum.rocksdb.options.compaction.CompactionSchedulerConfig;
+import com.infomaximum.rocksdb.options.database.DatabaseResourceConfig;
+import com.infomaximum.rocksdb.options.transaction.GroupCommitConfig;
+import com.infomaximum.rocksdb.options.transaction.PessimisticTransactionConfig;
 import org.rocksdb.*;
 import org.rocksdb.util.SizeUnit;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 public class RocksDataBaseBuilder {
 
     private Path path;
     private ColumnFamilyConfigService columnFamilyConfigService;
+    private PessimisticTransactionConfig pessimisticTransactionConfig;
+    private BlockCacheConfig blockCacheConfig;
+    private StatsLevel statsLevel;
+    private SequenceCacheConfig sequenceCacheConfig = SequenceCacheConfig.DEFAULT;
+    private final Map<String, SequenceCacheConfig> sequenceCacheConfigs = new HashMap<>();
+    private Durability defaultDurability = Durability.WAL;
+    private GroupCommitConfig groupCommitConfig = GroupCommitConfig.DEFAULT;
+    private CompactionSchedulerConfig compactionSchedulerConfig;
+    private DatabaseResourceConfig resourceConfig;
+    private boolean readOnly = false;
+    private Path secondaryPath;
+    private Duration catchUpPeriod;
 
 
     public RocksDataBaseBuilder withPath(Path path) {
@@ -35,16 +60,152 @@ public class RocksDataBaseBuilder {
         return this;
     }
 
+    /**
+     * Открывает базу как TransactionDB с пессимистичными блокировками ключей вместо OptimisticTransactionDB.
+     * Подходит для нагрузки с частыми конфликтами на одних и тех же ключах (счетчики, общие родительские объекты).
+     */
+    public RocksDataBaseBuilder withPessimisticTransactions(PessimisticTransactionConfig config) {
+        this.pessimisticTransactionConfig = config;
+        return this;
+    }
+
+    /**
+     * Один кеш блоков на все column family, включая создаваемые после открытия базы
+     */
+    public RocksDataBaseBuilder withBlockCache(BlockCacheConfig config) {
+        this.blockCacheConfig = config;
+        return this;
+    }
+
+    /**
+     * Включает сбор статистики, доступной через {@link RocksDBProvider#getMetrics}.
+     * Уровень {@link StatsLevel#EXCEPT_DETAILED_TIMERS} не замеряет время блокировок и сжатия и дешевле остальных
+     */
+    public RocksDataBaseBuilder withStatistics(StatsLevel statsLevel) {
+        this.statsLevel = statsLevel;
+        return this;
+    }
+
+    /**
+     * Настройки кеша значений для всех последовательностей, кроме заданных отдельно
+     */
+    public RocksDataBaseBuilder withSequenceCache(SequenceCacheConfig config) {
+        this.sequenceCacheConfig = config;
+        return this;
+    }
+
+    public RocksDataBaseBuilder withSequenceCache(String sequenceName, SequenceCacheConfig config) {
+        this.sequenceCacheConfigs.put(sequenceName, config);
+        return this;
+    }
+
+    /**
+     * Уровень сохранности транзакций, открытых без явного указания
+     */
+    public RocksDataBaseBuilder withDefaultDurability(Durability durability) {
+        this.defaultDurability = durability;
+        return this;
+    }
+
+    /**
+     * Настройки группового fsync для транзакций с {@link Durability#GROUP_SYNC}
+     */
+    public RocksDataBaseBuilder withGroupCommit(GroupCommitConfig config) {
+        this.groupCommitConfig = config;
+        return this;
+    }
+
+    /**
+     * Включает фоновую компактификацию диапазонов, удаленных транзакциями. Без нее удаленные ключи
+     * замедляют итерацию, пока не будут вычищены обычной компактификацией
+     */
+    public RocksDataBaseBuilder withCompactionScheduler(CompactionSchedulerConfig config) {
+        this.compactionSchedulerConfig = config;
+        return this;
+    }
+
+    /**
+     * Ограничения потоков, фонового ввода-вывода и памяти memtable всей базы.
+     * Заданные параметры применяются поверх настроек из .ini-файла базы
+     */
+    public RocksDataBaseBuilder withResources(DatabaseResourceConfig config) {
+        this.resourceConfig = config;
+        return this;
+    }
+
+    /**
+     * Открывает существующую базу только для чтения. Изменения, сделанные после открытия другим процессом, не видны.
+     * Методы записи провайдера бросают {@link ReadOnlyDatabaseException}, настройки транзакций не применяются
+     */
+    public RocksDataBaseBuilder withReadOnly() {
+        this.readOnly = true;
+        this.secondaryPath = null;
+        this.catchUpPeriod = null;
+        return this;
+    }
+
+    /**
+     * Открывает базу как secondary-экземпляр основной базы, которая может быть открыта на запись в другом процессе.
+     * Изменения основной базы становятся видны после {@link RocksDBProvider#tryCatchUpWithPrimary()}.
+     * Методы записи провайдера бросают {@link ReadOnlyDatabaseException}, настройки транзакций не применяются
+     * @param secondaryPath каталог для info log и MANIFEST secondary-экземпляра
+     * @param catchUpPeriod период фонового вызова tryCatchUpWithPrimary, null - только вручную
+     */
+    public RocksDataBaseBuilder withSecondary(Path secondaryPath, Duration catchUpPeriod) {
+        if (catchUpPeriod != null && (catchUpPeriod.isNegative() || catchUpPeriod.isZero())) {
+            throw new IllegalArgumentException("catchUpPeriod must be positive: " + catchUpPeriod);
+        }
+        this.readOnly = true;
+        this.secondaryPath = secondaryPath.toAbsolutePath();
+        this.catchUpPeriod = catchUpPeriod;
+        return this;
+    }
+
     public RocksDBProvider build() throws DatabaseException {
         TempLibraryCleaner.clear();
         PathUtils.checkPath(path);
+        Cache blockCache = blockCacheConfig != null ? blockCacheConfig.toCache() : null;
+        Statistics statistics = buildStatistics();
+        List<AbstractNativeReference> resources = new ArrayList<>();
         try (DBOptions options = buildOptions()) {
+            if (statistics != null) {
+                options.setStatistics(statistics);
+            }
+            if (resourceConfig != null) {
+                resourceConfig.apply(options, blockCache, resources);
+            }
             List<ColumnFamilyDescriptor> columnFamilyDescriptors = getColumnFamilyDescriptors();
+            if (blockCache != null) {
+                for (ColumnFamilyDescriptor descriptor : columnFamilyDescriptors) {
+                    ColumnFamilyConfigMapper.setBlockCache(blockCache, descriptor.getOptions());
+                }
+            }
+            ConcurrentMap<String, Integer> prefixExtractorLengths = applyIndexSettings(columnFamilyDescriptors, resources);
             if (Objects.nonNull(columnFamilyConfigService)) {
-                columnFamilyConfigService.applySettings(columnFamilyDescriptors);
+                columnFamilyConfigService.applySettings(columnFamilyDescriptors, resources);
+                for (ColumnFamilyDescriptor descriptor : columnFamilyDescriptors) {
+                    String columnFamilyName = TypeConvert.unpackString(descriptor.getName());
+                    Integer prefixExtractorLength = columnFamilyConfigService.findPrefixExtractorLength(columnFamilyName);
+                    if (prefixExtractorLength != null) {
+                        prefixExtractorLengths.put(columnFamilyName, prefixExtractorLength);
+                    }
+                }
             }
             List<ColumnFamilyHandle> columnFamilyHandles = new ArrayList<>();
-            OptimisticTransactionDB rocksDB = OptimisticTransactionDB.open(options, path.toString(), columnFamilyDescriptors, columnFamilyHandles);
+            RocksDB rocksDB;
+            if (secondaryPath != null) {
+                //secondary-экземпляр требует, чтобы все файлы основной базы оставались открытыми
+                options.setMaxOpenFiles(-1);
+                rocksDB = RocksDB.openAsSecondary(options, path.toString(), secondaryPath.toString(), columnFamilyDescriptors, columnFamilyHandles);
+            } else if (readOnly) {
+                rocksDB = RocksDB.openReadOnly(options, path.toString(), columnFamilyDescriptors, columnFamilyHandles);
+            } else if (pessimisticTransactionConfig != null) {
+                try (TransactionDBOptions transactionDBOptions = pessimisticTransactionConfig.toTransactionDBOptions()) {
+                    rocksDB = TransactionDB.open(options, transactionDBOptions, path.toString(), columnFamilyDescriptors, columnFamilyHandles);
+                }
+            } else {
+                rocksDB = OptimisticTransactionDB.open(options, path.toString(), columnFamilyDescriptors, columnFamilyHandles);
+            }
 
             ConcurrentMap<String, ColumnFamilyHandle> columnFamilies = new ConcurrentHashMap<>();
             for (int i = 0; i < columnFamilyDescriptors.size(); i++) {
@@ -53,12 +214,61 @@ public class RocksDataBaseBuilder {
                 columnFamilies.put(columnFamilyName, columnFamilyHandle);
             }
 
-            return new RocksDBProvider(rocksDB, columnFamilies);
+            if (readOnly) {
+                return new RocksDBProvider(rocksDB, secondaryPath != null, columnFamilies, blockCache, statistics, prefixExtractorLengths,
+                        getSequenceCacheConfigs(), catchUpPeriod, resources);
+            }
+            if (pessimisticTransactionConfig != null) {
+                return new RocksDBProvider((TransactionDB) rocksDB, pessimisticTransactionConfig.toTransactionOptions(), columnFamilies, blockCache,
+                        statistics, prefixExtractorLengths, getSequenceCacheConfigs(), defaultDurability, groupCommitConfig, compactionSchedulerConfig, resources);
+            }
+            return new RocksDBProvider((OptimisticTransactionDB) rocksDB, columnFamilies, blockCache, statistics, prefixExtractorLengths,
+                    getSequenceCacheConfigs(), defaultDurability, groupCommitConfig, compactionSchedulerConfig, resources);
         } catch (RocksDBException e) {
+            if (blockCache != null) {
+                blockCache.close();
+            }
+            if (statistics != null) {
+                statistics.close();
+            }
+            for (AbstractNativeReference resource : resources) {
+                resource.close();
+            }
             throw new DatabaseException(e);
         }
     }
 
+    /**
+     * Настройки column family не хранятся в базе, поэтому prefix extractor индексов, заданный при создании таблицы,
+     * восстанавливается при каждом открытии
+     */
+    private static ConcurrentMap<String, Integer> applyIndexSettings(List<ColumnFamilyDescriptor> columnFamilyDescriptors, List<AbstractNativeReference> resources) {
+        ConcurrentMap<String, Integer> prefixExtractorLengths = new ConcurrentHashMap<>();
+        for (ColumnFamilyDescriptor descriptor : columnFamilyDescriptors) {
+            String columnFamilyName = TypeConvert.unpackString(descriptor.getName());
+            if (columnFamilyName.endsWith(Schema.INDEX_COLUMN_FAMILY_SUFFIX)) {
+                ColumnFamilyConfigMapper.setRocksDbOpt(Schema.INDEX_COLUMN_FAMILY_CONFIG, descriptor.getOptions(), resources);
+                prefixExtractorLengths.put(columnFamilyName, Schema.INDEX_COLUMN_FAMILY_CONFIG.getPrefixExtractorLength());
+            }
+        }
+        return prefixExtractorLengths;
+    }
+
+    private Function<String, SequenceCacheConfig> getSequenceCacheConfigs() {
+        final SequenceCacheConfig defaultConfig = sequenceCacheConfig;
+        final Map<String, SequenceCacheConfig> configs = new HashMap<>(sequenceCacheConfigs);
+        return sequenceName -> configs.getOrDefault(sequenceName, defaultConfig);
+    }
+
+    private Statistics buildStatistics() {
+        if (statsLevel == null) {
+            return null;
+        }
+        Statistics statistics = new Statistics();
+        statistics.setStatsLevel(statsLevel);
+        return statistics;
+    }
+
     private DBOptions buildOptions() throws RocksDBException {
         final String optionsFilePath = path.toString() + ".ini";
 
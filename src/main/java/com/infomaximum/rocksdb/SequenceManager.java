@@ -3,6 +3,7 @@ package com.infomaximum.rocksdb;
 import com.infomaximum.database.provider.DBIterator;
 import com.infomaximum.database.provider.KeyPattern;
 import com.infomaximum.database.provider.KeyValue;
+import com.infomaximum.database.provider.SequenceCacheConfig;
 import com.infomaximum.database.exception.DatabaseException;
 import com.infomaximum.database.exception.SequenceAlreadyExistsException;
 import com.infomaximum.database.utils.TypeConvert;
@@ -14,6 +15,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 public class SequenceManager {
 
@@ -21,10 +23,19 @@ public class SequenceManager {
 
     private final RocksDBProvider dbProvider;
     private final ColumnFamilyHandle defaultColumnFamily;
+    private final Function<String, SequenceCacheConfig> cacheConfigs;
     private final ConcurrentMap<String, Sequence> sequences = new ConcurrentHashMap<>();
 
     public SequenceManager(RocksDBProvider dbProvider) throws DatabaseException {
+        this(dbProvider, name -> SequenceCacheConfig.DEFAULT);
+    }
+
+    /**
+     * @param cacheConfigs настройки кеша по имени последовательности
+     */
+    public SequenceManager(RocksDBProvider dbProvider, Function<String, SequenceCacheConfig> cacheConfigs) throws DatabaseException {
         this.dbProvider = dbProvider;
+        this.cacheConfigs = cacheConfigs;
         this.defaultColumnFamily = dbProvider.getColumnFamilyHandle(RocksDBProvider.DEFAULT_COLUMN_FAMILY);
         readSequences();
     }
@@ -41,7 +52,7 @@ public class SequenceManager {
         final KeyValue keyValue = new KeyValue(createSequenceKey(name), TypeConvert.pack(0L));
         try {
             dbProvider.getRocksDB().put(defaultColumnFamily, keyValue.getKey(), keyValue.getValue());
-            sequences.put(name, new Sequence(keyValue));
+            sequences.put(name, new Sequence(keyValue, cacheConfigs.apply(name)));
         } catch (RocksDBException e) {
             throw new DatabaseException(e);
         }
@@ -65,7 +76,7 @@ public class SequenceManager {
             final byte[] keyPrefix = TypeConvert.pack(SEQUENCE_PREFIX);
             for (KeyValue keyValue = i.seek(new KeyPattern(keyPrefix)); keyValue != null; keyValue = i.next()) {
                 String sequenceName = TypeConvert.unpackString(keyValue.getKey(), keyPrefix.length, keyValue.getKey().length - keyPrefix.length);
-                sequences.put(sequenceName, new Sequence(keyValue));
+                sequences.put(sequenceName, new Sequence(keyValue, cacheConfigs.apply(sequenceName)));
             }
         }
     }
@@ -76,41 +87,77 @@ public class SequenceManager {
 
     public class Sequence {
 
-        private final static int SIZE_CACHE = 10;
-
         private final byte[] key;
+        private final SequenceCacheConfig config;
         private final AtomicLong counter;
-        private long maxCacheValue;
-
-        Sequence(KeyValue keyValue) {
+        /**
+         * Диапазон потока [следующее значение, последнее значение]
+         */
+        private final ThreadLocal<long[]> threadBlock;
+        private volatile long maxCacheValue;
+        private int cacheSize;
+        private long lastGrowTime;
+
+        Sequence(KeyValue keyValue, SequenceCacheConfig config) {
             this.key = keyValue.getKey();
+            this.config = config;
             this.maxCacheValue = TypeConvert.unpackLong(keyValue.getValue(), 0);
             this.counter = new AtomicLong(maxCacheValue);
+            this.threadBlock = config.getThreadBlockSize() > 0 ? ThreadLocal.withInitial(() -> new long[]{1, 0}) : null;
+            this.cacheSize = config.getMinCacheSize();
+            this.lastGrowTime = System.nanoTime();
         }
 
         public long next() throws DatabaseException {
+            if (threadBlock != null) {
+                long[] block = threadBlock.get();
+                if (block[0] > block[1]) {
+                    block[0] = reserve(config.getThreadBlockSize());
+                    block[1] = block[0] + config.getThreadBlockSize() - 1;
+                }
+                return block[0]++;
+            }
+
             long value;
             do {
                 value = counter.get();
                 if (value >= maxCacheValue) {
                     //Кеш закончился-берем еще
-                    growCache();
+                    growCache(value + 1);
                 }
             } while (!counter.compareAndSet(value, value + 1));
             return value + 1;
         }
 
-        private synchronized void growCache() throws DatabaseException {
-            if ((maxCacheValue - counter.get()) > SIZE_CACHE) {
+        /**
+         * Резервирует непрерывный диапазон из count значений
+         * @return первое зарезервированное значение
+         */
+        public long reserve(int count) throws DatabaseException {
+            final long first = counter.getAndAdd(count) + 1;
+            final long last = first + count - 1;
+            if (last > maxCacheValue) {
+                growCache(last);
+            }
+            return first;
+        }
+
+        private synchronized void growCache(long value) throws DatabaseException {
+            if (value <= maxCacheValue) {
                 return;
             }
 
+            long now = System.nanoTime();
+            cacheSize = config.nextCacheSize(cacheSize, now - lastGrowTime);
+            lastGrowTime = now;
+
+            long newMaxCacheValue = value + cacheSize - 1;
             try {
-                dbProvider.getRocksDB().put(defaultColumnFamily, key, TypeConvert.pack(maxCacheValue + SIZE_CACHE));
-                maxCacheValue += SIZE_CACHE;
+                dbProvider.getRocksDB().put(defaultColumnFamily, key, TypeConvert.pack(newMaxCacheValue));
             } catch (RocksDBException e) {
                 throw new DatabaseException(e);
             }
+            maxCacheValue = newMaxCacheValue;
         }
     }
 }
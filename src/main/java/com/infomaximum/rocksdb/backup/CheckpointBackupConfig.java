@@ -0,0 +1,63 @@
+package com.infomaximum.rocksdb.backup;
+
+/**
+ * Настройки резервных копий на основе checkpoint
+ */
+public class CheckpointBackupConfig {
+
+    public static final CheckpointBackupConfig DEFAULT = newBuilder().build();
+
+    /**
+     * Количество хранимых копий, более старые удаляются после создания новой
+     */
+    final int maxBackups;
+    /**
+     * Ограничение скорости копирования в байтах в секунду, 0 - без ограничения
+     */
+    final long copyRateBytesPerSecond;
+
+    private CheckpointBackupConfig(Builder builder) {
+        maxBackups = builder.maxBackups;
+        copyRateBytesPerSecond = builder.copyRateBytesPerSecond;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public int getMaxBackups() {
+        return maxBackups;
+    }
+
+    public long getCopyRateBytesPerSecond() {
+        return copyRateBytesPerSecond;
+    }
+
+    public static final class Builder {
+        private int maxBackups = 1;
+        private long copyRateBytesPerSecond = 0;
+
+        private Builder() {
+        }
+
+        public Builder withMaxBackups(int maxBackups) {
+            this.maxBackups = maxBackups;
+            return this;
+        }
+
+        public Builder withCopyRateBytesPerSecond(long copyRateBytesPerSecond) {
+            this.copyRateBytesPerSecond = copyRateBytesPerSecond;
+            return this;
+        }
+
+        public CheckpointBackupConfig build() {
+            if (maxBackups < 1) {
+                throw new IllegalArgumentException("maxBackups must be positive: " + maxBackups);
+            }
+            if (copyRateBytesPerSecond < 0) {
+                throw new IllegalArgumentException("copyRateBytesPerSecond must be non-negative: " + copyRateBytesPerSecond);
+            }
+            return new CheckpointBackupConfig(this);
+        }
+    }
+}
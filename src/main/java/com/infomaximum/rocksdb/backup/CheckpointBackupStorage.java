@@ -0,0 +1,198 @@
+package com.infomaximum.rocksdb.backup;
+
+import com.google.common.util.concurrent.RateLimiter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Каталог резервных копий на основе checkpoint. Каждая копия лежит в подкаталоге с числовым номером
+ * и является полноценным каталогом базы. SST-файлы неизменяемы, поэтому файлы, уже сохраненные
+ * в предыдущей копии той же базы (с тем же IDENTITY), не копируются повторно, а связываются с ней жесткой ссылкой.
+ * При восстановлении IDENTITY не копируется, поэтому восстановленная база не выдает свои SST-файлы за файлы исходной.
+ * Для скопированных файлов в копии сохраняется контрольная сумма CRC32C.
+ */
+class CheckpointBackupStorage {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String SST_SUFFIX = ".sst";
+    static final String IDENTITY_FILE = "IDENTITY";
+    /**
+     * Контрольные суммы SST-файлов копии, вычисленные при копировании. В каталог базы при восстановлении не копируется
+     */
+    static final String CHECKSUMS_FILE = "BACKUP_CHECKSUMS";
+    private static final int COPY_BUFFER_SIZE = 1024 * 1024;
+
+    private final Path backupPath;
+
+    CheckpointBackupStorage(Path backupPath) {
+        this.backupPath = backupPath;
+    }
+
+    /**
+     * @return каталог последней завершенной копии или null, если копий нет
+     */
+    Path findLatestBackup() throws IOException {
+        List<Long> ids = getBackupIds();
+        return ids.isEmpty() ? null : backupPath.resolve(Long.toString(ids.get(ids.size() - 1)));
+    }
+
+    /**
+     * Сохраняет содержимое checkpoint как новую копию и удаляет копии сверх maxBackups
+     */
+    void save(Path checkpointPath, CheckpointBackupConfig config) throws IOException {
+        Files.createDirectories(backupPath);
+
+        List<Long> ids = getBackupIds();
+        Path prevBackup = ids.isEmpty() ? null : backupPath.resolve(Long.toString(ids.get(ids.size() - 1)));
+        if (prevBackup != null && !isSameDatabase(checkpointPath, prevBackup)) {
+            prevBackup = null;
+        }
+
+        long id = ids.isEmpty() ? 1 : ids.get(ids.size() - 1) + 1;
+        Path target = backupPath.resolve(id + TEMP_SUFFIX);
+        deleteRecursively(target);
+        Files.createDirectory(target);
+
+        RateLimiter rateLimiter = config.getCopyRateBytesPerSecond() > 0
+                ? RateLimiter.create(config.getCopyRateBytesPerSecond())
+                : null;
+        Map<String, Long> prevChecksums = prevBackup != null ? readChecksums(prevBackup) : Collections.emptyMap();
+        Map<String, Long> checksums = new TreeMap<>();
+        try (Stream<Path> files = Files.list(checkpointPath)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String fileName = file.getFileName().toString();
+                if (fileName.endsWith(SST_SUFFIX) && linkFromPrevBackup(file, prevBackup, target.resolve(fileName))) {
+                    Long prevChecksum = prevChecksums.get(fileName);
+                    if (prevChecksum != null) {
+                        checksums.put(fileName, prevChecksum);
+                    }
+                    continue;
+                }
+                long checksum = copy(file, target.resolve(fileName), rateLimiter);
+                if (fileName.endsWith(SST_SUFFIX)) {
+                    checksums.put(fileName, checksum);
+                }
+            }
+        }
+        writeChecksums(target, checksums);
+        Files.move(target, backupPath.resolve(Long.toString(id)), StandardCopyOption.ATOMIC_MOVE);
+
+        ids.add(id);
+        for (int i = 0; i < ids.size() - config.getMaxBackups(); ++i) {
+            deleteRecursively(backupPath.resolve(Long.toString(ids.get(i))));
+        }
+    }
+
+    private List<Long> getBackupIds() throws IOException {
+        List<Long> ids = new ArrayList<>();
+        if (!Files.isDirectory(backupPath)) {
+            return ids;
+        }
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(backupPath, Files::isDirectory)) {
+            for (Path dir : dirs) {
+                try {
+                    ids.add(Long.parseLong(dir.getFileName().toString()));
+                } catch (NumberFormatException ignore) {
+                    // незавершенные копии и посторонние каталоги
+                }
+            }
+        }
+        ids.sort(Comparator.naturalOrder());
+        return ids;
+    }
+
+    /**
+     * Номера SST-файлов уникальны только в пределах одной базы
+     */
+    private static boolean isSameDatabase(Path checkpointPath, Path prevBackup) throws IOException {
+        Path identity = checkpointPath.resolve(IDENTITY_FILE);
+        Path prevIdentity = prevBackup.resolve(IDENTITY_FILE);
+        return Files.exists(identity)
+                && Files.exists(prevIdentity)
+                && Arrays.equals(Files.readAllBytes(identity), Files.readAllBytes(prevIdentity));
+    }
+
+    private static boolean linkFromPrevBackup(Path file, Path prevBackup, Path target) throws IOException {
+        if (prevBackup == null) {
+            return false;
+        }
+        Path prevFile = prevBackup.resolve(file.getFileName());
+        if (!Files.exists(prevFile) || Files.size(prevFile) != Files.size(file)) {
+            return false;
+        }
+        try {
+            Files.createLink(target, prevFile);
+            return true;
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return пустой список для копий без файла контрольных сумм
+     */
+    private static Map<String, Long> readChecksums(Path backup) throws IOException {
+        Map<String, Long> checksums = new HashMap<>();
+        Path file = backup.resolve(CHECKSUMS_FILE);
+        if (!Files.exists(file)) {
+            return checksums;
+        }
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String[] parts = line.split(" ");
+            if (parts.length == 2) {
+                checksums.put(parts[0], Long.parseLong(parts[1], 16));
+            }
+        }
+        return checksums;
+    }
+
+    private static void writeChecksums(Path backup, Map<String, Long> checksums) throws IOException {
+        List<String> lines = new ArrayList<>(checksums.size());
+        for (Map.Entry<String, Long> entry : checksums.entrySet()) {
+            lines.add(entry.getKey() + " " + Long.toHexString(entry.getValue()));
+        }
+        Files.write(backup.resolve(CHECKSUMS_FILE), lines, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param rateLimiter ограничение скорости копирования или null
+     * @return контрольная сумма CRC32C скопированного файла
+     */
+    static long copy(Path source, Path target, RateLimiter rateLimiter) throws IOException {
+        CRC32C crc = new CRC32C();
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(source);
+             OutputStream out = Files.newOutputStream(target, StandardOpenOption.CREATE_NEW)) {
+            for (int count = in.read(buffer); count != -1; count = in.read(buffer)) {
+                if (count > 0) {
+                    if (rateLimiter != null) {
+                        rateLimiter.acquire(count);
+                    }
+                    crc.update(buffer, 0, count);
+                    out.write(buffer, 0, count);
+                }
+            }
+        }
+        return crc.getValue();
+    }
+
+    static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            List<Path> list = new ArrayList<>();
+            paths.forEach(list::add);
+            for (int i = list.size() - 1; i >= 0; --i) {
+                Files.delete(list.get(i));
+            }
+        }
+    }
+}
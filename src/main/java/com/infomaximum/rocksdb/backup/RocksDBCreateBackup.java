@@ -6,7 +6,9 @@ import com.infomaximum.rocksdb.RocksDBProvider;
 import com.infomaximum.rocksdb.RocksDataBaseBuilder;
 import org.rocksdb.*;
 
+import java.io.IOException;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 
 public class RocksDBCreateBackup {
@@ -52,6 +54,30 @@ public class RocksDBCreateBackup {
         }
     }
 
+    /**
+     * Создает копию на основе checkpoint: SST-файлы базы связываются жесткими ссылками во временный каталог
+     * рядом с базой, после чего копируются в backupPath только файлы, которых нет в предыдущей копии.
+     * Полная компактификация базы не выполняется.
+     */
+    public void create(Path backupPath, CheckpointBackupConfig config) throws DatabaseException {
+        PathUtils.checkPath(backupPath);
+
+        Path checkpointPath = Paths.get(rocksDB.getName() + ".checkpoint");
+        try {
+            CheckpointBackupStorage.deleteRecursively(checkpointPath);
+            try (Checkpoint checkpoint = Checkpoint.create(rocksDB)) {
+                checkpoint.createCheckpoint(checkpointPath.toString());
+            }
+            new CheckpointBackupStorage(backupPath).save(checkpointPath, config);
+        } catch (RocksDBException | IOException e) {
+            throw new DatabaseException(e);
+        } finally {
+            try {
+                CheckpointBackupStorage.deleteRecursively(checkpointPath);
+            } catch (IOException ignore) {}
+        }
+    }
+
     public static void createOfStoppedDatabase(Path backupPath, Path dbPath) {
         try (RocksDBProvider dataBase = new RocksDataBaseBuilder()
                 .withPath(dbPath)
@@ -60,4 +86,13 @@ public class RocksDBCreateBackup {
             rocksDBCreateBackup.create(backupPath);
         }
     }
+
+    public static void createOfStoppedDatabase(Path backupPath, Path dbPath, CheckpointBackupConfig config) {
+        try (RocksDBProvider dataBase = new RocksDataBaseBuilder()
+                .withPath(dbPath)
+                .build()) {
+            RocksDBCreateBackup rocksDBCreateBackup = new RocksDBCreateBackup(dataBase.getRocksDB());
+            rocksDBCreateBackup.create(backupPath, config);
+        }
+    }
 }
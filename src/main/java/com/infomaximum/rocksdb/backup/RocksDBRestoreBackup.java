@@ -4,6 +4,9 @@ import com.infomaximum.database.exception.DatabaseException;
 import com.infomaximum.database.utils.PathUtils;
 import org.rocksdb.*;
 
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 
 public class RocksDBRestoreBackup {
@@ -12,6 +15,16 @@ public class RocksDBRestoreBackup {
         PathUtils.checkPath(backupPath);
         PathUtils.checkPath(dbPath);
 
+        try {
+            Path checkpointBackup = new CheckpointBackupStorage(backupPath).findLatestBackup();
+            if (checkpointBackup != null) {
+                restoreCheckpoint(checkpointBackup, dbPath);
+                return;
+            }
+        } catch (IOException e) {
+            throw new DatabaseException(e);
+        }
+
         RocksDB.loadLibrary();
 
         try (BackupableDBOptions dbOptions = new BackupableDBOptions(backupPath.toString());
@@ -26,4 +39,22 @@ public class RocksDBRestoreBackup {
             throw new DatabaseException(e);
         }
     }
+
+    /**
+     * Каталог копии является каталогом базы, поэтому достаточно заменить им содержимое dbPath. IDENTITY не копируется,
+     * RocksDB создает новый при открытии: иначе новые SST-файлы восстановленной базы могли бы совпасть по имени
+     * и размеру с файлами исходной и быть связаны с ее копиями как неизменившиеся
+     */
+    private static void restoreCheckpoint(Path checkpointBackup, Path dbPath) throws IOException {
+        CheckpointBackupStorage.deleteRecursively(dbPath);
+        Files.createDirectories(dbPath);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(checkpointBackup)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                if (!CheckpointBackupStorage.CHECKSUMS_FILE.equals(fileName) && !CheckpointBackupStorage.IDENTITY_FILE.equals(fileName)) {
+                    CheckpointBackupStorage.copy(file, dbPath.resolve(file.getFileName()), null);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,69 @@
+package com.infomaximum.rocksdb.metrics;
+
+/**
+ * Свойства column family. Для column family таблиц указаны имя и пространство имен таблицы
+ */
+public class ColumnFamilyMetrics {
+
+    private final String columnFamily;
+    private final String tableName;
+    private final String tableNamespace;
+    private final boolean index;
+    private final long estimateNumKeys;
+    private final long liveSstFilesSize;
+    private final long memTableSize;
+    private final long pendingCompactionBytes;
+
+    ColumnFamilyMetrics(String columnFamily, String tableName, String tableNamespace, boolean index,
+                        long estimateNumKeys, long liveSstFilesSize, long memTableSize, long pendingCompactionBytes) {
+        this.columnFamily = columnFamily;
+        this.tableName = tableName;
+        this.tableNamespace = tableNamespace;
+        this.index = index;
+        this.estimateNumKeys = estimateNumKeys;
+        this.liveSstFilesSize = liveSstFilesSize;
+        this.memTableSize = memTableSize;
+        this.pendingCompactionBytes = pendingCompactionBytes;
+    }
+
+    public String getColumnFamily() {
+        return columnFamily;
+    }
+
+    /**
+     * @return имя таблицы или null, если column family не принадлежит таблице
+     */
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getTableNamespace() {
+        return tableNamespace;
+    }
+
+    /**
+     * @return true, если column family хранит индексы таблицы
+     */
+    public boolean isIndex() {
+        return index;
+    }
+
+    public long getEstimateNumKeys() {
+        return estimateNumKeys;
+    }
+
+    public long getLiveSstFilesSize() {
+        return liveSstFilesSize;
+    }
+
+    public long getMemTableSize() {
+        return memTableSize;
+    }
+
+    /**
+     * @return оценка объема данных, который нужно уплотнить, чтобы уровни вернулись к целевым размерам
+     */
+    public long getPendingCompactionBytes() {
+        return pendingCompactionBytes;
+    }
+}
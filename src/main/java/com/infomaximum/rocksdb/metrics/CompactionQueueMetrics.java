@@ -0,0 +1,44 @@
+package com.infomaximum.rocksdb.metrics;
+
+/**
+ * Удаления column family, ожидающие фоновой компактификации
+ */
+public class CompactionQueueMetrics {
+
+    private final String columnFamily;
+    private final long deletes;
+    private final long rangeDeletes;
+    private final int ranges;
+
+    public CompactionQueueMetrics(String columnFamily, long deletes, long rangeDeletes, int ranges) {
+        this.columnFamily = columnFamily;
+        this.deletes = deletes;
+        this.rangeDeletes = rangeDeletes;
+        this.ranges = ranges;
+    }
+
+    public String getColumnFamily() {
+        return columnFamily;
+    }
+
+    /**
+     * @return количество удаленных ключей
+     */
+    public long getDeletes() {
+        return deletes;
+    }
+
+    /**
+     * @return количество удалений диапазонов
+     */
+    public long getRangeDeletes() {
+        return rangeDeletes;
+    }
+
+    /**
+     * @return количество несмежных диапазонов, которые будут компактифицированы
+     */
+    public int getRanges() {
+        return ranges;
+    }
+}
@@ -0,0 +1,73 @@
+package com.infomaximum.rocksdb.metrics;
+
+import org.rocksdb.HistogramType;
+import org.rocksdb.TickerType;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Снимок статистики базы. Счетчики и гистограммы заполнены только если статистика включена
+ * {@link com.infomaximum.rocksdb.RocksDataBaseBuilder#withStatistics}, счетчики накапливаются с момента открытия базы
+ */
+public class DatabaseMetrics {
+
+    private final long timestamp;
+    private final Map<TickerType, Long> tickers;
+    private final Map<HistogramType, HistogramMetric> histograms;
+    private final List<ColumnFamilyMetrics> columnFamilies;
+    private final List<CompactionQueueMetrics> compactionQueue;
+
+    DatabaseMetrics(long timestamp, Map<TickerType, Long> tickers, Map<HistogramType, HistogramMetric> histograms,
+                    List<ColumnFamilyMetrics> columnFamilies, List<CompactionQueueMetrics> compactionQueue) {
+        this.timestamp = timestamp;
+        this.tickers = Collections.unmodifiableMap(tickers);
+        this.histograms = Collections.unmodifiableMap(histograms);
+        this.columnFamilies = Collections.unmodifiableList(columnFamilies);
+        this.compactionQueue = Collections.unmodifiableList(compactionQueue);
+    }
+
+    /**
+     * @return время снятия статистики в мс
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public Map<TickerType, Long> getTickers() {
+        return tickers;
+    }
+
+    public long getTicker(TickerType type) {
+        return tickers.getOrDefault(type, 0L);
+    }
+
+    public Map<HistogramType, HistogramMetric> getHistograms() {
+        return histograms;
+    }
+
+    public HistogramMetric getHistogram(HistogramType type) {
+        return histograms.get(type);
+    }
+
+    public List<ColumnFamilyMetrics> getColumnFamilies() {
+        return columnFamilies;
+    }
+
+    /**
+     * @return column family, ожидающие фоновой компактификации удаленных диапазонов
+     */
+    public List<CompactionQueueMetrics> getCompactionQueue() {
+        return compactionQueue;
+    }
+
+    /**
+     * @return доля чтений блоков из кеша или NaN, если чтений не было
+     */
+    public double getBlockCacheHitRatio() {
+        long hit = getTicker(TickerType.BLOCK_CACHE_HIT);
+        long total = hit + getTicker(TickerType.BLOCK_CACHE_MISS);
+        return total == 0 ? Double.NaN : (double) hit / total;
+    }
+}
@@ -0,0 +1,123 @@
+package com.infomaximum.rocksdb.metrics;
+
+import com.infomaximum.database.exception.DatabaseException;
+import com.infomaximum.database.schema.dbstruct.DBSchema;
+import com.infomaximum.database.schema.dbstruct.DBTable;
+import org.rocksdb.*;
+
+import java.util.*;
+
+public class DatabaseMetricsCollector {
+
+    static final List<TickerType> TICKERS = Arrays.asList(
+            TickerType.BLOCK_CACHE_HIT,
+            TickerType.BLOCK_CACHE_MISS,
+            TickerType.BLOCK_CACHE_INDEX_HIT,
+            TickerType.BLOCK_CACHE_INDEX_MISS,
+            TickerType.BLOCK_CACHE_FILTER_HIT,
+            TickerType.BLOCK_CACHE_FILTER_MISS,
+            TickerType.BLOCK_CACHE_DATA_HIT,
+            TickerType.BLOCK_CACHE_DATA_MISS,
+            TickerType.BLOOM_FILTER_USEFUL,
+            TickerType.BLOOM_FILTER_PREFIX_CHECKED,
+            TickerType.BLOOM_FILTER_PREFIX_USEFUL,
+            TickerType.MEMTABLE_HIT,
+            TickerType.MEMTABLE_MISS,
+            TickerType.BYTES_READ,
+            TickerType.BYTES_WRITTEN,
+            TickerType.ITER_BYTES_READ,
+            TickerType.NUMBER_DB_SEEK,
+            TickerType.COMPACT_READ_BYTES,
+            TickerType.COMPACT_WRITE_BYTES,
+            TickerType.FLUSH_WRITE_BYTES,
+            TickerType.STALL_MICROS
+    );
+    static final List<HistogramType> HISTOGRAMS = Arrays.asList(
+            HistogramType.DB_GET,
+            HistogramType.DB_MULTIGET,
+            HistogramType.DB_SEEK,
+            HistogramType.DB_WRITE,
+            HistogramType.SST_READ_MICROS,
+            HistogramType.WRITE_STALL
+    );
+
+    private static final String ESTIMATE_NUM_KEYS = "rocksdb.estimate-num-keys";
+    private static final String LIVE_SST_FILES_SIZE = "rocksdb.live-sst-files-size";
+    private static final String CUR_SIZE_ALL_MEM_TABLES = "rocksdb.cur-size-all-mem-tables";
+    private static final String ESTIMATE_PENDING_COMPACTION_BYTES = "rocksdb.estimate-pending-compaction-bytes";
+
+    private final RocksDB rocksDB;
+    private final Statistics statistics;
+    private final Map<String, ColumnFamilyHandle> columnFamilies;
+    private final List<CompactionQueueMetrics> compactionQueue;
+
+    /**
+     * @param statistics статистика базы, null - статистика не включена
+     */
+    public DatabaseMetricsCollector(RocksDB rocksDB, Statistics statistics, Map<String, ColumnFamilyHandle> columnFamilies) {
+        this(rocksDB, statistics, columnFamilies, Collections.emptyList());
+    }
+
+    /**
+     * @param compactionQueue очередь фоновой компактификации удаленных диапазонов
+     */
+    public DatabaseMetricsCollector(RocksDB rocksDB, Statistics statistics, Map<String, ColumnFamilyHandle> columnFamilies,
+                                    List<CompactionQueueMetrics> compactionQueue) {
+        this.rocksDB = rocksDB;
+        this.statistics = statistics;
+        this.columnFamilies = columnFamilies;
+        this.compactionQueue = compactionQueue;
+    }
+
+    /**
+     * Handle column family не должны закрываться во время сбора, {@link com.infomaximum.rocksdb.RocksDBProvider#getMetrics}
+     * удерживает для этого блокировку удаления column family
+     * @param schema схема для сопоставления column family с таблицами, может быть null
+     */
+    public DatabaseMetrics collect(DBSchema schema) throws DatabaseException {
+        Map<TickerType, Long> tickers = new EnumMap<>(TickerType.class);
+        Map<HistogramType, HistogramMetric> histograms = new EnumMap<>(HistogramType.class);
+        if (statistics != null) {
+            for (TickerType ticker : TICKERS) {
+                tickers.put(ticker, statistics.getTickerCount(ticker));
+            }
+            for (HistogramType histogram : HISTOGRAMS) {
+                histograms.put(histogram, new HistogramMetric(statistics.getHistogramData(histogram)));
+            }
+        }
+
+        Map<String, DBTable> dataTables = new HashMap<>();
+        Map<String, DBTable> indexTables = new HashMap<>();
+        if (schema != null) {
+            for (DBTable table : schema.getTables()) {
+                dataTables.put(table.getDataColumnFamily(), table);
+                indexTables.put(table.getIndexColumnFamily(), table);
+            }
+        }
+
+        List<ColumnFamilyMetrics> columnFamilyMetrics = new ArrayList<>(columnFamilies.size());
+        try {
+            for (Map.Entry<String, ColumnFamilyHandle> entry : columnFamilies.entrySet()) {
+                String columnFamily = entry.getKey();
+                ColumnFamilyHandle handle = entry.getValue();
+                DBTable indexTable = indexTables.get(columnFamily);
+                DBTable table = indexTable != null ? indexTable : dataTables.get(columnFamily);
+                columnFamilyMetrics.add(new ColumnFamilyMetrics(
+                        columnFamily,
+                        table != null ? table.getName() : null,
+                        table != null ? table.getNamespace() : null,
+                        indexTable != null,
+                        rocksDB.getLongProperty(handle, ESTIMATE_NUM_KEYS),
+                        rocksDB.getLongProperty(handle, LIVE_SST_FILES_SIZE),
+                        rocksDB.getLongProperty(handle, CUR_SIZE_ALL_MEM_TABLES),
+                        rocksDB.getLongProperty(handle, ESTIMATE_PENDING_COMPACTION_BYTES)
+                ));
+            }
+        } catch (RocksDBException e) {
+            throw new DatabaseException(e);
+        }
+        columnFamilyMetrics.sort(Comparator.comparing(ColumnFamilyMetrics::getColumnFamily));
+
+        return new DatabaseMetrics(System.currentTimeMillis(), tickers, histograms, columnFamilyMetrics, compactionQueue);
+    }
+}
@@ -0,0 +1,54 @@
+package com.infomaximum.rocksdb.metrics;
+
+import org.rocksdb.HistogramData;
+
+/**
+ * Распределение значений гистограммы статистики, для задержек - в микросекундах
+ */
+public class HistogramMetric {
+
+    private final long count;
+    private final double average;
+    private final double median;
+    private final double percentile95;
+    private final double percentile99;
+    private final double max;
+
+    HistogramMetric(HistogramData data) {
+        this.count = data.getCount();
+        this.average = data.getAverage();
+        this.median = data.getMedian();
+        this.percentile95 = data.getPercentile95();
+        this.percentile99 = data.getPercentile99();
+        this.max = data.getMax();
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getAverage() {
+        return average;
+    }
+
+    public double getMedian() {
+        return median;
+    }
+
+    public double getPercentile95() {
+        return percentile95;
+    }
+
+    public double getPercentile99() {
+        return percentile99;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + count + ", avg=" + average + ", p50=" + median + ", p95=" + percentile95 + ", p99=" + percentile99 + ", max=" + max;
+    }
+}
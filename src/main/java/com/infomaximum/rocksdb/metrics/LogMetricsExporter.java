@@ -0,0 +1,37 @@
+package com.infomaximum.rocksdb.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Пишет статистику в лог на уровне info
+ */
+public class LogMetricsExporter implements MetricsExporter {
+
+    private final static Logger log = LoggerFactory.getLogger(LogMetricsExporter.class);
+
+    @Override
+    public void export(DatabaseMetrics metrics) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+
+        StringBuilder builder = new StringBuilder("Database metrics:");
+        metrics.getTickers().forEach((type, value) -> builder.append("\n\t").append(type).append(": ").append(value));
+        metrics.getHistograms().forEach((type, value) -> builder.append("\n\t").append(type).append(": ").append(value));
+        for (ColumnFamilyMetrics cf : metrics.getColumnFamilies()) {
+            builder.append("\n\t").append(cf.getColumnFamily())
+                    .append(": keys=").append(cf.getEstimateNumKeys())
+                    .append(", sst=").append(cf.getLiveSstFilesSize())
+                    .append(", memtable=").append(cf.getMemTableSize())
+                    .append(", pendingCompaction=").append(cf.getPendingCompactionBytes());
+        }
+        for (CompactionQueueMetrics queue : metrics.getCompactionQueue()) {
+            builder.append("\n\tcompaction queue ").append(queue.getColumnFamily())
+                    .append(": deletes=").append(queue.getDeletes())
+                    .append(", rangeDeletes=").append(queue.getRangeDeletes())
+                    .append(", ranges=").append(queue.getRanges());
+        }
+        log.info(builder.toString());
+    }
+}
@@ -0,0 +1,10 @@
+package com.infomaximum.rocksdb.metrics;
+
+/**
+ * Передает снимок статистики во внешнюю систему мониторинга
+ */
+@FunctionalInterface
+public interface MetricsExporter {
+
+    void export(DatabaseMetrics metrics);
+}
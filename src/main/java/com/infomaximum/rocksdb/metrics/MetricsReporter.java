@@ -0,0 +1,63 @@
+package com.infomaximum.rocksdb.metrics;
+
+import com.infomaximum.database.exception.DatabaseException;
+import com.infomaximum.database.schema.dbstruct.DBSchema;
+import com.infomaximum.rocksdb.RocksDBProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Периодически снимает статистику базы и передает ее экспортерам. Должен быть закрыт до закрытия базы
+ */
+public class MetricsReporter implements AutoCloseable {
+
+    private final static Logger log = LoggerFactory.getLogger(MetricsReporter.class);
+
+    private final RocksDBProvider rocksDBProvider;
+    private final Supplier<DBSchema> schemaSupplier;
+    private final List<MetricsExporter> exporters;
+    private final ScheduledExecutorService executor;
+
+    /**
+     * @param schemaSupplier актуальная схема для сопоставления column family с таблицами
+     */
+    public MetricsReporter(RocksDBProvider rocksDBProvider, Supplier<DBSchema> schemaSupplier, List<MetricsExporter> exporters, Duration period) {
+        this.rocksDBProvider = rocksDBProvider;
+        this.schemaSupplier = schemaSupplier;
+        this.exporters = List.copyOf(exporters);
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "rdao-metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleAtFixedRate(this::reportSafely, period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void report() throws DatabaseException {
+        DatabaseMetrics metrics = rocksDBProvider.getMetrics(schemaSupplier.get());
+        for (MetricsExporter exporter : exporters) {
+            exporter.export(metrics);
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    private void reportSafely() {
+        try {
+            report();
+        } catch (Throwable e) {
+            log.error("Unable to export database metrics", e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.infomaximum.rocksdb.options.columnfamily;
+
+import org.rocksdb.Cache;
+import org.rocksdb.LRUCache;
+
+/**
+ * Общий для всех column family кеш блоков SST-файлов. Без него каждый column family получает собственный кеш
+ * размером 8 МБ, и суммарный объем кеша растет вместе с количеством таблиц.
+ */
+public class BlockCacheConfig {
+
+    final long capacity;
+    /**
+     * Кеш делится на 2^numShardBits секций, -1 - количество выбирается автоматически
+     */
+    final int numShardBits;
+    final boolean strictCapacityLimit;
+    /**
+     * Доля кеша под блоки индексов и фильтров с высоким приоритетом
+     */
+    final double highPriorityPoolRatio;
+
+    private BlockCacheConfig(Builder builder) {
+        capacity = builder.capacity;
+        numShardBits = builder.numShardBits;
+        strictCapacityLimit = builder.strictCapacityLimit;
+        highPriorityPoolRatio = builder.highPriorityPoolRatio;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public int getNumShardBits() {
+        return numShardBits;
+    }
+
+    public boolean isStrictCapacityLimit() {
+        return strictCapacityLimit;
+    }
+
+    public double getHighPriorityPoolRatio() {
+        return highPriorityPoolRatio;
+    }
+
+    /**
+     * Используется LRU-кеш: ClockCache требует сборки RocksDB с TBB, без нее вместо общего кеша
+     * column family молча получают собственные
+     */
+    public Cache toCache() {
+        return new LRUCache(capacity, numShardBits, strictCapacityLimit, highPriorityPoolRatio);
+    }
+
+    public static final class Builder {
+        private long capacity = 128L * 1024 * 1024;
+        private int numShardBits = -1;
+        private boolean strictCapacityLimit = false;
+        private double highPriorityPoolRatio = 0.0;
+
+        private Builder() {
+        }
+
+        public Builder withCapacity(long capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        public Builder withNumShardBits(int numShardBits) {
+            this.numShardBits = numShardBits;
+            return this;
+        }
+
+        public Builder withStrictCapacityLimit(boolean strictCapacityLimit) {
+            this.strictCapacityLimit = strictCapacityLimit;
+            return this;
+        }
+
+        public Builder withHighPriorityPoolRatio(double highPriorityPoolRatio) {
+            this.highPriorityPoolRatio = highPriorityPoolRatio;
+            return this;
+        }
+
+        public BlockCacheConfig build() {
+            return new BlockCacheConfig(this);
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package com.infomaximum.rocksdb.options.columnfamily;
 
+import org.rocksdb.CompressionType;
+
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 public class ColumnFamilyConfig implements Serializable {
@@ -22,6 +27,50 @@ public class ColumnFamilyConfig implements Serializable {
     final Integer level0FileNumCompactionTrigger;
     final Integer level0StopWritesTrigger;
     final Integer maxWriteBufferNumberToMaintain;
+    /**
+     * Размер блока данных SST-файла в байтах
+     */
+    final Long blockSize;
+    /**
+     * Количество бит bloom-фильтра на ключ, фильтр не строится если не задано
+     */
+    final Double bloomFilterBitsPerKey;
+    /**
+     * true - фильтр строится по ключам целиком, false - только по префиксам (нужен prefix extractor)
+     */
+    final Boolean wholeKeyFiltering;
+    /**
+     * Хранить блоки индексов и фильтров в общем кеше блоков, а не в памяти открытых SST-файлов
+     */
+    final Boolean cacheIndexAndFilterBlocks;
+    final Boolean pinL0FilterAndIndexBlocksInCache;
+    /**
+     * Длина префикса ключа для fixed-length prefix extractor, по нему строятся prefix bloom-фильтры memtable и SST
+     */
+    final Integer prefixExtractorLength;
+    /**
+     * Сжатие всех уровней, для которых не задано compressionPerLevel
+     */
+    final CompressionType compressionType;
+    /**
+     * Сжатие по уровням, начиная с L0. Быстрое сжатие (или его отсутствие) на верхних уровнях
+     * и сильное на нижних, где лежит основной объем данных
+     */
+    final List<CompressionType> compressionPerLevel;
+    /**
+     * Сжатие последнего уровня, переопределяет compressionPerLevel
+     */
+    final CompressionType bottommostCompressionType;
+    final Integer compressionLevel;
+    /**
+     * Максимальный размер словаря сжатия в байтах, словарь строится для каждого SST-файла последнего уровня.
+     * Эффективен для ZSTD на повторяющихся значениях (строки, JSON)
+     */
+    final Integer compressionMaxDictBytes;
+    /**
+     * Объем выборки для обучения словаря ZSTD в байтах, 0 - словарь строится из выборки без обучения
+     */
+    final Integer zstdMaxTrainBytes;
 
     private ColumnFamilyConfig(Builder builder) {
         writeBufferSize = builder.writeBufferSize;
@@ -41,6 +90,20 @@ public class ColumnFamilyConfig implements Serializable {
         level0FileNumCompactionTrigger = builder.level0FileNumCompactionTrigger;
         level0StopWritesTrigger = builder.level0StopWritesTrigger;
         maxWriteBufferNumberToMaintain = builder.maxWriteBufferNumberToMaintain;
+        blockSize = builder.blockSize;
+        bloomFilterBitsPerKey = builder.bloomFilterBitsPerKey;
+        wholeKeyFiltering = builder.wholeKeyFiltering;
+        cacheIndexAndFilterBlocks = builder.cacheIndexAndFilterBlocks;
+        pinL0FilterAndIndexBlocksInCache = builder.pinL0FilterAndIndexBlocksInCache;
+        prefixExtractorLength = builder.prefixExtractorLength;
+        compressionType = builder.compressionType;
+        compressionPerLevel = builder.compressionPerLevel != null
+                ? Collections.unmodifiableList(new ArrayList<>(builder.compressionPerLevel))
+                : null;
+        bottommostCompressionType = builder.bottommostCompressionType;
+        compressionLevel = builder.compressionLevel;
+        compressionMaxDictBytes = builder.compressionMaxDictBytes;
+        zstdMaxTrainBytes = builder.zstdMaxTrainBytes;
     }
 
     public static Builder newBuilder() {
@@ -116,6 +179,54 @@ public class ColumnFamilyConfig implements Serializable {
         return maxWriteBufferNumberToMaintain;
     }
 
+    public Long getBlockSize() {
+        return blockSize;
+    }
+
+    public Double getBloomFilterBitsPerKey() {
+        return bloomFilterBitsPerKey;
+    }
+
+    public Boolean getWholeKeyFiltering() {
+        return wholeKeyFiltering;
+    }
+
+    public Boolean getCacheIndexAndFilterBlocks() {
+        return cacheIndexAndFilterBlocks;
+    }
+
+    public Boolean getPinL0FilterAndIndexBlocksInCache() {
+        return pinL0FilterAndIndexBlocksInCache;
+    }
+
+    public Integer getPrefixExtractorLength() {
+        return prefixExtractorLength;
+    }
+
+    public CompressionType getCompressionType() {
+        return compressionType;
+    }
+
+    public List<CompressionType> getCompressionPerLevel() {
+        return compressionPerLevel;
+    }
+
+    public CompressionType getBottommostCompressionType() {
+        return bottommostCompressionType;
+    }
+
+    public Integer getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public Integer getCompressionMaxDictBytes() {
+        return compressionMaxDictBytes;
+    }
+
+    public Integer getZstdMaxTrainBytes() {
+        return zstdMaxTrainBytes;
+    }
+
     public Boolean isContainWriteBufferSize() {
         return Objects.nonNull(writeBufferSize);
     }
@@ -184,6 +295,68 @@ public class ColumnFamilyConfig implements Serializable {
         return Objects.nonNull(maxWriteBufferNumberToMaintain);
     }
 
+    public Boolean isContainBlockSize() {
+        return Objects.nonNull(blockSize);
+    }
+
+    public Boolean isContainBloomFilterBitsPerKey() {
+        return Objects.nonNull(bloomFilterBitsPerKey);
+    }
+
+    public Boolean isContainWholeKeyFiltering() {
+        return Objects.nonNull(wholeKeyFiltering);
+    }
+
+    public Boolean isContainCacheIndexAndFilterBlocks() {
+        return Objects.nonNull(cacheIndexAndFilterBlocks);
+    }
+
+    public Boolean isContainPinL0FilterAndIndexBlocksInCache() {
+        return Objects.nonNull(pinL0FilterAndIndexBlocksInCache);
+    }
+
+    public Boolean isContainPrefixExtractorLength() {
+        return Objects.nonNull(prefixExtractorLength);
+    }
+
+    public Boolean isContainCompressionType() {
+        return Objects.nonNull(compressionType);
+    }
+
+    public Boolean isContainCompressionPerLevel() {
+        return Objects.nonNull(compressionPerLevel);
+    }
+
+    public Boolean isContainBottommostCompressionType() {
+        return Objects.nonNull(bottommostCompressionType);
+    }
+
+    public Boolean isContainCompressionLevel() {
+        return Objects.nonNull(compressionLevel);
+    }
+
+    public Boolean isContainCompressionMaxDictBytes() {
+        return Objects.nonNull(compressionMaxDictBytes);
+    }
+
+    public Boolean isContainZstdMaxTrainBytes() {
+        return Objects.nonNull(zstdMaxTrainBytes);
+    }
+
+    public Boolean isContainCompressionOptions() {
+        return isContainCompressionLevel()
+                || isContainCompressionMaxDictBytes()
+                || isContainZstdMaxTrainBytes();
+    }
+
+    public Boolean isContainTableOptions() {
+        return isContainBlockSize()
+                || isContainBloomFilterBitsPerKey()
+                || isContainWholeKeyFiltering()
+                || isContainCacheIndexAndFilterBlocks()
+                || isContainPinL0FilterAndIndexBlocksInCache();
+    }
+
 
     @Override
     public boolean equals(Object o) {
@@ -206,7 +379,19 @@ public class ColumnFamilyConfig implements Serializable {
                 && Objects.equals(softPendingCompactionBytesLimit, that.softPendingCompactionBytesLimit)
                 && Objects.equals(level0FileNumCompactionTrigger, that.level0FileNumCompactionTrigger)
                 && Objects.equals(level0StopWritesTrigger, that.level0StopWritesTrigger)
-                && Objects.equals(maxWriteBufferNumberToMaintain, that.maxWriteBufferNumberToMaintain);
+                && Objects.equals(maxWriteBufferNumberToMaintain, that.maxWriteBufferNumberToMaintain)
+                && Objects.equals(blockSize, that.blockSize)
+                && Objects.equals(bloomFilterBitsPerKey, that.bloomFilterBitsPerKey)
+                && Objects.equals(wholeKeyFiltering, that.wholeKeyFiltering)
+                && Objects.equals(cacheIndexAndFilterBlocks, that.cacheIndexAndFilterBlocks)
+                && Objects.equals(pinL0FilterAndIndexBlocksInCache, that.pinL0FilterAndIndexBlocksInCache)
+                && Objects.equals(prefixExtractorLength, that.prefixExtractorLength)
+                && Objects.equals(compressionType, that.compressionType)
+                && Objects.equals(compressionPerLevel, that.compressionPerLevel)
+                && Objects.equals(bottommostCompressionType, that.bottommostCompressionType)
+                && Objects.equals(compressionLevel, that.compressionLevel)
+                && Objects.equals(compressionMaxDictBytes, that.compressionMaxDictBytes)
+                && Objects.equals(zstdMaxTrainBytes, that.zstdMaxTrainBytes);
     }
 
     @Override
@@ -227,7 +412,19 @@ public class ColumnFamilyConfig implements Serializable {
                 softPendingCompactionBytesLimit,
                 level0FileNumCompactionTrigger,
                 level0StopWritesTrigger,
-                maxWriteBufferNumberToMaintain);
+                maxWriteBufferNumberToMaintain,
+                blockSize,
+                bloomFilterBitsPerKey,
+                wholeKeyFiltering,
+                cacheIndexAndFilterBlocks,
+                pinL0FilterAndIndexBlocksInCache,
+                prefixExtractorLength,
+                compressionType,
+                compressionPerLevel,
+                bottommostCompressionType,
+                compressionLevel,
+                compressionMaxDictBytes,
+                zstdMaxTrainBytes);
     }
 
     public static final class Builder {
@@ -248,6 +445,18 @@ public class ColumnFamilyConfig implements Serializable {
         private Integer level0FileNumCompactionTrigger;
         private Integer level0StopWritesTrigger;
         private Integer maxWriteBufferNumberToMaintain;
+        private Long blockSize;
+        private Double bloomFilterBitsPerKey;
+        private Boolean wholeKeyFiltering;
+        private Boolean cacheIndexAndFilterBlocks;
+        private Boolean pinL0FilterAndIndexBlocksInCache;
+        private Integer prefixExtractorLength;
+        private CompressionType compressionType;
+        private List<CompressionType> compressionPerLevel;
+        private CompressionType bottommostCompressionType;
+        private Integer compressionLevel;
+        private Integer compressionMaxDictBytes;
+        private Integer zstdMaxTrainBytes;
 
         private Builder() {
         }
@@ -337,6 +546,66 @@ public class ColumnFamilyConfig implements Serializable {
             return this;
         }
 
+        public Builder withBlockSize(Long blockSize) {
+            this.blockSize = blockSize;
+            return this;
+        }
+
+        public Builder withBloomFilterBitsPerKey(Double bloomFilterBitsPerKey) {
+            this.bloomFilterBitsPerKey = bloomFilterBitsPerKey;
+            return this;
+        }
+
+        public Builder withWholeKeyFiltering(Boolean wholeKeyFiltering) {
+            this.wholeKeyFiltering = wholeKeyFiltering;
+            return this;
+        }
+
+        public Builder withCacheIndexAndFilterBlocks(Boolean cacheIndexAndFilterBlocks) {
+            this.cacheIndexAndFilterBlocks = cacheIndexAndFilterBlocks;
+            return this;
+        }
+
+        public Builder withPinL0FilterAndIndexBlocksInCache(Boolean pinL0FilterAndIndexBlocksInCache) {
+            this.pinL0FilterAndIndexBlocksInCache = pinL0FilterAndIndexBlocksInCache;
+            return this;
+        }
+
+        public Builder withPrefixExtractorLength(Integer prefixExtractorLength) {
+            this.prefixExtractorLength = prefixExtractorLength;
+            return this;
+        }
+
+        public Builder withCompressionType(CompressionType compressionType) {
+            this.compressionType = compressionType;
+            return this;
+        }
+
+        public Builder withCompressionPerLevel(List<CompressionType> compressionPerLevel) {
+            this.compressionPerLevel = compressionPerLevel;
+            return this;
+        }
+
+        public Builder withBottommostCompressionType(CompressionType bottommostCompressionType) {
+            this.bottommostCompressionType = bottommostCompressionType;
+            return this;
+        }
+
+        public Builder withCompressionLevel(Integer compressionLevel) {
+            this.compressionLevel = compressionLevel;
+            return this;
+        }
+
+        public Builder withCompressionMaxDictBytes(Integer compressionMaxDictBytes) {
+            this.compressionMaxDictBytes = compressionMaxDictBytes;
+            return this;
+        }
+
+        public Builder withZstdMaxTrainBytes(Integer zstdMaxTrainBytes) {
+            this.zstdMaxTrainBytes = zstdMaxTrainBytes;
+            return this;
+        }
+
         public ColumnFamilyConfig build() {
             return new ColumnFamilyConfig(this);
         }
@@ -1,7 +1,15 @@
 package com.infomaximum.rocksdb.options.columnfamily;
 
+import org.rocksdb.AbstractNativeReference;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
 import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompressionOptions;
+import org.rocksdb.TableFormatConfig;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 public class ColumnFamilyConfigMapper {
@@ -9,10 +17,22 @@ public class ColumnFamilyConfigMapper {
     private ColumnFamilyConfigMapper() {
     }
 
+    /**
+     * @deprecated созданные для options нативные объекты (фильтр блоков, настройки сжатия) не освобождаются,
+     * используйте {@link #toRocksDbOpt(ColumnFamilyConfig, List)}
+     */
+    @Deprecated
     public static ColumnFamilyOptions toRocksDbOpt(ColumnFamilyConfig from) {
+        return toRocksDbOpt(from, new ArrayList<>());
+    }
+
+    /**
+     * @param resources созданные для options нативные объекты, должны быть закрыты после options
+     */
+    public static ColumnFamilyOptions toRocksDbOpt(ColumnFamilyConfig from, List<AbstractNativeReference> resources) {
         Objects.requireNonNull(from);
         ColumnFamilyOptions destination = new ColumnFamilyOptions();
-        setRocksDbOpt(from, destination);
+        setRocksDbOpt(from, destination, resources);
         return destination;
     }
 
@@ -40,9 +60,22 @@ public class ColumnFamilyConfigMapper {
                 .build();
     }
 
+    /**
+     * @deprecated созданные для options нативные объекты (фильтр блоков, настройки сжатия) не освобождаются,
+     * используйте {@link #setRocksDbOpt(ColumnFamilyConfig, ColumnFamilyOptions, List)}
+     */
+    @Deprecated
     public static void setRocksDbOpt(ColumnFamilyConfig from, ColumnFamilyOptions to) {
+        setRocksDbOpt(from, to, new ArrayList<>());
+    }
+
+    /**
+     * @param resources созданные для options нативные объекты, должны быть закрыты после options
+     */
+    public static void setRocksDbOpt(ColumnFamilyConfig from, ColumnFamilyOptions to, List<AbstractNativeReference> resources) {
         Objects.requireNonNull(from, "column family config cannot be null");
         Objects.requireNonNull(to);
+        Objects.requireNonNull(resources);
         if (from.isContainArenaBlockSize()) {
             to.setArenaBlockSize(from.getArenaBlockSize());
         }
@@ -97,5 +130,67 @@ public class ColumnFamilyConfigMapper {
         if (from.isContainMaxWriteBufferNumberToMaintain()) {
             to.setMaxWriteBufferNumberToMaintain(from.getMaxWriteBufferNumberToMaintain());
         }
+        if (from.isContainPrefixExtractorLength()) {
+            to.useFixedLengthPrefixExtractor(from.getPrefixExtractorLength());
+        }
+        if (from.isContainCompressionType()) {
+            to.setCompressionType(from.getCompressionType());
+        }
+        if (from.isContainCompressionPerLevel()) {
+            to.setCompressionPerLevel(from.getCompressionPerLevel());
+        }
+        if (from.isContainBottommostCompressionType()) {
+            to.setBottommostCompressionType(from.getBottommostCompressionType());
+        }
+        if (from.isContainCompressionOptions()) {
+            //Применяются и к последнему уровню, пока для него не включены отдельные bottommost-настройки
+            CompressionOptions compressionOptions = new CompressionOptions();
+            resources.add(compressionOptions);
+            if (from.isContainCompressionLevel()) {
+                compressionOptions.setLevel(from.getCompressionLevel());
+            }
+            if (from.isContainCompressionMaxDictBytes()) {
+                compressionOptions.setMaxDictBytes(from.getCompressionMaxDictBytes());
+            }
+            if (from.isContainZstdMaxTrainBytes()) {
+                compressionOptions.setZStdMaxTrainBytes(from.getZstdMaxTrainBytes());
+            }
+            to.setCompressionOptions(compressionOptions);
+        }
+        if (from.isContainTableOptions()) {
+            BlockBasedTableConfig tableConfig = getTableConfig(to);
+            if (from.isContainBlockSize()) {
+                tableConfig.setBlockSize(from.getBlockSize());
+            }
+            if (from.isContainBloomFilterBitsPerKey()) {
+                BloomFilter bloomFilter = new BloomFilter(from.getBloomFilterBitsPerKey(), false);
+                resources.add(bloomFilter);
+                tableConfig.setFilterPolicy(bloomFilter);
+            }
+            if (from.isContainWholeKeyFiltering()) {
+                tableConfig.setWholeKeyFiltering(from.getWholeKeyFiltering());
+            }
+            if (from.isContainCacheIndexAndFilterBlocks()) {
+                tableConfig.setCacheIndexAndFilterBlocks(from.getCacheIndexAndFilterBlocks());
+            }
+            if (from.isContainPinL0FilterAndIndexBlocksInCache()) {
+                tableConfig.setPinL0FilterAndIndexBlocksInCache(from.getPinL0FilterAndIndexBlocksInCache());
+            }
+            to.setTableFormatConfig(tableConfig);
+        }
+    }
+
+    /**
+     * Подключает общий кеш блоков, ранее заданные настройки таблицы сохраняются
+     */
+    public static void setBlockCache(Cache blockCache, ColumnFamilyOptions to) {
+        Objects.requireNonNull(blockCache);
+        Objects.requireNonNull(to);
+        to.setTableFormatConfig(getTableConfig(to).setBlockCache(blockCache));
+    }
+
+    private static BlockBasedTableConfig getTableConfig(ColumnFamilyOptions options) {
+        TableFormatConfig tableFormatConfig = options.tableFormatConfig();
+        return tableFormatConfig instanceof BlockBasedTableConfig ? (BlockBasedTableConfig) tableFormatConfig : new BlockBasedTableConfig();
     }
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.infomaximum.rocksdb.options.columnfamily;
 
 import com.infomaximum.database.utils.TypeConvert;
+import org.rocksdb.AbstractNativeReference;
 import org.rocksdb.ColumnFamilyDescriptor;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -25,7 +27,19 @@ public class ColumnFamilyConfigService {
                         Function.identity(), (columnFamilyDescriptor, columnFamilyDescriptor2) -> columnFamilyDescriptor));
     }
 
+    /**
+     * @deprecated созданные для options нативные объекты (фильтр блоков, настройки сжатия) не освобождаются,
+     * используйте {@link #applySettings(List, List)}
+     */
+    @Deprecated
     public void applySettings(List<ColumnFamilyDescriptor> columnFamilyDescriptors) {
+        applySettings(columnFamilyDescriptors, new ArrayList<>());
+    }
+
+    /**
+     * @param resources созданные для options нативные объекты, должны быть закрыты после options
+     */
+    public void applySettings(List<ColumnFamilyDescriptor> columnFamilyDescriptors, List<AbstractNativeReference> resources) {
         if (configuredColumnFamilies.isEmpty()) {
             return;
         }
@@ -39,7 +53,21 @@ public class ColumnFamilyConfigService {
                     .filter(entry -> pattern.matcher(entry.getKey()).find())
                     .map(entry -> entry.getValue())
                     .map(columnFamilyDescriptor -> columnFamilyDescriptor.getOptions())
-                    .forEach(columnFamilyOptions -> ColumnFamilyConfigMapper.setRocksDbOpt(columnFamilyConfig, columnFamilyOptions));
+                    .forEach(columnFamilyOptions -> ColumnFamilyConfigMapper.setRocksDbOpt(columnFamilyConfig, columnFamilyOptions, resources));
+        }
+    }
+
+    /**
+     * @return длина prefix extractor, которую {@link #applySettings} задаст column family, или null
+     */
+    public Integer findPrefixExtractorLength(String columnFamily) {
+        Integer result = null;
+        for (Map.Entry<String, ColumnFamilyConfig> columnFamilyConfigEntry : configuredColumnFamilies.entrySet()) {
+            final ColumnFamilyConfig columnFamilyConfig = columnFamilyConfigEntry.getValue();
+            if (columnFamilyConfig.isContainPrefixExtractorLength() && Pattern.compile(columnFamilyConfigEntry.getKey()).matcher(columnFamily).find()) {
+                result = columnFamilyConfig.getPrefixExtractorLength();
+            }
         }
+        return result;
     }
 }
\ No newline at end of file
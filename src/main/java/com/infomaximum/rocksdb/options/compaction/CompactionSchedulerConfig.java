@@ -0,0 +1,113 @@
+package com.infomaximum.rocksdb.options.compaction;
+
+/**
+ * Настройки фоновой компактификации удаленных диапазонов. Диапазоны удалений закоммиченных транзакций
+ * накапливаются по column family, компактификация column family запускается при достижении одного из порогов.
+ */
+public class CompactionSchedulerConfig {
+
+    /**
+     * Количество удаленных ключей в column family, после которого запускается компактификация
+     */
+    final long deleteThreshold;
+    /**
+     * Количество удалений диапазонов в column family, после которого запускается компактификация
+     */
+    final long rangeDeleteThreshold;
+    /**
+     * Период проверки очереди в мс
+     */
+    final long checkIntervalMillis;
+    /**
+     * Минимальный интервал между компактификациями в мс
+     */
+    final long minCompactionIntervalMillis;
+    /**
+     * Максимальное количество несмежных диапазонов column family, при превышении они объединяются в один
+     */
+    final int maxRangesPerColumnFamily;
+
+    private CompactionSchedulerConfig(Builder builder) {
+        deleteThreshold = builder.deleteThreshold;
+        rangeDeleteThreshold = builder.rangeDeleteThreshold;
+        checkIntervalMillis = builder.checkIntervalMillis;
+        minCompactionIntervalMillis = builder.minCompactionIntervalMillis;
+        maxRangesPerColumnFamily = builder.maxRangesPerColumnFamily;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public long getDeleteThreshold() {
+        return deleteThreshold;
+    }
+
+    public long getRangeDeleteThreshold() {
+        return rangeDeleteThreshold;
+    }
+
+    public long getCheckIntervalMillis() {
+        return checkIntervalMillis;
+    }
+
+    public long getMinCompactionIntervalMillis() {
+        return minCompactionIntervalMillis;
+    }
+
+    public int getMaxRangesPerColumnFamily() {
+        return maxRangesPerColumnFamily;
+    }
+
+    public static final class Builder {
+        private long deleteThreshold = 10000;
+        private long rangeDeleteThreshold = 1;
+        private long checkIntervalMillis = 1000;
+        private long minCompactionIntervalMillis = 10000;
+        private int maxRangesPerColumnFamily = 32;
+
+        private Builder() {
+        }
+
+        public Builder withDeleteThreshold(long deleteThreshold) {
+            this.deleteThreshold = deleteThreshold;
+            return this;
+        }
+
+        public Builder withRangeDeleteThreshold(long rangeDeleteThreshold) {
+            this.rangeDeleteThreshold = rangeDeleteThreshold;
+            return this;
+        }
+
+        public Builder withCheckIntervalMillis(long checkIntervalMillis) {
+            this.checkIntervalMillis = checkIntervalMillis;
+            return this;
+        }
+
+        public Builder withMinCompactionIntervalMillis(long minCompactionIntervalMillis) {
+            this.minCompactionIntervalMillis = minCompactionIntervalMillis;
+            return this;
+        }
+
+        public Builder withMaxRangesPerColumnFamily(int maxRangesPerColumnFamily) {
+            this.maxRangesPerColumnFamily = maxRangesPerColumnFamily;
+            return this;
+        }
+
+        public CompactionSchedulerConfig build() {
+            if (deleteThreshold < 1 || rangeDeleteThreshold < 1) {
+                throw new IllegalArgumentException("Thresholds must be positive: " + deleteThreshold + ", " + rangeDeleteThreshold);
+            }
+            if (checkIntervalMillis < 1) {
+                throw new IllegalArgumentException("checkIntervalMillis must be positive: " + checkIntervalMillis);
+            }
+            if (minCompactionIntervalMillis < 0) {
+                throw new IllegalArgumentException("minCompactionIntervalMillis must be non-negative: " + minCompactionIntervalMillis);
+            }
+            if (maxRangesPerColumnFamily < 1) {
+                throw new IllegalArgumentException("maxRangesPerColumnFamily must be positive: " + maxRangesPerColumnFamily);
+            }
+            return new CompactionSchedulerConfig(this);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.infomaximum.rocksdb.options.database;
+
+import org.rocksdb.*;
+
+import java.util.List;
+
+/**
+ * Ограничения ресурсов базы в целом: фоновые потоки, скорость фонового ввода-вывода и общий объем memtable
+ * всех column family. Незаданные параметры остаются значениями RocksDB по умолчанию (или из .ini-файла базы).
+ */
+public class DatabaseResourceConfig {
+
+    private static final long RATE_LIMITER_REFILL_PERIOD_MICROS = 100 * 1000;
+    private static final int RATE_LIMITER_FAIRNESS = 10;
+
+    final Integer maxBackgroundJobs;
+    final Integer maxSubcompactions;
+    /**
+     * Ограничение скорости записи flush и компактификации в байтах в секунду
+     */
+    final Long rateLimitBytesPerSecond;
+    /**
+     * Ограничение подстраивается под нагрузку в пределах [rateLimitBytesPerSecond / 20, rateLimitBytesPerSecond]
+     */
+    final boolean rateLimitAutoTuned;
+    /**
+     * SST-файлы синхронизируются с диском постепенно, каждые bytesPerSync байт
+     */
+    final Long bytesPerSync;
+    final Long walBytesPerSync;
+    /**
+     * Общий лимит памяти memtable всех column family, при его превышении memtable сбрасываются на диск
+     */
+    final Long writeBufferManagerCapacity;
+    /**
+     * Память memtable учитывается в общем кеше блоков и вытесняет из него блоки
+     */
+    final boolean chargeWriteBufferToBlockCache;
+
+    private DatabaseResourceConfig(Builder builder) {
+        maxBackgroundJobs = builder.maxBackgroundJobs;
+        maxSubcompactions = builder.maxSubcompactions;
+        rateLimitBytesPerSecond = builder.rateLimitBytesPerSecond;
+        rateLimitAutoTuned = builder.rateLimitAutoTuned;
+        bytesPerSync = builder.bytesPerSync;
+        walBytesPerSync = builder.walBytesPerSync;
+        writeBufferManagerCapacity = builder.writeBufferManagerCapacity;
+        chargeWriteBufferToBlockCache = builder.chargeWriteBufferToBlockCache;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public Integer getMaxBackgroundJobs() {
+        return maxBackgroundJobs;
+    }
+
+    public Integer getMaxSubcompactions() {
+        return maxSubcompactions;
+    }
+
+    public Long getRateLimitBytesPerSecond() {
+        return rateLimitBytesPerSecond;
+    }
+
+    public boolean isRateLimitAutoTuned() {
+        return rateLimitAutoTuned;
+    }
+
+    public Long getBytesPerSync() {
+        return bytesPerSync;
+    }
+
+    public Long getWalBytesPerSync() {
+        return walBytesPerSync;
+    }
+
+    public Long getWriteBufferManagerCapacity() {
+        return writeBufferManagerCapacity;
+    }
+
+    public boolean isChargeWriteBufferToBlockCache() {
+        return chargeWriteBufferToBlockCache;
+    }
+
+    /**
+     * Применяет настройки к options. Созданные нативные объекты добавляются в resources и должны быть закрыты
+     * после закрытия базы
+     * @param blockCache общий кеш блоков или null
+     */
+    public void apply(DBOptions options, Cache blockCache, List<AbstractNativeReference> resources) {
+        if (maxBackgroundJobs != null) {
+            options.setMaxBackgroundJobs(maxBackgroundJobs);
+        }
+        if (maxSubcompactions != null) {
+            options.setMaxSubcompactions(maxSubcompactions);
+        }
+        if (bytesPerSync != null) {
+            options.setBytesPerSync(bytesPerSync);
+        }
+        if (walBytesPerSync != null) {
+            options.setWalBytesPerSync(walBytesPerSync);
+        }
+        if (rateLimitBytesPerSecond != null) {
+            RateLimiter rateLimiter = new RateLimiter(rateLimitBytesPerSecond, RATE_LIMITER_REFILL_PERIOD_MICROS,
+                    RATE_LIMITER_FAIRNESS, RateLimiterMode.WRITES_ONLY, rateLimitAutoTuned);
+            resources.add(rateLimiter);
+            options.setRateLimiter(rateLimiter);
+        }
+        if (writeBufferManagerCapacity != null) {
+            //WriteBufferManager в Java API всегда учитывает память в кеше, без общего кеша блоков используется отдельный
+            Cache cache = chargeWriteBufferToBlockCache ? blockCache : null;
+            if (cache == null) {
+                cache = new LRUCache(writeBufferManagerCapacity);
+                resources.add(cache);
+            }
+            WriteBufferManager writeBufferManager = new WriteBufferManager(writeBufferManagerCapacity, cache);
+            resources.add(writeBufferManager);
+            options.setWriteBufferManager(writeBufferManager);
+        }
+    }
+
+    public static final class Builder {
+        private Integer maxBackgroundJobs;
+        private Integer maxSubcompactions;
+        private Long rateLimitBytesPerSecond;
+        private boolean rateLimitAutoTuned = false;
+        private Long bytesPerSync;
+        private Long walBytesPerSync;
+        private Long writeBufferManagerCapacity;
+        private boolean chargeWriteBufferToBlockCache = false;
+
+        private Builder() {
+        }
+
+        public Builder withMaxBackgroundJobs(Integer maxBackgroundJobs) {
+            this.maxBackgroundJobs = maxBackgroundJobs;
+            return this;
+        }
+
+        public Builder withMaxSubcompactions(Integer maxSubcompactions) {
+            this.maxSubcompactions = maxSubcompactions;
+            return this;
+        }
+
+        public Builder withRateLimit(Long bytesPerSecond, boolean autoTuned) {
+            this.rateLimitBytesPerSecond = bytesPerSecond;
+            this.rateLimitAutoTuned = autoTuned;
+            return this;
+        }
+
+        public Builder withBytesPerSync(Long bytesPerSync) {
+            this.bytesPerSync = bytesPerSync;
+            return this;
+        }
+
+        public Builder withWalBytesPerSync(Long walBytesPerSync) {
+            this.walBytesPerSync = walBytesPerSync;
+            return this;
+        }
+
+        public Builder withWriteBufferManager(Long capacity, boolean chargeToBlockCache) {
+            this.writeBufferManagerCapacity = capacity;
+            this.chargeWriteBufferToBlockCache = chargeToBlockCache;
+            return this;
+        }
+
+        public DatabaseResourceConfig build() {
+            if (maxBackgroundJobs != null && maxBackgroundJobs < 1) {
+                throw new IllegalArgumentException("maxBackgroundJobs must be positive: " + maxBackgroundJobs);
+            }
+            if (maxSubcompactions != null && maxSubcompactions < 1) {
+                throw new IllegalArgumentException("maxSubcompactions must be positive: " + maxSubcompactions);
+            }
+            if (rateLimitBytesPerSecond != null && rateLimitBytesPerSecond <= 0) {
+                throw new IllegalArgumentException("rateLimitBytesPerSecond must be positive: " + rateLimitBytesPerSecond);
+            }
+            if (writeBufferManagerCapacity != null && writeBufferManagerCapacity <= 0) {
+                throw new IllegalArgumentException("writeBufferManagerCapacity must be positive: " + writeBufferManagerCapacity);
+            }
+            return new DatabaseResourceConfig(this);
+        }
+    }
+}
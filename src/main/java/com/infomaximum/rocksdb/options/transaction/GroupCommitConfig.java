@@ -0,0 +1,64 @@
+package com.infomaximum.rocksdb.options.transaction;
+
+/**
+ * Настройки группового коммита ({@link com.infomaximum.database.provider.Durability#GROUP_SYNC}):
+ * первый коммит группы ждет остальных не дольше maxDelayMicros и выполняет один fsync WAL на всех.
+ */
+public class GroupCommitConfig {
+
+    public static final GroupCommitConfig DEFAULT = newBuilder().build();
+
+    /**
+     * Максимальное время ожидания других коммитов перед fsync в мкс, 0 - без ожидания
+     */
+    final long maxDelayMicros;
+    /**
+     * Размер группы, при достижении которого fsync выполняется не дожидаясь maxDelayMicros
+     */
+    final int maxBatchSize;
+
+    private GroupCommitConfig(Builder builder) {
+        maxDelayMicros = builder.maxDelayMicros;
+        maxBatchSize = builder.maxBatchSize;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public long getMaxDelayMicros() {
+        return maxDelayMicros;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public static final class Builder {
+        private long maxDelayMicros = 1000;
+        private int maxBatchSize = 64;
+
+        private Builder() {
+        }
+
+        public Builder withMaxDelayMicros(long maxDelayMicros) {
+            this.maxDelayMicros = maxDelayMicros;
+            return this;
+        }
+
+        public Builder withMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        public GroupCommitConfig build() {
+            if (maxDelayMicros < 0) {
+                throw new IllegalArgumentException("maxDelayMicros must be non-negative: " + maxDelayMicros);
+            }
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+            }
+            return new GroupCommitConfig(this);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.infomaximum.rocksdb.options.transaction;
+
+import org.rocksdb.TransactionDBOptions;
+import org.rocksdb.TransactionOptions;
+
+/**
+ * Настройки пессимистичных транзакций (TransactionDB): ключ блокируется при записи или чтении "для изменения",
+ * конкурирующая транзакция ждет снятия блокировки вместо конфликта на коммите.
+ */
+public class PessimisticTransactionConfig {
+
+    /**
+     * Время ожидания блокировки ключа транзакцией в мс, отрицательное значение - без ограничения
+     */
+    final long lockTimeout;
+    /**
+     * Время ожидания блокировки ключа записью вне транзакции в мс
+     */
+    final long defaultLockTimeout;
+    final boolean deadlockDetect;
+    final long deadlockDetectDepth;
+    /**
+     * Количество независимых секций таблицы блокировок одного column family
+     */
+    final long numStripes;
+    /**
+     * Максимальное количество блокировок на column family, 0 и меньше - без ограничения
+     */
+    final long maxNumLocks;
+
+    private PessimisticTransactionConfig(Builder builder) {
+        lockTimeout = builder.lockTimeout;
+        defaultLockTimeout = builder.defaultLockTimeout;
+        deadlockDetect = builder.deadlockDetect;
+        deadlockDetectDepth = builder.deadlockDetectDepth;
+        numStripes = builder.numStripes;
+        maxNumLocks = builder.maxNumLocks;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public long getLockTimeout() {
+        return lockTimeout;
+    }
+
+    public long getDefaultLockTimeout() {
+        return defaultLockTimeout;
+    }
+
+    public boolean isDeadlockDetect() {
+        return deadlockDetect;
+    }
+
+    public long getDeadlockDetectDepth() {
+        return deadlockDetectDepth;
+    }
+
+    public long getNumStripes() {
+        return numStripes;
+    }
+
+    public long getMaxNumLocks() {
+        return maxNumLocks;
+    }
+
+    public TransactionDBOptions toTransactionDBOptions() {
+        return new TransactionDBOptions()
+                .setTransactionLockTimeout(lockTimeout)
+                .setDefaultLockTimeout(defaultLockTimeout)
+                .setNumStripes(numStripes)
+                .setMaxNumLocks(maxNumLocks);
+    }
+
+    public TransactionOptions toTransactionOptions() {
+        return new TransactionOptions()
+                .setLockTimeout(lockTimeout)
+                .setDeadlockDetect(deadlockDetect)
+                .setDeadlockDetectDepth(deadlockDetectDepth);
+    }
+
+    public static final class Builder {
+        private long lockTimeout = 1000;
+        private long defaultLockTimeout = 1000;
+        private boolean deadlockDetect = true;
+        private long deadlockDetectDepth = 50;
+        private long numStripes = 16;
+        private long maxNumLocks = -1;
+
+        private Builder() {
+        }
+
+        public Builder withLockTimeout(long lockTimeout) {
+            this.lockTimeout = lockTimeout;
+            return this;
+        }
+
+        public Builder withDefaultLockTimeout(long defaultLockTimeout) {
+            this.defaultLockTimeout = defaultLockTimeout;
+            return this;
+        }
+
+        public Builder withDeadlockDetect(boolean deadlockDetect) {
+            this.deadlockDetect = deadlockDetect;
+            return this;
+        }
+
+        public Builder withDeadlockDetectDepth(long deadlockDetectDepth) {
+            this.deadlockDetectDepth = deadlockDetectDepth;
+            return this;
+        }
+
+        public Builder withNumStripes(long numStripes) {
+            this.numStripes = numStripes;
+            return this;
+        }
+
+        public Builder withMaxNumLocks(long maxNumLocks) {
+            this.maxNumLocks = maxNumLocks;
+            return this;
+        }
+
+        public PessimisticTransactionConfig build() {
+            return new PessimisticTransactionConfig(this);
+        }
+    }
+}
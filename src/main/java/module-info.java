@@ -19,5 +19,9 @@ module com.infomaximum.rdao {
     exports com.infomaximum.database.schema.table;
     exports com.infomaximum.database;
     exports com.infomaximum.rocksdb.options.columnfamily;
+    exports com.infomaximum.rocksdb.options.transaction;
+    exports com.infomaximum.rocksdb.options.compaction;
+    exports com.infomaximum.rocksdb.options.database;
     exports com.infomaximum.rocksdb.backup;
+    exports com.infomaximum.rocksdb.metrics;
 }
\ No newline at end of file
@@ -109,6 +109,9 @@ public abstract class StoreFileDataTest extends DomainDataTest {
         if (filter instanceof RangeFilter) {
             return dataCommand.select(tableName, namespace, (RangeFilter) filter);
         }
+        if (filter instanceof AndFilter) {
+            return dataCommand.select(tableName, namespace, (AndFilter) filter);
+        }
         if (filter instanceof EmptyFilter) {
             return dataCommand.select(tableName, namespace);
         }
@@ -0,0 +1,128 @@
+package com.infomaximum.database.domainobject.engine;
+
+import com.infomaximum.database.domainobject.StoreFileDataTest;
+import com.infomaximum.database.domainobject.filter.*;
+import com.infomaximum.database.domainobject.iterator.IteratorEntity;
+import com.infomaximum.domain.StoreFileEditable;
+import com.infomaximum.domain.StoreFileReadable;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+public class AndIteratorTest extends StoreFileDataTest {
+
+    private static final int RECORD_COUNT = 100;
+
+    @BeforeEach
+    public void init() throws Exception {
+        super.init();
+
+        domainObjectSource.executeTransactional(transaction -> {
+            for (int i = 0; i < RECORD_COUNT; ++i) {
+                StoreFileEditable obj = transaction.create(StoreFileEditable.class);
+                obj.setSize(i % 10);
+                obj.setFileName("name" + (i % 3));
+                obj.setDouble((double) i);
+                obj.setBegin((long) i);
+                obj.setEnd((long) i + 5);
+                transaction.save(obj);
+            }
+        });
+    }
+
+    @Test
+    public void hashAndInterval() throws Exception {
+        AndFilter filter = new AndFilter(
+                new HashFilter(StoreFileReadable.FIELD_SIZE, 5L),
+                new IntervalFilter(StoreFileReadable.FIELD_DOUBLE, 20.0, 60.0)
+        );
+        assertFindBoth(filter, i -> i % 10 == 5 && i >= 20 && i <= 60);
+    }
+
+    @Test
+    public void intervalFirst() throws Exception {
+        AndFilter filter = new AndFilter(
+                new IntervalFilter(StoreFileReadable.FIELD_DOUBLE, 60.0, 20.0 + RECORD_COUNT).setSortDirection(SortDirection.DESC),
+                new HashFilter(StoreFileReadable.FIELD_FILE_NAME, "name1")
+        );
+        assertFindBoth(filter, i -> i >= 60 && i % 3 == 1);
+    }
+
+    @Test
+    public void severalHashes() throws Exception {
+        AndFilter filter = new AndFilter(
+                new HashFilter(StoreFileReadable.FIELD_FILE_NAME, "name1"),
+                new AndFilter(new HashFilter(StoreFileReadable.FIELD_SIZE, 5L)),
+                new IntervalFilter(StoreFileReadable.FIELD_DOUBLE, 0.0, (double) RECORD_COUNT)
+        );
+        assertFindBoth(filter, i -> i % 3 == 1 && i % 10 == 5);
+    }
+
+    @Test
+    public void prefixAndHash() throws Exception {
+        AndFilter filter = new AndFilter(
+                new PrefixFilter(StoreFileReadable.FIELD_FILE_NAME, "name2"),
+                new HashFilter(StoreFileReadable.FIELD_SIZE, 4L)
+        );
+        assertFindBoth(filter, i -> i % 3 == 2 && i % 10 == 4);
+    }
+
+    @Test
+    public void rangeAndHash() throws Exception {
+        AndFilter filter = new AndFilter(
+                new RangeFilter(StoreFileReadable.RANGE_LONG_FIELD, 30L, 40L),
+                new HashFilter(StoreFileReadable.FIELD_SIZE, 7L)
+        );
+        assertFindBoth(filter, i -> i % 10 == 7 && i < 40 && i + 5 > 30);
+    }
+
+    @Test
+    public void emptyIntersection() throws Exception {
+        AndFilter filter = new AndFilter(
+                new HashFilter(StoreFileReadable.FIELD_SIZE, 5L),
+                new IntervalFilter(StoreFileReadable.FIELD_DOUBLE, 0.0, 4.0),
+                new HashFilter(StoreFileReadable.FIELD_FILE_NAME, "name0")
+        );
+        assertFindBoth(filter, i -> false);
+    }
+
+    @Test
+    public void loadingFields() throws Exception {
+        AndFilter filter = new AndFilter(
+                new HashFilter(StoreFileReadable.FIELD_FILE_NAME, "name0"),
+                new HashFilter(StoreFileReadable.FIELD_SIZE, 3L)
+        );
+        try (IteratorEntity<StoreFileReadable> iterator = domainObjectSource.find(StoreFileReadable.class, filter,
+                Collections.singleton(StoreFileReadable.FIELD_DOUBLE))) {
+            int count = 0;
+            while (iterator.hasNext()) {
+                StoreFileReadable obj = iterator.next();
+                Assertions.assertThat(obj.getDouble()).isEqualTo((double) (obj.getId() - 1));
+                ++count;
+            }
+            Assertions.assertThat(count).isEqualTo(4);
+        }
+    }
+
+    @Test
+    public void unsupportedFilter() {
+        Assertions.assertThatThrownBy(() -> new AndFilter(new IdFilter(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void assertFindBoth(Filter filter, LongPredicate indexPredicate) throws Exception {
+        List<Long> expectedIds = LongStream.range(0, RECORD_COUNT)
+                .filter(indexPredicate)
+                .map(i -> i + 1)
+                .boxed()
+                .collect(Collectors.toList());
+        assertFind(filter, expectedIds);
+        testFind(filter, expectedIds);
+    }
+}
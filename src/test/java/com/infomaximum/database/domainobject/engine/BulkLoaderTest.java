@@ -0,0 +1,80 @@
+package com.infomaximum.database.domainobject.engine;
+
+import com.infomaximum.database.Record;
+import com.infomaximum.database.RecordIterator;
+import com.infomaximum.database.domainobject.StoreFileDataTest;
+import com.infomaximum.database.domainobject.filter.HashFilter;
+import com.infomaximum.database.domainobject.filter.IntervalFilter;
+import com.infomaximum.database.domainobject.filter.PrefixFilter;
+import com.infomaximum.database.domainobject.filter.RangeFilter;
+import com.infomaximum.database.utils.TableUtils;
+import com.infomaximum.domain.StoreFileReadable;
+import com.infomaximum.rocksdb.RocksDBBulkLoader;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkLoaderTest extends StoreFileDataTest {
+
+    @Test
+    public void load() throws Exception {
+        long existingId = recordSource.executeFunctionTransactional(dataCommand ->
+                dataCommand.insertRecord(STORE_FILE_NAME, STORE_FILE_NAMESPACE, new String[]{"size"}, new Object[]{3L}));
+
+        String[] fields = new String[]{"size", "name", "begin", "end"};
+        List<Record> records = new ArrayList<>();
+        for (long i = 0; i < 100; ++i) {
+            Object[] values = TableUtils.sortValuesByFieldOrder(STORE_FILE_NAME, STORE_FILE_NAMESPACE, fields,
+                    new Object[]{i % 10, "name " + i, 3 * i, 3 * i + 1}, schema.getDbSchema());
+            records.add(new Record(0, values));
+        }
+
+        RocksDBBulkLoader loader = new RocksDBBulkLoader(rocksDBProvider, Files.createTempDirectory("bulkload"), 1024);
+        Assertions.assertThat(loader.load(STORE_FILE_NAME, STORE_FILE_NAMESPACE, records.iterator())).isEqualTo(records.size());
+
+        Assertions.assertThat(select(new HashFilter(StoreFileReadable.FIELD_SIZE, 3L))).hasSize(11);
+        Assertions.assertThat(select(new PrefixFilter(StoreFileReadable.FIELD_FILE_NAME, "name"))).hasSize(100);
+        Assertions.assertThat(select(new IntervalFilter(StoreFileReadable.FIELD_SIZE, 1L, 2L))).hasSize(20);
+        Assertions.assertThat(select(new RangeFilter(new RangeFilter.IndexedField(StoreFileReadable.FIELD_BEGIN, StoreFileReadable.FIELD_END), 5L, 20L))).hasSize(5);
+
+        long newId = recordSource.executeFunctionTransactional(dataCommand ->
+                dataCommand.insertRecord(STORE_FILE_NAME, STORE_FILE_NAMESPACE, new String[]{"size"}, new Object[]{3L}));
+        Assertions.assertThat(newId).isGreaterThan(existingId + records.size());
+        Assertions.assertThat(select(new HashFilter(StoreFileReadable.FIELD_SIZE, 3L))).hasSize(12);
+    }
+
+    private List<Record> select(HashFilter filter) {
+        try (RecordIterator i = recordSource.select(STORE_FILE_NAME, STORE_FILE_NAMESPACE, filter)) {
+            return collect(i);
+        }
+    }
+
+    private List<Record> select(PrefixFilter filter) {
+        try (RecordIterator i = recordSource.select(STORE_FILE_NAME, STORE_FILE_NAMESPACE, filter)) {
+            return collect(i);
+        }
+    }
+
+    private List<Record> select(IntervalFilter filter) {
+        try (RecordIterator i = recordSource.select(STORE_FILE_NAME, STORE_FILE_NAMESPACE, filter)) {
+            return collect(i);
+        }
+    }
+
+    private List<Record> select(RangeFilter filter) {
+        try (RecordIterator i = recordSource.select(STORE_FILE_NAME, STORE_FILE_NAMESPACE, filter)) {
+            return collect(i);
+        }
+    }
+
+    private static List<Record> collect(RecordIterator i) {
+        List<Record> result = new ArrayList<>();
+        while (i.hasNext()) {
+            result.add(i.next());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,119 @@
+package com.infomaximum.database.domainobject.engine;
+
+import com.infomaximum.database.domainobject.DataEnumerable;
+import com.infomaximum.database.domainobject.StoreFileDataTest;
+import com.infomaximum.database.domainobject.filter.*;
+import com.infomaximum.database.domainobject.iterator.IteratorEntity;
+import com.infomaximum.domain.StoreFileEditable;
+import com.infomaximum.domain.StoreFileReadable;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class CountTest extends StoreFileDataTest {
+
+    private static final int RECORD_COUNT = 100;
+
+    @BeforeEach
+    public void init() throws Exception {
+        super.init();
+
+        domainObjectSource.executeTransactional(transaction -> {
+            for (int i = 0; i < RECORD_COUNT; ++i) {
+                StoreFileEditable obj = transaction.create(StoreFileEditable.class);
+                obj.setSize(i % 10);
+                obj.setFileName("name" + (i % 3));
+                obj.setDouble((double) i);
+                obj.setBegin((long) i);
+                obj.setEnd((long) i + 5);
+                transaction.save(obj);
+            }
+        });
+    }
+
+    @Test
+    public void countAll() throws Exception {
+        assertCount(EmptyFilter.INSTANCE, RECORD_COUNT);
+        assertCount(new IdFilter(10, 19), 10);
+        assertCount(new IdFilter(95), 6);
+        assertCount(new IdFilter(200), 0);
+        assertCount(new IdFilter(1).setOffset(10).setLimit(20), 20);
+    }
+
+    @Test
+    public void countHash() throws Exception {
+        assertCount(new HashFilter(StoreFileReadable.FIELD_SIZE, 5L), 10);
+        assertCount(new HashFilter(StoreFileReadable.FIELD_SIZE, 50L), 0);
+        assertCount(new HashFilter(StoreFileReadable.FIELD_FILE_NAME, "name1"), 33);
+        assertCount(new HashFilter(StoreFileReadable.FIELD_FILE_NAME, "name"), 0);
+        assertCount(HashFilter.in(StoreFileReadable.FIELD_SIZE, Arrays.asList(1L, 2L)), 20);
+        assertCount(new HashFilter(StoreFileReadable.FIELD_SIZE, 5L).setOffset(8), 2);
+    }
+
+    @Test
+    public void countIntervalAndRange() throws Exception {
+        assertCount(new IntervalFilter(StoreFileReadable.FIELD_DOUBLE, 20.0, 29.0), 10);
+        assertCount(new IntervalFilter(StoreFileReadable.FIELD_SIZE, 3L, 4L)
+                .appendHashedField(StoreFileReadable.FIELD_FILE_NAME, "name0"), 7);
+        assertCount(new IntervalFilter(StoreFileReadable.FIELD_DOUBLE, 20.0, 29.0).setLimit(3), 3);
+        assertCount(new RangeFilter(new RangeFilter.IndexedField(StoreFileReadable.FIELD_BEGIN, StoreFileReadable.FIELD_END), 10L, 12L), -1);
+    }
+
+    @Test
+    public void countPrefixAndAnd() throws Exception {
+        assertCount(new PrefixFilter(StoreFileReadable.FIELD_FILE_NAME, "nam"), RECORD_COUNT);
+        assertCount(new AndFilter(
+                new HashFilter(StoreFileReadable.FIELD_SIZE, 5L),
+                new IntervalFilter(StoreFileReadable.FIELD_DOUBLE, 20.0, 60.0)
+        ), 4);
+    }
+
+    @Test
+    public void countInTransaction() throws Exception {
+        domainObjectSource.executeTransactional(transaction -> {
+            transaction.remove(transaction.get(StoreFileEditable.class, 6));
+            transaction.remove(transaction.get(StoreFileEditable.class, 16));
+
+            assertCount(transaction, new HashFilter(StoreFileReadable.FIELD_SIZE, 5L), 8);
+            assertCount(transaction, new IdFilter(1, 20), 18);
+            Assertions.assertThat(transaction.exists(StoreFileReadable.class, new IdFilter(6, 6))).isFalse();
+        });
+
+        recordSource.executeTransactional(dataCommand -> {
+            dataCommand.deleteRecord(STORE_FILE_NAME, STORE_FILE_NAMESPACE, 7L);
+
+            Assertions.assertThat(dataCommand.count(STORE_FILE_NAME, STORE_FILE_NAMESPACE, new HashFilter(StoreFileReadable.FIELD_SIZE, 6L))).isEqualTo(9);
+            Assertions.assertThat(dataCommand.exists(STORE_FILE_NAME, STORE_FILE_NAMESPACE, new IdFilter(7, 7))).isFalse();
+        });
+    }
+
+    /**
+     * @param expected ожидаемое количество или -1, если оно определяется перебором объектов
+     */
+    private void assertCount(Filter filter, long expected) throws Exception {
+        assertCount(domainObjectSource, filter, expected);
+
+        if (expected == -1) {
+            expected = domainObjectSource.count(StoreFileReadable.class, filter);
+        }
+        Assertions.assertThat(recordSource.count(STORE_FILE_NAME, STORE_FILE_NAMESPACE, filter)).isEqualTo(expected);
+        Assertions.assertThat(recordSource.exists(STORE_FILE_NAME, STORE_FILE_NAMESPACE, filter)).isEqualTo(expected > 0);
+    }
+
+    private void assertCount(DataEnumerable enumerable, Filter filter, long expected) throws Exception {
+        long iterated = 0;
+        try (IteratorEntity<StoreFileReadable> iterator = enumerable.find(StoreFileReadable.class, filter)) {
+            for (; iterator.hasNext(); iterator.next()) {
+                ++iterated;
+            }
+        }
+        if (expected != -1) {
+            Assertions.assertThat(iterated).isEqualTo(expected);
+        }
+
+        Assertions.assertThat(enumerable.count(StoreFileReadable.class, filter)).isEqualTo(iterated);
+        Assertions.assertThat(enumerable.exists(StoreFileReadable.class, filter)).isEqualTo(iterated > 0);
+    }
+}
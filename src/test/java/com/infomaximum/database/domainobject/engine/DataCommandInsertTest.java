@@ -5,6 +5,7 @@ import com.infomaximum.database.RecordIterator;
 import com.infomaximum.database.domainobject.StoreFileDataTest;
 import com.infomaximum.database.domainobject.filter.*;
 import com.infomaximum.database.exception.ForeignDependencyException;
+import com.infomaximum.database.provider.DBBulkWriteConfig;
 import com.infomaximum.database.utils.TableUtils;
 import com.infomaximum.domain.StoreFileReadable;
 import org.assertj.core.api.Assertions;
@@ -218,6 +219,41 @@ public class DataCommandInsertTest extends StoreFileDataTest {
                 .isInstanceOf(ForeignDependencyException.class);
     }
 
+    @Test
+    public void insertByBulkWrite() throws Exception {
+        String tableName = "StoreFile";
+        String namespace = "com.infomaximum.store";
+        List<Record> expected = new ArrayList<>();
+
+        DBBulkWriteConfig config = DBBulkWriteConfig.newBuilder()
+                .withFlushThresholdBytes(1024)
+                .withDisableWal(true)
+                .build();
+        recordSource.executeBulkWrite(config, dataCommand -> {
+            long folderId = dataCommand.insertRecord("ExchangeFolder", "com.infomaximum.exchange", new String[]{"uuid"}, new Object[]{"uuid"});
+            for (long i = 0; i < 200; ++i) {
+                String[] fields = new String[]{"size", "name", "folder_id", "begin", "end"};
+                Object[] values = new Object[]{i % 10, "name" + i, folderId, i, i + 5};
+                long id = dataCommand.insertRecord(tableName, namespace, fields, values);
+                if (i % 10 == 3) {
+                    expected.add(buildRecord(id, fields, values, tableName, namespace));
+                }
+            }
+        });
+
+        assertThatFilteredRecordsContainsExactly(expected, tableName, namespace,
+                new HashFilter(StoreFileReadable.FIELD_SIZE, 3L),
+                new PrefixFilter(StoreFileReadable.FIELD_FILE_NAME, "name")
+        );
+        try (RecordIterator i = recordSource.select(tableName, namespace, new HashFilter(StoreFileReadable.FIELD_SIZE, 3L))) {
+            int count = 0;
+            for (; i.hasNext(); i.next()) {
+                ++count;
+            }
+            Assertions.assertThat(count).isEqualTo(expected.size());
+        }
+    }
+
     private void insertStoreFilesData(String tableName, String namespace) throws Exception {
         String[] folderFields = new String[] {"uuid"};
         String[] folderFieldValues = new String[] {"uuid"};
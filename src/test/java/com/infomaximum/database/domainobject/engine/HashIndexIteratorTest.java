@@ -16,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import java.lang.reflect.Field;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.LongPredicate;
 
 public class HashIndexIteratorTest extends StoreFileDataTest {
 
@@ -305,6 +306,92 @@ public class HashIndexIteratorTest extends StoreFileDataTest {
         assertFind(new HashFilter(StoreFileReadable.FIELD_SIZE, 2L), newObj[0].getId());
     }
 
+    @Test
+    public void findIn() throws Exception {
+        fillSizesAndNames(100);
+
+        assertFindBoth(HashFilter.in(StoreFileReadable.FIELD_SIZE, Arrays.asList(3L, 5L, 5L, 42L)),
+                i -> i % 10 == 3 || i % 10 == 5);
+        assertFindBoth(HashFilter.in(StoreFileReadable.FIELD_FILE_NAME, Arrays.asList("NAME1", "name2")),
+                i -> i % 3 != 0);
+        assertFindBoth(HashFilter.in(StoreFileReadable.FIELD_SIZE, Arrays.asList(1L, 2L))
+                        .appendFieldIn(StoreFileReadable.FIELD_FILE_NAME, Collections.singletonList("name0")),
+                i -> (i % 10 == 1 || i % 10 == 2) && i % 3 == 0);
+        assertFindBoth(new HashFilter(StoreFileReadable.FIELD_FILE_NAME, "name0")
+                        .appendFieldIn(StoreFileReadable.FIELD_SIZE, Arrays.asList(9L, 0L)),
+                i -> (i % 10 == 9 || i % 10 == 0) && i % 3 == 0);
+        assertFindBoth(HashFilter.in(StoreFileReadable.FIELD_SIZE, Collections.emptyList()), i -> false);
+    }
+
+    @Test
+    public void findInSortedById() throws Exception {
+        fillSizesAndNames(100);
+
+        HashFilter filter = HashFilter.in(StoreFileReadable.FIELD_SIZE, Arrays.asList(7L, 2L, 4L)).setSortedById(true);
+        List<Long> expected = new ArrayList<>();
+        for (long i = 0; i < 100; ++i) {
+            if (i % 10 == 7 || i % 10 == 2 || i % 10 == 4) {
+                expected.add(i + 1);
+            }
+        }
+
+        List<Long> actual = new ArrayList<>();
+        try (RecordIterator iterator = recordSource.select(STORE_FILE_NAME, STORE_FILE_NAMESPACE, filter)) {
+            while (iterator.hasNext()) {
+                actual.add(iterator.next().getId());
+            }
+        }
+        Assertions.assertThat(actual).isEqualTo(expected);
+
+        actual.clear();
+        try (IteratorEntity<StoreFileReadable> iterator = domainObjectSource.find(StoreFileReadable.class, filter)) {
+            while (iterator.hasNext()) {
+                actual.add(iterator.next().getId());
+            }
+        }
+        Assertions.assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    public void findPage() throws Exception {
+        fillSizesAndNames(100);
+
+        assertFindBoth(new HashFilter(StoreFileReadable.FIELD_SIZE, 3L).setOffset(2).setLimit(3),
+                i -> i == 23 || i == 33 || i == 43);
+        assertFindBoth(new HashFilter(StoreFileReadable.FIELD_FILE_NAME, "name1").setOffset(5).setLimit(2),
+                i -> i == 16 || i == 19);
+        assertFindBoth(new HashFilter(StoreFileReadable.FIELD_SIZE, 3L).setStartAfterId(50).setLimit(2),
+                i -> i == 53 || i == 63);
+        assertFindBoth(new HashFilter(StoreFileReadable.FIELD_FILE_NAME, "name1").setStartAfterId(90),
+                i -> i > 89 && i % 3 == 1);
+        assertFindBoth(HashFilter.in(StoreFileReadable.FIELD_SIZE, Arrays.asList(3L, 5L)).setSortedById(true).setOffset(1).setLimit(3),
+                i -> i == 5 || i == 13 || i == 15);
+        assertFindBoth(new HashFilter(StoreFileReadable.FIELD_SIZE, 3L).setLimit(0), i -> false);
+        assertFindBoth(new HashFilter(StoreFileReadable.FIELD_SIZE, 3L).setOffset(10), i -> false);
+    }
+
+    private void fillSizesAndNames(int recordCount) throws Exception {
+        domainObjectSource.executeTransactional(transaction -> {
+            for (int i = 0; i < recordCount; i++) {
+                StoreFileEditable obj = transaction.create(StoreFileEditable.class);
+                obj.setSize(i % 10);
+                obj.setFileName("name" + (i % 3));
+                transaction.save(obj);
+            }
+        });
+    }
+
+    private void assertFindBoth(HashFilter filter, LongPredicate indexPredicate) throws Exception {
+        List<Long> expectedIds = new ArrayList<>();
+        for (long i = 0; i < 100; ++i) {
+            if (indexPredicate.test(i)) {
+                expectedIds.add(i + 1);
+            }
+        }
+        assertFind(filter, expectedIds);
+        testFind(filter, expectedIds);
+    }
+
     private List<StoreFileReadable> initAndFillStoreFiles(DomainObjectSource domainObjectSource, int recordCount) throws Exception {
         List<StoreFileReadable> result = new ArrayList<>();
         domainObjectSource.executeTransactional(transaction -> {
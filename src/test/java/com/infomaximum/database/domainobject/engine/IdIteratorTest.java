@@ -40,6 +40,24 @@ public class IdIteratorTest extends StoreFileDataTest {
         assertFilter(11, 11L, new IdFilter(11, 11));
     }
 
+    @Test
+    public void page() throws Exception {
+        final int insertedRecordCount = 10;
+        initAndFillStoreFiles(domainObjectSource, insertedRecordCount);
+
+        assertFilter(5, 8, new IdFilter(2).setOffset(3).setLimit(4));
+        assertFilter(9, 10, new IdFilter(0).setOffset(8));
+        assertFilter(0, 0, new IdFilter(0).setOffset(10));
+        assertFilter(0, 0, new IdFilter(0).setLimit(0));
+        testFind(new IdFilter(2).setOffset(3).setLimit(4), 5, 6, 7, 8);
+
+        recordSource.executeTransactional(transaction -> {
+            transaction.deleteRecord(STORE_FILE_NAME, STORE_FILE_NAMESPACE, 3L);
+
+            assertFind(transaction, new IdFilter(2).setOffset(1).setLimit(2), 4, 5);
+        });
+    }
+
     @Test
     public void loadTwoFields() throws Exception {
         final int insertedRecordCount = 10;
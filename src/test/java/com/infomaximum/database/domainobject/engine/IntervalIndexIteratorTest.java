@@ -294,6 +294,38 @@ public class IntervalIndexIteratorTest extends StoreFileDataTest {
                 new IntervalFilter(StoreFileReadable.FIELD_SIZE, 2L, 5L));
     }
 
+    @Test
+    public void pageAndStartAfter() throws Exception {
+        domainObjectSource.executeTransactional(transaction -> {
+            for (long size : new long[]{0, 2, 2, 5, 5, 5}) {
+                StoreFileEditable obj = transaction.create(StoreFileEditable.class);
+                obj.setSize(size);
+                obj.setFileName("name");
+                transaction.save(obj);
+            }
+        });
+
+        IntervalFilter filter = new IntervalFilter(StoreFileReadable.FIELD_SIZE, -5L, 10L);
+        Assert.assertEquals(Arrays.asList(2L, 3L, 4L), getIds(filter.setOffset(1).setLimit(3)));
+        Assert.assertEquals(Arrays.asList(5L, 4L, 3L), getIds(filter.setSortDirection(SortDirection.DESC)));
+
+        filter = new IntervalFilter(StoreFileReadable.FIELD_SIZE, -5L, 10L);
+        Assert.assertEquals(Arrays.asList(3L, 4L, 5L, 6L), getIds(filter.setStartAfter(2L, 2)));
+        Assert.assertEquals(Arrays.asList(4L, 5L), getIds(filter.setStartAfter(2L, 3).setLimit(2)));
+        Assert.assertEquals(Arrays.asList(4L, 3L, 2L, 1L), getIds(new IntervalFilter(StoreFileReadable.FIELD_SIZE, -5L, 10L)
+                .setSortDirection(SortDirection.DESC)
+                .setStartAfter(5L, 5)));
+        Assert.assertEquals(Arrays.asList(2L, 3L, 4L, 5L, 6L), getIds(new IntervalFilter(StoreFileReadable.FIELD_SIZE, 2L, 5L)
+                .setStartAfter(-1L, 9)));
+        Assert.assertEquals(Collections.emptyList(), getIds(new IntervalFilter(StoreFileReadable.FIELD_SIZE, 2L, 5L)
+                .setStartAfter(5L, 6)));
+
+        filter = new IntervalFilter(StoreFileReadable.FIELD_SIZE, -5L, 10L)
+                .appendHashedField(StoreFileEditable.FIELD_FILE_NAME, "name")
+                .setStartAfter(2L, 2);
+        Assert.assertEquals(Arrays.asList(4L, 5L), getIds(filter.setOffset(1).setLimit(2)));
+    }
+
     @Test
     public void iterateAndChange() throws Exception {
         final String name = "name";
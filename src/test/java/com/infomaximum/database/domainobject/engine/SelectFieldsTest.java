@@ -0,0 +1,121 @@
+package com.infomaximum.database.domainobject.engine;
+
+import com.infomaximum.database.Record;
+import com.infomaximum.database.RecordIterator;
+import com.infomaximum.database.domainobject.StoreFileDataTest;
+import com.infomaximum.database.domainobject.filter.*;
+import com.infomaximum.domain.StoreFileEditable;
+import com.infomaximum.domain.StoreFileReadable;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+public class SelectFieldsTest extends StoreFileDataTest {
+
+    private static final int RECORD_COUNT = 50;
+    private static final Set<String> SIZE_AND_DOUBLE = new HashSet<>(List.of("size", "double"));
+
+    @BeforeEach
+    public void init() throws Exception {
+        super.init();
+
+        domainObjectSource.executeTransactional(transaction -> {
+            for (int i = 0; i < RECORD_COUNT; ++i) {
+                StoreFileEditable obj = transaction.create(StoreFileEditable.class);
+                obj.setSize(i % 10);
+                obj.setFileName("name" + (i % 3));
+                obj.setContentType("type");
+                obj.setDouble((double) i);
+                obj.setData(new byte[1024]);
+                transaction.save(obj);
+            }
+        });
+    }
+
+    @Test
+    public void selectAll() throws Exception {
+        List<Record> records = select(recordSource.select(STORE_FILE_NAME, STORE_FILE_NAMESPACE, SIZE_AND_DOUBLE));
+        assertIds(records, LongStream.rangeClosed(1, RECORD_COUNT).boxed().collect(Collectors.toList()));
+        assertOnlyLoaded(records, StoreFileReadable.FIELD_SIZE, StoreFileReadable.FIELD_DOUBLE);
+    }
+
+    @Test
+    public void selectById() throws Exception {
+        List<Record> records = select(recordSource.select(STORE_FILE_NAME, STORE_FILE_NAMESPACE, new IdFilter(5, 9), SIZE_AND_DOUBLE));
+        assertIds(records, List.of(5L, 6L, 7L, 8L, 9L));
+        assertOnlyLoaded(records, StoreFileReadable.FIELD_SIZE, StoreFileReadable.FIELD_DOUBLE);
+
+        Record record = recordSource.getById(STORE_FILE_NAME, STORE_FILE_NAMESPACE, 7, Collections.singleton("size"));
+        Assertions.assertThat(record.getValues()[StoreFileReadable.FIELD_SIZE]).isEqualTo(6L);
+        Assertions.assertThat(record.getValues()[StoreFileReadable.FIELD_DOUBLE]).isNull();
+    }
+
+    @Test
+    public void selectByIndex() throws Exception {
+        List<Record> records = select(recordSource.select(STORE_FILE_NAME, STORE_FILE_NAMESPACE,
+                new HashFilter(StoreFileReadable.FIELD_SIZE, 4L), SIZE_AND_DOUBLE));
+        assertIds(records, List.of(5L, 15L, 25L, 35L, 45L));
+        assertOnlyLoaded(records, StoreFileReadable.FIELD_SIZE, StoreFileReadable.FIELD_DOUBLE);
+
+        records = select(recordSource.select(STORE_FILE_NAME, STORE_FILE_NAMESPACE,
+                new IntervalFilter(StoreFileReadable.FIELD_DOUBLE, 10.0, 12.0), Collections.singleton("double")));
+        assertIds(records, List.of(11L, 12L, 13L));
+        assertOnlyLoaded(records, StoreFileReadable.FIELD_DOUBLE);
+
+        records = select(recordSource.select(STORE_FILE_NAME, STORE_FILE_NAMESPACE, new AndFilter(
+                new HashFilter(StoreFileReadable.FIELD_SIZE, 4L),
+                new IntervalFilter(StoreFileReadable.FIELD_DOUBLE, 10.0, 30.0)
+        ), Collections.emptySet()));
+        assertIds(records, List.of(15L, 25L));
+        assertOnlyLoaded(records);
+    }
+
+    @Test
+    public void selectWithCheckedFields() throws Exception {
+        List<Record> records = select(recordSource.select(STORE_FILE_NAME, STORE_FILE_NAMESPACE,
+                new HashFilter(StoreFileReadable.FIELD_FILE_NAME, "name1").setLimit(3), Collections.singleton("size")));
+        assertIds(records, List.of(2L, 5L, 8L));
+        for (Record record : records) {
+            Assertions.assertThat(record.getValues()[StoreFileReadable.FIELD_SIZE]).isNotNull();
+            Assertions.assertThat(record.getValues()[StoreFileReadable.FIELD_CONTENT_TYPE]).isNull();
+            Assertions.assertThat(record.getValues()[StoreFileReadable.FIELD_DATA]).isNull();
+        }
+    }
+
+    private static List<Record> select(RecordIterator iterator) throws Exception {
+        List<Record> result = new ArrayList<>();
+        try (RecordIterator i = iterator) {
+            while (i.hasNext()) {
+                result.add(i.next());
+            }
+        }
+        return result;
+    }
+
+    private static void assertIds(List<Record> records, List<Long> expected) {
+        Assertions.assertThat(records.stream().map(Record::getId).collect(Collectors.toList())).isEqualTo(expected);
+    }
+
+    private static void assertOnlyLoaded(List<Record> records, int... fields) {
+        for (Record record : records) {
+            Object[] values = record.getValues();
+            for (int i = 0; i < values.length; ++i) {
+                final int field = i;
+                if (Arrays.stream(fields).anyMatch(f -> f == field)) {
+                    Assertions.assertThat(values[i]).isNotNull();
+                } else {
+                    Assertions.assertThat(values[i]).isNull();
+                }
+            }
+        }
+    }
+}
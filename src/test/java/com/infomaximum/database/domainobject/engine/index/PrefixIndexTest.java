@@ -151,6 +151,35 @@ public class PrefixIndexTest extends StoreFileDataTest {
         Assertions.assertThat(currentLexemes.size()).isEqualTo(0);
     }
 
+    @Test
+    public void removeFromOverflowedBlock() throws Exception {
+        final int recordCountForFullBlock = PrefixIndexUtils.PREFERRED_MAX_ID_COUNT_PER_BLOCK;
+        byte[] bufferForFullBlock = createRecords(recordCountForFullBlock).array();
+
+        final int recordCount = 10;
+        byte[] buffer = createRecords(recordCount).array();
+
+        final long removingId = PrefixIndexUtils.PREFERRED_MAX_ID_COUNT_PER_BLOCK + 3;
+        recordSource.executeTransactional(transaction -> transaction.deleteRecord(STORE_FILE_NAME, STORE_FILE_NAMESPACE, removingId));
+        buffer = PrefixIndexUtils.removeId(removingId, buffer);
+
+        List<String> currentLexemes = new ArrayList<>(lexemes);
+        try (DBIterator iterator = rocksDBProvider.createIterator(indexColumnFamily)) {
+            KeyValue keyValue = iterator.seek(buildAttendantPrefixIndex());
+            while (keyValue != null) {
+                Assertions.assertThat(PrefixIndexKey.unpack(keyValue.getKey()).getBlockNumber()).isEqualTo(0);
+                Assertions.assertThat(bufferForFullBlock).containsExactly(keyValue.getValue());
+
+                keyValue = iterator.next();
+                assertEquals(1, buffer, currentLexemes, keyValue);
+
+                keyValue = iterator.next();
+            }
+        }
+
+        Assertions.assertThat(currentLexemes.size()).isEqualTo(0);
+    }
+
     @Test
     public void update() throws Exception {
         final int recordCount = 1;
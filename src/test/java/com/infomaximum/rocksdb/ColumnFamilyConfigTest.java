@@ -1,21 +1,31 @@
 package com.infomaximum.rocksdb;
 
+import com.infomaximum.database.provider.DBTransaction;
 import com.infomaximum.database.utils.TypeConvert;
+import com.infomaximum.rocksdb.options.columnfamily.BlockCacheConfig;
 import com.infomaximum.rocksdb.options.columnfamily.ColumnFamilyConfig;
+import com.infomaximum.rocksdb.options.columnfamily.ColumnFamilyConfigMapper;
 import org.apache.commons.io.FileUtils;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.rocksdb.AbstractNativeReference;
+import org.rocksdb.BlockBasedTableConfig;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompressionType;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.util.SizeUnit;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class ColumnFamilyConfigTest {
@@ -203,4 +213,101 @@ public class ColumnFamilyConfigTest {
             Assertions.assertThat(fourthColumnDescriptor.getOptions().writeBufferSize()).isEqualTo(64L * SizeUnit.MB);
         }
     }
+
+    @Test
+    @DisplayName("Тест настроек таблицы и общего кеша блоков, настройки таблицы применяются к семействам колонок по маске")
+    public void tableOptionsConfiguredColumnTest() throws RocksDBException {
+        final ColumnFamilyConfig tableConfig = ColumnFamilyConfig.newBuilder()
+                .withBlockSize(16L * SizeUnit.KB)
+                .withBloomFilterBitsPerKey(10.0)
+                .withWholeKeyFiltering(true)
+                .withCacheIndexAndFilterBlocks(true)
+                .withPinL0FilterAndIndexBlocksInCache(true)
+                .build();
+        List<AbstractNativeReference> resources = new ArrayList<>();
+        try (ColumnFamilyOptions options = ColumnFamilyConfigMapper.toRocksDbOpt(tableConfig, resources)) {
+            Assertions.assertThat(options.tableFormatConfig()).isInstanceOf(BlockBasedTableConfig.class);
+            Assertions.assertThat(((BlockBasedTableConfig) options.tableFormatConfig()).blockSize()).isEqualTo(16L * SizeUnit.KB);
+            Assertions.assertThat(resources).hasSize(1);
+        } finally {
+            resources.forEach(AbstractNativeReference::close);
+        }
+
+        final String firstColumnName = "com.infomaximum.subsystem.test";
+        final String secondColumnName = "com.infomaximum.subsystem.otherName";
+        final byte[] key = TypeConvert.pack(1L);
+        Map<String, ColumnFamilyConfig> configuredColumnFamilies = new HashMap<String, ColumnFamilyConfig>() {{
+            put("^com\\.infomaximum\\.subsystem\\.test.*$", tableConfig);
+        }};
+        for (int i = 0; i < 2; ++i) {
+            try (RocksDBProvider rocksDBProvider = new RocksDataBaseBuilder()
+                    .withPath(pathDataBase)
+                    .withBlockCache(BlockCacheConfig.newBuilder().withCapacity(16L * SizeUnit.MB).build())
+                    .withConfigColumnFamilies(configuredColumnFamilies)
+                    .build()) {
+                if (i == 0) {
+                    rocksDBProvider.createColumnFamily(firstColumnName, tableConfig);
+                    rocksDBProvider.createColumnFamily(secondColumnName);
+                    try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+                        transaction.put(firstColumnName, key, key);
+                        transaction.put(secondColumnName, key, key);
+                        transaction.commit();
+                    }
+                    rocksDBProvider.compactRange();
+                }
+
+                Assertions.assertThat(rocksDBProvider.getValue(firstColumnName, key)).isEqualTo(key);
+                Assertions.assertThat(rocksDBProvider.getValue(firstColumnName, TypeConvert.pack(2L))).isNull();
+                Assertions.assertThat(rocksDBProvider.getValue(secondColumnName, key)).isEqualTo(key);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Тест настроек сжатия, данные читаются после компактификации со словарем ZSTD")
+    public void compressionConfiguredColumnTest() throws RocksDBException {
+        final ColumnFamilyConfig compressionConfig = ColumnFamilyConfig.newBuilder()
+                .withCompressionPerLevel(Arrays.asList(CompressionType.NO_COMPRESSION, CompressionType.LZ4_COMPRESSION))
+                .withCompressionType(CompressionType.LZ4_COMPRESSION)
+                .withBottommostCompressionType(CompressionType.ZSTD_COMPRESSION)
+                .withCompressionLevel(3)
+                .withCompressionMaxDictBytes(16 * 1024)
+                .withZstdMaxTrainBytes(100 * 16 * 1024)
+                .build();
+        List<AbstractNativeReference> resources = new ArrayList<>();
+        try (ColumnFamilyOptions options = ColumnFamilyConfigMapper.toRocksDbOpt(compressionConfig, resources)) {
+            Assertions.assertThat(options.bottommostCompressionType()).isEqualTo(CompressionType.ZSTD_COMPRESSION);
+            Assertions.assertThat(options.compressionPerLevel()).containsExactly(CompressionType.NO_COMPRESSION, CompressionType.LZ4_COMPRESSION);
+            Assertions.assertThat(options.compressionOptions().maxDictBytes()).isEqualTo(16 * 1024);
+            Assertions.assertThat(resources).hasSize(1);
+        } finally {
+            resources.forEach(AbstractNativeReference::close);
+        }
+
+        final String columnName = "com.infomaximum.subsystem.test";
+        Map<String, ColumnFamilyConfig> configuredColumnFamilies = new HashMap<String, ColumnFamilyConfig>() {{
+            put("^com\\.infomaximum\\.subsystem\\..*$", compressionConfig);
+        }};
+        for (int i = 0; i < 2; ++i) {
+            try (RocksDBProvider rocksDBProvider = new RocksDataBaseBuilder()
+                    .withPath(pathDataBase)
+                    .withConfigColumnFamilies(configuredColumnFamilies)
+                    .build()) {
+                if (i == 0) {
+                    rocksDBProvider.createColumnFamily(columnName, compressionConfig);
+                    try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+                        for (long id = 0; id < 1000; ++id) {
+                            transaction.put(columnName, TypeConvert.pack(id), TypeConvert.pack("value of record " + id));
+                        }
+                        transaction.commit();
+                    }
+                    rocksDBProvider.compactRange();
+                }
+
+                for (long id = 0; id < 1000; id += 100) {
+                    Assertions.assertThat(rocksDBProvider.getValue(columnName, TypeConvert.pack(id))).isEqualTo(TypeConvert.pack("value of record " + id));
+                }
+            }
+        }
+    }
 }
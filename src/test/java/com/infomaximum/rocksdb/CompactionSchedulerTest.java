@@ -0,0 +1,69 @@
+package com.infomaximum.rocksdb;
+
+import com.infomaximum.database.provider.DBTransaction;
+import com.infomaximum.database.utils.TypeConvert;
+import com.infomaximum.rocksdb.metrics.CompactionQueueMetrics;
+import com.infomaximum.rocksdb.options.compaction.CompactionSchedulerConfig;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class CompactionSchedulerTest extends RocksDataTest {
+
+    private static final String columnFamily = "test_cf";
+
+    @Test
+    public void compactDeletedRanges() throws Exception {
+        CompactionSchedulerConfig config = CompactionSchedulerConfig.newBuilder()
+                .withDeleteThreshold(100)
+                .withRangeDeleteThreshold(2)
+                .withCheckIntervalMillis(60_000)
+                .withMinCompactionIntervalMillis(0)
+                .build();
+        try (RocksDBProvider rocksDBProvider = new RocksDataBaseBuilder()
+                .withPath(pathDataBase)
+                .withCompactionScheduler(config)
+                .build()) {
+            rocksDBProvider.createColumnFamily(columnFamily);
+            try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+                for (long i = 0; i < 1000; ++i) {
+                    transaction.put(columnFamily, TypeConvert.pack(i), TypeConvert.EMPTY_BYTE_ARRAY);
+                }
+                transaction.commit();
+            }
+
+            try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+                transaction.deleteRange(columnFamily, TypeConvert.pack(10L), TypeConvert.pack(20L));
+                transaction.commit();
+            }
+            try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+                transaction.deleteRange(columnFamily, TypeConvert.pack(15L), TypeConvert.pack(30L));
+                transaction.delete(columnFamily, TypeConvert.pack(500L));
+                transaction.rollback();
+            }
+
+            List<CompactionQueueMetrics> queue = rocksDBProvider.getMetrics().getCompactionQueue();
+            Assert.assertEquals(1, queue.size());
+            Assert.assertEquals(columnFamily, queue.get(0).getColumnFamily());
+            Assert.assertEquals(1, queue.get(0).getRangeDeletes());
+            Assert.assertFalse(rocksDBProvider.getCompactionScheduler().compactNext());
+
+            try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+                transaction.deleteRange(columnFamily, TypeConvert.pack(15L), TypeConvert.pack(30L));
+                transaction.delete(columnFamily, TypeConvert.pack(500L));
+                transaction.commit();
+            }
+
+            queue = rocksDBProvider.getMetrics().getCompactionQueue();
+            Assert.assertEquals(2, queue.get(0).getRangeDeletes());
+            Assert.assertEquals(1, queue.get(0).getDeletes());
+            Assert.assertEquals(1, queue.get(0).getRanges());
+
+            Assert.assertTrue(rocksDBProvider.getCompactionScheduler().compactNext());
+            Assert.assertTrue(rocksDBProvider.getMetrics().getCompactionQueue().isEmpty());
+            Assert.assertNull(rocksDBProvider.getValue(columnFamily, TypeConvert.pack(25L)));
+            Assert.assertNotNull(rocksDBProvider.getValue(columnFamily, TypeConvert.pack(30L)));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.infomaximum.rocksdb;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+public class DeletedRangesTest {
+
+    @Test
+    public void containsByteBuffer() {
+        DeletedRanges ranges = new DeletedRanges();
+        Assert.assertFalse(ranges.contains(key(0x10)));
+
+        ranges.add(bytes(0x10), bytes(0x20));
+        ranges.add(bytes(0x80), bytes(0xF0));
+        ranges.restore(bytes(0x15));
+
+        assertContains(ranges, false, 0x0F);
+        assertContains(ranges, true, 0x10);
+        assertContains(ranges, false, 0x15);
+        assertContains(ranges, true, 0x15, 0x00);
+        assertContains(ranges, true, 0x1F, 0xFF);
+        assertContains(ranges, false, 0x20);
+        assertContains(ranges, true, 0x90);
+        assertContains(ranges, false, 0xF0);
+
+        ranges.add(bytes(0x20), bytes(0x30));
+        assertContains(ranges, true, 0x20);
+
+        ranges.clear();
+        assertContains(ranges, false, 0x10);
+    }
+
+    @Test
+    public void restoredKeyOutsideOverlappingRange() {
+        DeletedRanges ranges = new DeletedRanges();
+        ranges.add(bytes(0x10), bytes(0x20));
+        ranges.restore(bytes(0x12));
+        ranges.add(bytes(0x15), bytes(0x30));
+
+        assertContains(ranges, false, 0x12);
+        assertContains(ranges, true, 0x11);
+        assertContains(ranges, true, 0x25);
+
+        ranges.add(bytes(0x11), bytes(0x13));
+        assertContains(ranges, true, 0x12);
+    }
+
+    private static void assertContains(DeletedRanges ranges, boolean expected, int... key) {
+        Assert.assertEquals(expected, ranges.contains(bytes(key)));
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(key.length + 2);
+        buffer.put((byte) 0x7F).put(bytes(key)).put((byte) 0x7F);
+        buffer.position(1).limit(key.length + 1);
+        Assert.assertEquals(expected, ranges.contains(buffer));
+        Assert.assertEquals(1, buffer.position());
+    }
+
+    private static ByteBuffer key(int... key) {
+        return ByteBuffer.wrap(bytes(key));
+    }
+
+    private static byte[] bytes(int... key) {
+        byte[] result = new byte[key.length];
+        for (int i = 0; i < key.length; ++i) {
+            result[i] = (byte) key[i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,69 @@
+package com.infomaximum.rocksdb;
+
+import com.infomaximum.database.provider.DBTransaction;
+import com.infomaximum.database.utils.TypeConvert;
+import com.infomaximum.rocksdb.backup.CheckpointBackupConfig;
+import com.infomaximum.rocksdb.backup.RocksDBRestoreBackup;
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class RocksDBBackupTest extends RocksDataTest {
+
+    private static final String columnFamily = "test_cf";
+
+    @Test
+    public void checkpointBackup() throws Exception {
+        Path backupPath = Files.createTempDirectory("rocksdb_backup");
+        Path restorePath = Files.createTempDirectory("rocksdb_restore");
+        try {
+            CheckpointBackupConfig config = CheckpointBackupConfig.newBuilder()
+                    .withMaxBackups(2)
+                    .withCopyRateBytesPerSecond(64L * 1024 * 1024)
+                    .build();
+            try (RocksDBProvider provider = new RocksDataBaseBuilder().withPath(pathDataBase).build()) {
+                provider.createColumnFamily(columnFamily);
+                for (long i = 0; i < 3; ++i) {
+                    try (DBTransaction transaction = provider.beginTransaction()) {
+                        transaction.put(columnFamily, TypeConvert.pack(i), TypeConvert.pack(i));
+                        transaction.commit();
+                    }
+                    provider.getRocksDBBackup().create(backupPath, config);
+                }
+            }
+
+            String[] backups = backupPath.toFile().list();
+            Assert.assertNotNull(backups);
+            Assert.assertEquals(2, backups.length);
+
+            // неизменившиеся SST-файлы предыдущей копии не копируются повторно
+            Path prevBackup = backupPath.resolve("2");
+            Path lastBackup = backupPath.resolve("3");
+            int linkedCount = 0;
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(prevBackup, "*.sst")) {
+                for (Path file : files) {
+                    Assert.assertTrue(Files.isSameFile(file, lastBackup.resolve(file.getFileName())));
+                    ++linkedCount;
+                }
+            }
+            Assert.assertTrue(linkedCount > 0);
+
+            RocksDBRestoreBackup.restore(backupPath, restorePath);
+            try (RocksDBProvider provider = new RocksDataBaseBuilder().withPath(restorePath).build()) {
+                for (long i = 0; i < 3; ++i) {
+                    Assert.assertArrayEquals(TypeConvert.pack(i), provider.getValue(columnFamily, TypeConvert.pack(i)));
+                }
+            }
+            // восстановленная база получает собственный IDENTITY, поэтому ее SST-файлы не связываются с копиями исходной
+            Assert.assertFalse(Arrays.equals(Files.readAllBytes(lastBackup.resolve("IDENTITY")), Files.readAllBytes(restorePath.resolve("IDENTITY"))));
+        } finally {
+            FileUtils.deleteDirectory(backupPath.toFile());
+            FileUtils.deleteDirectory(restorePath.toFile());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.infomaximum.rocksdb;
+
+import com.infomaximum.database.provider.DBCursor;
+import com.infomaximum.database.provider.DBIterator;
+import com.infomaximum.database.provider.DBIteratorOptions;
+import com.infomaximum.database.provider.DBTransaction;
+import com.infomaximum.database.provider.KeyPattern;
+import com.infomaximum.database.utils.TypeConvert;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+public class RocksDBCursorTest extends RocksDataTest {
+
+    private static final String columnFamily = "test_cf";
+
+    private RocksDBProvider rocksDBProvider;
+
+    @Before
+    public void init() throws Exception {
+        super.init();
+
+        rocksDBProvider = new RocksDataBaseBuilder().withPath(pathDataBase).build();
+        rocksDBProvider.createColumnFamily(columnFamily);
+    }
+
+    @After
+    public void destroy() throws Exception {
+        rocksDBProvider.close();
+
+        super.destroy();
+    }
+
+    @Test
+    public void readBuffers() throws Exception {
+        final byte[] longKey = new byte[1000];
+        TypeConvert.pack(2L, longKey, 0);
+        final byte[] longValue = new byte[10000];
+        longValue[longValue.length - 1] = 7;
+        try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+            transaction.put(columnFamily, TypeConvert.pack(1L), TypeConvert.pack(10L));
+            transaction.put(columnFamily, longKey, longValue);
+            transaction.put(columnFamily, TypeConvert.pack(3L), TypeConvert.pack(30L));
+            transaction.commit();
+        }
+
+        try (DBCursor cursor = rocksDBProvider.createCursor(columnFamily, DBIteratorOptions.DEFAULT)) {
+            Assert.assertTrue(cursor.seek(null));
+            Assert.assertEquals(1L, cursor.keyBuffer().getLong(cursor.keyBuffer().position()));
+            Assert.assertEquals(10L, cursor.valueBuffer().getLong(cursor.valueBuffer().position()));
+
+            Assert.assertTrue(cursor.next());
+            Assert.assertEquals(longKey.length, cursor.keyBuffer().remaining());
+            ByteBuffer value = cursor.valueBuffer();
+            Assert.assertEquals(longValue.length, value.remaining());
+            Assert.assertEquals(7, value.get(value.limit() - 1));
+
+            Assert.assertTrue(cursor.next());
+            Assert.assertEquals(30L, cursor.valueBuffer().getLong(cursor.valueBuffer().position()));
+            Assert.assertFalse(cursor.next());
+
+            Assert.assertTrue(cursor.seek(new KeyPattern(TypeConvert.pack(3L))));
+            Assert.assertTrue(cursor.step(DBIterator.StepDirection.BACKWARD));
+            Assert.assertEquals(longKey.length, cursor.keyBuffer().remaining());
+        }
+    }
+
+    @Test
+    public void skipDeletedRange() throws Exception {
+        try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+            for (long i = 1; i <= 5; ++i) {
+                transaction.put(columnFamily, TypeConvert.pack(i), TypeConvert.pack(i));
+            }
+            transaction.commit();
+        }
+
+        try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+            transaction.deleteRange(columnFamily, TypeConvert.pack(2L), TypeConvert.pack(5L));
+
+            try (DBCursor cursor = transaction.createCursor(columnFamily, DBIteratorOptions.DEFAULT)) {
+                Assert.assertTrue(cursor.seek(null));
+                Assert.assertEquals(1L, cursor.valueBuffer().getLong(cursor.valueBuffer().position()));
+                Assert.assertTrue(cursor.next());
+                Assert.assertEquals(5L, cursor.valueBuffer().getLong(cursor.valueBuffer().position()));
+                Assert.assertFalse(cursor.next());
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.infomaximum.rocksdb;
+
+import com.infomaximum.database.provider.DBIterator;
+import com.infomaximum.database.provider.DBIteratorOptions;
+import com.infomaximum.database.provider.DBTransaction;
+import com.infomaximum.database.provider.KeyPattern;
+import com.infomaximum.database.provider.KeyValue;
+import com.infomaximum.database.schema.Schema;
+import com.infomaximum.database.utils.TypeConvert;
+import com.infomaximum.rocksdb.options.columnfamily.ColumnFamilyConfig;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RocksDBIteratorOptionsTest extends RocksDataTest {
+
+    private static final String columnFamily = "test_cf";
+
+    private RocksDBProvider rocksDBProvider;
+
+    @Before
+    public void init() throws Exception {
+        super.init();
+
+        rocksDBProvider = new RocksDataBaseBuilder().withPath(pathDataBase).build();
+        rocksDBProvider.createColumnFamily(columnFamily);
+
+        try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+            for (long i = 1; i <= 3; ++i) {
+                for (long j = 1; j <= 3; ++j) {
+                    transaction.put(columnFamily, buildKey(i, j), TypeConvert.pack(i * 10 + j));
+                }
+            }
+            transaction.commit();
+        }
+    }
+
+    @After
+    public void destroy() throws Exception {
+        rocksDBProvider.close();
+
+        super.destroy();
+    }
+
+    @Test
+    public void boundedByPattern() throws Exception {
+        try (DBIterator iterator = rocksDBProvider.createIterator(columnFamily, DBIteratorOptions.BOUNDED_BY_PATTERN)) {
+            Assert.assertEquals(List.of(21L, 22L, 23L), readAll(iterator, new KeyPattern(TypeConvert.pack(2L))));
+            Assert.assertNull(iterator.step(DBIterator.StepDirection.FORWARD));
+
+            // поиск за пределами границ первого шаблона
+            Assert.assertEquals(List.of(11L, 12L, 13L), readAll(iterator, new KeyPattern(TypeConvert.pack(1L))));
+            Assert.assertEquals(List.of(31L, 32L, 33L), readAll(iterator, new KeyPattern(TypeConvert.pack(3L))));
+        }
+    }
+
+    @Test
+    public void explicitBounds() throws Exception {
+        DBIteratorOptions options = DBIteratorOptions.newBuilder()
+                .withLowerBound(buildKey(1, 2))
+                .withUpperBound(buildKey(2, 2))
+                .withFillCache(false)
+                .build();
+        try (DBIterator iterator = rocksDBProvider.createIterator(columnFamily, options)) {
+            Assert.assertEquals(List.of(12L, 13L, 21L), readAll(iterator, null));
+        }
+
+        try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+            transaction.put(columnFamily, buildKey(1, 4), TypeConvert.pack(14L));
+            transaction.delete(columnFamily, buildKey(1, 3));
+
+            try (DBIterator iterator = transaction.createIterator(columnFamily, options)) {
+                Assert.assertEquals(List.of(12L, 14L, 21L), readAll(iterator, null));
+            }
+        }
+    }
+
+    @Test
+    public void prefixExtractor() throws Exception {
+        final String prefixColumnFamily = "prefix_cf";
+        rocksDBProvider.createColumnFamily(prefixColumnFamily, ColumnFamilyConfig.newBuilder()
+                .withPrefixExtractorLength(Long.BYTES)
+                .withMemtablePrefixBloomSizeRatio(0.1)
+                .withBloomFilterBitsPerKey(10.0)
+                .withWholeKeyFiltering(false)
+                .build());
+        Assert.assertEquals(Long.BYTES, rocksDBProvider.getPrefixExtractorLength(prefixColumnFamily));
+
+        try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+            for (long i = 1; i <= 3; ++i) {
+                for (long j = 1; j <= 3; ++j) {
+                    transaction.put(prefixColumnFamily, buildKey(i, j), TypeConvert.pack(i * 10 + j));
+                }
+            }
+            transaction.commit();
+        }
+
+        try (DBIterator iterator = rocksDBProvider.createIterator(prefixColumnFamily, DBIteratorOptions.BOUNDED_BY_PATTERN)) {
+            Assert.assertEquals(List.of(21L, 22L, 23L), readAll(iterator, new KeyPattern(TypeConvert.pack(2L))));
+            Assert.assertEquals(List.of(), readAll(iterator, new KeyPattern(TypeConvert.pack(4L))));
+        }
+
+        // без шаблона, покрывающего префикс, обход идет в полном порядке ключей
+        try (DBIterator iterator = rocksDBProvider.createIterator(prefixColumnFamily)) {
+            Assert.assertEquals(List.of(11L, 12L, 13L, 21L, 22L, 23L, 31L, 32L, 33L), readAll(iterator, null));
+
+            KeyValue keyValue = iterator.seek(new KeyPattern(buildKey(2, 1)));
+            Assert.assertEquals(21L, TypeConvert.unpackLong(keyValue.getValue(), 0));
+            keyValue = iterator.step(DBIterator.StepDirection.BACKWARD);
+            Assert.assertEquals(13L, TypeConvert.unpackLong(keyValue.getValue(), 0));
+        }
+    }
+
+    @Test
+    public void indexPrefixExtractorRestoredOnOpen() throws Exception {
+        final String indexColumnFamily = "test.table" + Schema.INDEX_COLUMN_FAMILY_SUFFIX;
+        rocksDBProvider.createColumnFamily(indexColumnFamily, Schema.INDEX_COLUMN_FAMILY_CONFIG);
+        rocksDBProvider.close();
+
+        rocksDBProvider = new RocksDataBaseBuilder().withPath(pathDataBase).build();
+        Assert.assertEquals(Schema.INDEX_KEY_PREFIX_LENGTH, rocksDBProvider.getPrefixExtractorLength(indexColumnFamily));
+        Assert.assertEquals(0, rocksDBProvider.getPrefixExtractorLength(columnFamily));
+    }
+
+    private static List<Long> readAll(DBIterator iterator, KeyPattern pattern) throws Exception {
+        List<Long> result = new ArrayList<>();
+        for (KeyValue keyValue = iterator.seek(pattern); keyValue != null; keyValue = iterator.next()) {
+            result.add(TypeConvert.unpackLong(keyValue.getValue(), 0));
+        }
+        return result;
+    }
+
+    private static byte[] buildKey(long first, long second) {
+        byte[] key = new byte[2 * Long.BYTES];
+        TypeConvert.pack(new long[]{first, second}, key, 0);
+        return key;
+    }
+}
@@ -1,5 +1,9 @@
 package com.infomaximum.rocksdb;
 
+import com.infomaximum.database.provider.DBTransaction;
+import com.infomaximum.database.utils.TypeConvert;
+import com.infomaximum.rocksdb.options.columnfamily.BlockCacheConfig;
+import com.infomaximum.rocksdb.options.database.DatabaseResourceConfig;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -101,6 +105,45 @@ public class RocksDBLoadOptionsTest extends RocksDataTest {
         }
     }
 
+    @Test
+    public void resources() throws Exception {
+        DatabaseResourceConfig config = DatabaseResourceConfig.newBuilder()
+                .withMaxBackgroundJobs(4)
+                .withMaxSubcompactions(2)
+                .withRateLimit(16L * 1024 * 1024, true)
+                .withBytesPerSync(1024L * 1024)
+                .withWalBytesPerSync(512L * 1024)
+                .withWriteBufferManager(32L * 1024 * 1024, true)
+                .build();
+
+        List<AbstractNativeReference> resources = new ArrayList<>();
+        try (DBOptions options = new DBOptions()) {
+            config.apply(options, null, resources);
+            Assert.assertEquals(4, options.maxBackgroundJobs());
+            Assert.assertEquals(2, options.maxSubcompactions());
+            Assert.assertEquals(1024L * 1024, options.bytesPerSync());
+            Assert.assertEquals(512L * 1024, options.walBytesPerSync());
+            Assert.assertEquals(3, resources.size());
+        } finally {
+            for (AbstractNativeReference resource : resources) {
+                resource.close();
+            }
+        }
+
+        try (RocksDBProvider provider = new RocksDataBaseBuilder()
+                .withPath(pathDataBase)
+                .withBlockCache(BlockCacheConfig.newBuilder().build())
+                .withResources(config)
+                .build()) {
+            provider.createColumnFamily("test_cf");
+            try (DBTransaction transaction = provider.beginTransaction()) {
+                transaction.put("test_cf", TypeConvert.pack(1L), TypeConvert.pack(1L));
+                transaction.commit();
+            }
+            Assert.assertArrayEquals(TypeConvert.pack(1L), provider.getValue("test_cf", TypeConvert.pack(1L)));
+        }
+    }
+
     private static DBOptions loadOptionsFromFile(Path optionsFilePath, boolean ignoreUnknownOptions) throws RocksDBException {
         List<ColumnFamilyDescriptor> descs = new ArrayList<>();
         DBOptions options = new DBOptions();
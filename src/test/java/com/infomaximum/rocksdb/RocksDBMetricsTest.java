@@ -0,0 +1,71 @@
+package com.infomaximum.rocksdb;
+
+import com.infomaximum.database.provider.DBTransaction;
+import com.infomaximum.database.schema.dbstruct.DBSchema;
+import com.infomaximum.database.schema.dbstruct.DBTable;
+import com.infomaximum.database.utils.TypeConvert;
+import com.infomaximum.rocksdb.metrics.ColumnFamilyMetrics;
+import com.infomaximum.rocksdb.metrics.DatabaseMetrics;
+import org.junit.Assert;
+import org.junit.Test;
+import org.rocksdb.HistogramType;
+import org.rocksdb.StatsLevel;
+import org.rocksdb.TickerType;
+
+import java.util.ArrayList;
+
+public class RocksDBMetricsTest extends RocksDataTest {
+
+    @Test
+    public void collectMetrics() throws Exception {
+        DBSchema schema = DBSchema.fromStrings("1.0.0", "[]");
+        DBTable table = schema.newTable("table", "test", new ArrayList<>());
+
+        try (RocksDBProvider rocksDBProvider = new RocksDataBaseBuilder()
+                .withPath(pathDataBase)
+                .withStatistics(StatsLevel.EXCEPT_DETAILED_TIMERS)
+                .build()) {
+            rocksDBProvider.createColumnFamily(table.getDataColumnFamily());
+            rocksDBProvider.createColumnFamily(table.getIndexColumnFamily());
+            rocksDBProvider.createColumnFamily("other");
+
+            try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+                transaction.put(table.getDataColumnFamily(), TypeConvert.pack(1L), TypeConvert.pack("value"));
+                transaction.commit();
+            }
+            Assert.assertNotNull(rocksDBProvider.getValue(table.getDataColumnFamily(), TypeConvert.pack(1L)));
+
+            DatabaseMetrics metrics = rocksDBProvider.getMetrics(schema);
+            Assert.assertTrue(metrics.getTicker(TickerType.BYTES_WRITTEN) > 0);
+            Assert.assertTrue(metrics.getTicker(TickerType.MEMTABLE_HIT) > 0);
+            Assert.assertTrue(metrics.getHistogram(HistogramType.DB_GET).getCount() > 0);
+
+            ColumnFamilyMetrics data = find(metrics, table.getDataColumnFamily());
+            Assert.assertEquals("table", data.getTableName());
+            Assert.assertEquals("test", data.getTableNamespace());
+            Assert.assertFalse(data.isIndex());
+            Assert.assertEquals(1, data.getEstimateNumKeys());
+            Assert.assertTrue(data.getMemTableSize() > 0);
+
+            Assert.assertTrue(find(metrics, table.getIndexColumnFamily()).isIndex());
+            Assert.assertNull(find(metrics, "other").getTableName());
+        }
+    }
+
+    @Test
+    public void statisticsDisabled() throws Exception {
+        try (RocksDBProvider rocksDBProvider = new RocksDataBaseBuilder().withPath(pathDataBase).build()) {
+            DatabaseMetrics metrics = rocksDBProvider.getMetrics();
+            Assert.assertTrue(metrics.getTickers().isEmpty());
+            Assert.assertTrue(metrics.getHistograms().isEmpty());
+            Assert.assertNotNull(find(metrics, RocksDBProvider.DEFAULT_COLUMN_FAMILY));
+        }
+    }
+
+    private static ColumnFamilyMetrics find(DatabaseMetrics metrics, String columnFamily) {
+        return metrics.getColumnFamilies().stream()
+                .filter(cf -> cf.getColumnFamily().equals(columnFamily))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,78 @@
+package com.infomaximum.rocksdb;
+
+import com.infomaximum.database.exception.DatabaseException;
+import com.infomaximum.database.provider.DBTransaction;
+import com.infomaximum.database.utils.TypeConvert;
+import com.infomaximum.rocksdb.options.transaction.PessimisticTransactionConfig;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RocksDBPessimisticTransactionTest extends RocksDataTest {
+
+    private static final String columnFamily = "test_cf";
+    private static final byte[] key = TypeConvert.pack(1L);
+
+    private RocksDBProvider rocksDBProvider;
+
+    @Before
+    public void init() throws Exception {
+        super.init();
+
+        rocksDBProvider = new RocksDataBaseBuilder()
+                .withPath(pathDataBase)
+                .withPessimisticTransactions(PessimisticTransactionConfig.newBuilder()
+                        .withLockTimeout(100)
+                        .build())
+                .build();
+        rocksDBProvider.createColumnFamily(columnFamily);
+    }
+
+    @After
+    public void destroy() throws Exception {
+        rocksDBProvider.close();
+
+        super.destroy();
+    }
+
+    @Test
+    public void lockTimeout() throws Exception {
+        Assert.assertTrue(rocksDBProvider.isPessimisticTransactions());
+
+        try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+            transaction.put(columnFamily, key, TypeConvert.pack(1L));
+
+            try (DBTransaction concurrent = rocksDBProvider.beginTransaction()) {
+                Assert.assertThrows(DatabaseException.class, () -> concurrent.put(columnFamily, key, TypeConvert.pack(2L)));
+                Assert.assertThrows(DatabaseException.class, () -> concurrent.getValueForUpdate(columnFamily, key));
+                Assert.assertNull(concurrent.getValue(columnFamily, key));
+            }
+
+            transaction.commit();
+        }
+
+        try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+            Assert.assertArrayEquals(TypeConvert.pack(1L), transaction.getValueForUpdate(columnFamily, key));
+            transaction.put(columnFamily, key, TypeConvert.pack(2L));
+            transaction.commit();
+        }
+
+        Assert.assertArrayEquals(TypeConvert.pack(2L), rocksDBProvider.getValue(columnFamily, key));
+    }
+
+    @Test
+    public void rollbackReleasesLock() throws Exception {
+        try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+            transaction.getValueForUpdate(columnFamily, key);
+            transaction.rollback();
+        }
+
+        try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+            transaction.put(columnFamily, key, TypeConvert.pack(1L));
+            transaction.commit();
+        }
+
+        Assert.assertArrayEquals(TypeConvert.pack(1L), rocksDBProvider.getValue(columnFamily, key));
+    }
+}
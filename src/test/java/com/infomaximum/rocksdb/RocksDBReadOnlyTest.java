@@ -0,0 +1,72 @@
+package com.infomaximum.rocksdb;
+
+import com.infomaximum.database.exception.DatabaseException;
+import com.infomaximum.database.exception.ReadOnlyDatabaseException;
+import com.infomaximum.database.provider.DBTransaction;
+import com.infomaximum.database.schema.Schema;
+import com.infomaximum.database.utils.TypeConvert;
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class RocksDBReadOnlyTest extends RocksDataTest {
+
+    private static final String columnFamily = "test_cf";
+
+    @Test
+    public void readOnly() throws Exception {
+        try (RocksDBProvider provider = new RocksDataBaseBuilder().withPath(pathDataBase).build()) {
+            Schema.create(provider);
+            provider.createColumnFamily(columnFamily);
+            put(provider, 1);
+        }
+
+        try (RocksDBProvider provider = new RocksDataBaseBuilder().withPath(pathDataBase).withReadOnly().build()) {
+            Assert.assertTrue(provider.isReadOnly());
+            Assert.assertNotNull(Schema.read(provider));
+            Assert.assertArrayEquals(TypeConvert.pack(1L), provider.getValue(columnFamily, TypeConvert.pack(1L)));
+
+            Assert.assertThrows(ReadOnlyDatabaseException.class, provider::beginTransaction);
+            Assert.assertThrows(ReadOnlyDatabaseException.class, provider::beginBulkWrite);
+            Assert.assertThrows(ReadOnlyDatabaseException.class, () -> provider.createColumnFamily("other_cf"));
+            Assert.assertThrows(ReadOnlyDatabaseException.class, () -> provider.dropColumnFamily(columnFamily));
+            Assert.assertThrows(ReadOnlyDatabaseException.class, () -> provider.createSequence("seq"));
+            Assert.assertThrows(ReadOnlyDatabaseException.class, provider::compactRange);
+            Assert.assertThrows(ReadOnlyDatabaseException.class, () -> new RocksDBBulkLoader(provider, pathDataBase));
+        }
+    }
+
+    @Test
+    public void secondary() throws Exception {
+        Path secondaryPath = Files.createTempDirectory("rocksdb_secondary");
+        try (RocksDBProvider primary = new RocksDataBaseBuilder().withPath(pathDataBase).build()) {
+            primary.createColumnFamily(columnFamily);
+            put(primary, 1);
+
+            try (RocksDBProvider secondary = new RocksDataBaseBuilder().withPath(pathDataBase).withSecondary(secondaryPath, null).build()) {
+                Assert.assertArrayEquals(TypeConvert.pack(1L), secondary.getValue(columnFamily, TypeConvert.pack(1L)));
+
+                put(primary, 2);
+                Assert.assertNull(secondary.getValue(columnFamily, TypeConvert.pack(2L)));
+
+                secondary.tryCatchUpWithPrimary();
+                Assert.assertArrayEquals(TypeConvert.pack(2L), secondary.getValue(columnFamily, TypeConvert.pack(2L)));
+
+                Assert.assertThrows(ReadOnlyDatabaseException.class, secondary::beginTransaction);
+            }
+            Assert.assertThrows(DatabaseException.class, primary::tryCatchUpWithPrimary);
+        } finally {
+            FileUtils.deleteDirectory(secondaryPath.toFile());
+        }
+    }
+
+    private static void put(RocksDBProvider provider, long value) throws Exception {
+        try (DBTransaction transaction = provider.beginTransaction()) {
+            transaction.put(columnFamily, TypeConvert.pack(value), TypeConvert.pack(value));
+            transaction.commit();
+        }
+    }
+}
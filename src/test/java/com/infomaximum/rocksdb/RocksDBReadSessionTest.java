@@ -0,0 +1,73 @@
+package com.infomaximum.rocksdb;
+
+import com.infomaximum.database.provider.DBIterator;
+import com.infomaximum.database.provider.DBReadSession;
+import com.infomaximum.database.provider.DBTransaction;
+import com.infomaximum.database.provider.KeyValue;
+import com.infomaximum.database.utils.TypeConvert;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RocksDBReadSessionTest extends RocksDataTest {
+
+    private static final String columnFamily = "test_cf";
+
+    private RocksDBProvider rocksDBProvider;
+
+    @Before
+    public void init() throws Exception {
+        super.init();
+
+        rocksDBProvider = new RocksDataBaseBuilder().withPath(pathDataBase).build();
+        rocksDBProvider.createColumnFamily(columnFamily);
+    }
+
+    @After
+    public void destroy() throws Exception {
+        rocksDBProvider.close();
+
+        super.destroy();
+    }
+
+    @Test
+    public void readSnapshot() throws Exception {
+        put(1L, 1L);
+        put(2L, 2L);
+
+        try (DBReadSession session = rocksDBProvider.openReadSession()) {
+            try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+                transaction.put(columnFamily, TypeConvert.pack(1L), TypeConvert.pack(10L));
+                transaction.delete(columnFamily, TypeConvert.pack(2L));
+                transaction.put(columnFamily, TypeConvert.pack(3L), TypeConvert.pack(3L));
+                transaction.commit();
+            }
+
+            Assert.assertArrayEquals(TypeConvert.pack(1L), session.getValue(columnFamily, TypeConvert.pack(1L)));
+
+            byte[][] values = session.multiGet(columnFamily, new byte[][]{TypeConvert.pack(2L), TypeConvert.pack(3L)});
+            Assert.assertArrayEquals(TypeConvert.pack(2L), values[0]);
+            Assert.assertNull(values[1]);
+
+            int count = 0;
+            try (DBIterator iterator = session.createIterator(columnFamily)) {
+                for (KeyValue keyValue = iterator.seek(null); keyValue != null; keyValue = iterator.next()) {
+                    Assert.assertArrayEquals(keyValue.getKey(), keyValue.getValue());
+                    ++count;
+                }
+            }
+            Assert.assertEquals(2, count);
+        }
+
+        Assert.assertArrayEquals(TypeConvert.pack(10L), rocksDBProvider.getValue(columnFamily, TypeConvert.pack(1L)));
+        Assert.assertNull(rocksDBProvider.getValue(columnFamily, TypeConvert.pack(2L)));
+    }
+
+    private void put(long key, long value) {
+        try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+            transaction.put(columnFamily, TypeConvert.pack(key), TypeConvert.pack(value));
+            transaction.commit();
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.infomaximum.rocksdb;
+
+import com.infomaximum.database.provider.DBDataReader;
+import com.infomaximum.database.provider.DBIterator;
+import com.infomaximum.database.provider.DBTransaction;
+import com.infomaximum.database.provider.Durability;
+import com.infomaximum.database.provider.KeyPattern;
+import com.infomaximum.database.provider.KeyValue;
+import com.infomaximum.database.utils.TypeConvert;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class RocksDBTransactionTest extends RocksDataTest {
+
+    private static final String columnFamily = "test_cf";
+    private static final int valueCount = 100;
+
+    private RocksDBProvider rocksDBProvider;
+
+    @Before
+    public void init() throws Exception {
+        super.init();
+
+        rocksDBProvider = new RocksDataBaseBuilder().withPath(pathDataBase).build();
+        rocksDBProvider.createColumnFamily(columnFamily);
+    }
+
+    @After
+    public void destroy() throws Exception {
+        rocksDBProvider.close();
+
+        super.destroy();
+    }
+
+    @Test
+    public void deleteRange() throws Exception {
+        fillData();
+
+        try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+            transaction.deleteRange(columnFamily, TypeConvert.pack(10L), TypeConvert.pack(20L));
+
+            Assert.assertNull(transaction.getValue(columnFamily, TypeConvert.pack(10L)));
+            Assert.assertNotNull(transaction.getValue(columnFamily, TypeConvert.pack(20L)));
+            Assert.assertEquals(valueCount - 10, readKeys(transaction).size());
+            Assert.assertNotNull(rocksDBProvider.getValue(columnFamily, TypeConvert.pack(10L)));
+
+            transaction.commit();
+        }
+
+        List<Long> keys = readKeys(rocksDBProvider);
+        Assert.assertEquals(valueCount - 10, keys.size());
+        Assert.assertFalse(keys.contains(10L));
+        Assert.assertFalse(keys.contains(19L));
+        Assert.assertTrue(keys.contains(20L));
+    }
+
+    @Test
+    public void putAfterDeleteRange() throws Exception {
+        fillData();
+
+        try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+            transaction.singleDeleteRange(columnFamily, TypeConvert.pack(0L), TypeConvert.pack(50L));
+            transaction.put(columnFamily, TypeConvert.pack(15L), TypeConvert.EMPTY_BYTE_ARRAY);
+
+            Assert.assertNotNull(transaction.getValue(columnFamily, TypeConvert.pack(15L)));
+            Assert.assertNull(transaction.getValue(columnFamily, TypeConvert.pack(16L)));
+
+            transaction.commit();
+        }
+
+        Assert.assertNotNull(rocksDBProvider.getValue(columnFamily, TypeConvert.pack(15L)));
+        Assert.assertNull(rocksDBProvider.getValue(columnFamily, TypeConvert.pack(16L)));
+    }
+
+    @Test
+    public void putAfterDeleteRangeThenOverlappingDeleteRange() throws Exception {
+        fillData();
+
+        try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+            transaction.deleteRange(columnFamily, TypeConvert.pack(10L), TypeConvert.pack(20L));
+            transaction.put(columnFamily, TypeConvert.pack(12L), TypeConvert.EMPTY_BYTE_ARRAY);
+            transaction.deleteRange(columnFamily, TypeConvert.pack(15L), TypeConvert.pack(30L));
+
+            Assert.assertNotNull(transaction.getValue(columnFamily, TypeConvert.pack(12L)));
+            List<Long> keys = readKeys(transaction);
+            Assert.assertTrue(keys.contains(12L));
+            Assert.assertEquals(valueCount - 20 + 1, keys.size());
+
+            transaction.commit();
+        }
+
+        Assert.assertNotNull(rocksDBProvider.getValue(columnFamily, TypeConvert.pack(12L)));
+        Assert.assertEquals(valueCount - 20 + 1, readKeys(rocksDBProvider).size());
+    }
+
+    @Test
+    public void rollbackDeleteRange() throws Exception {
+        fillData();
+
+        try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+            transaction.deleteRange(columnFamily, TypeConvert.pack(0L), TypeConvert.pack((long) valueCount));
+            transaction.rollback();
+        }
+
+        Assert.assertEquals(valueCount, readKeys(rocksDBProvider).size());
+    }
+
+    @Test
+    public void singleDeleteRangeByPattern() throws Exception {
+        fillData();
+
+        try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+            byte[] prefix = new byte[Long.BYTES - 1];
+            transaction.singleDeleteRange(columnFamily, new KeyPattern(prefix));
+            transaction.commit();
+        }
+
+        Assert.assertTrue(readKeys(rocksDBProvider).isEmpty());
+    }
+
+    @Test
+    public void singleDelete() throws Exception {
+        fillData();
+
+        try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+            transaction.singleDelete(columnFamily, TypeConvert.pack(10L));
+
+            Assert.assertNull(transaction.getValue(columnFamily, TypeConvert.pack(10L)));
+            Assert.assertEquals(valueCount - 1, readKeys(transaction).size());
+
+            transaction.put(columnFamily, TypeConvert.pack(10L), TypeConvert.EMPTY_BYTE_ARRAY);
+            transaction.commit();
+        }
+
+        try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+            transaction.singleDelete(columnFamily, TypeConvert.pack(10L));
+            transaction.commit();
+        }
+
+        rocksDBProvider.compactRange();
+        Assert.assertNull(rocksDBProvider.getValue(columnFamily, TypeConvert.pack(10L)));
+        Assert.assertEquals(valueCount - 1, readKeys(rocksDBProvider).size());
+    }
+
+    @Test
+    public void singleDeleteOverwrittenKey() throws Exception {
+        Assume.assumeTrue(RocksDBTransaction.class.desiredAssertionStatus());
+
+        fillData();
+
+        try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+            transaction.put(columnFamily, TypeConvert.pack(10L), TypeConvert.pack(10L));
+            Assert.assertThrows(AssertionError.class, () -> transaction.singleDelete(columnFamily, TypeConvert.pack(10L)));
+
+            transaction.put(columnFamily, TypeConvert.pack(20L), TypeConvert.pack(20L));
+            transaction.delete(columnFamily, TypeConvert.pack(20L));
+            transaction.put(columnFamily, TypeConvert.pack(20L), TypeConvert.pack(20L));
+            transaction.singleDelete(columnFamily, TypeConvert.pack(20L));
+        }
+    }
+
+    @Test
+    public void multiGet() throws Exception {
+        fillData();
+
+        byte[][] keys = new byte[][]{
+                TypeConvert.pack(5L),
+                TypeConvert.pack((long) valueCount),
+                TypeConvert.pack(15L),
+                TypeConvert.pack(25L)
+        };
+
+        try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+            transaction.deleteRange(columnFamily, TypeConvert.pack(10L), TypeConvert.pack(20L));
+            transaction.put(columnFamily, TypeConvert.pack((long) valueCount), TypeConvert.pack(1L));
+
+            byte[][] values = transaction.multiGet(columnFamily, keys);
+            Assert.assertNotNull(values[0]);
+            Assert.assertArrayEquals(TypeConvert.pack(1L), values[1]);
+            Assert.assertNull(values[2]);
+            Assert.assertNotNull(values[3]);
+        }
+
+        byte[][] values = rocksDBProvider.multiGet(columnFamily, keys);
+        Assert.assertNotNull(values[0]);
+        Assert.assertNull(values[1]);
+        Assert.assertNotNull(values[2]);
+        Assert.assertNotNull(values[3]);
+    }
+
+    @Test
+    public void durability() throws Exception {
+        long key = 0;
+        for (Durability durability : Durability.values()) {
+            try (DBTransaction transaction = rocksDBProvider.beginTransaction(durability)) {
+                transaction.put(columnFamily, TypeConvert.pack(key++), TypeConvert.EMPTY_BYTE_ARRAY);
+                transaction.commit();
+            }
+        }
+
+        try (DBTransaction transaction = rocksDBProvider.beginTransaction(Durability.GROUP_SYNC)) {
+            transaction.commit();
+        }
+
+        Assert.assertEquals(Durability.values().length, readKeys(rocksDBProvider).size());
+    }
+
+    @Test
+    public void groupCommit() throws Exception {
+        final int threadCount = 8;
+        final int commitCount = 50;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<?>> futures = new ArrayList<>(threadCount);
+            for (int t = 0; t < threadCount; ++t) {
+                final long first = (long) t * commitCount;
+                futures.add(executor.submit(() -> {
+                    for (long i = first; i < first + commitCount; ++i) {
+                        try (DBTransaction transaction = rocksDBProvider.beginTransaction(Durability.GROUP_SYNC)) {
+                            transaction.put(columnFamily, TypeConvert.pack(i), TypeConvert.EMPTY_BYTE_ARRAY);
+                            transaction.commit();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assert.assertEquals(threadCount * commitCount, readKeys(rocksDBProvider).size());
+    }
+
+    private void fillData() {
+        try (DBTransaction transaction = rocksDBProvider.beginTransaction()) {
+            for (long i = 0; i < valueCount; i++) {
+                transaction.put(columnFamily, TypeConvert.pack(i), TypeConvert.EMPTY_BYTE_ARRAY);
+            }
+            transaction.commit();
+        }
+    }
+
+    private static List<Long> readKeys(DBDataReader dataReader) throws Exception {
+        List<Long> result = new ArrayList<>();
+        try (DBIterator iterator = dataReader.createIterator(columnFamily)) {
+            for (KeyValue keyValue = iterator.seek(null); keyValue != null; keyValue = iterator.next()) {
+                result.add(TypeConvert.unpackLong(keyValue.getKey()));
+            }
+        }
+        return result;
+    }
+}
@@ -1,12 +1,17 @@
 package com.infomaximum.rocksdb;
 
 import com.infomaximum.database.exception.SequenceAlreadyExistsException;
+import com.infomaximum.database.provider.SequenceCacheConfig;
+import com.infomaximum.database.utils.TypeConvert;
 import com.infomaximum.util.RandomUtil;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class SequenceManagerTest extends RocksDataTest {
 
@@ -95,6 +100,72 @@ public class SequenceManagerTest extends RocksDataTest {
         }
     }
 
+    @Test
+    public void adaptiveCacheSize() throws Exception {
+        String sequenceName = "sdfuisii";
+        SequenceCacheConfig config = SequenceCacheConfig.newBuilder()
+                .withMinCacheSize(10)
+                .withMaxCacheSize(1000)
+                .withTargetRefillIntervalMillis(60000)
+                .build();
+
+        try (RocksDBProvider rocksDBProvider = new RocksDataBaseBuilder().withPath(pathDataBase).build()) {
+            SequenceManager sequenceManager = new SequenceManager(rocksDBProvider, name -> config);
+            sequenceManager.createSequence(sequenceName);
+
+            SequenceManager.Sequence sequence = sequenceManager.getSequence(sequenceName);
+            long lastId = 0;
+            for (int i = 0; i < 10000; i++) {
+                lastId = sequence.next();
+            }
+            Assert.assertEquals(10000L, lastId);
+
+            long maxCacheValue = TypeConvert.unpackLong(rocksDBProvider.getValue(RocksDBProvider.DEFAULT_COLUMN_FAMILY,
+                    TypeConvert.pack(SequenceManager.SEQUENCE_PREFIX + sequenceName)), 0);
+            Assert.assertTrue(maxCacheValue - lastId >= 10);
+            Assert.assertTrue(maxCacheValue - lastId < 1000);
+        }
+
+        Set<Long> ids = new HashSet<>();
+        startDbAndIncrementSequence(sequenceName, ids, 10);
+        Assert.assertTrue(ids.stream().allMatch(id -> id > 10000L));
+    }
+
+    @Test
+    public void threadBlocks() throws Exception {
+        String sequenceName = "sdfuisii";
+        SequenceCacheConfig config = SequenceCacheConfig.newBuilder().withThreadBlockSize(100).build();
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        try (RocksDBProvider rocksDBProvider = new RocksDataBaseBuilder()
+                .withPath(pathDataBase)
+                .withSequenceCache(sequenceName, config)
+                .build()) {
+            rocksDBProvider.createSequence(sequenceName);
+
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; ++t) {
+                threads.add(new Thread(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        checkAndAddId(ids, rocksDBProvider.getSequenceManager().getSequence(sequenceName).next());
+                    }
+                }));
+            }
+            for (Thread thread : threads) {
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            Assert.assertEquals(40000, ids.size());
+        }
+
+        long maxId = ids.stream().mapToLong(Long::longValue).max().getAsLong();
+        Set<Long> newIds = new HashSet<>();
+        startDbAndIncrementSequence(sequenceName, newIds, 10);
+        Assert.assertTrue(newIds.stream().allMatch(id -> id > maxId));
+    }
+
     private void startDbAndIncrementSequence(String sequenceName, Set<Long> ids, int count) throws Exception {
         try (RocksDBProvider rocksDBProvider = new RocksDataBaseBuilder().withPath(pathDataBase).build()) {
             SequenceManager sequenceManager = new SequenceManager(rocksDBProvider);
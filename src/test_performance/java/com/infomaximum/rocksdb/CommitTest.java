@@ -0,0 +1,60 @@
+package com.infomaximum.rocksdb;
+
+import com.infomaximum.database.provider.DBTransaction;
+import com.infomaximum.database.provider.Durability;
+import com.infomaximum.database.utils.TypeConvert;
+import com.infomaximum.rocksdb.options.transaction.GroupCommitConfig;
+import com.infomaximum.rocksdb.util.PerfomanceTest;
+import org.junit.Test;
+
+/**
+ * Многопоточные мелкие коммиты при разных уровнях сохранности транзакций.
+ */
+public class CommitTest extends RocksDataTest {
+
+    private static final String columnFamily = "events";
+    private static final int threadCount = 16;
+    private static final int commitsPerThread = 2000;
+
+    @Test
+    public void sync() throws Exception {
+        commit(Durability.SYNC, GroupCommitConfig.DEFAULT);
+    }
+
+    @Test
+    public void groupSync() throws Exception {
+        commit(Durability.GROUP_SYNC, GroupCommitConfig.DEFAULT);
+    }
+
+    @Test
+    public void groupSyncWithoutDelay() throws Exception {
+        commit(Durability.GROUP_SYNC, GroupCommitConfig.newBuilder().withMaxDelayMicros(0).build());
+    }
+
+    @Test
+    public void wal() throws Exception {
+        commit(Durability.WAL, GroupCommitConfig.DEFAULT);
+    }
+
+    @Test
+    public void noWal() throws Exception {
+        commit(Durability.NO_WAL, GroupCommitConfig.DEFAULT);
+    }
+
+    private void commit(Durability durability, GroupCommitConfig groupCommitConfig) throws Exception {
+        try (RocksDBProvider provider = new RocksDataBaseBuilder()
+                .withPath(pathDataBase)
+                .withGroupCommit(groupCommitConfig)
+                .build()) {
+            provider.createColumnFamily(columnFamily);
+
+            PerfomanceTest.testConcurrent(durability.toString(), threadCount, commitsPerThread, (thread, step) -> {
+                long i = (long) thread * commitsPerThread + step;
+                try (DBTransaction transaction = provider.beginTransaction(durability)) {
+                    transaction.put(columnFamily, TypeConvert.pack(i), TypeConvert.pack(i));
+                    transaction.commit();
+                }
+            });
+        }
+    }
+}
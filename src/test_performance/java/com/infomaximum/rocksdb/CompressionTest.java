@@ -0,0 +1,97 @@
+package com.infomaximum.rocksdb;
+
+import com.infomaximum.database.provider.DBBulkWrite;
+import com.infomaximum.database.utils.TypeConvert;
+import com.infomaximum.rocksdb.options.columnfamily.ColumnFamilyConfig;
+import com.infomaximum.util.DurationUtils;
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.rocksdb.CompressionType;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Размер SST-файлов и время случайного чтения при разных настройках сжатия на наборе повторяющихся строк.
+ */
+public class CompressionTest extends RocksDataTest {
+
+    private static final String columnFamily = "records";
+    private static final int recordCount = 500000;
+    private static final int readCount = 200000;
+    private static final String[] words = {
+            "account", "payment", "invoice", "customer", "order", "delivery", "status", "created", "updated", "warehouse",
+            "Москва", "Санкт-Петербург", "Новосибирск", "Екатеринбург", "Казань"
+    };
+
+    @Test
+    public void compare() throws Exception {
+        long uncompressed = run("No compression", ColumnFamilyConfig.newBuilder()
+                .withCompressionType(CompressionType.NO_COMPRESSION)
+                .build(), 0);
+        run("LZ4", ColumnFamilyConfig.newBuilder()
+                .withCompressionType(CompressionType.LZ4_COMPRESSION)
+                .build(), uncompressed);
+        run("ZSTD", ColumnFamilyConfig.newBuilder()
+                .withCompressionType(CompressionType.ZSTD_COMPRESSION)
+                .build(), uncompressed);
+        run("LZ4 + bottommost ZSTD with dictionary", ColumnFamilyConfig.newBuilder()
+                .withCompressionType(CompressionType.LZ4_COMPRESSION)
+                .withBottommostCompressionType(CompressionType.ZSTD_COMPRESSION)
+                .withCompressionMaxDictBytes(16 * 1024)
+                .withZstdMaxTrainBytes(100 * 16 * 1024)
+                .build(), uncompressed);
+    }
+
+    /**
+     * @return размер SST-файлов column family
+     */
+    private long run(String caption, ColumnFamilyConfig config, long uncompressedSize) throws Exception {
+        Path path = Files.createTempDirectory(pathDataBase, "db");
+        try (RocksDBProvider provider = new RocksDataBaseBuilder().withPath(path).build()) {
+            provider.createColumnFamily(columnFamily, config);
+
+            Random random = new Random(0);
+            try (DBBulkWrite bulkWrite = provider.beginBulkWrite()) {
+                for (long id = 0; id < recordCount; ++id) {
+                    bulkWrite.put(columnFamily, TypeConvert.pack(id), TypeConvert.pack(generateValue(random)));
+                }
+                bulkWrite.commit();
+            }
+            provider.compactRange();
+
+            long size = provider.getRocksDB().getLongProperty(provider.getColumnFamilyHandle(columnFamily), "rocksdb.live-sst-files-size");
+
+            long beginTime = System.nanoTime();
+            for (int i = 0; i < readCount; ++i) {
+                Assert.assertNotNull(provider.getValue(columnFamily, TypeConvert.pack((long) random.nextInt(recordCount))));
+            }
+            Duration duration = Duration.ofNanos(System.nanoTime() - beginTime);
+
+            System.out.println(String.format("%s: sst size = %d, space saved = %.1f%%, reads = %d, total time = %s, avg read = %d ns",
+                    caption,
+                    size,
+                    uncompressedSize != 0 ? 100.0 * (uncompressedSize - size) / uncompressedSize : 0.0,
+                    readCount,
+                    DurationUtils.toString(duration),
+                    duration.toNanos() / readCount
+            ));
+            return size;
+        } finally {
+            FileUtils.deleteDirectory(path.toFile());
+        }
+    }
+
+    private static String generateValue(Random random) {
+        StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < 8; ++i) {
+            builder.append('"').append(words[random.nextInt(words.length)]).append("\":\"")
+                    .append(words[random.nextInt(words.length)]).append(' ')
+                    .append(random.nextInt(1000)).append("\",");
+        }
+        return builder.append('}').toString();
+    }
+}
@@ -0,0 +1,80 @@
+package com.infomaximum.rocksdb;
+
+import com.infomaximum.database.exception.DatabaseException;
+import com.infomaximum.database.provider.DBTransaction;
+import com.infomaximum.database.utils.TypeConvert;
+import com.infomaximum.rocksdb.options.transaction.PessimisticTransactionConfig;
+import com.infomaximum.rocksdb.util.PerfomanceTest;
+import org.junit.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Сравнение оптимистичных и пессимистичных транзакций на инкременте небольшого числа "горячих" счетчиков.
+ */
+public class ContentionTest extends RocksDataTest {
+
+    private static final String columnFamily = "counters";
+    private static final int threadCount = 8;
+    private static final int incrementsPerThread = 20000;
+    private static final int counterCount = 4;
+
+    @Test
+    public void optimisticTransactions() throws Exception {
+        try (RocksDBProvider provider = new RocksDataBaseBuilder()
+                .withPath(pathDataBase)
+                .build()) {
+            incrementCounters(provider);
+        }
+    }
+
+    @Test
+    public void pessimisticTransactions() throws Exception {
+        try (RocksDBProvider provider = new RocksDataBaseBuilder()
+                .withPath(pathDataBase)
+                .withPessimisticTransactions(PessimisticTransactionConfig.newBuilder().build())
+                .build()) {
+            incrementCounters(provider);
+        }
+    }
+
+    private static void incrementCounters(RocksDBProvider provider) throws Exception {
+        provider.createColumnFamily(columnFamily);
+
+        AtomicLong failures = new AtomicLong();
+        String caption = provider.isPessimisticTransactions() ? "Pessimistic" : "Optimistic";
+        PerfomanceTest.testConcurrent(caption, threadCount, incrementsPerThread, (thread, step) -> {
+            byte[] key = TypeConvert.pack((long) ThreadLocalRandom.current().nextInt(counterCount));
+            while (!tryIncrement(provider, key)) {
+                failures.incrementAndGet();
+            }
+        });
+
+        long total = 0;
+        for (long i = 0; i < counterCount; ++i) {
+            total += TypeConvert.unpackLong(provider.getValue(columnFamily, TypeConvert.pack(i)));
+        }
+        long commits = (long) threadCount * incrementsPerThread;
+        if (total != commits) {
+            throw new IllegalStateException("Lost updates: expected " + commits + ", actual " + total);
+        }
+
+        System.out.println(String.format("Failed attempts = %d (%.2f%%)",
+                failures.get(),
+                100.0 * failures.get() / (commits + failures.get())
+        ));
+    }
+
+    private static boolean tryIncrement(RocksDBProvider provider, byte[] key) {
+        try (DBTransaction transaction = provider.beginTransaction()) {
+            byte[] value = transaction.getValueForUpdate(columnFamily, key);
+            long counter = value != null ? TypeConvert.unpackLong(value) : 0;
+            transaction.put(columnFamily, key, TypeConvert.pack(counter + 1));
+            transaction.commit();
+            return true;
+        } catch (DatabaseException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.infomaximum.rocksdb;
+
+import com.infomaximum.database.provider.DBTransaction;
+import com.infomaximum.database.provider.SequenceCacheConfig;
+import com.infomaximum.database.utils.TypeConvert;
+import com.infomaximum.rocksdb.util.PerfomanceTest;
+import org.junit.Test;
+
+/**
+ * Многопоточная вставка записей с получением id из общей последовательности при разных настройках кеша последовательности.
+ */
+public class SequenceTest extends RocksDataTest {
+
+    private static final String columnFamily = "records";
+    private static final int threadCount = 8;
+    private static final int insertsPerThread = 50000;
+
+    @Test
+    public void fixedCache() throws Exception {
+        insertRecords("Fixed cache (10)", SequenceCacheConfig.newBuilder().withFixedCacheSize(10).build());
+    }
+
+    @Test
+    public void adaptiveCache() throws Exception {
+        insertRecords("Adaptive cache", SequenceCacheConfig.DEFAULT);
+    }
+
+    @Test
+    public void adaptiveCacheWithThreadBlocks() throws Exception {
+        insertRecords("Adaptive cache with thread blocks", SequenceCacheConfig.newBuilder().withThreadBlockSize(64).build());
+    }
+
+    private void insertRecords(String caption, SequenceCacheConfig config) throws Exception {
+        try (RocksDBProvider provider = new RocksDataBaseBuilder()
+                .withPath(pathDataBase)
+                .withSequenceCache(config)
+                .build()) {
+            provider.createColumnFamily(columnFamily);
+            provider.createSequence(columnFamily);
+
+            PerfomanceTest.testConcurrent(caption, threadCount, insertsPerThread, (thread, step) -> {
+                try (DBTransaction transaction = provider.beginTransaction()) {
+                    long id = transaction.nextId(columnFamily);
+                    transaction.put(columnFamily, TypeConvert.pack(id), TypeConvert.pack(id));
+                    transaction.commit();
+                }
+            });
+        }
+    }
+}
@@ -4,6 +4,9 @@ import com.infomaximum.util.DurationUtils;
 
 import javax.swing.*;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class PerfomanceTest {
 
@@ -13,6 +16,12 @@ public class PerfomanceTest {
         void process(int step) throws Exception;
     }
 
+    @FunctionalInterface
+    public interface ConcurrentAction {
+
+        void process(int thread, int step) throws Exception;
+    }
+
     @FunctionalInterface
     public interface Consumer {
 
@@ -40,6 +49,49 @@ public class PerfomanceTest {
         showMessage("Test on finished.");
     }
 
+    /**
+     * Выполняет action одновременно в threadCount потоках, в каждом по operationsPerThread раз
+     * @return общее время выполнения
+     */
+    public static Duration testConcurrent(String caption, int threadCount, int operationsPerThread, ConcurrentAction action) throws Exception {
+        AtomicReference<Exception> error = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>(threadCount);
+        for (int t = 0; t < threadCount; ++t) {
+            final int thread = t;
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < operationsPerThread; ++i) {
+                        action.process(thread, i);
+                    }
+                } catch (Exception e) {
+                    error.compareAndSet(null, e);
+                }
+            }));
+        }
+
+        long beginTime = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Duration duration = Duration.ofNanos(System.nanoTime() - beginTime);
+        if (error.get() != null) {
+            throw error.get();
+        }
+
+        long operations = (long) threadCount * operationsPerThread;
+        System.out.println(String.format("%s: threads = %d, operations = %d, total time = %s, operations per second = %d",
+                caption,
+                threadCount,
+                operations,
+                DurationUtils.toString(duration),
+                operations * 1000 / Math.max(duration.toMillis(), 1)
+        ));
+        return duration;
+    }
+
     private static void printResults(int executionCount, Duration duration) {
         String msg = String.format("Total execution count = %d, Total time = %s, Time spent on one call = %s",
                 executionCount,